@@ -0,0 +1,188 @@
+package com.hanghae.ecommerce.application.coupon;
+
+import com.hanghae.ecommerce.application.cart.CartService;
+import com.hanghae.ecommerce.application.cart.CartService.CartItemInfo;
+import com.hanghae.ecommerce.domain.coupon.BestCouponSelector;
+import com.hanghae.ecommerce.domain.coupon.UserCoupon;
+import com.hanghae.ecommerce.domain.coupon.UserCouponInfo;
+import com.hanghae.ecommerce.domain.coupon.repository.UserCouponRepository;
+import com.hanghae.ecommerce.infrastructure.cache.RedisCacheService;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponApplicabilityIndex;
+import org.springframework.stereotype.Service;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 장바구니 최적 쿠폰 추천 서비스
+ *
+ * 사용자가 가진 쿠폰을 하나씩 적용해 보는 대신, 서버에서 모든 쿠폰을 한 번에 평가해 할인이 가장 큰 쿠폰을 고릅니다.
+ *
+ * ## 처리 방식
+ * 1. 선택한 장바구니 아이템으로 장바구니 버전(아이템 ID, 상품 ID, 수량, 단가의 해시)을 계산
+ * 2. 사용자 + 장바구니 버전 키로 캐시 조회
+ *    - 추천된 쿠폰이 그사이 사용/만료되었으면 캐시를 버리고 다시 계산
+ * 3. 캐시 미스 시 사용 가능한 사용자 쿠폰을 한 번에 조회 (쿠폰 정의는 CouponDefinitionCache)
+ * 4. CouponApplicabilityIndex로 장바구니 상품에 적용되지 않는 쿠폰을 미리 제외
+ * 5. BestCouponSelector로 남은 쿠폰을 원시 타입 연산으로 평가
+ *
+ * 장바구니가 바뀌면 버전이 달라지므로 별도 무효화가 필요 없습니다.
+ * 새로 발급된 쿠폰은 캐시 TTL(30초) 안에 반영됩니다.
+ */
+@Service
+public class BestCouponService {
+
+    private static final String BEST_COUPON_CACHE_PREFIX = "coupon:best:";
+    private static final Duration BEST_COUPON_CACHE_TTL = Duration.ofSeconds(30);
+
+    private final CartService cartService;
+    private final CouponService couponService;
+    private final UserCouponRepository userCouponRepository;
+    private final RedisCacheService redisCacheService;
+    private final CouponApplicabilityIndex couponApplicabilityIndex;
+
+    public BestCouponService(CartService cartService,
+            CouponService couponService,
+            UserCouponRepository userCouponRepository,
+            RedisCacheService redisCacheService,
+            CouponApplicabilityIndex couponApplicabilityIndex) {
+        this.cartService = cartService;
+        this.couponService = couponService;
+        this.userCouponRepository = userCouponRepository;
+        this.redisCacheService = redisCacheService;
+        this.couponApplicabilityIndex = couponApplicabilityIndex;
+    }
+
+    /**
+     * 선택한 장바구니 아이템에 할인이 가장 큰 쿠폰 추천
+     *
+     * @param userId      사용자 ID
+     * @param cartItemIds 장바구니 아이템 ID 목록
+     * @return 추천 결과 (적용 가능한 쿠폰이 없으면 userCouponId가 null)
+     */
+    public BestCouponResult findBestCoupon(Long userId, List<Long> cartItemIds) {
+        List<CartItemInfo> items = cartService.getSelectedCartItems(userId, cartItemIds);
+        String cacheKey = BEST_COUPON_CACHE_PREFIX + userId + ":" + cartVersion(items);
+
+        BestCouponResult cached = redisCacheService.get(cacheKey, BestCouponResult.class);
+        if (cached != null && isStillUsable(cached, userId)) {
+            return cached;
+        }
+        if (cached != null) {
+            redisCacheService.invalidate(cacheKey);
+        }
+
+        return redisCacheService.getOrLoad(cacheKey, BestCouponResult.class, BEST_COUPON_CACHE_TTL,
+                () -> evaluate(userId, items));
+    }
+
+    private BestCouponResult evaluate(Long userId, List<CartItemInfo> items) {
+        long[] productIds = new long[items.size()];
+        long[] lineAmounts = new long[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            CartItemInfo item = items.get(i);
+            productIds[i] = item.getProductId();
+            lineAmounts[i] = (long) item.getPrice().getValue() * item.getQuantity();
+        }
+
+        // 인덱스에 반영되지 않은 쿠폰은 선택기가 직접 판단하도록 남김
+        long[] applicableCouponIds = couponApplicabilityIndex.findApplicableCouponIds(productIds);
+        List<UserCouponInfo> userCoupons = couponService.getAvailableUserCouponInfos(userId).stream()
+                .filter(info -> !couponApplicabilityIndex.isIndexed(info.getCouponId())
+                        || Arrays.binarySearch(applicableCouponIds, info.getCouponId()) >= 0)
+                .toList();
+
+        BestCouponSelector.Selection selection = BestCouponSelector.of(userCoupons, LocalDateTime.now())
+                .select(productIds, lineAmounts);
+
+        String couponName = null;
+        if (selection.hasCoupon()) {
+            Map<Long, UserCouponInfo> byId = userCoupons.stream()
+                    .collect(Collectors.toMap(UserCouponInfo::getUserCouponId, Function.identity()));
+            couponName = byId.get(selection.getUserCouponId()).getCouponName();
+        }
+        return BestCouponResult.from(selection, couponName);
+    }
+
+    /**
+     * 캐시된 추천 쿠폰이 아직 사용 가능한지 확인 (추천 쿠폰이 없으면 TTL까지 그대로 사용)
+     */
+    private boolean isStillUsable(BestCouponResult cached, Long userId) {
+        if (cached.getUserCouponId() == null) {
+            return true;
+        }
+        return userCouponRepository.findById(cached.getUserCouponId())
+                .filter(userCoupon -> userCoupon.getUserId().equals(userId))
+                .map(UserCoupon::canUse)
+                .orElse(false);
+    }
+
+    /**
+     * 장바구니 버전 (선택한 아이템 구성과 가격이 같으면 같은 값)
+     */
+    static String cartVersion(List<CartItemInfo> items) {
+        long hash = 1125899906842597L;
+        List<CartItemInfo> sorted = items.stream()
+                .sorted(Comparator.comparing(CartItemInfo::getCartItemId))
+                .toList();
+        for (CartItemInfo item : sorted) {
+            hash = 31 * hash + item.getCartItemId();
+            hash = 31 * hash + item.getProductId();
+            hash = 31 * hash + item.getQuantity();
+            hash = 31 * hash + item.getPrice().getValue();
+        }
+        return Long.toHexString(hash);
+    }
+
+    /**
+     * 최적 쿠폰 추천 결과 (캐시 저장용)
+     */
+    public static class BestCouponResult implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long userCouponId;
+        private Long couponId;
+        private String couponName;
+        private long discountAmount;
+        private long subtotalAmount;
+        private long finalAmount;
+        private int evaluatedCount;
+
+        public BestCouponResult() {}
+
+        public static BestCouponResult from(BestCouponSelector.Selection selection, String couponName) {
+            BestCouponResult result = new BestCouponResult();
+            result.userCouponId = selection.getUserCouponId();
+            result.couponId = selection.getCouponId();
+            result.couponName = couponName;
+            result.discountAmount = selection.getDiscountAmount();
+            result.subtotalAmount = selection.getSubtotalAmount();
+            result.finalAmount = selection.getSubtotalAmount() - selection.getDiscountAmount();
+            result.evaluatedCount = selection.getEvaluatedCount();
+            return result;
+        }
+
+        // Getters and Setters for JSON serialization
+        public Long getUserCouponId() { return userCouponId; }
+        public void setUserCouponId(Long userCouponId) { this.userCouponId = userCouponId; }
+        public Long getCouponId() { return couponId; }
+        public void setCouponId(Long couponId) { this.couponId = couponId; }
+        public String getCouponName() { return couponName; }
+        public void setCouponName(String couponName) { this.couponName = couponName; }
+        public long getDiscountAmount() { return discountAmount; }
+        public void setDiscountAmount(long discountAmount) { this.discountAmount = discountAmount; }
+        public long getSubtotalAmount() { return subtotalAmount; }
+        public void setSubtotalAmount(long subtotalAmount) { this.subtotalAmount = subtotalAmount; }
+        public long getFinalAmount() { return finalAmount; }
+        public void setFinalAmount(long finalAmount) { this.finalAmount = finalAmount; }
+        public int getEvaluatedCount() { return evaluatedCount; }
+        public void setEvaluatedCount(int evaluatedCount) { this.evaluatedCount = evaluatedCount; }
+    }
+}
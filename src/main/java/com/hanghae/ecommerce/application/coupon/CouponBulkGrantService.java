@@ -0,0 +1,691 @@
+package com.hanghae.ecommerce.application.coupon;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.UserCouponState;
+import com.hanghae.ecommerce.domain.user.UserState;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponDefinitionCache;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponQueueService;
+import com.hanghae.ecommerce.presentation.exception.CouponNotFoundException;
+import com.hanghae.ecommerce.presentation.exception.CouponSoldOutException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 관리자 쿠폰 일괄 지급 서비스
+ *
+ * 마케팅 대상 사용자 수십만 명에게 쿠폰을 지급합니다.
+ * issueCoupon처럼 사용자마다 락과 트랜잭션을 잡지 않고, 청크 단위로 한 번에 INSERT합니다.
+ *
+ * ## 대상 지정
+ * - 사용자 ID 스트림: 요청 본문의 사용자 ID 목록 (숫자가 아닌 문자로 구분), 정렬/중복 제거 후 ID 순으로 처리
+ * - 세그먼트: users 테이블에서 상태와 ID 구간으로 조회, ID 키셋 페이지네이션으로 청크마다 읽음
+ *
+ * ## 처리 방식 (청크마다)
+ * 1. 사용자 ID 스트림이면 users 테이블에 없는 사용자를 제외 (건너뜀으로 집계, 수량을 쓰지 않음)
+ * 2. 대기열 발급이 진행 중이면(Redis 수량 키 존재) min(남은 수량, 청크 크기)만큼 Redis 남은 수량을 먼저 차감하고,
+ *    청크보다 적게 확보했으면 청크 앞에서부터 확보한 수만큼만 지급 (남은 사용자는 다음 청크에서 수량 부족으로 작업 실패)
+ * 3. 한 트랜잭션에서 multi-row INSERT IGNORE (이미 가진 사용자는 유니크 키로 건너뜀)
+ *    + issued_quantity 조건부 UPDATE 1회 (수량이 부족하면 청크를 롤백하고 작업 실패)
+ * 4. 커밋 후 건너뛴 사용자만큼 Redis 수량을 되돌리고, 대상 사용자를 발급 완료로 등록 (대기열 재진입 차단)
+ * 5. 진행 위치(마지막으로 처리한 사용자 ID)와 건수, 초당 처리 행 수를 Redis에 저장
+ *
+ * ## 재개
+ * - 청크는 ID 오름차순으로 처리하므로 진행 위치 이하의 사용자는 처리 완료
+ * - 세그먼트 작업은 저장된 조건으로 진행 위치부터 다시 실행
+ * - 사용자 ID 스트림 작업은 같은 작업 ID로 같은 목록을 다시 보내면 진행 위치 이후부터 처리
+ * - 같은 청크를 다시 처리해도 INSERT IGNORE와 건너뛴 수만큼의 수량 복구로 결과가 같음
+ *
+ * ## 여러 노드에서의 실행
+ * - 작업은 리스 키를 SET NX로 잡은 노드 하나만 실행하고, 청크마다 리스를 연장 (리스를 잃으면 그 노드는 멈춤)
+ * - 취소는 작업 Hash에 취소 요청을 기록하므로 어느 노드로 요청해도 실행 중인 노드가 다음 청크 전에 멈춤
+ * - 재개/재시작은 리스가 남아 있으면 다른 노드에서도 거절됨
+ *
+ * ## Redis 자료구조 설계
+ * - Key: `coupon:bulk-grant:{jobId}` (Hash, 작업 조건과 진행 현황, 7일 TTL)
+ * - Key: `coupon:bulk-grant:{jobId}:lease` (String, value = 실행 토큰, LEASE_TTL 동안 유지)
+ *
+ * ## 설정
+ * - app.coupon.bulk-grant.chunk-size: 청크 크기 (기본값 1000)
+ * - app.coupon.bulk-grant.throttle-millis: 청크 사이 대기 시간 (기본값 0)
+ * - 청크 INSERT는 문장 하나로 보내며, 데이터소스의 rewriteBatchedStatements 설정과 함께 JDBC 왕복을 줄임
+ */
+@Service
+public class CouponBulkGrantService {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponBulkGrantService.class);
+
+    static final String JOB_KEY_PREFIX = "coupon:bulk-grant:";
+    private static final Duration JOB_TTL = Duration.ofDays(7);
+    private static final long EXPIRES_IN_DAYS = 7;
+
+    // 실행 리스 유지 시간 (청크 하나의 처리 시간 + 청크 사이 대기 시간보다 길어야 함)
+    private static final Duration LEASE_TTL = Duration.ofSeconds(60);
+    private static final String LEASE_KEY_SUFFIX = ":lease";
+    private static final String CANCEL_REQUESTED_FIELD = "cancelRequested";
+
+    /**
+     * 리스 연장 스크립트 (자기 리스일 때만)
+     *
+     * KEYS[1] = 리스 키
+     * ARGV[1] = 실행 토큰, ARGV[2] = 리스 유지 시간(ms)
+     * 반환값: 연장 1, 리스를 잃음 0
+     */
+    private static final RedisScript<Long> RENEW_LEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * 리스 반납 스크립트 (자기 리스일 때만 삭제)
+     */
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    public static final String SOURCE_USER_IDS = "USER_IDS";
+    public static final String SOURCE_SEGMENT = "SEGMENT";
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CouponQueueService couponQueueService;
+    private final CouponDefinitionCache couponDefinitionCache;
+    private final int chunkSize;
+    private final long throttleMillis;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 이 노드에서 실행 중인 작업 ID → 종료 요청 여부 (노드 종료 시 멈춤용, 작업 소유권은 Redis 리스로 판단)
+    private final Map<String, AtomicBoolean> running = new ConcurrentHashMap<>();
+
+    public CouponBulkGrantService(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            RedisTemplate<String, Object> redisTemplate,
+            CouponQueueService couponQueueService,
+            CouponDefinitionCache couponDefinitionCache,
+            @Value("${app.coupon.bulk-grant.chunk-size:1000}") int chunkSize,
+            @Value("${app.coupon.bulk-grant.throttle-millis:0}") long throttleMillis) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("청크 크기는 0보다 커야 합니다.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+        this.couponQueueService = couponQueueService;
+        this.couponDefinitionCache = couponDefinitionCache;
+        this.chunkSize = chunkSize;
+        this.throttleMillis = throttleMillis;
+    }
+
+    /**
+     * 사용자 ID 스트림으로 일괄 지급 시작
+     *
+     * @param couponId 쿠폰 ID
+     * @param jobId    작업 ID (null이면 새로 생성, 기존 작업 ID면 진행 위치 이후부터 재개)
+     * @param userIds  사용자 ID 스트림
+     * @return 시작 시점의 진행 현황
+     */
+    public BulkGrantProgress startWithUserIds(Long couponId, String jobId, InputStream userIds) throws IOException {
+        long[] targets = readUserIds(userIds);
+        Map<String, String> job = prepareJob(couponId, jobId, SOURCE_USER_IDS);
+        job.put("total", String.valueOf(targets.length));
+        String id = job.get("jobId");
+        return submit(id, job, lastUserId -> nextFromArray(targets, lastUserId));
+    }
+
+    /**
+     * 사용자 세그먼트로 일괄 지급 시작
+     *
+     * @param couponId   쿠폰 ID
+     * @param userState  대상 사용자 상태
+     * @param fromUserId 대상 사용자 ID 하한 (제외, null이면 처음부터)
+     * @param toUserId   대상 사용자 ID 상한 (포함, null이면 끝까지)
+     * @return 시작 시점의 진행 현황
+     */
+    public BulkGrantProgress startWithSegment(Long couponId, UserState userState, Long fromUserId, Long toUserId) {
+        Map<String, String> job = prepareJob(couponId, null, SOURCE_SEGMENT);
+        long from = fromUserId != null ? fromUserId : 0;
+        long to = toUserId != null ? toUserId : Long.MAX_VALUE;
+        job.put("userState", userState.name());
+        job.put("toUserId", String.valueOf(to));
+        job.put("checkpoint", String.valueOf(from));
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE id > ? AND id <= ? AND state = ?",
+                Long.class, from, to, userState.name());
+        job.put("total", String.valueOf(total != null ? total : 0));
+        return submit(job.get("jobId"), job, lastUserId -> nextFromSegment(userState, lastUserId, to));
+    }
+
+    /**
+     * 중단된 세그먼트 작업을 진행 위치부터 재개
+     *
+     * 사용자 ID 스트림 작업은 목록을 보관하지 않으므로 같은 작업 ID로 목록을 다시 보내야 합니다.
+     */
+    public BulkGrantProgress resume(String jobId) {
+        Map<String, String> job = loadJob(jobId);
+        if (!SOURCE_SEGMENT.equals(job.get("source"))) {
+            throw new IllegalArgumentException("사용자 ID 스트림 작업은 같은 작업 ID로 목록을 다시 보내야 합니다: " + jobId);
+        }
+        if (STATUS_COMPLETED.equals(job.get("status"))) {
+            return BulkGrantProgress.from(job);
+        }
+        UserState userState = UserState.valueOf(job.get("userState"));
+        long to = Long.parseLong(job.get("toUserId"));
+        return submit(jobId, job, lastUserId -> nextFromSegment(userState, lastUserId, to));
+    }
+
+    /**
+     * 실행 중인 작업 취소 (진행 중인 청크까지 반영하고 멈춤, 이후 재개 가능)
+     *
+     * 작업을 실행 중인 노드가 다음 청크 전에 취소 요청을 확인하므로 어느 노드에서 호출해도 됩니다.
+     */
+    public BulkGrantProgress cancel(String jobId) {
+        BulkGrantProgress progress = getProgress(jobId);
+        if (progress.isRunning()) {
+            redisTemplate.opsForHash().put(JOB_KEY_PREFIX + jobId, CANCEL_REQUESTED_FIELD, "true");
+        }
+        AtomicBoolean cancelled = running.get(jobId);
+        if (cancelled != null) {
+            cancelled.set(true);
+        }
+        return progress;
+    }
+
+    /**
+     * 작업 진행 현황 조회
+     */
+    public BulkGrantProgress getProgress(String jobId) {
+        return BulkGrantProgress.from(loadJob(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running.values().forEach(cancelled -> cancelled.set(true));
+        executor.shutdown();
+    }
+
+    private Map<String, String> prepareJob(Long couponId, String jobId, String source) {
+        couponDefinitionCache.get(couponId).orElseThrow(() -> new CouponNotFoundException(couponId));
+
+        if (jobId != null) {
+            Map<String, String> existing = findJob(jobId);
+            if (existing != null) {
+                if (!String.valueOf(couponId).equals(existing.get("couponId")) || !source.equals(existing.get("source"))) {
+                    throw new IllegalArgumentException("다른 쿠폰 또는 대상의 작업 ID입니다: " + jobId);
+                }
+                return existing;
+            }
+        }
+
+        Map<String, String> job = new HashMap<>();
+        job.put("jobId", jobId != null ? jobId : UUID.randomUUID().toString());
+        job.put("couponId", String.valueOf(couponId));
+        job.put("source", source);
+        job.put("checkpoint", "0");
+        job.put("processed", "0");
+        job.put("inserted", "0");
+        job.put("skipped", "0");
+        job.put("chunks", "0");
+        job.put("elapsedMillis", "0");
+        return job;
+    }
+
+    private BulkGrantProgress submit(String jobId, Map<String, String> job, ChunkSource chunks) {
+        String leaseToken = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey(jobId), leaseToken, LEASE_TTL))) {
+            throw new IllegalStateException("이미 실행 중인 작업입니다: " + jobId);
+        }
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        running.put(jobId, cancelled);
+
+        try {
+            job.put("status", STATUS_RUNNING);
+            job.remove("error");
+            job.remove(CANCEL_REQUESTED_FIELD);
+            redisTemplate.opsForHash().delete(JOB_KEY_PREFIX + jobId, CANCEL_REQUESTED_FIELD);
+            saveJob(jobId, job);
+            BulkGrantProgress started = BulkGrantProgress.from(job);
+            executor.execute(() -> {
+                try {
+                    run(jobId, job, chunks, cancelled, leaseToken);
+                } finally {
+                    running.remove(jobId, cancelled);
+                    releaseLease(jobId, leaseToken);
+                }
+            });
+            return started;
+        } catch (RuntimeException e) {
+            running.remove(jobId, cancelled);
+            releaseLease(jobId, leaseToken);
+            throw e;
+        }
+    }
+
+    private void run(String jobId, Map<String, String> job, ChunkSource chunks, AtomicBoolean cancelled,
+            String leaseToken) {
+        Long couponId = Long.valueOf(job.get("couponId"));
+        long elapsedBefore = Long.parseLong(job.get("elapsedMillis"));
+        long startedAt = System.currentTimeMillis();
+        boolean verifyUsers = SOURCE_USER_IDS.equals(job.get("source"));
+
+        try {
+            Coupon coupon = couponDefinitionCache.get(couponId).orElseThrow(() -> new CouponNotFoundException(couponId));
+            while (true) {
+                if (!renewLease(jobId, leaseToken)) {
+                    // 리스가 만료되어 다른 노드가 이어받았을 수 있으므로 진행 현황을 덮어쓰지 않고 멈춤
+                    log.warn("Coupon bulk grant lease lost: jobId={}, checkpoint={}", jobId, job.get("checkpoint"));
+                    return;
+                }
+                if (cancelled.get() || isCancelRequested(jobId)) {
+                    job.put("status", STATUS_CANCELLED);
+                    break;
+                }
+                List<Long> userIds = chunks.next(Long.parseLong(job.get("checkpoint")));
+                if (userIds.isEmpty()) {
+                    job.put("status", STATUS_COMPLETED);
+                    break;
+                }
+
+                List<Long> targets = verifyUsers ? findExistingUsers(userIds) : userIds;
+                ChunkResult result = targets.isEmpty() ? new ChunkResult(0, 0) : grantChunk(coupon, targets);
+
+                // 수량이 부족해 앞부분만 지급했으면 지급하지 못한 첫 사용자 직전까지만 처리한 것으로 기록
+                List<Long> done = result.granted < targets.size()
+                        ? userIds.subList(0, userIds.indexOf(targets.get(result.granted)))
+                        : userIds;
+                job.put("checkpoint", String.valueOf(done.get(done.size() - 1)));
+                job.put("processed", String.valueOf(Long.parseLong(job.get("processed")) + done.size()));
+                job.put("inserted", String.valueOf(Long.parseLong(job.get("inserted")) + result.inserted));
+                job.put("skipped", String.valueOf(Long.parseLong(job.get("skipped")) + done.size() - result.inserted));
+                job.put("chunks", String.valueOf(Long.parseLong(job.get("chunks")) + 1));
+                job.put("elapsedMillis", String.valueOf(elapsedBefore + System.currentTimeMillis() - startedAt));
+                saveJob(jobId, job);
+
+                if (throttleMillis > 0) {
+                    Thread.sleep(throttleMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.put("status", STATUS_CANCELLED);
+        } catch (Exception e) {
+            log.error("Coupon bulk grant failed: jobId={}, checkpoint={}", jobId, job.get("checkpoint"), e);
+            job.put("status", STATUS_FAILED);
+            job.put("error", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+
+        job.put("elapsedMillis", String.valueOf(elapsedBefore + System.currentTimeMillis() - startedAt));
+        saveJob(jobId, job);
+        BulkGrantProgress progress = BulkGrantProgress.from(job);
+        log.info("Coupon bulk grant {}: jobId={}, couponId={}, inserted={}, skipped={}, rowsPerSecond={}",
+                progress.getStatus(), jobId, couponId, progress.getInserted(), progress.getSkipped(),
+                progress.getRowsPerSecond());
+    }
+
+    /**
+     * 청크 하나 지급
+     *
+     * Redis 남은 수량이 청크보다 적으면 확보한 수만큼 앞에서부터 지급합니다.
+     *
+     * @param userIds 지급 대상 (존재하는 사용자, ID 오름차순)
+     * @return 지급을 시도한 앞쪽 사용자 수와 그중 새로 지급한 사용자 수 (이미 가진 사용자 제외)
+     */
+    ChunkResult grantChunk(Coupon coupon, List<Long> userIds) {
+        Long couponId = coupon.getId();
+        long taken = couponQueueService.tryTakeQuantity(couponId, userIds.size());
+        if (taken == 0) {
+            throw new CouponSoldOutException();
+        }
+        List<Long> targets = taken > 0 && taken < userIds.size() ? userIds.subList(0, (int) taken) : userIds;
+
+        int inserted;
+        try {
+            inserted = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                int rows = jdbcTemplate.update(buildInsertSql(targets.size()),
+                        insertParams(targets, couponId, now, now.plusDays(EXPIRES_IN_DAYS)));
+                if (rows > 0) {
+                    int updated = jdbcTemplate.update(
+                            "UPDATE coupons SET issued_quantity = issued_quantity + ? " +
+                                    "WHERE id = ? AND issued_quantity + ? <= total_quantity",
+                            rows, couponId, rows);
+                    if (updated == 0) {
+                        throw new CouponSoldOutException();
+                    }
+                }
+                return rows;
+            });
+        } catch (RuntimeException e) {
+            if (taken > 0) {
+                couponQueueService.restoreQuantity(couponId, targets.size());
+            }
+            throw e;
+        }
+
+        // 이미 가진 사용자 몫의 수량은 되돌리고, 대상 사용자는 대기열에 다시 들어오지 못하게 등록
+        if (taken > 0 && targets.size() > inserted) {
+            couponQueueService.restoreQuantity(couponId, targets.size() - inserted);
+        }
+        couponQueueService.markAsIssued(couponId, targets, coupon.getEndDate());
+        return new ChunkResult(targets.size(), inserted);
+    }
+
+    /**
+     * 청크 중 users 테이블에 있는 사용자 (ID 오름차순)
+     */
+    private List<Long> findExistingUsers(List<Long> userIds) {
+        String placeholders = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE id IN (" + placeholders + ") ORDER BY id",
+                Long.class, userIds.toArray());
+    }
+
+    private List<Long> nextFromSegment(UserState userState, long lastUserId, long toUserId) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE id > ? AND id <= ? AND state = ? ORDER BY id LIMIT ?",
+                Long.class, lastUserId, toUserId, userState.name(), chunkSize);
+    }
+
+    private List<Long> nextFromArray(long[] userIds, long lastUserId) {
+        int from = Arrays.binarySearch(userIds, lastUserId);
+        from = from >= 0 ? from + 1 : -from - 1;
+        int to = Math.min(userIds.length, from + chunkSize);
+        List<Long> chunk = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            chunk.add(userIds[i]);
+        }
+        return chunk;
+    }
+
+    /**
+     * 사용자 ID 스트림 읽기 (숫자가 아닌 문자는 구분자, 정렬 후 중복 제거)
+     */
+    static long[] readUserIds(InputStream in) throws IOException {
+        long[] values = new long[1024];
+        int size = 0;
+        long current = 0;
+        boolean inNumber = false;
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (b >= '0' && b <= '9') {
+                    current = Math.addExact(Math.multiplyExact(current, 10), b - '0');
+                    inNumber = true;
+                } else if (inNumber) {
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, size * 2);
+                    }
+                    values[size++] = current;
+                    current = 0;
+                    inNumber = false;
+                }
+            }
+        }
+        if (inNumber) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + 1);
+            }
+            values[size++] = current;
+        }
+
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (long value : sorted) {
+            if (value > 0 && (unique == 0 || sorted[unique - 1] != value)) {
+                sorted[unique++] = value;
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    /**
+     * INSERT IGNORE INTO user_coupons (...) VALUES (?, ?, ...), (?, ?, ...), ...
+     */
+    private static String buildInsertSql(int rows) {
+        return "INSERT IGNORE INTO user_coupons " +
+                "(user_id, coupon_id, state, issued_at, expires_at, created_at, updated_at) VALUES " +
+                String.join(",", Collections.nCopies(rows, "(?, ?, ?, ?, ?, ?, ?)"));
+    }
+
+    private static Object[] insertParams(List<Long> userIds, Long couponId, LocalDateTime now,
+            LocalDateTime expiresAt) {
+        Object[] params = new Object[userIds.size() * 7];
+        int i = 0;
+        for (Long userId : userIds) {
+            params[i++] = userId;
+            params[i++] = couponId;
+            params[i++] = UserCouponState.AVAILABLE.name();
+            params[i++] = now;
+            params[i++] = expiresAt;
+            params[i++] = now;
+            params[i++] = now;
+        }
+        return params;
+    }
+
+    private Map<String, String> loadJob(String jobId) {
+        Map<String, String> job = findJob(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("일괄 지급 작업을 찾을 수 없습니다: " + jobId);
+        }
+        return job;
+    }
+
+    private Map<String, String> findJob(String jobId) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(JOB_KEY_PREFIX + jobId);
+        if (entries == null || entries.isEmpty()) {
+            return null;
+        }
+        Map<String, String> job = new HashMap<>();
+        entries.forEach((field, value) -> job.put(String.valueOf(field), String.valueOf(value)));
+        return job;
+    }
+
+    private boolean isCancelRequested(String jobId) {
+        return redisTemplate.opsForHash().hasKey(JOB_KEY_PREFIX + jobId, CANCEL_REQUESTED_FIELD);
+    }
+
+    private boolean renewLease(String jobId, String leaseToken) {
+        Long renewed = redisTemplate.execute(RENEW_LEASE_SCRIPT, List.of(leaseKey(jobId)), leaseToken,
+                LEASE_TTL.toMillis());
+        return renewed != null && renewed == 1;
+    }
+
+    private void releaseLease(String jobId, String leaseToken) {
+        try {
+            redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(leaseKey(jobId)), leaseToken);
+        } catch (Exception e) {
+            // 반납하지 못해도 LEASE_TTL 뒤에 만료됨
+            log.warn("Coupon bulk grant lease release failed: jobId={}", jobId, e);
+        }
+    }
+
+    private static String leaseKey(String jobId) {
+        return JOB_KEY_PREFIX + jobId + LEASE_KEY_SUFFIX;
+    }
+
+    private void saveJob(String jobId, Map<String, String> job) {
+        String key = JOB_KEY_PREFIX + jobId;
+        job.put("updatedAt", String.valueOf(System.currentTimeMillis()));
+        if (!job.containsKey("error")) {
+            redisTemplate.opsForHash().delete(key, "error");
+        }
+        redisTemplate.opsForHash().putAll(key, job);
+        redisTemplate.expire(key, JOB_TTL);
+    }
+
+    /**
+     * 청크 지급 결과
+     */
+    static class ChunkResult {
+        private final int granted;
+        private final int inserted;
+
+        ChunkResult(int granted, int inserted) {
+            this.granted = granted;
+            this.inserted = inserted;
+        }
+    }
+
+    /**
+     * 진행 위치 이후의 다음 청크 (ID 오름차순, 비어 있으면 끝)
+     */
+    @FunctionalInterface
+    private interface ChunkSource {
+        List<Long> next(long lastUserId);
+    }
+
+    /**
+     * 일괄 지급 진행 현황
+     */
+    public static class BulkGrantProgress {
+        private final String jobId;
+        private final Long couponId;
+        private final String source;
+        private final String status;
+        private final long checkpoint;
+        private final long total;
+        private final long processed;
+        private final long inserted;
+        private final long skipped;
+        private final long chunks;
+        private final long elapsedMillis;
+        private final String error;
+
+        public BulkGrantProgress(String jobId, Long couponId, String source, String status, long checkpoint,
+                long total, long processed, long inserted, long skipped, long chunks, long elapsedMillis,
+                String error) {
+            this.jobId = jobId;
+            this.couponId = couponId;
+            this.source = source;
+            this.status = status;
+            this.checkpoint = checkpoint;
+            this.total = total;
+            this.processed = processed;
+            this.inserted = inserted;
+            this.skipped = skipped;
+            this.chunks = chunks;
+            this.elapsedMillis = elapsedMillis;
+            this.error = error;
+        }
+
+        static BulkGrantProgress from(Map<String, String> job) {
+            return new BulkGrantProgress(
+                    job.get("jobId"),
+                    Long.valueOf(job.get("couponId")),
+                    job.get("source"),
+                    job.get("status"),
+                    Long.parseLong(job.getOrDefault("checkpoint", "0")),
+                    Long.parseLong(job.getOrDefault("total", "0")),
+                    Long.parseLong(job.getOrDefault("processed", "0")),
+                    Long.parseLong(job.getOrDefault("inserted", "0")),
+                    Long.parseLong(job.getOrDefault("skipped", "0")),
+                    Long.parseLong(job.getOrDefault("chunks", "0")),
+                    Long.parseLong(job.getOrDefault("elapsedMillis", "0")),
+                    job.get("error"));
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public Long getCouponId() {
+            return couponId;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public long getCheckpoint() {
+            return checkpoint;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getProcessed() {
+            return processed;
+        }
+
+        public long getInserted() {
+            return inserted;
+        }
+
+        public long getSkipped() {
+            return skipped;
+        }
+
+        public long getChunks() {
+            return chunks;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isRunning() {
+            return STATUS_RUNNING.equals(status);
+        }
+
+        /**
+         * 진행률 (0.0 ~ 1.0, 세그먼트 작업은 시작 시점 대상 수 기준)
+         */
+        public double getProgressRatio() {
+            return total > 0 ? Math.min(1.0, (double) processed / total) : (STATUS_COMPLETED.equals(status) ? 1.0 : 0.0);
+        }
+
+        /**
+         * 초당 처리 행 수 (지급 + 건너뜀)
+         */
+        public double getRowsPerSecond() {
+            return elapsedMillis > 0 ? processed * 1000.0 / elapsedMillis : 0.0;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.hanghae.ecommerce.application.coupon;
 
 import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.CouponIssuanceLag;
 import com.hanghae.ecommerce.domain.coupon.UserCoupon;
 import com.hanghae.ecommerce.domain.coupon.UserCouponInfo;
 import com.hanghae.ecommerce.domain.coupon.UserCouponState;
@@ -8,15 +9,23 @@ import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
 import com.hanghae.ecommerce.domain.coupon.repository.UserCouponRepository;
 import com.hanghae.ecommerce.presentation.exception.CouponAlreadyIssuedException;
 import com.hanghae.ecommerce.presentation.exception.CouponNotFoundException;
+import com.hanghae.ecommerce.presentation.exception.CouponRequestRateLimitedException;
+import com.hanghae.ecommerce.presentation.exception.CouponSoldOutException;
 import com.hanghae.ecommerce.domain.user.repository.UserRepository;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponDefinitionCache;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponIssuanceMetrics;
 import com.hanghae.ecommerce.infrastructure.coupon.CouponQueueService;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponRequestRateLimiter;
 import com.hanghae.ecommerce.infrastructure.lock.LockManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +38,13 @@ public class CouponService {
     private final LockManager lockManager;
     private final org.springframework.transaction.PlatformTransactionManager transactionManager;
     private final CouponQueueService couponQueueService;
+    private final CouponIssuanceMetrics couponIssuanceMetrics;
+    private final CouponRequestRateLimiter couponRequestRateLimiter;
+    private final CouponDefinitionCache couponDefinitionCache;
+    private final IssuedQuantityWriteBehindService issuedQuantityWriteBehind;
+
+    // true이면 동기 발급(issueCoupon)을 분산 락 없이 조건부 UPDATE + 유니크 키만으로 처리
+    private final boolean locklessIssue;
 
     public CouponService(JdbcTemplate jdbcTemplate,
             CouponRepository couponRepository,
@@ -36,7 +52,12 @@ public class CouponService {
             UserRepository userRepository,
             LockManager lockManager,
             org.springframework.transaction.PlatformTransactionManager transactionManager,
-            CouponQueueService couponQueueService) {
+            CouponQueueService couponQueueService,
+            CouponIssuanceMetrics couponIssuanceMetrics,
+            CouponRequestRateLimiter couponRequestRateLimiter,
+            CouponDefinitionCache couponDefinitionCache,
+            IssuedQuantityWriteBehindService issuedQuantityWriteBehind,
+            @Value("${app.coupon.issue-mode:locked}") String issueMode) {
         this.jdbcTemplate = jdbcTemplate;
         this.couponRepository = couponRepository;
         this.userCouponRepository = userCouponRepository;
@@ -44,9 +65,92 @@ public class CouponService {
         this.lockManager = lockManager;
         this.transactionManager = transactionManager;
         this.couponQueueService = couponQueueService;
+        this.couponIssuanceMetrics = couponIssuanceMetrics;
+        this.couponRequestRateLimiter = couponRequestRateLimiter;
+        this.couponDefinitionCache = couponDefinitionCache;
+        this.issuedQuantityWriteBehind = issuedQuantityWriteBehind;
+        if (!"locked".equalsIgnoreCase(issueMode) && !"lockless".equalsIgnoreCase(issueMode)) {
+            throw new IllegalArgumentException("지원하지 않는 쿠폰 발급 방식입니다: " + issueMode);
+        }
+        this.locklessIssue = "lockless".equalsIgnoreCase(issueMode);
     }
 
+    /**
+     * 쿠폰 동기 발급
+     * 
+     * app.coupon.issue-mode 설정에 따라 분산 락 방식(locked, 기본값) 또는 락 없는 방식(lockless)으로 발급합니다.
+     * 발급 수량 지연 반영 중이면 DB 발급 수량이 뒤처져 있으므로, 대기열 발급과 같은 Redis 남은 수량으로 판단합니다.
+     * 
+     * @param couponId 쿠폰 ID
+     * @param userId   사용자 ID
+     * @return 발급된 UserCoupon
+     */
     public UserCoupon issueCoupon(Long couponId, Long userId) {
+        if (issuedQuantityWriteBehind.isEnabled()) {
+            return issueCouponWithQueueQuantity(couponId, userId);
+        }
+        return locklessIssue ? issueCouponWithoutLock(couponId, userId) : issueCouponWithLock(couponId, userId);
+    }
+
+    /**
+     * Redis 남은 수량 기준 쿠폰 동기 발급 (발급 수량 지연 반영 중일 때)
+     * 
+     * coupons.issued_quantity는 다른 노드가 아직 반영하지 않은 발급 수만큼 뒤처지므로 조건부 UPDATE로 소진을 판단할 수 없습니다.
+     * 대기열 발급과 같은 Redis 남은 수량에서 1을 확보한 뒤 발급하고, 발급 수량은 커밋 후 지연 반영으로 기록합니다.
+     * - 중복 발급: user_coupons의 uk_user_coupon 유니크 키 (위반 시 확보한 수량을 되돌림)
+     * - 발급 후 발급 완료로 등록하여 대기열로 다시 요청하지 못하게 함
+     */
+    private UserCoupon issueCouponWithQueueQuantity(Long couponId, Long userId) {
+        if (couponId == null || userId == null) {
+            throw new IllegalArgumentException("쿠폰 ID와 사용자 ID는 null일 수 없습니다.");
+        }
+
+        userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + userId));
+
+        Coupon coupon = couponDefinitionCache.get(couponId)
+                .orElseThrow(() -> new CouponNotFoundException(couponId));
+        if (!coupon.getState().isIssuable() || !coupon.isWithinValidPeriod()) {
+            throw new IllegalStateException("쿠폰을 발급할 수 없습니다. 상태: " + coupon.getState());
+        }
+
+        getOrInitializeQueueQuantity(couponId, coupon.getEndDate());
+        if (couponQueueService.tryTakeQuantity(couponId, 1) <= 0) {
+            throw new IllegalStateException("쿠폰이 모두 소진되었습니다.");
+        }
+
+        org.springframework.transaction.support.TransactionTemplate template = new org.springframework.transaction.support.TransactionTemplate(
+                transactionManager);
+        template.setPropagationBehavior(
+                org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        UserCoupon issued;
+        try {
+            issued = template.execute(status -> {
+                UserCoupon userCoupon = userCouponRepository.save(
+                        UserCoupon.issue(userId, couponId, LocalDateTime.now().plusDays(7)));
+                increaseIssuedQuantity(couponId, 1);
+                return userCoupon;
+            });
+        } catch (DataIntegrityViolationException e) {
+            couponQueueService.restoreQuantity(couponId, 1);
+            throw new CouponAlreadyIssuedException();
+        } catch (RuntimeException e) {
+            couponQueueService.restoreQuantity(couponId, 1);
+            throw e;
+        }
+
+        couponQueueService.markAsIssued(couponId, userId, coupon.getEndDate());
+        return issued;
+    }
+
+    /**
+     * 분산 락 방식 쿠폰 발급
+     * 
+     * 쿠폰 단위 락(`coupon:{couponId}`) 안에서 중복 재확인 → 수량 증가 → 발급을 순서대로 처리합니다.
+     * 같은 쿠폰의 발급 요청은 모두 직렬화됩니다.
+     */
+    public UserCoupon issueCouponWithLock(Long couponId, Long userId) {
         if (couponId == null || userId == null) {
             throw new IllegalArgumentException("쿠폰 ID와 사용자 ID는 null일 수 없습니다.");
         }
@@ -103,6 +207,54 @@ public class CouponService {
         });
     }
 
+    /**
+     * 락 없는 방식 쿠폰 발급
+     * 
+     * 정합성은 두 가지 DB 제약만으로 보장합니다.
+     * - 중복 발급: user_coupons의 uk_user_coupon 유니크 키 (위반 시 CouponAlreadyIssuedException)
+     * - 초과 발급: issued_quantity < total_quantity 조건부 UPDATE (0건이면 소진)
+     * 
+     * 발급 INSERT를 먼저 하고 수량 UPDATE를 커밋 직전에 하여, 인기 쿠폰 행의 락 보유 시간을 최소화합니다.
+     * 어느 쪽이든 실패하면 트랜잭션 전체가 롤백되므로 수량과 발급 내역이 어긋나지 않습니다.
+     */
+    public UserCoupon issueCouponWithoutLock(Long couponId, Long userId) {
+        if (couponId == null || userId == null) {
+            throw new IllegalArgumentException("쿠폰 ID와 사용자 ID는 null일 수 없습니다.");
+        }
+
+        userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + userId));
+
+        org.springframework.transaction.support.TransactionTemplate template = new org.springframework.transaction.support.TransactionTemplate(
+                transactionManager);
+        template.setPropagationBehavior(
+                org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            return template.execute(status -> {
+                // 1. 사용자 쿠폰 발급 (이미 발급받았으면 유니크 키 위반)
+                UserCoupon userCoupon = userCouponRepository.save(
+                        UserCoupon.issue(userId, couponId, LocalDateTime.now().plusDays(7)));
+
+                // 2. 쿠폰 수량 증가 (원자적 업데이트 with 수량 체크)
+                int updatedRows = jdbcTemplate.update(
+                        "UPDATE coupons SET issued_quantity = issued_quantity + 1 WHERE id = ? AND issued_quantity < total_quantity",
+                        couponId);
+
+                if (updatedRows == 0) {
+                    // 실패한 경우에만 쿠폰 존재 여부를 확인
+                    if (couponRepository.findById(couponId).isEmpty()) {
+                        throw new CouponNotFoundException(couponId);
+                    }
+                    throw new IllegalStateException("쿠폰이 모두 소진되었습니다.");
+                }
+                return userCoupon;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new CouponAlreadyIssuedException();
+        }
+    }
+
     public Coupon getCoupon(String couponId) {
         return couponRepository.findById(Long.valueOf(couponId))
                 .orElseThrow(() -> new CouponNotFoundException(Long.valueOf(couponId)));
@@ -114,20 +266,20 @@ public class CouponService {
     }
 
     public List<UserCouponInfo> getUserCoupons(Long userId) {
-        List<UserCoupon> userCoupons = userCouponRepository.findByUserId(userId);
-        return userCoupons.stream()
-                .map(userCoupon -> {
-                    Coupon coupon = couponRepository.findById(userCoupon.getCouponId())
-                            .orElseThrow(() -> new CouponNotFoundException(userCoupon.getCouponId()));
-                    return new UserCouponInfo(userCoupon, coupon);
-                })
-                .collect(Collectors.toList());
+        return toUserCouponInfos(userCouponRepository.findByUserId(userId));
     }
 
     public List<UserCoupon> getAvailableUserCoupons(Long userId) {
         return userCouponRepository.findByUserIdAndState(userId, UserCouponState.AVAILABLE);
     }
 
+    /**
+     * 사용 가능한 사용자 쿠폰을 쿠폰 정의와 함께 조회 (사용자 쿠폰 1회 + 캐시 미스 쿠폰 정의 1회 조회)
+     */
+    public List<UserCouponInfo> getAvailableUserCouponInfos(Long userId) {
+        return toUserCouponInfos(getAvailableUserCoupons(userId));
+    }
+
     @Transactional
     public void useCoupon(Long userCouponId, Long userId) {
         UserCoupon userCoupon = userCouponRepository.findById(userCouponId)
@@ -166,8 +318,8 @@ public class CouponService {
             return false;
         }
 
-        // 쿠폰 정보로 최소 주문 금액 확인
-        var coupon = couponRepository.findById(Long.parseLong(couponId)).orElse(null);
+        // 쿠폰 정보로 최소 주문 금액 확인 (쿠폰 정의 캐시)
+        var coupon = couponDefinitionCache.get(Long.valueOf(couponId)).orElse(null);
         if (coupon == null) {
             return false;
         }
@@ -183,18 +335,32 @@ public class CouponService {
             throw new IllegalArgumentException("해당 쿠폰의 소유자가 아닙니다");
         }
 
-        Coupon coupon = couponRepository.findById(userCoupon.getCouponId())
-                .orElseThrow(() -> new CouponNotFoundException(userCoupon.getCouponId()));
-
-        return new UserCouponInfo(userCoupon, coupon);
+        return toUserCouponInfos(List.of(userCoupon)).get(0);
     }
 
     public List<UserCouponInfo> getCouponUsageHistory(Long userId) {
-        List<UserCoupon> usedCoupons = userCouponRepository.findByUserIdAndState(userId, UserCouponState.USED);
-        return usedCoupons.stream()
+        return toUserCouponInfos(userCouponRepository.findByUserIdAndState(userId, UserCouponState.USED));
+    }
+
+    /**
+     * 사용자 쿠폰에 쿠폰 정의를 붙여 UserCouponInfo로 변환
+     * 
+     * 쿠폰마다 조회하지 않고, 캐시에 없는 쿠폰 ID만 모아 findAllById 한 번으로 가져옵니다.
+     */
+    private List<UserCouponInfo> toUserCouponInfos(List<UserCoupon> userCoupons) {
+        if (userCoupons.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Coupon> coupons = couponDefinitionCache.getAll(
+                userCoupons.stream().map(UserCoupon::getCouponId).distinct().toList());
+
+        return userCoupons.stream()
                 .map(userCoupon -> {
-                    Coupon coupon = couponRepository.findById(userCoupon.getCouponId())
-                            .orElseThrow(() -> new CouponNotFoundException(userCoupon.getCouponId()));
+                    Coupon coupon = coupons.get(userCoupon.getCouponId());
+                    if (coupon == null) {
+                        throw new CouponNotFoundException(userCoupon.getCouponId());
+                    }
                     return new UserCouponInfo(userCoupon, coupon);
                 })
                 .collect(Collectors.toList());
@@ -206,6 +372,8 @@ public class CouponService {
      * 사용자 요청을 Redis 대기열에 추가하고 즉시 응답합니다.
      * 실제 발급은 스케줄러가 비동기로 처리합니다.
      * 
+     * 유량 제한과 품절 여부는 DB 조회 전에 확인하여, 초과/품절 요청이 MySQL까지 가지 않게 합니다.
+     * 
      * @param couponId 쿠폰 ID
      * @param userId   사용자 ID
      * @return 대기열 순위 (1부터 시작, -1이면 이미 발급됨 또는 대기열에 이미 존재)
@@ -215,12 +383,20 @@ public class CouponService {
             throw new IllegalArgumentException("쿠폰 ID와 사용자 ID는 null일 수 없습니다.");
         }
 
+        // 0. 유량 제한 및 품절 조기 거절 (로컬 버킷/캐시 → Redis 순, DB 조회 없음)
+        if (!couponRequestRateLimiter.tryAcquire(couponId)) {
+            throw new CouponRequestRateLimitedException();
+        }
+        if (couponQueueService.isSoldOut(couponId)) {
+            throw new CouponSoldOutException();
+        }
+
         // 1. 사용자 존재 확인
         userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + userId));
 
-        // 2. 쿠폰 정보 조회 및 유효성 검증
-        Coupon coupon = couponRepository.findById(couponId)
+        // 2. 쿠폰 정보 조회 및 유효성 검증 (쿠폰 정의 캐시, DB 조회 없음)
+        Coupon coupon = couponDefinitionCache.get(couponId)
                 .orElseThrow(() -> new CouponNotFoundException(couponId));
 
         // 쿠폰 상태 및 기간만 확인 (수량은 Redis에서 관리하므로 완화)
@@ -234,25 +410,45 @@ public class CouponService {
         // 3. Redis 대기열에 추가 (쿠폰 종료일 전달하여 TTL 설정)
         long rank = couponQueueService.enqueue(couponId, userId, coupon.getEndDate());
 
-        // enqueue()는 이미 발급된 경우에만 -1을 반환하므로, -1이면 이미 발급된 경우
+        // enqueue()는 이미 발급된 경우 -1, 수량이 소진되어 캠페인이 종료된 경우 -2를 반환
         if (rank == -1) {
             throw new CouponAlreadyIssuedException();
         }
+        if (rank == -2) {
+            throw new CouponSoldOutException();
+        }
 
         // 4. 쿠폰 수량 초기화 (Redis에 없을 경우, 쿠폰 종료일 전달하여 TTL 설정)
-        // SETNX를 사용하여 원자적으로 초기화하여 동시성 이슈 방지
+        getOrInitializeQueueQuantity(couponId, coupon.getEndDate());
+
+        return rank;
+    }
+
+    /**
+     * 대기열 발급용 Redis 남은 수량 조회, 없으면 DB 발급 내역으로 초기화
+     * 
+     * 캐시된 쿠폰과 coupons.issued_quantity는 오래된 값일 수 있고(발급 수량 지연 반영 중이면 모든 노드의 미반영분만큼 뒤처짐),
+     * 남은 수량은 total_quantity - user_coupons 행 수로 계산합니다 (Redis에 키가 없을 때만, 쿠폰당 최초 1회).
+     * 초기화는 SETNX로 하므로 여러 노드가 동시에 시도해도 먼저 설정한 값을 사용합니다.
+     * 
+     * @param couponId      쿠폰 ID
+     * @param couponEndDate 쿠폰 발급 종료일 (TTL 계산용)
+     * @return 남은 수량 (소진되었으면 0)
+     */
+    public int getOrInitializeQueueQuantity(Long couponId, LocalDateTime couponEndDate) {
         java.util.Optional<Integer> remainingQuantityOpt = couponQueueService.getRemainingQuantity(couponId);
-        if (remainingQuantityOpt.isEmpty()) {
-            int totalQuantity = coupon.getTotalQuantity().getValue();
-            int issuedQuantity = coupon.getIssuedQuantity().getValue();
-            int remainingQuantity = totalQuantity - issuedQuantity;
-            if (remainingQuantity > 0) {
-                // SETNX를 사용하여 원자적으로 초기화 (이미 다른 스레드가 초기화했으면 false 반환)
-                couponQueueService.initializeQuantity(couponId, remainingQuantity, coupon.getEndDate());
-            }
+        if (remainingQuantityOpt.isPresent()) {
+            return remainingQuantityOpt.get();
         }
 
-        return rank;
+        Integer remainingQuantity = jdbcTemplate.queryForObject(
+                "SELECT c.total_quantity - (SELECT COUNT(*) FROM user_coupons uc WHERE uc.coupon_id = c.id) " +
+                        "FROM coupons c WHERE c.id = ?",
+                Integer.class, couponId);
+        if (remainingQuantity == null || remainingQuantity <= 0) {
+            return 0;
+        }
+        return couponQueueService.getOrInitializeQuantity(couponId, remainingQuantity, couponEndDate);
     }
 
     /**
@@ -277,21 +473,16 @@ public class CouponService {
         }
 
         // 2. 쿠폰 정보 조회
-        Coupon coupon = couponRepository.findById(couponId)
+        // 수량은 아래 조건부 UPDATE가 판단하므로 캐시된 정의로 상태와 기간만 확인
+        Coupon coupon = couponDefinitionCache.get(couponId)
                 .orElseThrow(() -> new CouponNotFoundException(couponId));
 
-        if (!coupon.canIssue()) {
+        if (!coupon.getState().isIssuable() || !coupon.isWithinValidPeriod()) {
             throw new IllegalStateException("쿠폰을 발급할 수 없습니다. 상태: " + coupon.getState());
         }
 
-        // 3. 쿠폰 수량 증가 (원자적 업데이트)
-        int updatedRows = jdbcTemplate.update(
-                "UPDATE coupons SET issued_quantity = issued_quantity + 1 WHERE id = ? AND issued_quantity < total_quantity",
-                couponId);
-
-        if (updatedRows == 0) {
-            throw new IllegalStateException("쿠폰이 모두 소진되었습니다.");
-        }
+        // 3. 쿠폰 수량 증가 (원자적 업데이트, 지연 반영 중이면 수량은 Redis에서 확보했으므로 커밋 후 기록만)
+        increaseIssuedQuantity(couponId, 1);
 
         // 4. 사용자 쿠폰 발급
         LocalDateTime expiresAt = LocalDateTime.now().plusDays(7);
@@ -300,6 +491,102 @@ public class CouponService {
         return userCouponRepository.save(userCoupon);
     }
 
+    /**
+     * 스케줄러에서 호출하는 배치 쿠폰 발급 메서드
+     *
+     * 대기열에서 선점한 사용자들을 한 트랜잭션에서 발급합니다.
+     * 이미 쿠폰을 가진 사용자를 한 번의 조회로 걸러낸 뒤, 발급 수량은 UPDATE 한 번으로 반영하고
+     * user_coupons는 JDBC 배치 INSERT로 저장합니다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param userIds  발급 대상 사용자 ID 목록 (선착순)
+     * @return 발급된 사용자와 이미 발급받아 건너뛴 사용자
+     */
+    @Transactional
+    public BatchIssueResult issueCouponsFromQueue(Long couponId, List<Long> userIds) {
+        if (couponId == null || userIds == null) {
+            throw new IllegalArgumentException("쿠폰 ID와 사용자 ID 목록은 null일 수 없습니다.");
+        }
+        if (userIds.isEmpty()) {
+            return new BatchIssueResult(List.of(), List.of());
+        }
+
+        // 1. 이미 발급받은 사용자 제외
+        String placeholders = String.join(",", java.util.Collections.nCopies(userIds.size(), "?"));
+        List<Object> params = new java.util.ArrayList<>();
+        params.add(couponId);
+        params.addAll(userIds);
+        java.util.Set<Long> alreadyIssued = new java.util.HashSet<>(jdbcTemplate.queryForList(
+                "SELECT user_id FROM user_coupons WHERE coupon_id = ? AND user_id IN (" + placeholders + ")",
+                Long.class, params.toArray()));
+
+        List<Long> targets = userIds.stream()
+                .distinct()
+                .filter(userId -> !alreadyIssued.contains(userId))
+                .collect(Collectors.toList());
+        List<Long> duplicates = userIds.stream()
+                .distinct()
+                .filter(alreadyIssued::contains)
+                .collect(Collectors.toList());
+        if (targets.isEmpty()) {
+            return new BatchIssueResult(targets, duplicates);
+        }
+
+        // 2. 쿠폰 정보 조회
+        // 수량은 아래 조건부 UPDATE가 판단하므로 캐시된 정의로 상태와 기간만 확인
+        Coupon coupon = couponDefinitionCache.get(couponId)
+                .orElseThrow(() -> new CouponNotFoundException(couponId));
+
+        if (!coupon.getState().isIssuable() || !coupon.isWithinValidPeriod()) {
+            throw new IllegalStateException("쿠폰을 발급할 수 없습니다. 상태: " + coupon.getState());
+        }
+
+        // 3. 쿠폰 수량 증가 (배치당 1회, 지연 반영 중이면 커밋 후 기록만)
+        increaseIssuedQuantity(couponId, targets.size());
+
+        // 4. 사용자 쿠폰 일괄 발급
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusDays(7);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_coupons (user_id, coupon_id, state, issued_at, expires_at, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                targets,
+                targets.size(),
+                (ps, userId) -> {
+                    ps.setLong(1, userId);
+                    ps.setLong(2, couponId);
+                    ps.setString(3, UserCouponState.AVAILABLE.name());
+                    ps.setObject(4, now);
+                    ps.setObject(5, expiresAt);
+                    ps.setObject(6, now);
+                    ps.setObject(7, now);
+                });
+
+        return new BatchIssueResult(targets, duplicates);
+    }
+
+    /**
+     * 대기열 발급분의 발급 수량 반영
+     *
+     * 지연 반영을 켜면 남은 수량은 Redis가 이미 확보했으므로 조건부 UPDATE 없이 커밋 후 메모리에 기록하고,
+     * IssuedQuantityWriteBehindService가 주기마다 모아서 반영합니다.
+     */
+    private void increaseIssuedQuantity(Long couponId, int count) {
+        if (issuedQuantityWriteBehind.isEnabled()) {
+            issuedQuantityWriteBehind.record(couponId, count);
+            return;
+        }
+
+        int updatedRows = jdbcTemplate.update(
+                "UPDATE coupons SET issued_quantity = issued_quantity + ? " +
+                        "WHERE id = ? AND issued_quantity + ? <= total_quantity",
+                count, couponId, count);
+
+        if (updatedRows == 0) {
+            throw new IllegalStateException("쿠폰이 모두 소진되었습니다.");
+        }
+    }
+
     /**
      * 대기열 순위 조회
      * 
@@ -320,4 +607,34 @@ public class CouponService {
     public long getQueueSize(Long couponId) {
         return couponQueueService.getQueueSize(couponId);
     }
-}
\ No newline at end of file
+
+    /**
+     * 쿠폰별 발급 지연 현황 조회
+     * 
+     * @return 발급 워커가 처리 중인 쿠폰의 지연 현황 (대기 시간이 긴 순)
+     */
+    public List<CouponIssuanceLag> getIssuanceLag() {
+        return couponIssuanceMetrics.getLag();
+    }
+
+    /**
+     * 배치 발급 결과
+     */
+    public static class BatchIssueResult {
+        private final List<Long> issuedUserIds;
+        private final List<Long> duplicateUserIds;
+
+        public BatchIssueResult(List<Long> issuedUserIds, List<Long> duplicateUserIds) {
+            this.issuedUserIds = issuedUserIds;
+            this.duplicateUserIds = duplicateUserIds;
+        }
+
+        public List<Long> getIssuedUserIds() {
+            return issuedUserIds;
+        }
+
+        public List<Long> getDuplicateUserIds() {
+            return duplicateUserIds;
+        }
+    }
+}
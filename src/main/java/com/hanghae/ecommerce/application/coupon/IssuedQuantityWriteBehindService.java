@@ -0,0 +1,223 @@
+package com.hanghae.ecommerce.application.coupon;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 쿠폰 발급 수량(coupons.issued_quantity) 지연 반영 서비스
+ *
+ * 대기열 발급은 배치마다 캠페인 쿠폰 행 하나를 UPDATE하므로, 발급 워커가 여러 개면 같은 행의 락을 두고 다툽니다.
+ * 대기열 발급의 남은 수량은 Redis(`coupon:quantity:{couponId}`)가 판단하므로,
+ * DB의 발급 수량은 조회용 기록으로 보고 모아서 반영합니다.
+ * 지연 반영 중에는 DB 발급 수량이 뒤처지므로, 동기 발급(issueCoupon)도 같은 Redis 남은 수량으로 판단하고
+ * Redis 남은 수량은 issued_quantity가 아닌 user_coupons 건수로 초기화합니다 (CouponService.getOrInitializeQueueQuantity).
+ *
+ * ## 처리 방식
+ * - 발급 트랜잭션이 커밋되면 쿠폰별 LongAdder에 발급 수를 더함 (롤백되면 더하지 않음)
+ * - 반영 주기마다 쌓인 값을 꺼내 모든 쿠폰을 UPDATE 한 번으로 반영 (실패하면 다시 더해 다음 주기에 재시도)
+ * - 애플리케이션 종료 시 남은 값을 반영
+ *
+ * ## 정합성 복구 (reconcile)
+ * 프로세스가 비정상 종료되면 아직 반영하지 못한 값은 사라지지만, user_coupons 행은 이미 커밋되어 있습니다.
+ * 시작 시 user_coupons 건수로 발급 수량을 다시 계산합니다.
+ * - 다른 노드가 아직 반영하지 않은 값이 있을 수 있으므로, 최근(반영 주기 x 2) 발급이 있는 쿠폰은 건너뜀
+ * - 건너뛴 쿠폰은 반영 주기마다 다시 확인하여, 발급이 멈추면 맞춤
+ * - 건수로 덮어쓰므로 여러 번 실행되어도 결과가 같음
+ *
+ * ## 설정
+ * - app.coupon.issued-quantity.write-behind: 지연 반영 사용 여부 (기본값 false, false이면 배치마다 조건부 UPDATE)
+ * - app.coupon.issued-quantity.flush-millis: 반영 주기 (기본값 1000)
+ */
+@Service
+public class IssuedQuantityWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(IssuedQuantityWriteBehindService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration settleWindow;
+
+    // 쿠폰 ID → 아직 반영하지 않은 발급 수
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // 시작 시 최근 발급이 있어 맞추지 못한 쿠폰 ID
+    private final Set<Long> unsettledCouponIds = ConcurrentHashMap.newKeySet();
+
+    public IssuedQuantityWriteBehindService(JdbcTemplate jdbcTemplate,
+            @Value("${app.coupon.issued-quantity.write-behind:false}") boolean enabled,
+            @Value("${app.coupon.issued-quantity.flush-millis:1000}") long flushMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.settleWindow = Duration.ofMillis(flushMillis * 2);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 발급 수 기록 (트랜잭션 안이면 커밋된 뒤에 기록)
+     *
+     * @param couponId 쿠폰 ID
+     * @param count    발급 수
+     */
+    public void record(Long couponId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(couponId, count);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(couponId, count);
+            }
+        });
+    }
+
+    /**
+     * 아직 반영하지 않은 발급 수 (이 노드 기준)
+     */
+    public long getPending(Long couponId) {
+        LongAdder adder = pending.get(couponId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * 쌓인 발급 수를 UPDATE 한 번으로 반영
+     *
+     * @return 반영한 쿠폰 수
+     */
+    public int flush() {
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        pending.forEach((couponId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(couponId, delta);
+            }
+        });
+
+        if (!deltas.isEmpty()) {
+            try {
+                jdbcTemplate.update(buildFlushSql(deltas.size()), flushParams(deltas));
+            } catch (RuntimeException e) {
+                // 반영하지 못한 값은 다음 주기에 다시 시도
+                deltas.forEach(this::add);
+                throw e;
+            }
+        }
+
+        if (!unsettledCouponIds.isEmpty()) {
+            reconcile(new ArrayList<>(unsettledCouponIds), LocalDateTime.now());
+        }
+        return deltas.size();
+    }
+
+    /**
+     * user_coupons 건수와 다른 모든 쿠폰의 발급 수량을 맞춤 (시작 시 1회)
+     *
+     * @return 맞춘 쿠폰 수
+     */
+    public int reconcile() {
+        List<Long> mismatched = jdbcTemplate.queryForList(
+                "SELECT c.id FROM coupons c " +
+                        "JOIN (SELECT coupon_id, COUNT(*) AS cnt FROM user_coupons GROUP BY coupon_id) u " +
+                        "ON u.coupon_id = c.id " +
+                        "WHERE c.issued_quantity <> LEAST(c.total_quantity, u.cnt)",
+                Long.class);
+        return reconcile(mismatched, LocalDateTime.now());
+    }
+
+    /**
+     * 지정한 쿠폰의 발급 수량을 user_coupons 건수로 맞춤 (최근 발급이 있는 쿠폰은 다음으로 미룸)
+     */
+    int reconcile(List<Long> couponIds, LocalDateTime now) {
+        LocalDateTime settledBefore = now.minus(settleWindow);
+        int reconciled = 0;
+        for (Long couponId : couponIds) {
+            int updated = jdbcTemplate.update(
+                    "UPDATE coupons SET issued_quantity = " +
+                            "LEAST(total_quantity, (SELECT COUNT(*) FROM user_coupons WHERE coupon_id = ?)) " +
+                            "WHERE id = ? AND NOT EXISTS " +
+                            "(SELECT 1 FROM user_coupons WHERE coupon_id = ? AND created_at >= ?)",
+                    couponId, couponId, couponId, settledBefore);
+            if (updated > 0) {
+                unsettledCouponIds.remove(couponId);
+                reconciled++;
+            } else if (hasRecentIssue(couponId, settledBefore)) {
+                unsettledCouponIds.add(couponId);
+            } else {
+                unsettledCouponIds.remove(couponId);
+            }
+        }
+        if (reconciled > 0 || !unsettledCouponIds.isEmpty()) {
+            log.info("Reconciled issued quantity: reconciled={}, unsettled={}", reconciled, unsettledCouponIds.size());
+        }
+        return reconciled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush issued quantity on shutdown", e);
+        }
+    }
+
+    private boolean hasRecentIssue(Long couponId, LocalDateTime settledBefore) {
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT 1 FROM user_coupons WHERE coupon_id = ? AND created_at >= ? LIMIT 1",
+                Integer.class, couponId, settledBefore);
+        return !rows.isEmpty();
+    }
+
+    private void add(Long couponId, long count) {
+        pending.computeIfAbsent(couponId, id -> new LongAdder()).add(count);
+    }
+
+    /**
+     * UPDATE coupons SET issued_quantity = LEAST(total_quantity, issued_quantity + CASE id WHEN ? THEN ? ... END)
+     * WHERE id IN (?, ...)
+     */
+    static String buildFlushSql(int couponCount) {
+        StringBuilder sql = new StringBuilder(
+                "UPDATE coupons SET issued_quantity = LEAST(total_quantity, issued_quantity + CASE id");
+        for (int i = 0; i < couponCount; i++) {
+            sql.append(" WHEN ? THEN ?");
+        }
+        sql.append(" ELSE 0 END) WHERE id IN (")
+                .append(String.join(",", Collections.nCopies(couponCount, "?")))
+                .append(")");
+        return sql.toString();
+    }
+
+    private static Object[] flushParams(Map<Long, Long> deltas) {
+        List<Object> params = new ArrayList<>(deltas.size() * 3);
+        deltas.forEach((couponId, delta) -> {
+            params.add(couponId);
+            params.add(delta);
+        });
+        params.addAll(deltas.keySet());
+        return params.toArray();
+    }
+}
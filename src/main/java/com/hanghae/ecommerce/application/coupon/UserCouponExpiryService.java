@@ -0,0 +1,169 @@
+package com.hanghae.ecommerce.application.coupon;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 쿠폰 만료 처리 서비스
+ *
+ * 만료일이 지난 AVAILABLE 사용자 쿠폰을 EXPIRED로 일괄 전환합니다.
+ * 만료된 쿠폰이 AVAILABLE로 남아 있으면 보유 쿠폰 조회가 죽은 행까지 계속 읽게 되므로 주기적으로 정리합니다.
+ *
+ * ## 처리 방식
+ * - idx_user_coupons_expires_at 을 만료일 구간 단위로 훑음 (빈 구간은 다음 키로 건너뜀)
+ * - 구간 안에서는 `UPDATE ... ORDER BY expires_at LIMIT n` 을 반복 (문장마다 autocommit, 짧은 락)
+ * - 배치 사이에 쉬어 주문/결제 트래픽과 DB를 다투지 않음
+ * - 구간을 마칠 때마다 진행 위치(체크포인트)를 Redis에 저장하여, 중단되면 마지막 구간부터 다시 시작
+ *
+ * 같은 행을 다시 처리해도 state 조건으로 걸러지므로 여러 번 실행되어도 안전합니다.
+ *
+ * ## Redis 자료구조 설계
+ * - Key: `coupon:expiry:checkpoint` (String, 이 시각 이전 만료분은 처리 완료)
+ */
+@Service
+public class UserCouponExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCouponExpiryService.class);
+
+    static final String CHECKPOINT_KEY = "coupon:expiry:checkpoint";
+
+    static final int DEFAULT_BATCH_SIZE = 500;
+    static final Duration DEFAULT_RANGE = Duration.ofHours(1);
+    static final long DEFAULT_THROTTLE_MILLIS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public UserCouponExpiryService(JdbcTemplate jdbcTemplate, RedisTemplate<String, Object> redisTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 기본 설정으로 현재 시각까지 만료 처리
+     */
+    public SweepResult sweep() {
+        return sweep(LocalDateTime.now(), DEFAULT_BATCH_SIZE, DEFAULT_RANGE, DEFAULT_THROTTLE_MILLIS);
+    }
+
+    /**
+     * 체크포인트부터 now 이전 만료분까지 만료 처리
+     *
+     * @param now            만료 기준 시각
+     * @param batchSize      UPDATE 한 번에 전환할 최대 행 수
+     * @param range          한 구간의 만료일 폭
+     * @param throttleMillis 배치 하나를 처리한 뒤 쉬는 시간
+     * @return 처리 결과
+     */
+    public SweepResult sweep(LocalDateTime now, int batchSize, Duration range, long throttleMillis) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("배치 크기는 0보다 커야 합니다.");
+        }
+        if (range.isZero() || range.isNegative()) {
+            throw new IllegalArgumentException("구간 폭은 0보다 커야 합니다.");
+        }
+
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime from = loadCheckpoint();
+        int expired = 0;
+        int ranges = 0;
+        int batches = 0;
+
+        try {
+            while (true) {
+                // 구간 시작을 실제로 존재하는 다음 만료일로 당김 (인덱스 1건 조회)
+                LocalDateTime next = nextExpiresAt(from);
+                if (next == null || !next.isBefore(now)) {
+                    saveCheckpoint(now);
+                    break;
+                }
+
+                LocalDateTime to = next.plus(range).isBefore(now) ? next.plus(range) : now;
+                int updated;
+                do {
+                    updated = jdbcTemplate.update(
+                            "UPDATE user_coupons SET state = 'EXPIRED', updated_at = ? " +
+                                    "WHERE expires_at >= ? AND expires_at < ? AND state = 'AVAILABLE' " +
+                                    "ORDER BY expires_at LIMIT ?",
+                            now, next, to, batchSize);
+                    expired += updated;
+                    batches++;
+                    if (updated > 0 && throttleMillis > 0) {
+                        Thread.sleep(throttleMillis);
+                    }
+                } while (updated == batchSize);
+
+                saveCheckpoint(to);
+                from = to;
+                ranges++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("User coupon expiry sweep interrupted: expired={}, checkpoint={}", expired, from);
+        }
+
+        SweepResult result = new SweepResult(expired, ranges, batches, System.currentTimeMillis() - startedAt);
+        if (expired > 0) {
+            log.info("User coupons expired: count={}, ranges={}, batches={}, elapsedMs={}",
+                    result.getExpiredCount(), result.getRangeCount(), result.getBatchCount(),
+                    result.getElapsedMillis());
+        }
+        return result;
+    }
+
+    private LocalDateTime nextExpiresAt(LocalDateTime from) {
+        if (from == null) {
+            return jdbcTemplate.queryForObject("SELECT MIN(expires_at) FROM user_coupons", LocalDateTime.class);
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT MIN(expires_at) FROM user_coupons WHERE expires_at >= ?", LocalDateTime.class, from);
+    }
+
+    private LocalDateTime loadCheckpoint() {
+        Object value = redisTemplate.opsForValue().get(CHECKPOINT_KEY);
+        return value != null ? LocalDateTime.parse(value.toString()) : null;
+    }
+
+    private void saveCheckpoint(LocalDateTime checkpoint) {
+        redisTemplate.opsForValue().set(CHECKPOINT_KEY, checkpoint.toString());
+    }
+
+    /**
+     * 만료 처리 결과
+     */
+    public static class SweepResult {
+        private final int expiredCount;
+        private final int rangeCount;
+        private final int batchCount;
+        private final long elapsedMillis;
+
+        public SweepResult(int expiredCount, int rangeCount, int batchCount, long elapsedMillis) {
+            this.expiredCount = expiredCount;
+            this.rangeCount = rangeCount;
+            this.batchCount = batchCount;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getExpiredCount() {
+            return expiredCount;
+        }
+
+        public int getRangeCount() {
+            return rangeCount;
+        }
+
+        public int getBatchCount() {
+            return batchCount;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
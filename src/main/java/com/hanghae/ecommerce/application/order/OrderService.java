@@ -5,7 +5,6 @@ import com.hanghae.ecommerce.application.cart.CartService.CartItemInfo;
 import com.hanghae.ecommerce.application.product.StockService;
 import com.hanghae.ecommerce.application.product.PopularProductService;
 import com.hanghae.ecommerce.application.coupon.CouponService;
-import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
 import com.hanghae.ecommerce.domain.coupon.repository.UserCouponRepository;
 import com.hanghae.ecommerce.domain.cart.Cart;
 import com.hanghae.ecommerce.domain.cart.CartItem;
@@ -25,6 +24,7 @@ import com.hanghae.ecommerce.domain.product.Product;
 import com.hanghae.ecommerce.domain.product.Quantity;
 import com.hanghae.ecommerce.domain.user.User;
 import com.hanghae.ecommerce.domain.user.repository.UserRepository;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponDefinitionCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,7 +48,7 @@ public class OrderService {
     private final UserRepository userRepository;
     private final CartRepository cartRepository;
     private final PopularProductService popularProductService;
-    private final CouponRepository couponRepository;
+    private final CouponDefinitionCache couponDefinitionCache;
     private final UserCouponRepository userCouponRepository;
 
     public OrderService(OrderRepository orderRepository,
@@ -58,7 +58,7 @@ public class OrderService {
             UserRepository userRepository,
             CartRepository cartRepository,
             PopularProductService popularProductService,
-            CouponRepository couponRepository,
+            CouponDefinitionCache couponDefinitionCache,
             UserCouponRepository userCouponRepository) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
@@ -67,7 +67,7 @@ public class OrderService {
         this.userRepository = userRepository;
         this.cartRepository = cartRepository;
         this.popularProductService = popularProductService;
-        this.couponRepository = couponRepository;
+        this.couponDefinitionCache = couponDefinitionCache;
         this.userCouponRepository = userCouponRepository;
     }
 
@@ -121,13 +121,13 @@ public class OrderService {
         // 장바구니 조회 (쿠폰 정보를 위해)
         Cart cart = cartService.getOrCreateActiveCart(userId);
 
-        // 쿠폰 할인 계산
+        // 쿠폰 할인 계산 (할인 정책은 쿠폰 정의 캐시에서 조회)
         Money discountAmount = Money.zero();
         if (cart.getUserCouponId() != null) {
             UserCoupon userCoupon = userCouponRepository.findById(cart.getUserCouponId())
                     .orElse(null);
             if (userCoupon != null && userCoupon.getState() == UserCouponState.AVAILABLE) {
-                Coupon coupon = couponRepository.findById(userCoupon.getCouponId())
+                Coupon coupon = couponDefinitionCache.get(userCoupon.getCouponId())
                         .orElse(null);
                 if (coupon != null) {
                     discountAmount = coupon.getDiscountPolicy().calculateDiscount(subtotalAmount);
@@ -0,0 +1,331 @@
+package com.hanghae.ecommerce.application.payment;
+
+import com.hanghae.ecommerce.domain.payment.BalanceSnapshot;
+import com.hanghae.ecommerce.domain.payment.TransactionType;
+import com.hanghae.ecommerce.domain.payment.repository.BalanceSnapshotRepository;
+import com.hanghae.ecommerce.domain.user.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 잔액 스냅샷(체크포인트) 서비스
+ *
+ * 사용자별 잔액/누적 합계를 주기적으로 스냅샷으로 남겨, 누적 합계나 명세 조회가
+ * 전체 거래 이력 대신 "최신 스냅샷 + 이후 거래(tail)"만 읽도록 합니다.
+ * 스냅샷에 포함된 오래된 거래는 보존 기간이 지나면 압축(삭제)할 수 있습니다.
+ */
+@Service
+public class BalanceSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    static final int USER_CHUNK_SIZE = 500;
+    static final int COMPACTION_BATCH_SIZE = 1000;
+
+    /**
+     * 스냅샷 상한 거래를 고를 때 두는 여유 시간
+     * AUTO_INCREMENT ID는 커밋 순서와 다를 수 있으므로, 아직 커밋되지 않은 거래가
+     * 스냅샷 경계 아래로 끼어들지 않도록 최근 거래는 다음 배치로 미룹니다.
+     */
+    static final Duration SAFETY_LAG = Duration.ofMinutes(1);
+
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public BalanceSnapshotService(BalanceSnapshotRepository balanceSnapshotRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * 마지막 배치 이후 거래가 발생한 사용자의 스냅샷 생성
+     *
+     * @return 배치 실행 결과
+     */
+    public SnapshotResult createSnapshots() {
+        return createSnapshots(LocalDateTime.now().minus(SAFETY_LAG));
+    }
+
+    /**
+     * cutoff 이전에 생성된 거래까지 스냅샷 생성
+     *
+     * @param cutoff 스냅샷에 포함할 거래의 생성일시 상한
+     * @return 배치 실행 결과
+     */
+    public SnapshotResult createSnapshots(LocalDateTime cutoff) {
+        Long upperTransactionId = jdbcTemplate.query(
+                "SELECT id FROM balance_transactions WHERE created_at < ? ORDER BY created_at DESC, id DESC LIMIT 1",
+                rs -> rs.next() ? rs.getLong(1) : 0L,
+                cutoff);
+        Long lowerTransactionId = balanceSnapshotRepository.findMaxLastTransactionId();
+
+        if (upperTransactionId == null || upperTransactionId <= lowerTransactionId) {
+            return new SnapshotResult(0, lowerTransactionId);
+        }
+
+        // 마지막 배치 이후 거래가 있는 사용자만 대상 (PK 범위 스캔)
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT user_id FROM balance_transactions WHERE id > ? AND id <= ? ORDER BY user_id",
+                Long.class,
+                lowerTransactionId, upperTransactionId);
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int created = 0;
+        for (int from = 0; from < userIds.size(); from += USER_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + USER_CHUNK_SIZE, userIds.size()));
+            // 사용자 묶음 단위로 짧은 트랜잭션을 사용하여 중단되더라도 처리분은 유지
+            Integer chunkCreated = template.execute(status -> {
+                int count = 0;
+                for (Long userId : chunk) {
+                    if (createSnapshot(userId, upperTransactionId) != null) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+            created += chunkCreated != null ? chunkCreated : 0;
+        }
+
+        log.info("Balance snapshots created: users={}, snapshots={}, upToTransactionId={}",
+                userIds.size(), created, upperTransactionId);
+        return new SnapshotResult(created, upperTransactionId);
+    }
+
+    /**
+     * 사용자 스냅샷 생성 (최신 스냅샷 + tail)
+     *
+     * @return 새 스냅샷, 반영할 거래가 없으면 null
+     */
+    private BalanceSnapshot createSnapshot(Long userId, long upperTransactionId) {
+        BalanceSnapshot latest = balanceSnapshotRepository.findTopByUserIdOrderByLastTransactionIdDesc(userId)
+                .orElseGet(() -> BalanceSnapshot.initial(userId));
+
+        LedgerTail tail = readTail(userId, latest.getLastTransactionId(), upperTransactionId);
+        if (tail.isEmpty()) {
+            return null;
+        }
+
+        BalanceSnapshot next = latest.advance(
+                Point.of(tail.lastBalance),
+                tail.charged,
+                tail.used,
+                tail.refunded,
+                tail.count,
+                tail.lastTransactionId,
+                LocalDateTime.now());
+        return balanceSnapshotRepository.save(next);
+    }
+
+    /**
+     * 사용자 잔액 원장 요약 조회
+     *
+     * 최신 스냅샷과 그 이후 거래만 읽어 현재 잔액과 누적 합계를 계산합니다.
+     */
+    public LedgerSummary getLedgerSummary(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("사용자 ID는 필수입니다.");
+        }
+
+        BalanceSnapshot latest = balanceSnapshotRepository.findTopByUserIdOrderByLastTransactionIdDesc(userId)
+                .orElseGet(() -> BalanceSnapshot.initial(userId));
+        LedgerTail tail = readTail(userId, latest.getLastTransactionId(), Long.MAX_VALUE);
+
+        if (tail.isEmpty()) {
+            return new LedgerSummary(userId, latest.getBalance().getValue(), latest.getTotalCharged(),
+                    latest.getTotalUsed(), latest.getTotalRefunded(), latest.getTransactionCount(),
+                    latest.getLastTransactionId(), 0);
+        }
+
+        return new LedgerSummary(
+                userId,
+                tail.lastBalance,
+                latest.getTotalCharged() + tail.charged,
+                latest.getTotalUsed() + tail.used,
+                latest.getTotalRefunded() + tail.refunded,
+                latest.getTransactionCount() + tail.count,
+                tail.lastTransactionId,
+                tail.count);
+    }
+
+    /**
+     * 보존 기간이 지난 원장 압축
+     *
+     * 사용자 최신 스냅샷에 이미 반영된 거래 중 retentionDays 보다 오래된 거래를 삭제합니다.
+     * 스냅샷이 없는 사용자의 거래는 삭제하지 않습니다.
+     * 락 점유 시간을 줄이기 위해 배치 단위로 나누어 삭제합니다 (autocommit).
+     *
+     * @param retentionDays 원본 거래 보존 기간(일)
+     * @return 삭제된 거래 수
+     */
+    public int compactLedger(int retentionDays) {
+        if (retentionDays <= 0) {
+            throw new IllegalArgumentException("보존 기간은 1일 이상이어야 합니다.");
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int totalDeleted = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM balance_transactions " +
+                            "WHERE created_at < ? " +
+                            "AND id <= (SELECT MAX(s.last_transaction_id) FROM balance_snapshots s " +
+                            "           WHERE s.user_id = balance_transactions.user_id) " +
+                            "ORDER BY created_at LIMIT ?",
+                    cutoff, COMPACTION_BATCH_SIZE);
+            totalDeleted += deleted;
+        } while (deleted == COMPACTION_BATCH_SIZE);
+
+        log.info("Balance ledger compacted: retentionDays={}, deleted={}", retentionDays, totalDeleted);
+        return totalDeleted;
+    }
+
+    /**
+     * (afterId, upToId] 범위의 사용자 거래 집계 (idx_balance_transactions_user_id 범위 스캔)
+     */
+    private LedgerTail readTail(Long userId, long afterId, long upToId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT type, SUM(amount) AS total, COUNT(*) AS cnt, MAX(id) AS last_id " +
+                        "FROM balance_transactions WHERE user_id = ? AND id > ? AND id <= ? GROUP BY type",
+                userId, afterId, upToId);
+
+        LedgerTail tail = new LedgerTail();
+        for (Map<String, Object> row : rows) {
+            TransactionType type = TransactionType.valueOf((String) row.get("type"));
+            long total = ((Number) row.get("total")).longValue();
+            tail.count += ((Number) row.get("cnt")).longValue();
+            tail.lastTransactionId = Math.max(tail.lastTransactionId, ((Number) row.get("last_id")).longValue());
+
+            if (type.isCharge()) {
+                tail.charged += total;
+            } else if (type.isRefund()) {
+                tail.refunded += total;
+            } else {
+                tail.used += total;
+            }
+        }
+
+        if (!tail.isEmpty()) {
+            Number balanceAfter = jdbcTemplate.queryForObject(
+                    "SELECT balance_after FROM balance_transactions WHERE id = ?",
+                    Number.class,
+                    tail.lastTransactionId);
+            tail.lastBalance = balanceAfter.intValue();
+        }
+        return tail;
+    }
+
+    /**
+     * 스냅샷 이후 거래 집계 (내부용)
+     */
+    private static class LedgerTail {
+        private long charged;
+        private long used;
+        private long refunded;
+        private long count;
+        private long lastTransactionId;
+        private int lastBalance;
+
+        private boolean isEmpty() {
+            return count == 0;
+        }
+    }
+
+    /**
+     * 스냅샷 배치 실행 결과
+     */
+    public static class SnapshotResult {
+        private final int createdCount;
+        private final long upperTransactionId;
+
+        public SnapshotResult(int createdCount, long upperTransactionId) {
+            this.createdCount = createdCount;
+            this.upperTransactionId = upperTransactionId;
+        }
+
+        public int getCreatedCount() {
+            return createdCount;
+        }
+
+        public long getUpperTransactionId() {
+            return upperTransactionId;
+        }
+    }
+
+    /**
+     * 잔액 원장 요약 정보
+     */
+    public static class LedgerSummary {
+        private final Long userId;
+        private final int balance;
+        private final long totalCharged;
+        private final long totalUsed;
+        private final long totalRefunded;
+        private final long transactionCount;
+        private final long lastTransactionId;
+        private final long tailCount;
+
+        public LedgerSummary(Long userId, int balance, long totalCharged, long totalUsed, long totalRefunded,
+                long transactionCount, long lastTransactionId, long tailCount) {
+            this.userId = userId;
+            this.balance = balance;
+            this.totalCharged = totalCharged;
+            this.totalUsed = totalUsed;
+            this.totalRefunded = totalRefunded;
+            this.transactionCount = transactionCount;
+            this.lastTransactionId = lastTransactionId;
+            this.tailCount = tailCount;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public int getBalance() {
+            return balance;
+        }
+
+        public long getTotalCharged() {
+            return totalCharged;
+        }
+
+        public long getTotalUsed() {
+            return totalUsed;
+        }
+
+        public long getTotalRefunded() {
+            return totalRefunded;
+        }
+
+        public long getTransactionCount() {
+            return transactionCount;
+        }
+
+        public long getLastTransactionId() {
+            return lastTransactionId;
+        }
+
+        /**
+         * 스냅샷 이후 읽은 거래 건수
+         */
+        public long getTailCount() {
+            return tailCount;
+        }
+    }
+}
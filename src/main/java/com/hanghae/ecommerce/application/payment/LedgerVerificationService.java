@@ -0,0 +1,279 @@
+package com.hanghae.ecommerce.application.payment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 잔액 원장 정합성 검증 서비스
+ *
+ * users.available_point 가 잔액 거래 원장(최신 스냅샷 + 이후 거래)과 일치하는지 검증합니다.
+ * 사용자 ID 공간을 범위로 나누어 가상 스레드에서 병렬로 스캔하되,
+ * 동시 스캔 수와 범위 사이 대기 시간으로 운영 DB 부하를 제한합니다.
+ */
+@Service
+public class LedgerVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerVerificationService.class);
+
+    static final int DEFAULT_RANGE_SIZE = 10_000;
+    static final int DEFAULT_PARALLELISM = 2;
+    static final long DEFAULT_THROTTLE_MILLIS = 50;
+    static final int MAX_REPORTED_MISMATCHES = 1000;
+
+    /**
+     * 범위별 기대 잔액 계산 쿼리
+     * 최신 스냅샷 잔액에 스냅샷 이후 거래(충전/환불은 +, 결제/사용은 -)를 더합니다.
+     */
+    private static final String RANGE_QUERY =
+            "SELECT u.id AS user_id, u.available_point AS actual, " +
+                    "       COALESCE(snap.balance, 0) + COALESCE(SUM(CASE WHEN bt.type IN ('CHARGE', 'REFUND') " +
+                    "           THEN bt.amount ELSE -bt.amount END), 0) AS expected, " +
+                    "       COUNT(bt.id) AS tail_count " +
+                    "FROM users u " +
+                    "LEFT JOIN balance_snapshots snap " +
+                    "       ON snap.user_id = u.id " +
+                    "      AND snap.last_transaction_id = (SELECT MAX(s2.last_transaction_id) " +
+                    "                                      FROM balance_snapshots s2 WHERE s2.user_id = u.id) " +
+                    "LEFT JOIN balance_transactions bt " +
+                    "       ON bt.user_id = u.id AND bt.id > COALESCE(snap.last_transaction_id, 0) " +
+                    "WHERE u.id >= ? AND u.id < ? " +
+                    "GROUP BY u.id, u.available_point, snap.balance " +
+                    "ORDER BY u.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public LedgerVerificationService(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        // MySQL Connector/J는 fetchSize가 Integer.MIN_VALUE일 때만 결과를 행 단위로 스트리밍합니다.
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * 기본 설정으로 전체 사용자 검증
+     */
+    public VerificationReport verifyAll() {
+        return verifyAll(DEFAULT_RANGE_SIZE, DEFAULT_PARALLELISM, DEFAULT_THROTTLE_MILLIS);
+    }
+
+    /**
+     * 전체 사용자 검증
+     *
+     * @param rangeSize      한 번에 스캔할 사용자 ID 범위 크기
+     * @param parallelism    동시에 스캔하는 범위 수 (커넥션 점유 수와 같음)
+     * @param throttleMillis 범위 하나를 스캔한 뒤 쉬는 시간
+     * @return 검증 결과
+     */
+    public VerificationReport verifyAll(int rangeSize, int parallelism, long throttleMillis) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                "SELECT COALESCE(MIN(id), 0) AS min_id, COALESCE(MAX(id), 0) AS max_id FROM users");
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+
+        return verify(minId, maxId, rangeSize, parallelism, throttleMillis);
+    }
+
+    /**
+     * 사용자 ID 구간 [minId, maxId] 검증
+     *
+     * @param minId          검증할 최소 사용자 ID
+     * @param maxId          검증할 최대 사용자 ID
+     * @param rangeSize      한 번에 스캔할 사용자 ID 범위 크기
+     * @param parallelism    동시에 스캔하는 범위 수 (커넥션 점유 수와 같음)
+     * @param throttleMillis 범위 하나를 스캔한 뒤 쉬는 시간
+     * @return 검증 결과
+     */
+    public VerificationReport verify(long minId, long maxId, int rangeSize, int parallelism, long throttleMillis) {
+        if (rangeSize <= 0) {
+            throw new IllegalArgumentException("검증 범위 크기는 0보다 커야 합니다.");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("병렬도는 0보다 커야 합니다.");
+        }
+
+        long startedAt = System.currentTimeMillis();
+
+        AtomicLong scannedUsers = new AtomicLong();
+        AtomicLong mismatchCount = new AtomicLong();
+        List<Mismatch> mismatches = Collections.synchronizedList(new ArrayList<>());
+        Semaphore permits = new Semaphore(parallelism);
+        int ranges = 0;
+
+        if (maxId > 0 && maxId >= minId) {
+            List<Future<?>> futures = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (long from = minId; from <= maxId; from += rangeSize) {
+                    long rangeStart = from;
+                    long rangeEnd = from + rangeSize;
+                    ranges++;
+                    futures.add(executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            scanRange(rangeStart, rangeEnd, scannedUsers, mismatchCount, mismatches);
+                            Thread.sleep(throttleMillis);
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("원장 검증이 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("원장 검증 중 오류가 발생했습니다.", e.getCause());
+            }
+        }
+
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        VerificationReport report = new VerificationReport(ranges, scannedUsers.get(), mismatchCount.get(),
+                List.copyOf(mismatches), elapsedMillis);
+
+        log.info("Ledger verification finished: ranges={}, users={}, mismatches={}, elapsedMs={}, usersPerSec={}",
+                report.getRangeCount(), report.getScannedUsers(), report.getMismatchCount(),
+                report.getElapsedMillis(), String.format("%.1f", report.getUsersPerSecond()));
+        return report;
+    }
+
+    /**
+     * [from, to) 범위의 사용자를 스트리밍으로 읽으며 검증
+     */
+    private void scanRange(long from, long to, AtomicLong scannedUsers, AtomicLong mismatchCount,
+            List<Mismatch> mismatches) {
+        streamingJdbcTemplate.query(RANGE_QUERY, rs -> {
+            scannedUsers.incrementAndGet();
+
+            long actual = rs.getLong("actual");
+            long expected = rs.getBigDecimal("expected").longValue();
+            if (actual != expected) {
+                mismatchCount.incrementAndGet();
+                if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                    mismatches.add(new Mismatch(rs.getLong("user_id"), actual, expected, rs.getLong("tail_count")));
+                }
+            }
+        }, from, to);
+    }
+
+    /**
+     * 잔액 불일치 정보
+     */
+    public static class Mismatch {
+        private final Long userId;
+        private final long actualBalance;
+        private final long expectedBalance;
+        private final long tailCount;
+
+        public Mismatch(Long userId, long actualBalance, long expectedBalance, long tailCount) {
+            this.userId = userId;
+            this.actualBalance = actualBalance;
+            this.expectedBalance = expectedBalance;
+            this.tailCount = tailCount;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public long getActualBalance() {
+            return actualBalance;
+        }
+
+        public long getExpectedBalance() {
+            return expectedBalance;
+        }
+
+        /**
+         * 차이 (실제 - 기대)
+         */
+        public long getDifference() {
+            return actualBalance - expectedBalance;
+        }
+
+        public long getTailCount() {
+            return tailCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Mismatch{" +
+                    "userId=" + userId +
+                    ", actualBalance=" + actualBalance +
+                    ", expectedBalance=" + expectedBalance +
+                    '}';
+        }
+    }
+
+    /**
+     * 원장 검증 결과
+     */
+    public static class VerificationReport {
+        private final int rangeCount;
+        private final long scannedUsers;
+        private final long mismatchCount;
+        private final List<Mismatch> mismatches;
+        private final long elapsedMillis;
+
+        public VerificationReport(int rangeCount, long scannedUsers, long mismatchCount,
+                List<Mismatch> mismatches, long elapsedMillis) {
+            this.rangeCount = rangeCount;
+            this.scannedUsers = scannedUsers;
+            this.mismatchCount = mismatchCount;
+            this.mismatches = mismatches;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getRangeCount() {
+            return rangeCount;
+        }
+
+        public long getScannedUsers() {
+            return scannedUsers;
+        }
+
+        public long getMismatchCount() {
+            return mismatchCount;
+        }
+
+        /**
+         * 보고된 불일치 목록 (최대 MAX_REPORTED_MISMATCHES 건)
+         */
+        public List<Mismatch> getMismatches() {
+            return mismatches;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * 초당 검증 사용자 수
+         */
+        public double getUsersPerSecond() {
+            return elapsedMillis == 0 ? scannedUsers : scannedUsers * 1000.0 / elapsedMillis;
+        }
+
+        public boolean isConsistent() {
+            return mismatchCount == 0;
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package com.hanghae.ecommerce.application.payment;
+
+import com.hanghae.ecommerce.application.product.ProductRankingService;
+import com.hanghae.ecommerce.domain.order.Order;
+import com.hanghae.ecommerce.domain.order.OrderItem;
+import com.hanghae.ecommerce.domain.order.OrderState;
+import com.hanghae.ecommerce.domain.order.repository.OrderItemRepository;
+import com.hanghae.ecommerce.domain.order.repository.OrderRepository;
+import com.hanghae.ecommerce.domain.payment.BalanceTransaction;
+import com.hanghae.ecommerce.domain.payment.Payment;
+import com.hanghae.ecommerce.domain.payment.PaymentMethod;
+import com.hanghae.ecommerce.domain.payment.PaymentSagaStatus;
+import com.hanghae.ecommerce.domain.payment.PaymentSagaStep;
+import com.hanghae.ecommerce.domain.payment.repository.BalanceTransactionRepository;
+import com.hanghae.ecommerce.domain.payment.repository.PaymentRepository;
+import com.hanghae.ecommerce.domain.product.Money;
+import com.hanghae.ecommerce.domain.user.Point;
+import com.hanghae.ecommerce.infrastructure.external.DataTransmissionService;
+import com.hanghae.ecommerce.presentation.exception.InsufficientBalanceException;
+import com.hanghae.ecommerce.presentation.exception.InsufficientStockException;
+import com.hanghae.ecommerce.presentation.exception.OrderNotFoundException;
+import com.hanghae.ecommerce.presentation.exception.PaymentAlreadyCompletedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * 사가 방식 결제 서비스
+ *
+ * 기존 결제는 잔액 차감, 재고 차감, 쿠폰 사용, 결제/거래 내역 저장, 주문 완료를
+ * 하나의 트랜잭션과 분산락 안에서 처리하여 락 점유 시간이 모든 단계의 합이 됩니다.
+ * 사가 방식은 각 단계를 조건부 UPDATE 기반의 짧은 독립 트랜잭션으로 실행하고,
+ * 단계 완료를 payment_saga_steps 에 같은 트랜잭션으로 기록합니다.
+ *
+ * - 실패 시: 완료된 단계를 역순으로 보상 (잔액 환불, 재고 복구, 쿠폰 복원)
+ * - 장애 시: {@link #recoverStuckSagas(int)} 가 멈춘 사가를 완료하거나 보상
+ * - 동시성: 주문당 하나의 사가만 active_order_id 유니크 키로 허용하며,
+ *   사가 행의 owner_token 으로 실행 주체(요청 스레드 또는 복구 워커)를 구분합니다.
+ */
+@Service
+public class PaymentSagaService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentSagaService.class);
+
+    static final int RECOVERY_BATCH_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final PaymentRepository paymentRepository;
+    private final BalanceTransactionRepository balanceTransactionRepository;
+    private final ProductRankingService productRankingService;
+    private final DataTransmissionService dataTransmissionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public PaymentSagaService(OrderRepository orderRepository,
+            OrderItemRepository orderItemRepository,
+            PaymentRepository paymentRepository,
+            BalanceTransactionRepository balanceTransactionRepository,
+            ProductRankingService productRankingService,
+            DataTransmissionService dataTransmissionService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.paymentRepository = paymentRepository;
+        this.balanceTransactionRepository = balanceTransactionRepository;
+        this.productRankingService = productRankingService;
+        this.dataTransmissionService = dataTransmissionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 사가 방식 결제 실행
+     *
+     * @return 완료된 결제
+     * @throws OrderNotFoundException            주문이 없는 경우
+     * @throws PaymentAlreadyCompletedException  이미 결제되었거나 결제가 진행 중인 경우
+     * @throws InsufficientBalanceException      잔액이 부족한 경우 (보상 후)
+     * @throws InsufficientStockException        재고가 부족한 경우 (보상 후)
+     */
+    public Payment execute(Long userId, Long orderId, PaymentMethod paymentMethod) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+
+        if (!order.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("잘못된 사용자 요청입니다.");
+        }
+        if (order.getState() != OrderState.PENDING_PAYMENT) {
+            throw new PaymentAlreadyCompletedException();
+        }
+
+        SagaContext saga = start(order, paymentMethod);
+        List<OrderItem> orderItems = orderItemRepository.findByOrderId(orderId);
+
+        try {
+            runStep(saga, PaymentSagaStep.DEBIT_BALANCE, () -> debitBalance(saga, order.getOrderNumber().getValue()));
+            runStep(saga, PaymentSagaStep.DEDUCT_STOCK, () -> deductStocks(orderItems));
+            if (saga.userCouponId != null) {
+                runStep(saga, PaymentSagaStep.USE_COUPON, () -> useCoupon(saga));
+            }
+            Payment payment = completeOrder(saga);
+
+            publishCompletion(saga, orderItems);
+            return payment;
+        } catch (SagaOwnershipLostException e) {
+            // 복구 워커가 사가를 넘겨받은 경우 보상은 워커가 담당
+            throw e;
+        } catch (RuntimeException e) {
+            compensate(saga, e.getClass().getSimpleName() + ": " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 일정 시간 이상 진행이 멈춘 사가 복구
+     *
+     * 결제 확정 직전까지의 단계가 모두 완료된 사가는 결제를 확정하고,
+     * 그렇지 않거나 확정에 실패한 사가는 보상합니다.
+     *
+     * @param stuckSeconds 마지막 진행 이후 경과 시간(초)
+     * @return 처리한 사가 수
+     */
+    public int recoverStuckSagas(int stuckSeconds) {
+        List<Map<String, Object>> stuck = jdbcTemplate.queryForList(
+                "SELECT id, owner_token FROM payment_sagas " +
+                        "WHERE status IN ('STARTED', 'COMPENSATING') " +
+                        "AND updated_at < NOW(6) - INTERVAL ? SECOND " +
+                        "ORDER BY updated_at LIMIT ?",
+                stuckSeconds, RECOVERY_BATCH_SIZE);
+
+        int recovered = 0;
+        for (Map<String, Object> row : stuck) {
+            Long sagaId = ((Number) row.get("id")).longValue();
+            String previousOwner = (String) row.get("owner_token");
+            String owner = UUID.randomUUID().toString();
+
+            // 다른 워커나 늦게 재개된 요청 스레드와 경합하지 않도록 소유권을 조건부로 가져옴
+            int claimed = jdbcTemplate.update(
+                    "UPDATE payment_sagas SET owner_token = ?, updated_at = NOW(6) " +
+                            "WHERE id = ? AND owner_token = ? AND updated_at < NOW(6) - INTERVAL ? SECOND",
+                    owner, sagaId, previousOwner, stuckSeconds);
+            if (claimed == 0) {
+                continue;
+            }
+
+            try {
+                recover(loadSaga(sagaId, owner));
+                recovered++;
+            } catch (RuntimeException e) {
+                log.error("Payment saga recovery failed: sagaId={}", sagaId, e);
+            }
+        }
+        return recovered;
+    }
+
+    private void recover(SagaContext saga) {
+        if (saga.status == PaymentSagaStatus.COMPENSATING) {
+            compensate(saga, null);
+            return;
+        }
+
+        List<PaymentSagaStep> doneSteps = findSteps(saga.id, "DONE");
+        boolean readyToComplete = doneSteps.contains(PaymentSagaStep.DEBIT_BALANCE)
+                && doneSteps.contains(PaymentSagaStep.DEDUCT_STOCK)
+                && (saga.userCouponId == null || doneSteps.contains(PaymentSagaStep.USE_COUPON));
+
+        if (!readyToComplete) {
+            compensate(saga, "복구 워커: 진행 중 중단된 결제");
+            return;
+        }
+
+        try {
+            completeOrder(saga);
+            log.info("Payment saga rolled forward: sagaId={}, orderId={}", saga.id, saga.orderId);
+            publishCompletion(saga, orderItemRepository.findByOrderId(saga.orderId));
+        } catch (SagaOwnershipLostException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            compensate(saga, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 사가 시작 (주문당 하나만 진행)
+     */
+    private SagaContext start(Order order, PaymentMethod paymentMethod) {
+        SagaContext saga = new SagaContext();
+        saga.orderId = order.getId();
+        saga.userId = order.getUserId();
+        saga.userCouponId = order.getUserCouponId();
+        saga.amount = order.getTotalAmount().getValue();
+        saga.paymentMethod = paymentMethod;
+        saga.owner = UUID.randomUUID().toString();
+        saga.status = PaymentSagaStatus.STARTED;
+
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO payment_sagas (order_id, active_order_id, user_id, user_coupon_id, amount, " +
+                            "payment_method, status, owner_token) VALUES (?, ?, ?, ?, ?, ?, 'STARTED', ?)",
+                    saga.orderId, saga.orderId, saga.userId, saga.userCouponId, saga.amount,
+                    paymentMethod.name(), saga.owner);
+        } catch (DuplicateKeyException e) {
+            // 같은 주문의 사가가 진행 중이거나 이미 완료됨
+            throw new PaymentAlreadyCompletedException();
+        }
+
+        saga.id = jdbcTemplate.queryForObject(
+                "SELECT id FROM payment_sagas WHERE active_order_id = ?", Long.class, saga.orderId);
+        return saga;
+    }
+
+    /**
+     * 단계 실행: 소유권 확인 + 업무 처리 + 단계 기록을 하나의 짧은 트랜잭션으로 수행
+     */
+    private void runStep(SagaContext saga, PaymentSagaStep step, Runnable action) {
+        transactionTemplate.executeWithoutResult(status -> {
+            touch(saga, step, PaymentSagaStatus.STARTED);
+            action.run();
+            jdbcTemplate.update(
+                    "INSERT INTO payment_saga_steps (saga_id, step, status) VALUES (?, ?, 'DONE')",
+                    saga.id, step.name());
+        });
+    }
+
+    /**
+     * 사가 행 갱신 (소유자와 상태가 일치할 때만)
+     */
+    private void touch(SagaContext saga, PaymentSagaStep step, PaymentSagaStatus expectedStatus) {
+        int updated = jdbcTemplate.update(
+                "UPDATE payment_sagas SET current_step = ?, updated_at = NOW(6) " +
+                        "WHERE id = ? AND owner_token = ? AND status = ?",
+                step.name(), saga.id, saga.owner, expectedStatus.name());
+        if (updated == 0) {
+            throw new SagaOwnershipLostException(saga.id);
+        }
+    }
+
+    private void debitBalance(SagaContext saga, String orderNumber) {
+        int updated = jdbcTemplate.update(
+                "UPDATE users SET available_point = available_point - ?, used_point = used_point + ?, " +
+                        "updated_at = NOW() WHERE id = ? AND state = 'NORMAL' AND available_point >= ?",
+                saga.amount, saga.amount, saga.userId, saga.amount);
+
+        if (updated == 0) {
+            Map<String, Object> user = jdbcTemplate.queryForMap(
+                    "SELECT state, available_point FROM users WHERE id = ?", saga.userId);
+            if (!"NORMAL".equals(user.get("state"))) {
+                throw new IllegalStateException("활성 상태가 아닌 사용자는 포인트를 사용할 수 없습니다.");
+            }
+            throw new InsufficientBalanceException(saga.amount, ((Number) user.get("available_point")).intValue());
+        }
+
+        int balanceAfter = currentBalance(saga.userId);
+        balanceTransactionRepository.save(BalanceTransaction.createPayment(
+                saga.userId,
+                saga.orderId,
+                Point.of(saga.amount),
+                Point.of(balanceAfter + saga.amount),
+                "주문 결제: " + orderNumber));
+    }
+
+    private void refundBalance(SagaContext saga) {
+        jdbcTemplate.update(
+                "UPDATE users SET available_point = available_point + ?, used_point = used_point - ?, " +
+                        "updated_at = NOW() WHERE id = ?",
+                saga.amount, saga.amount, saga.userId);
+
+        int balanceAfter = currentBalance(saga.userId);
+        balanceTransactionRepository.save(BalanceTransaction.createRefund(
+                saga.userId,
+                saga.orderId,
+                Point.of(saga.amount),
+                Point.of(balanceAfter - saga.amount),
+                "결제 실패로 인한 환불"));
+    }
+
+    private int currentBalance(Long userId) {
+        Integer balance = jdbcTemplate.queryForObject(
+                "SELECT available_point FROM users WHERE id = ?", Integer.class, userId);
+        return balance != null ? balance : 0;
+    }
+
+    /**
+     * 재고 조건부 차감 (상품 ID 순서로 처리하여 데드락 방지)
+     */
+    private void deductStocks(List<OrderItem> orderItems) {
+        for (Map.Entry<Long, Integer> entry : groupByProduct(orderItems).entrySet()) {
+            Long productId = entry.getKey();
+            int quantity = entry.getValue();
+
+            int updated = jdbcTemplate.update(
+                    "UPDATE stocks SET available_quantity = available_quantity - ?, " +
+                            "sold_quantity = sold_quantity + ?, updated_at = NOW() " +
+                            "WHERE product_id = ? AND product_option_id IS NULL AND available_quantity >= ?",
+                    quantity, quantity, productId, quantity);
+            if (updated == 0) {
+                // 트랜잭션 롤백으로 앞서 차감한 상품도 함께 원복됨
+                throw new InsufficientStockException(0, 0);
+            }
+
+            // 재고 소진 시 상품 품절 처리
+            jdbcTemplate.update(
+                    "UPDATE products p SET p.state = 'OUT_OF_STOCK', p.updated_at = NOW() " +
+                            "WHERE p.id = ? AND p.state = 'NORMAL' AND EXISTS (" +
+                            "SELECT 1 FROM stocks s WHERE s.product_id = p.id " +
+                            "AND s.product_option_id IS NULL AND s.available_quantity = 0)",
+                    productId);
+        }
+    }
+
+    private void restoreStocks(Long orderId) {
+        for (Map.Entry<Long, Integer> entry : groupByProduct(orderItemRepository.findByOrderId(orderId)).entrySet()) {
+            jdbcTemplate.update(
+                    "UPDATE stocks SET available_quantity = available_quantity + ?, " +
+                            "sold_quantity = GREATEST(sold_quantity - ?, 0), updated_at = NOW() " +
+                            "WHERE product_id = ? AND product_option_id IS NULL",
+                    entry.getValue(), entry.getValue(), entry.getKey());
+            jdbcTemplate.update(
+                    "UPDATE products SET state = 'NORMAL', updated_at = NOW() WHERE id = ? AND state = 'OUT_OF_STOCK'",
+                    entry.getKey());
+        }
+    }
+
+    private Map<Long, Integer> groupByProduct(List<OrderItem> orderItems) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : orderItems) {
+            quantities.merge(item.getProductId(), item.getQuantity().getValue(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private void useCoupon(SagaContext saga) {
+        int updated = jdbcTemplate.update(
+                "UPDATE user_coupons SET state = 'USED', used_at = NOW(), updated_at = NOW() " +
+                        "WHERE id = ? AND user_id = ? AND state = 'AVAILABLE' AND expires_at > NOW()",
+                saga.userCouponId, saga.userId);
+        if (updated == 0) {
+            throw new IllegalStateException("사용 가능한 쿠폰이 아닙니다");
+        }
+    }
+
+    private void releaseCoupon(SagaContext saga) {
+        jdbcTemplate.update(
+                "UPDATE user_coupons SET state = 'AVAILABLE', used_at = NULL, updated_at = NOW() " +
+                        "WHERE id = ? AND state = 'USED'",
+                saga.userCouponId);
+    }
+
+    /**
+     * 결제 확정: 결제 저장 + 주문 완료 + 사가 완료를 하나의 트랜잭션으로 처리
+     */
+    private Payment completeOrder(SagaContext saga) {
+        return transactionTemplate.execute(status -> {
+            touch(saga, PaymentSagaStep.COMPLETE_ORDER, PaymentSagaStatus.STARTED);
+
+            int updated = jdbcTemplate.update(
+                    "UPDATE orders SET state = 'COMPLETED', paid_at = NOW(), updated_at = NOW() " +
+                            "WHERE id = ? AND state = 'PENDING_PAYMENT'",
+                    saga.orderId);
+            if (updated == 0) {
+                throw new PaymentAlreadyCompletedException();
+            }
+
+            Payment payment = Payment.create(saga.orderId, saga.paymentMethod, Money.of(saga.amount), null);
+            payment.complete();
+            Payment savedPayment = paymentRepository.save(payment);
+
+            jdbcTemplate.update(
+                    "INSERT INTO payment_saga_steps (saga_id, step, status) VALUES (?, ?, 'DONE')",
+                    saga.id, PaymentSagaStep.COMPLETE_ORDER.name());
+            jdbcTemplate.update(
+                    "UPDATE payment_sagas SET status = 'COMPLETED', updated_at = NOW(6) WHERE id = ?",
+                    saga.id);
+            return savedPayment;
+        });
+    }
+
+    /**
+     * 보상: 완료된 단계를 역순으로 되돌리고 사가를 종료
+     *
+     * 단계별 보상은 단계 로그를 DONE -> COMPENSATED 로 조건부 전이한 경우에만 실행되므로
+     * 보상 도중 중단되어 복구 워커가 다시 실행해도 중복 보상되지 않습니다.
+     */
+    private void compensate(SagaContext saga, String reason) {
+        try {
+            int updated = jdbcTemplate.update(
+                    "UPDATE payment_sagas SET status = 'COMPENSATING', " +
+                            "failure_reason = COALESCE(?, failure_reason), updated_at = NOW(6) " +
+                            "WHERE id = ? AND owner_token = ? AND status IN ('STARTED', 'COMPENSATING')",
+                    truncate(reason), saga.id, saga.owner);
+            if (updated == 0) {
+                return;
+            }
+
+            List<PaymentSagaStep> doneSteps = findSteps(saga.id, "DONE");
+            for (int i = doneSteps.size() - 1; i >= 0; i--) {
+                PaymentSagaStep step = doneSteps.get(i);
+                if (!step.isCompensable()) {
+                    continue;
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    int marked = jdbcTemplate.update(
+                            "UPDATE payment_saga_steps SET status = 'COMPENSATED' " +
+                                    "WHERE saga_id = ? AND step = ? AND status = 'DONE'",
+                            saga.id, step.name());
+                    if (marked == 0) {
+                        return;
+                    }
+                    switch (step) {
+                        case DEBIT_BALANCE -> refundBalance(saga);
+                        case DEDUCT_STOCK -> restoreStocks(saga.orderId);
+                        case USE_COUPON -> releaseCoupon(saga);
+                        default -> {
+                        }
+                    }
+                });
+            }
+
+            // 보상 완료 후 같은 주문의 재결제를 허용
+            jdbcTemplate.update(
+                    "UPDATE payment_sagas SET status = 'COMPENSATED', active_order_id = NULL, updated_at = NOW(6) " +
+                            "WHERE id = ? AND owner_token = ?",
+                    saga.id, saga.owner);
+            log.warn("Payment saga compensated: sagaId={}, orderId={}, reason={}", saga.id, saga.orderId, reason);
+        } catch (RuntimeException e) {
+            // 보상 실패 시 COMPENSATING 상태로 남아 복구 워커가 재시도
+            log.error("Payment saga compensation failed: sagaId={}, orderId={}", saga.id, saga.orderId, e);
+        }
+    }
+
+    private List<PaymentSagaStep> findSteps(Long sagaId, String status) {
+        List<String> steps = jdbcTemplate.queryForList(
+                "SELECT step FROM payment_saga_steps WHERE saga_id = ? AND status = ? ORDER BY id",
+                String.class, sagaId, status);
+        List<PaymentSagaStep> result = new ArrayList<>();
+        for (String step : steps) {
+            result.add(PaymentSagaStep.valueOf(step));
+        }
+        return result;
+    }
+
+    private SagaContext loadSaga(Long sagaId, String owner) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT order_id, user_id, user_coupon_id, amount, payment_method, status " +
+                        "FROM payment_sagas WHERE id = ?",
+                sagaId);
+
+        SagaContext saga = new SagaContext();
+        saga.id = sagaId;
+        saga.orderId = ((Number) row.get("order_id")).longValue();
+        saga.userId = ((Number) row.get("user_id")).longValue();
+        saga.userCouponId = row.get("user_coupon_id") != null ? ((Number) row.get("user_coupon_id")).longValue() : null;
+        saga.amount = ((Number) row.get("amount")).intValue();
+        saga.paymentMethod = PaymentMethod.valueOf((String) row.get("payment_method"));
+        saga.status = PaymentSagaStatus.valueOf((String) row.get("status"));
+        saga.owner = owner;
+        return saga;
+    }
+
+    /**
+     * 결제 완료 후 부가 처리 (실패해도 결제는 유지)
+     */
+    private void publishCompletion(SagaContext saga, List<OrderItem> orderItems) {
+        Map<Long, Integer> productOrderCounts = groupByProduct(orderItems);
+        try {
+            productRankingService.incrementOrderCounts(productOrderCounts);
+        } catch (RuntimeException e) {
+            log.error("상품 랭킹 업데이트 실패: orderId={}", saga.orderId, e);
+        }
+
+        try {
+            Map<String, Object> orderData = new HashMap<>();
+            orderData.put("orderId", String.valueOf(saga.orderId));
+            orderData.put("userId", String.valueOf(saga.userId));
+            orderData.put("totalAmount", saga.amount);
+            orderData.put("finalAmount", saga.amount);
+            orderData.put("paymentMethod", saga.paymentMethod.name());
+            orderData.put("orderItems", orderItems.stream().map(item -> Map.of(
+                    "productId", item.getProductId(),
+                    "quantity", item.getQuantity(),
+                    "unitPrice", item.getUnitPrice(),
+                    "subtotal", item.getSubtotal())).toList());
+            orderData.put("timestamp", LocalDateTime.now());
+
+            dataTransmissionService.send(orderData);
+        } catch (Exception e) {
+            log.warn("데이터 전송 실패, Outbox에 저장됨: {}", e.getMessage(), e);
+        }
+    }
+
+    private static String truncate(String reason) {
+        if (reason == null || reason.length() <= 500) {
+            return reason;
+        }
+        return reason.substring(0, 500);
+    }
+
+    /**
+     * 실행 중인 사가 정보 (내부용)
+     */
+    private static class SagaContext {
+        private Long id;
+        private Long orderId;
+        private Long userId;
+        private Long userCouponId;
+        private int amount;
+        private PaymentMethod paymentMethod;
+        private PaymentSagaStatus status;
+        private String owner;
+    }
+
+    /**
+     * 다른 실행 주체(복구 워커)가 사가를 넘겨받은 경우
+     */
+    static class SagaOwnershipLostException extends IllegalStateException {
+        SagaOwnershipLostException(Long sagaId) {
+            super("결제 사가의 실행 권한을 잃었습니다. sagaId: " + sagaId);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.hanghae.ecommerce.application.product.ProductRankingService;
 import com.hanghae.ecommerce.application.coupon.CouponService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -42,6 +43,9 @@ import java.util.Map;
  * 분산락을 사용하여 동시 결제 요청에 대한 동시성 제어를 제공합니다.
  * - 사용자별 잔액 차감: balance:{userId} 락
  * - 주문별 결제 처리: payment:{orderId} 락
+ *
+ * app.payment.saga.enabled=true 인 경우 락 없이 단계별 트랜잭션으로 처리하는
+ * {@link PaymentSagaService} 를 사용합니다.
  */
 @Service
 public class PaymentService {
@@ -60,6 +64,8 @@ public class PaymentService {
     private final ProductRankingService productRankingService;
     private final LockManager lockManager;
     private final PlatformTransactionManager transactionManager;
+    private final PaymentSagaService paymentSagaService;
+    private final boolean sagaEnabled;
 
     public PaymentService(
             OrderRepository orderRepository,
@@ -73,7 +79,9 @@ public class PaymentService {
             CouponService couponService,
             ProductRankingService productRankingService,
             LockManager lockManager,
-            PlatformTransactionManager transactionManager) {
+            PlatformTransactionManager transactionManager,
+            PaymentSagaService paymentSagaService,
+            @Value("${app.payment.saga.enabled:false}") boolean sagaEnabled) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.productRepository = productRepository;
@@ -86,12 +94,16 @@ public class PaymentService {
         this.productRankingService = productRankingService;
         this.lockManager = lockManager;
         this.transactionManager = transactionManager;
+        this.paymentSagaService = paymentSagaService;
+        this.sagaEnabled = sagaEnabled;
     }
 
     public PaymentResultDto processPayment(Long userId, Long orderId, PaymentMethod paymentMethod,
             List<Long> couponIds) {
-        // 기존 구현된 메서드 호출
-        Payment payment = processPayment(String.valueOf(orderId), String.valueOf(userId), paymentMethod);
+        // app.payment.saga.enabled=true 이면 단계별 짧은 트랜잭션의 사가 방식으로 처리
+        Payment payment = sagaEnabled
+                ? paymentSagaService.execute(userId, orderId, paymentMethod)
+                : processPayment(String.valueOf(orderId), String.valueOf(userId), paymentMethod);
 
         // PaymentResultDto로 변환하여 반환
         Order order = orderRepository.findById(orderId)
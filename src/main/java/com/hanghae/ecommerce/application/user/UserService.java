@@ -1,10 +1,14 @@
 package com.hanghae.ecommerce.application.user;
 
 import com.hanghae.ecommerce.domain.payment.BalanceTransaction;
+import com.hanghae.ecommerce.domain.payment.BalanceTransactionCursor;
+import com.hanghae.ecommerce.domain.payment.TransactionType;
 import com.hanghae.ecommerce.domain.payment.repository.BalanceTransactionRepository;
 import com.hanghae.ecommerce.domain.user.Point;
 import com.hanghae.ecommerce.domain.user.User;
 import com.hanghae.ecommerce.domain.user.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,6 +20,9 @@ import java.util.List;
 @Service
 public class UserService {
 
+    // 거래 이력 페이지 크기 상한
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final BalanceTransactionRepository balanceTransactionRepository;
 
@@ -194,6 +201,51 @@ public class UserService {
         return balanceTransactionRepository.findByUserId(userId);
     }
 
+    /**
+     * 거래 내역 페이지 조회 (키셋 페이징)
+     * 
+     * 거래 유형 필터와 페이징을 DB에서 처리하여 요청당 페이지 크기만큼만 조회합니다.
+     * 다음 페이지 존재 여부는 size + 1건을 조회하여 판단합니다.
+     * 
+     * @param userId 사용자 ID
+     * @param type 거래 유형 필터 (null이면 전체)
+     * @param cursor 이전 페이지의 마지막 거래 위치 (null이면 첫 페이지)
+     * @param size 페이지 크기 (1 ~ 100)
+     * @return 거래 내역 페이지
+     * @throws IllegalArgumentException 사용자를 찾을 수 없거나 페이지 크기가 유효하지 않은 경우
+     */
+    public TransactionHistoryPage getTransactionHistoryPage(Long userId, TransactionType type,
+                                                           BalanceTransactionCursor cursor, int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + MAX_HISTORY_PAGE_SIZE + " 이하여야 합니다: " + size);
+        }
+
+        // 사용자 존재 확인
+        getUserById(userId);
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<BalanceTransaction> rows;
+        if (cursor == null) {
+            rows = type == null
+                    ? balanceTransactionRepository.findLatestByUserId(userId, limit)
+                    : balanceTransactionRepository.findLatestByUserIdAndType(userId, type, limit);
+        } else {
+            rows = type == null
+                    ? balanceTransactionRepository.findByUserIdBeforeCursor(
+                            userId, cursor.getCreatedAt(), cursor.getId(), limit)
+                    : balanceTransactionRepository.findByUserIdAndTypeBeforeCursor(
+                            userId, type, cursor.getCreatedAt(), cursor.getId(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<BalanceTransaction> transactions = hasNext ? rows.subList(0, size) : rows;
+        BalanceTransactionCursor nextCursor = hasNext
+                ? BalanceTransactionCursor.from(transactions.get(transactions.size() - 1))
+                : null;
+
+        return new TransactionHistoryPage(transactions, nextCursor, hasNext);
+    }
+
     /**
      * 사용자 프로필 수정
      * 
@@ -240,4 +292,32 @@ public class UserService {
         User user = getUserById(userId);
         return user.isActive();
     }
+
+    /**
+     * 거래 내역 페이지 정보를 담는 클래스
+     */
+    public static class TransactionHistoryPage {
+        private final List<BalanceTransaction> transactions;
+        private final BalanceTransactionCursor nextCursor;
+        private final boolean hasNext;
+
+        public TransactionHistoryPage(List<BalanceTransaction> transactions,
+                                      BalanceTransactionCursor nextCursor, boolean hasNext) {
+            this.transactions = transactions;
+            this.nextCursor = nextCursor;
+            this.hasNext = hasNext;
+        }
+
+        public List<BalanceTransaction> getTransactions() {
+            return transactions;
+        }
+
+        public BalanceTransactionCursor getNextCursor() {
+            return nextCursor;
+        }
+
+        public boolean hasNext() {
+            return hasNext;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.hanghae.ecommerce.domain.coupon;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 장바구니에 가장 큰 할인을 주는 쿠폰 선택기
+ *
+ * 사용자 쿠폰 목록을 할인 정책별 원시 타입 배열로 펼쳐 두고, 장바구니 라인(상품 ID, 라인 금액)에 대해
+ * 객체 생성 없이 모든 쿠폰의 할인 금액을 계산합니다.
+ *
+ * ## 계산 규칙 (DiscountPolicy.calculateDiscount와 동일)
+ * - 할인 대상 금액: 적용 상품이 지정되지 않았으면 장바구니 전체, 지정되었으면 해당 상품 라인의 합
+ * - 정률: 대상 금액 x 할인율 / 100 (소수점 버림)
+ * - 정액: min(할인 금액, 대상 금액)
+ * - 최소 주문 금액: 장바구니 전체 금액 기준
+ *
+ * 할인 금액이 같으면 만료가 빠른 쿠폰, 그다음 사용자 쿠폰 ID가 작은 쿠폰을 선택합니다.
+ */
+public final class BestCouponSelector {
+
+    private final long[] userCouponIds;
+    private final long[] couponIds;
+    private final boolean[] ratePolicies;
+    private final long[] discountValues;
+    private final long[] minOrderAmounts;
+    private final long[][] applicableProductIds; // 정렬됨, null이면 전체 상품
+    private final long[] expiresAtMillis;
+
+    private BestCouponSelector(int size) {
+        this.userCouponIds = new long[size];
+        this.couponIds = new long[size];
+        this.ratePolicies = new boolean[size];
+        this.discountValues = new long[size];
+        this.minOrderAmounts = new long[size];
+        this.applicableProductIds = new long[size][];
+        this.expiresAtMillis = new long[size];
+    }
+
+    /**
+     * 사용 가능한 사용자 쿠폰으로 선택기 생성
+     *
+     * 사용할 수 없거나 기준 시각에 만료된 쿠폰은 제외합니다.
+     *
+     * @param userCoupons 쿠폰 정의가 붙은 사용자 쿠폰 목록
+     * @param now         기준 시각
+     * @return 선택기
+     */
+    public static BestCouponSelector of(List<UserCouponInfo> userCoupons, LocalDateTime now) {
+        List<UserCouponInfo> usable = userCoupons.stream()
+                .filter(UserCouponInfo::canUse)
+                .filter(info -> info.getExpirationDate() == null || info.getExpirationDate().isAfter(now))
+                .toList();
+
+        BestCouponSelector selector = new BestCouponSelector(usable.size());
+        for (int i = 0; i < usable.size(); i++) {
+            UserCouponInfo info = usable.get(i);
+            DiscountPolicy policy = info.getCoupon().getDiscountPolicy();
+
+            selector.userCouponIds[i] = info.getUserCouponId();
+            selector.couponIds[i] = info.getCouponId();
+            selector.ratePolicies[i] = policy.isRatePolicy();
+            selector.discountValues[i] = policy.getDiscountValue();
+            selector.minOrderAmounts[i] = policy.hasMinOrderAmount() ? policy.getMinOrderAmount().getValue() : 0;
+            selector.applicableProductIds[i] = toSortedArray(policy.getApplicableProductIds());
+            selector.expiresAtMillis[i] = info.getExpirationDate() != null
+                    ? info.getExpirationDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : Long.MAX_VALUE;
+        }
+        return selector;
+    }
+
+    /**
+     * 할인 금액이 가장 큰 쿠폰 선택
+     *
+     * @param productIds  장바구니 라인별 상품 ID
+     * @param lineAmounts 장바구니 라인별 금액 (단가 x 수량)
+     * @return 선택 결과 (적용 가능한 쿠폰이 없으면 userCouponId가 null)
+     */
+    public Selection select(long[] productIds, long[] lineAmounts) {
+        if (productIds.length != lineAmounts.length) {
+            throw new IllegalArgumentException("상품 ID와 라인 금액의 개수가 다릅니다.");
+        }
+
+        long subtotal = 0;
+        for (long lineAmount : lineAmounts) {
+            subtotal += lineAmount;
+        }
+
+        int best = -1;
+        long bestDiscount = 0;
+        for (int i = 0; i < userCouponIds.length; i++) {
+            if (subtotal < minOrderAmounts[i]) {
+                continue;
+            }
+            long base = applicableProductIds[i] == null
+                    ? subtotal
+                    : applicableAmount(applicableProductIds[i], productIds, lineAmounts);
+            if (base <= 0) {
+                continue;
+            }
+
+            long discount = ratePolicies[i] ? base * discountValues[i] / 100 : Math.min(discountValues[i], base);
+            if (discount > bestDiscount || (discount == bestDiscount && discount > 0 && isPreferred(i, best))) {
+                best = i;
+                bestDiscount = discount;
+            }
+        }
+
+        if (best < 0) {
+            return new Selection(null, null, 0, subtotal, userCouponIds.length);
+        }
+        return new Selection(userCouponIds[best], couponIds[best], bestDiscount, subtotal, userCouponIds.length);
+    }
+
+    /**
+     * 평가 대상 쿠폰 수
+     */
+    public int size() {
+        return userCouponIds.length;
+    }
+
+    private boolean isPreferred(int candidate, int current) {
+        if (expiresAtMillis[candidate] != expiresAtMillis[current]) {
+            return expiresAtMillis[candidate] < expiresAtMillis[current];
+        }
+        return userCouponIds[candidate] < userCouponIds[current];
+    }
+
+    private static long applicableAmount(long[] sortedProductIds, long[] productIds, long[] lineAmounts) {
+        long amount = 0;
+        for (int i = 0; i < productIds.length; i++) {
+            if (Arrays.binarySearch(sortedProductIds, productIds[i]) >= 0) {
+                amount += lineAmounts[i];
+            }
+        }
+        return amount;
+    }
+
+    private static long[] toSortedArray(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return null;
+        }
+        long[] sorted = productIds.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * 쿠폰 선택 결과
+     */
+    public static class Selection {
+        private final Long userCouponId;
+        private final Long couponId;
+        private final long discountAmount;
+        private final long subtotalAmount;
+        private final int evaluatedCount;
+
+        public Selection(Long userCouponId, Long couponId, long discountAmount, long subtotalAmount,
+                int evaluatedCount) {
+            this.userCouponId = userCouponId;
+            this.couponId = couponId;
+            this.discountAmount = discountAmount;
+            this.subtotalAmount = subtotalAmount;
+            this.evaluatedCount = evaluatedCount;
+        }
+
+        public Long getUserCouponId() {
+            return userCouponId;
+        }
+
+        public Long getCouponId() {
+            return couponId;
+        }
+
+        public long getDiscountAmount() {
+            return discountAmount;
+        }
+
+        public long getSubtotalAmount() {
+            return subtotalAmount;
+        }
+
+        public int getEvaluatedCount() {
+            return evaluatedCount;
+        }
+
+        public boolean hasCoupon() {
+            return userCouponId != null;
+        }
+    }
+}
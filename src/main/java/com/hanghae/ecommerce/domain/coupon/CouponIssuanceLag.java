@@ -0,0 +1,75 @@
+package com.hanghae.ecommerce.domain.coupon;
+
+import java.time.LocalDateTime;
+
+/**
+ * 쿠폰별 발급 지연 현황
+ *
+ * 대기열에 쌓인 요청 수와 가장 오래 기다린 요청의 대기 시간, 발급 워커의 최근 처리 상태를 담습니다.
+ */
+public class CouponIssuanceLag {
+    private final Long couponId;
+    private final long queueDepth;
+    private final long oldestWaitMillis;
+    private final int batchSize;
+    private final double avgBatchMillis;
+    private final long issuedTotal;
+    private final LocalDateTime lastProcessedAt;
+
+    public CouponIssuanceLag(Long couponId, long queueDepth, long oldestWaitMillis, int batchSize,
+            double avgBatchMillis, long issuedTotal, LocalDateTime lastProcessedAt) {
+        if (couponId == null) {
+            throw new IllegalArgumentException("쿠폰 ID는 null일 수 없습니다.");
+        }
+        this.couponId = couponId;
+        this.queueDepth = queueDepth;
+        this.oldestWaitMillis = oldestWaitMillis;
+        this.batchSize = batchSize;
+        this.avgBatchMillis = avgBatchMillis;
+        this.issuedTotal = issuedTotal;
+        this.lastProcessedAt = lastProcessedAt;
+    }
+
+    public Long getCouponId() {
+        return couponId;
+    }
+
+    /**
+     * 대기열에 남은 요청 수
+     */
+    public long getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * 가장 오래 기다린 요청의 대기 시간 (대기열이 비어 있으면 0)
+     */
+    public long getOldestWaitMillis() {
+        return oldestWaitMillis;
+    }
+
+    /**
+     * 워커가 다음에 사용할 배치 크기
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 배치 발급(DB) 소요 시간 이동 평균
+     */
+    public double getAvgBatchMillis() {
+        return avgBatchMillis;
+    }
+
+    /**
+     * 워커 기동 이후 발급 수
+     */
+    public long getIssuedTotal() {
+        return issuedTotal;
+    }
+
+    public LocalDateTime getLastProcessedAt() {
+        return lastProcessedAt;
+    }
+}
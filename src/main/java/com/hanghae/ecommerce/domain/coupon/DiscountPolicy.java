@@ -2,6 +2,9 @@ package com.hanghae.ecommerce.domain.coupon;
 
 import com.hanghae.ecommerce.domain.product.Money;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 
@@ -35,8 +38,13 @@ public class DiscountPolicy {
     })
     private Money minOrderAmount; // 최소 주문 금액
 
-    @Transient
-    private List<Long> applicableProductIds; // 적용 가능한 상품 ID 목록
+    // 적용 가능한 상품 ID 목록 (비어 있으면 전체 상품)
+    // 쿠폰 정의는 로컬 캐시(CouponDefinitionCache)에 보관되므로 함께 적재하고, 여러 쿠폰을 읽을 때는 IN 조회로 묶음
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "coupon_applicable_products", joinColumns = @JoinColumn(name = "coupon_id"))
+    @Column(name = "product_id", nullable = false)
+    @BatchSize(size = 100)
+    private List<Long> applicableProductIds;
 
     @Transient
     private CouponType type; // 쿠폰 타입 (현재 사용하지 않음)
@@ -50,7 +58,9 @@ public class DiscountPolicy {
         this.discountType = discountType;
         this.discountAmount = discountAmount;
         this.minOrderAmount = minOrderAmount;
-        this.applicableProductIds = applicableProductIds;
+        this.applicableProductIds = applicableProductIds == null
+                ? null
+                : new ArrayList<>(new LinkedHashSet<>(applicableProductIds)); // (쿠폰, 상품) 중복 저장 방지
         this.type = type;
     }
 
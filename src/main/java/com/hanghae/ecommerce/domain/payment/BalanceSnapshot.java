@@ -0,0 +1,199 @@
+package com.hanghae.ecommerce.domain.payment;
+
+import com.hanghae.ecommerce.domain.user.Point;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 잔액 스냅샷 도메인 엔티티
+ *
+ * 특정 시점까지(lastTransactionId 이하)의 잔액 거래를 누적한 체크포인트입니다.
+ * 스냅샷은 변경되지 않으며, 새 거래가 쌓이면 이전 스냅샷에 tail을 더해 새 스냅샷을 만듭니다.
+ */
+@Entity
+@Table(name = "balance_snapshots")
+public class BalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private final Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private final Long userId;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "value", column = @Column(name = "balance", nullable = false))
+    })
+    private final Point balance; // 스냅샷 시점 잔액
+
+    @Column(name = "total_charged", nullable = false)
+    private final long totalCharged; // 누적 충전 금액
+
+    @Column(name = "total_used", nullable = false)
+    private final long totalUsed; // 누적 사용 금액 (결제 + 사용)
+
+    @Column(name = "total_refunded", nullable = false)
+    private final long totalRefunded; // 누적 환불 금액
+
+    @Column(name = "transaction_count", nullable = false)
+    private final long transactionCount; // 누적 거래 건수
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private final Long lastTransactionId; // 스냅샷에 포함된 마지막 거래 ID
+
+    @Column(name = "snapshot_at", nullable = false)
+    private final LocalDateTime snapshotAt;
+
+    // JPA를 위한 기본 생성자
+    protected BalanceSnapshot() {
+        this.id = null;
+        this.userId = null;
+        this.balance = null;
+        this.totalCharged = 0;
+        this.totalUsed = 0;
+        this.totalRefunded = 0;
+        this.transactionCount = 0;
+        this.lastTransactionId = null;
+        this.snapshotAt = null;
+    }
+
+    private BalanceSnapshot(Long id, Long userId, Point balance, long totalCharged, long totalUsed,
+            long totalRefunded, long transactionCount, Long lastTransactionId, LocalDateTime snapshotAt) {
+        this.id = id;
+        this.userId = userId;
+        this.balance = balance;
+        this.totalCharged = totalCharged;
+        this.totalUsed = totalUsed;
+        this.totalRefunded = totalRefunded;
+        this.transactionCount = transactionCount;
+        this.lastTransactionId = lastTransactionId;
+        this.snapshotAt = snapshotAt;
+    }
+
+    /**
+     * 거래가 하나도 반영되지 않은 시작 스냅샷 (저장하지 않는 기준점)
+     */
+    public static BalanceSnapshot initial(Long userId) {
+        validateUserId(userId);
+        return new BalanceSnapshot(null, userId, Point.zero(), 0, 0, 0, 0, 0L, null);
+    }
+
+    /**
+     * 현재 스냅샷에 이후 거래 집계를 더한 새 스냅샷 생성
+     *
+     * @param lastBalance       tail 마지막 거래의 거래 후 잔액
+     * @param charged           tail 충전 합계
+     * @param used              tail 결제/사용 합계
+     * @param refunded          tail 환불 합계
+     * @param count             tail 거래 건수
+     * @param lastTransactionId tail 마지막 거래 ID
+     * @param snapshotAt        스냅샷 생성 시각
+     */
+    public BalanceSnapshot advance(Point lastBalance, long charged, long used, long refunded, long count,
+            Long lastTransactionId, LocalDateTime snapshotAt) {
+        validateBalance(lastBalance);
+        if (lastTransactionId == null || lastTransactionId <= this.lastTransactionId) {
+            throw new IllegalArgumentException("스냅샷 거래 ID는 이전 스냅샷보다 커야 합니다. 이전: "
+                    + this.lastTransactionId + ", 요청: " + lastTransactionId);
+        }
+        if (snapshotAt == null) {
+            throw new IllegalArgumentException("스냅샷 일시는 필수입니다.");
+        }
+
+        return new BalanceSnapshot(
+                null,
+                userId,
+                lastBalance,
+                totalCharged + charged,
+                totalUsed + used,
+                totalRefunded + refunded,
+                transactionCount + count,
+                lastTransactionId,
+                snapshotAt);
+    }
+
+    /**
+     * 저장된 스냅샷인지 확인
+     */
+    public boolean isPersisted() {
+        return id != null;
+    }
+
+    // 검증 메서드들
+    private static void validateUserId(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("사용자 ID는 필수입니다.");
+        }
+    }
+
+    private static void validateBalance(Point balance) {
+        if (balance == null) {
+            throw new IllegalArgumentException("잔액은 필수입니다.");
+        }
+    }
+
+    // Getter 메서드들
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Point getBalance() {
+        return balance;
+    }
+
+    public long getTotalCharged() {
+        return totalCharged;
+    }
+
+    public long getTotalUsed() {
+        return totalUsed;
+    }
+
+    public long getTotalRefunded() {
+        return totalRefunded;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public Long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public LocalDateTime getSnapshotAt() {
+        return snapshotAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        BalanceSnapshot that = (BalanceSnapshot) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceSnapshot{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", balance=" + balance +
+                ", transactionCount=" + transactionCount +
+                ", lastTransactionId=" + lastTransactionId +
+                ", snapshotAt=" + snapshotAt +
+                '}';
+    }
+}
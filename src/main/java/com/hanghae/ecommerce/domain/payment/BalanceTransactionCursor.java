@@ -0,0 +1,116 @@
+package com.hanghae.ecommerce.domain.payment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * 잔액 거래 이력 키셋 페이징 커서를 나타내는 Value Object
+ *
+ * (created_at, id) 조합으로 마지막으로 조회한 거래의 위치를 표현합니다.
+ * 클라이언트에는 불투명한 문자열(Base64 URL-safe)로 전달됩니다.
+ */
+public class BalanceTransactionCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    private BalanceTransactionCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * 커서 생성
+     */
+    public static BalanceTransactionCursor of(LocalDateTime createdAt, Long id) {
+        if (createdAt == null) {
+            throw new IllegalArgumentException("커서 생성일시는 필수입니다.");
+        }
+        if (id == null) {
+            throw new IllegalArgumentException("커서 거래 ID는 필수입니다.");
+        }
+        return new BalanceTransactionCursor(createdAt, id);
+    }
+
+    /**
+     * 거래의 위치로 커서 생성
+     */
+    public static BalanceTransactionCursor from(BalanceTransaction transaction) {
+        if (transaction == null) {
+            throw new IllegalArgumentException("거래 정보는 null일 수 없습니다.");
+        }
+        return of(transaction.getCreatedAt(), transaction.getId());
+    }
+
+    /**
+     * 문자열 커서 복원
+     *
+     * @param encoded 인코딩된 커서 문자열
+     * @return 커서
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않은 경우
+     */
+    public static BalanceTransactionCursor decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + encoded);
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new IllegalArgumentException("유효하지 않은 커서입니다: " + encoded);
+            }
+
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separatorIndex));
+            Long id = Long.valueOf(raw.substring(separatorIndex + 1));
+            return of(createdAt, id);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException, Base64 디코딩 실패 포함
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + encoded);
+        }
+    }
+
+    /**
+     * 클라이언트 전달용 문자열로 인코딩
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        BalanceTransactionCursor that = (BalanceTransactionCursor) o;
+        return Objects.equals(createdAt, that.createdAt) && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, id);
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceTransactionCursor{" +
+                "createdAt=" + createdAt +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package com.hanghae.ecommerce.domain.payment;
+
+/**
+ * 결제 사가 상태를 나타내는 Value Object
+ */
+public enum PaymentSagaStatus {
+    STARTED("진행중"),
+    COMPENSATING("보상중"),
+    COMPLETED("완료"),
+    COMPENSATED("보상완료");
+
+    private final String description;
+
+    PaymentSagaStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 종료된 상태인지 확인
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == COMPENSATED;
+    }
+}
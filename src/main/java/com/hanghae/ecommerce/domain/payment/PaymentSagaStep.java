@@ -0,0 +1,33 @@
+package com.hanghae.ecommerce.domain.payment;
+
+/**
+ * 결제 사가 단계를 나타내는 Value Object
+ *
+ * 선언 순서가 실행 순서이며, 보상은 완료된 단계의 역순으로 수행됩니다.
+ */
+public enum PaymentSagaStep {
+    DEBIT_BALANCE("잔액 차감", true),
+    DEDUCT_STOCK("재고 차감", true),
+    USE_COUPON("쿠폰 사용", true),
+    COMPLETE_ORDER("결제 확정", false);
+
+    private final String description;
+    private final boolean compensable;
+
+    PaymentSagaStep(String description, boolean compensable) {
+        this.description = description;
+        this.compensable = compensable;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 보상 트랜잭션이 있는 단계인지 확인
+     * 결제 확정은 마지막 단계이므로 완료되면 사가 전체가 완료됩니다.
+     */
+    public boolean isCompensable() {
+        return compensable;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hanghae.ecommerce.domain.payment.repository;
+
+import com.hanghae.ecommerce.domain.payment.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+/**
+ * 잔액 스냅샷 Repository - Spring Data JPA
+ */
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    /**
+     * 사용자의 최신 스냅샷 조회
+     * uk_balance_snapshots_user_last_tx 인덱스를 역순으로 한 건만 읽습니다.
+     */
+    Optional<BalanceSnapshot> findTopByUserIdOrderByLastTransactionIdDesc(Long userId);
+
+    /**
+     * 전체 스냅샷이 반영한 가장 큰 거래 ID (스냅샷이 없으면 0)
+     */
+    @Query("SELECT COALESCE(MAX(s.lastTransactionId), 0) FROM BalanceSnapshot s")
+    Long findMaxLastTransactionId();
+}
@@ -2,6 +2,7 @@ package com.hanghae.ecommerce.domain.payment.repository;
 
 import com.hanghae.ecommerce.domain.payment.BalanceTransaction;
 import com.hanghae.ecommerce.domain.payment.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -25,6 +26,48 @@ public interface BalanceTransactionRepository extends JpaRepository<BalanceTrans
      */
     List<BalanceTransaction> findByUserIdAndType(Long userId, TransactionType type);
 
+    /**
+     * 사용자 거래 이력 첫 페이지 조회 (키셋 페이징)
+     * idx_balance_transactions_user_created (user_id, created_at, id) 인덱스를 역순으로 스캔합니다.
+     */
+    @Query("SELECT bt FROM BalanceTransaction bt WHERE bt.userId = :userId " +
+            "ORDER BY bt.createdAt DESC, bt.id DESC")
+    List<BalanceTransaction> findLatestByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 사용자 거래 이력 다음 페이지 조회 (키셋 페이징)
+     * 커서 (createdAt, id) 보다 이전 거래만 조회합니다.
+     */
+    @Query("SELECT bt FROM BalanceTransaction bt WHERE bt.userId = :userId AND " +
+            "(bt.createdAt < :cursorCreatedAt OR (bt.createdAt = :cursorCreatedAt AND bt.id < :cursorId)) " +
+            "ORDER BY bt.createdAt DESC, bt.id DESC")
+    List<BalanceTransaction> findByUserIdBeforeCursor(@Param("userId") Long userId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    /**
+     * 거래 유형별 사용자 거래 이력 첫 페이지 조회 (키셋 페이징)
+     * idx_balance_transactions_user_type_created (user_id, type, created_at, id) 인덱스를 사용합니다.
+     */
+    @Query("SELECT bt FROM BalanceTransaction bt WHERE bt.userId = :userId AND bt.type = :type " +
+            "ORDER BY bt.createdAt DESC, bt.id DESC")
+    List<BalanceTransaction> findLatestByUserIdAndType(@Param("userId") Long userId,
+            @Param("type") TransactionType type,
+            Pageable pageable);
+
+    /**
+     * 거래 유형별 사용자 거래 이력 다음 페이지 조회 (키셋 페이징)
+     */
+    @Query("SELECT bt FROM BalanceTransaction bt WHERE bt.userId = :userId AND bt.type = :type AND " +
+            "(bt.createdAt < :cursorCreatedAt OR (bt.createdAt = :cursorCreatedAt AND bt.id < :cursorId)) " +
+            "ORDER BY bt.createdAt DESC, bt.id DESC")
+    List<BalanceTransaction> findByUserIdAndTypeBeforeCursor(@Param("userId") Long userId,
+            @Param("type") TransactionType type,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
     /**
      * 주문 ID로 거래 목록 조회
      */
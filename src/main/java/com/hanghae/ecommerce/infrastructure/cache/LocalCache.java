@@ -0,0 +1,76 @@
+package com.hanghae.ecommerce.infrastructure.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 노드 메모리 캐시 (RedisCacheService의 L1)
+ *
+ * 최대 항목 수를 넘으면 가장 오래 조회되지 않은 항목부터 제거(LRU)하고,
+ * 항목마다 만료 시각이 지나면 조회 시점에 제거합니다.
+ * 저장한 객체를 그대로 돌려주므로 호출하는 쪽은 값을 읽기 전용으로 다뤄야 합니다.
+ */
+final class LocalCache {
+
+    private final Map<String, Entry> entries;
+
+    LocalCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("로컬 캐시 최대 항목 수는 0보다 커야 합니다: " + maxSize);
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 조회 (없거나 만료되었으면 null)
+     */
+    synchronized Object get(String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= now) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    synchronized void put(String key, Object value, long expiresAt) {
+        entries.put(key, new Entry(value, expiresAt));
+    }
+
+    synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    synchronized void removeByPrefix(String prefix) {
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 캐시 항목
+     */
+    private static class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,11 +1,34 @@
 package com.hanghae.ecommerce.infrastructure.cache;
 
 import com.hanghae.ecommerce.infrastructure.lock.LockManager;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 /**
@@ -16,23 +39,111 @@ import java.util.function.Supplier;
  * ## 방지 전략
  * 1. 분산락(Distributed Lock): 캐시 갱신 시 락을 획득한 하나의 요청만 DB 조회
  * 2. 이중 체크(Double-Check): 락 획득 후 캐시 재확인
- * 3. Stale-While-Revalidate: 만료된 캐시를 즉시 반환하고 백그라운드에서 갱신 (선택적)
+ * 3. Stale-While-Revalidate: 만료된 캐시를 즉시 반환하고 백그라운드에서 갱신
+ * 
+ * ## getOrLoad 갱신 방식
+ * getOrLoad로 저장한 값은 계산 시간과 소프트 만료 시각을 함께 담은 CacheEntry로 저장합니다 (get은 값만 꺼내 반환).
+ * - 하드 TTL: 호출자가 준 TTL (Redis 키 만료), 소프트 TTL: 하드 TTL x app.cache.soft-ttl-ratio
+ * - 소프트 만료 전: XFetch 확률적 조기 갱신 - `계산 시간 x beta x -ln(rand) >= 소프트 만료까지 남은 시간`이면
+ *   값을 그대로 반환하고 백그라운드에서 갱신 (계산이 오래 걸릴수록, 만료가 가까울수록 일찍 갱신)
+ * - 소프트 만료 후 하드 만료 전: 이전 값을 그대로 반환하고 백그라운드에서 갱신
+ * - 백그라운드 갱신은 키마다 하나만 실행 (노드 안은 진행 중 목록, 노드 간은 `cache-refresh:{key}` SET NX)
+ * - 하드 만료(캐시 미스): 노드마다 요청 하나만 분산락을 잡고 조회하고, 같은 노드의 다른 요청은 그 결과를 기다림
+ *   (락 대기 시간을 넘기면 캐시를 다시 확인하고 그래도 없을 때만 대표 요청이 직접 조회)
+ * 
+ * ## 2단계 캐시 (L1 노드 메모리 + L2 Redis, 선택)
+ * 조회마다 Redis 왕복과 JSON 역직렬화가 일어나므로, 자주 읽히는 키 접두사는 노드 메모리(L1)에 짧게 둘 수 있습니다.
+ * - app.cache.local.prefixes에 등록한 접두사로 시작하는 키만 L1 사용 (예: `product:,popular-products:`)
+ * - L1은 최대 항목 수(LRU)와 TTL로 제거하며, L1 TTL은 해당 접두사의 L2 TTL보다 짧게 설정
+ * - L1 미스 시 L2에서 읽은 값을 L1에 넣음 (쓰기는 L2에만 하고 L1은 비움)
+ * - 저장/삭제 시 `cache:invalidate` 채널로 `{노드 ID}:{캐시 키}`를 발행해 다른 노드의 L1에서 제거
+ *   (자기 노드는 바로 제거하고 자기 메시지는 무시, 패턴 삭제는 패턴을 그대로 발행,
+ *   메시지를 놓친 노드는 L1 TTL 안에 반영)
+ * - 읽는 도중 무효화가 도착하면 읽은 값을 L1에 넣지 않음
+ * - L1 값은 여러 요청이 같은 객체를 공유하므로 읽기 전용으로 다룸
+ * - 단계별 적중률은 getStats()로 확인
+ * 
+ * ## 설정
+ * - app.cache.local.prefixes: L1을 사용할 키 접두사 (쉼표 구분, 기본값 없음 = L1 미사용)
+ * - app.cache.local.max-size: L1 최대 항목 수 (기본값 10000)
+ * - app.cache.local.ttl-millis: L1 TTL (기본값 5000)
+ * - app.cache.soft-ttl-ratio: 하드 TTL 대비 소프트 TTL 비율 (기본값 0.8)
+ * - app.cache.xfetch-beta: 조기 갱신 강도 (기본값 1.0, 클수록 일찍 갱신, 0이면 소프트 만료 후에만 갱신)
  */
 @Service
 public class RedisCacheService {
 
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheService.class);
+
+    static final String INVALIDATION_CHANNEL = "cache:invalidate";
+
     private final RedisTemplate<String, Object> redisTemplate;
     private final LockManager lockManager;
 
+    // L1을 사용할 키 접두사 (비어 있으면 L1 미사용)
+    private final List<String> localPrefixes;
+    private final LocalCache localCache;
+    private final long localTtlMillis;
+
+    // 무효화 메시지 발신 노드 구분용
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 무효화를 받을 때마다 증가 (읽는 도중 무효화가 왔는지 확인용)
+    private final AtomicLong invalidationSeq = new AtomicLong();
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l1Misses = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+
     // 캐시 갱신 락 타임아웃
     private static final long CACHE_LOCK_TIMEOUT_SECONDS = 5L;
 
     // 캐시 갱신 락 키 접두사
     private static final String CACHE_LOCK_PREFIX = "cache-lock:";
 
-    public RedisCacheService(RedisTemplate<String, Object> redisTemplate, LockManager lockManager) {
+    // 백그라운드 갱신 중복 방지 키 접두사와 최소 유지 시간
+    private static final String CACHE_REFRESH_PREFIX = "cache-refresh:";
+    private static final long MIN_REFRESH_GUARD_MILLIS = 1000L;
+
+    private final double softTtlRatio;
+    private final double xfetchBeta;
+
+    // 캐시 미스 시 이 노드에서 진행 중인 조회 (같은 키의 다른 요청은 결과를 기다림)
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    // 이 노드에서 진행 중인 백그라운드 갱신 키
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RedisCacheService(RedisTemplate<String, Object> redisTemplate,
+            LockManager lockManager,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${app.cache.local.prefixes:}") String[] localPrefixes,
+            @Value("${app.cache.local.max-size:10000}") int localMaxSize,
+            @Value("${app.cache.local.ttl-millis:5000}") long localTtlMillis,
+            @Value("${app.cache.soft-ttl-ratio:0.8}") double softTtlRatio,
+            @Value("${app.cache.xfetch-beta:1.0}") double xfetchBeta) {
+        if (softTtlRatio <= 0 || softTtlRatio > 1) {
+            throw new IllegalArgumentException("소프트 TTL 비율은 0보다 크고 1 이하여야 합니다: " + softTtlRatio);
+        }
         this.redisTemplate = redisTemplate;
         this.lockManager = lockManager;
+        this.softTtlRatio = softTtlRatio;
+        this.xfetchBeta = xfetchBeta;
+        this.localPrefixes = Arrays.stream(localPrefixes)
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toList();
+        this.localTtlMillis = localTtlMillis;
+        this.localCache = this.localPrefixes.isEmpty() ? null : new LocalCache(localMaxSize);
+        if (localCache != null) {
+            listenerContainer.addMessageListener(
+                    (Message message, byte[] pattern) ->
+                            onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(INVALIDATION_CHANNEL));
+        }
     }
 
     /**
@@ -44,11 +155,36 @@ public class RedisCacheService {
      */
     @SuppressWarnings("unchecked")
     public <T> T get(String key, Class<T> type) {
+        return (T) unwrap(read(key, type));
+    }
+
+    /**
+     * L1 → L2 순으로 저장된 그대로(CacheEntry 또는 값) 조회
+     * 
+     * @return 값이 type이면 저장된 객체, 아니면 null
+     */
+    private Object read(String key, Class<?> type) {
+        boolean local = isLocal(key);
+        if (local) {
+            Object value = localCache.get(key, System.currentTimeMillis());
+            if (value != null && type.isInstance(unwrap(value))) {
+                l1Hits.increment();
+                return value;
+            }
+            l1Misses.increment();
+        }
+
         try {
+            long seq = invalidationSeq.get();
             Object value = redisTemplate.opsForValue().get(key);
-            if (value != null && type.isInstance(value)) {
-                return (T) value;
+            if (value != null && type.isInstance(unwrap(value))) {
+                l2Hits.increment();
+                if (local && seq == invalidationSeq.get()) {
+                    localCache.put(key, value, System.currentTimeMillis() + localTtlMillis);
+                }
+                return value;
             }
+            l2Misses.increment();
             return null;
         } catch (Exception e) {
             // Redis 연결 실패 등 예외 발생 시 null 반환 (캐시 미스로 처리)
@@ -57,6 +193,10 @@ public class RedisCacheService {
         }
     }
 
+    private static Object unwrap(Object stored) {
+        return stored instanceof CacheEntry entry ? entry.getValue() : stored;
+    }
+
     /**
      * 캐시에 값을 저장합니다.
      * 
@@ -71,6 +211,9 @@ public class RedisCacheService {
             } catch (Exception e) {
                 // Redis 연결 실패 시 예외 무시 (캐시 저장 실패는 치명적이지 않음)
             }
+            if (isLocal(key)) {
+                evictLocal(key);
+            }
         }
     }
 
@@ -81,6 +224,9 @@ public class RedisCacheService {
      */
     public void delete(String key) {
         redisTemplate.delete(key);
+        if (isLocal(key)) {
+            evictLocal(key);
+        }
     }
 
     /**
@@ -93,56 +239,141 @@ public class RedisCacheService {
         if (keys != null && !keys.isEmpty()) {
             redisTemplate.delete(keys);
         }
+        if (localCache != null) {
+            evictLocal(pattern);
+        }
     }
 
     /**
      * Cache Aside 패턴 + Cache Stampede 방지
      * 
      * 캐시에서 조회하고, 없으면 DB에서 조회하여 캐시에 저장합니다.
-     * 분산락을 사용하여 동시에 여러 요청이 DB를 조회하는 것을 방지합니다.
+     * 소프트 만료가 가까워지거나 지난 값은 그대로 반환하고 백그라운드에서 한 번만 갱신하며,
+     * 캐시 미스 시에는 분산락을 사용하여 동시에 여러 요청이 DB를 조회하는 것을 방지합니다.
      * 
      * @param key    캐시 키
      * @param type   반환 타입
-     * @param ttl    캐시 TTL
+     * @param ttl    캐시 TTL (하드 TTL)
      * @param loader DB 조회 함수
      * @return 캐시된 값 또는 DB에서 조회한 값
      */
+    @SuppressWarnings("unchecked")
     public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
-        // 1. 캐시에서 먼저 조회 (Cache Hit)
-        T cachedValue = get(key, type);
-        if (cachedValue != null) {
-            return cachedValue;
+        // 1. 캐시에서 먼저 조회 (Cache Hit, 소프트 만료가 가까우면 백그라운드 갱신)
+        Object stored = read(key, type);
+        if (stored != null) {
+            if (stored instanceof CacheEntry entry && shouldRefresh(entry, System.currentTimeMillis())) {
+                refreshAsync(key, ttl, loader, entry);
+            }
+            return (T) unwrap(stored);
+        }
+
+        // 2. 캐시 미스 - 이 노드에서는 요청 하나만 조회하고 나머지는 결과를 기다림
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, created);
+        if (inFlight != null) {
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
         }
 
-        // 2. 캐시 미스 - 분산락을 사용하여 DB 조회 (Cache Stampede 방지)
+        try {
+            T loaded = loadWithLock(key, type, ttl, loader);
+            created.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, created);
+        }
+    }
+
+    /**
+     * 분산락을 잡고 이중 체크 후 조회 (노드 간 중복 조회 방지)
+     */
+    private <T> T loadWithLock(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
         String lockKey = CACHE_LOCK_PREFIX + key;
+        AtomicBoolean loaderCalled = new AtomicBoolean();
 
         try {
             return lockManager.executeWithLock(lockKey, CACHE_LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS, () -> {
-                // 3. 이중 체크 - 다른 스레드가 이미 캐시를 갱신했을 수 있음
+                // 3. 이중 체크 - 다른 노드가 이미 캐시를 갱신했을 수 있음
                 T doubleCheckValue = get(key, type);
                 if (doubleCheckValue != null) {
                     return doubleCheckValue;
                 }
 
-                // 4. DB에서 조회
-                T loadedValue = loader.get();
+                // 4. DB에서 조회 후 캐시에 저장 (저장 실패는 무시)
+                loaderCalled.set(true);
+                return loadAndStore(key, ttl, loader);
+            });
+        } catch (RuntimeException e) {
+            if (loaderCalled.get()) {
+                throw e; // 조회 자체가 실패한 경우는 다시 조회하지 않음
+            }
+            // 분산락 획득 실패 또는 Redis 연결 실패 - 그사이 채워졌으면 사용하고, 아니면 대표 요청 하나만 직접 조회
+            T cached = get(key, type);
+            return cached != null ? cached : loadAndStore(key, ttl, loader);
+        }
+    }
 
-                // 5. 캐시에 저장 (실패해도 무시)
-                if (loadedValue != null) {
-                    try {
-                        set(key, loadedValue, ttl);
-                    } catch (Exception e) {
-                        // Redis 연결 실패 시 캐시 저장 실패는 무시하고 DB 조회 결과 반환
-                    }
-                }
+    /**
+     * 조회 후 계산 시간과 소프트 만료 시각을 함께 저장
+     */
+    private <T> T loadAndStore(String key, Duration ttl, Supplier<T> loader) {
+        long startedAt = System.nanoTime();
+        T loaded = loader.get();
+        long computeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        if (loaded != null) {
+            long softExpireAt = System.currentTimeMillis() + (long) (ttl.toMillis() * softTtlRatio);
+            set(key, new CacheEntry(loaded, computeMillis, softExpireAt), ttl);
+        }
+        return loaded;
+    }
 
-                return loadedValue;
+    /**
+     * 갱신 여부 (소프트 만료 후이거나 XFetch 조기 갱신에 당첨)
+     */
+    private boolean shouldRefresh(CacheEntry entry, long now) {
+        long remaining = entry.getSoftExpireAt() - now;
+        if (remaining <= 0) {
+            return true;
+        }
+        double gap = entry.getComputeMillis() * xfetchBeta * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= remaining;
+    }
+
+    /**
+     * 백그라운드 갱신 (키마다 하나만 실행, 실패하면 하드 만료까지 이전 값 유지)
+     */
+    private <T> void refreshAsync(String key, Duration ttl, Supplier<T> loader, CacheEntry entry) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        String guardKey = CACHE_REFRESH_PREFIX + key;
+        try {
+            Duration guardTtl = Duration.ofMillis(Math.max(MIN_REFRESH_GUARD_MILLIS, entry.getComputeMillis() * 3));
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(guardKey, nodeId, guardTtl))) {
+                refreshing.remove(key);
+                return;
+            }
+            refresher.execute(() -> {
+                try {
+                    loadAndStore(key, ttl, loader);
+                } catch (Exception e) {
+                    log.warn("캐시 백그라운드 갱신 실패 - Key: {}", key, e);
+                } finally {
+                    redisTemplate.delete(guardKey);
+                    refreshing.remove(key);
+                }
             });
         } catch (Exception e) {
-            // 분산락 획득 실패 또는 Redis 연결 실패 시 DB에서 직접 조회
-            // (락 획득 실패는 다른 스레드가 처리 중일 수 있으므로 DB 조회로 폴백)
-            return loader.get();
+            // Redis 연결 실패 또는 종료 중 - 이번 요청은 이전 값으로 응답
+            refreshing.remove(key);
         }
     }
 
@@ -201,4 +432,147 @@ public class RedisCacheService {
         var keys = redisTemplate.keys(pattern);
         return keys != null ? keys.size() : 0;
     }
+
+    /**
+     * 단계별 캐시 적중 현황
+     * 
+     * @return L1/L2 적중 수와 적중률 (L2는 Redis를 조회한 요청 기준, L1을 쓰지 않는 키 포함)
+     */
+    public CacheStats getStats() {
+        return new CacheStats(l1Hits.sum(), l1Misses.sum(), l2Hits.sum(), l2Misses.sum(),
+                localCache != null ? localCache.size() : 0);
+    }
+
+    private boolean isLocal(String key) {
+        if (localCache == null) {
+            return false;
+        }
+        for (String prefix : localPrefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 이 노드의 L1에서 바로 제거하고 다른 노드에 무효화 발행
+     * 
+     * @param keyOrPattern 캐시 키 또는 패턴
+     */
+    private void evictLocal(String keyOrPattern) {
+        onInvalidation(keyOrPattern);
+        try {
+            byte[] channel = INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            byte[] body = (nodeId + ":" + keyOrPattern).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+        } catch (Exception e) {
+            // 발행 실패 시 다른 노드는 L1 TTL 안에 반영
+            log.warn("캐시 무효화 발행 실패 - Key: {}", keyOrPattern, e);
+        }
+    }
+
+    private void onMessage(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0) {
+            log.warn("잘못된 캐시 무효화 메시지 - {}", message);
+            return;
+        }
+        if (!message.substring(0, separator).equals(nodeId)) {
+            onInvalidation(message.substring(separator + 1));
+        }
+    }
+
+    /**
+     * 무효화 반영 (키이면 해당 항목, `접두사*` 패턴이면 접두사 항목, 그 외 패턴이면 L1 전체 제거)
+     */
+    private void onInvalidation(String keyOrPattern) {
+        invalidationSeq.incrementAndGet();
+        int glob = indexOfGlob(keyOrPattern);
+        if (glob < 0) {
+            localCache.remove(keyOrPattern);
+        } else if (glob == keyOrPattern.length() - 1 && keyOrPattern.charAt(glob) == '*') {
+            localCache.removeByPrefix(keyOrPattern.substring(0, glob));
+        } else {
+            localCache.clear();
+        }
+    }
+
+    private static int indexOfGlob(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '\\') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdown();
+    }
+
+    /**
+     * getOrLoad 저장 항목 (값 + 계산 시간 + 소프트 만료 시각, JSON 직렬화용)
+     */
+    public static class CacheEntry {
+        private Object value;
+        private long computeMillis;
+        private long softExpireAt;
+
+        public CacheEntry() {}
+
+        public CacheEntry(Object value, long computeMillis, long softExpireAt) {
+            this.value = value;
+            this.computeMillis = computeMillis;
+            this.softExpireAt = softExpireAt;
+        }
+
+        // Getters and Setters for JSON serialization
+        public Object getValue() { return value; }
+        public void setValue(Object value) { this.value = value; }
+        public long getComputeMillis() { return computeMillis; }
+        public void setComputeMillis(long computeMillis) { this.computeMillis = computeMillis; }
+        public long getSoftExpireAt() { return softExpireAt; }
+        public void setSoftExpireAt(long softExpireAt) { this.softExpireAt = softExpireAt; }
+    }
+
+    /**
+     * 단계별 캐시 적중 현황
+     */
+    public static class CacheStats {
+        private final long l1Hits;
+        private final long l1Misses;
+        private final long l2Hits;
+        private final long l2Misses;
+        private final int l1Size;
+
+        CacheStats(long l1Hits, long l1Misses, long l2Hits, long l2Misses, int l1Size) {
+            this.l1Hits = l1Hits;
+            this.l1Misses = l1Misses;
+            this.l2Hits = l2Hits;
+            this.l2Misses = l2Misses;
+            this.l1Size = l1Size;
+        }
+
+        public long getL1Hits() { return l1Hits; }
+        public long getL1Misses() { return l1Misses; }
+        public long getL2Hits() { return l2Hits; }
+        public long getL2Misses() { return l2Misses; }
+        public int getL1Size() { return l1Size; }
+
+        public double getL1HitRatio() {
+            return ratio(l1Hits, l1Misses);
+        }
+
+        public double getL2HitRatio() {
+            return ratio(l2Hits, l2Misses);
+        }
+
+        private static double ratio(long hits, long misses) {
+            long total = hits + misses;
+            return total > 0 ? (double) hits / total : 0.0;
+        }
+    }
 }
@@ -0,0 +1,342 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품 → 쿠폰 적용 인덱스 (역색인)
+ *
+ * 쿠폰 정의의 적용 상품 목록(DiscountPolicy.applicableProductIds, coupon_applicable_products 테이블)을 뒤집어
+ * 상품 ID로 적용 가능한 쿠폰 ID를 찾습니다.
+ * 장바구니에 적용 가능한 쿠폰을 찾을 때 사용자가 가진 쿠폰을 모두 훑지 않고, 장바구니 상품 수만큼만 조회합니다.
+ *
+ * ## 자료구조 (불변 스냅샷, 원시 타입 배열)
+ * - 상품 테이블: 개방 주소법 해시 테이블 (long[] 상품 ID, int[] 상품 순번)
+ * - 상품별 쿠폰 목록: CSR 형식 (int[] 시작 위치, long[] 쿠폰 ID, 상품별로 정렬)
+ * - 전체 상품 쿠폰: 적용 상품이 지정되지 않은 쿠폰 ID (long[], 정렬)
+ * - 조회는 박싱 없이 배열만 읽고, 갱신은 새 스냅샷을 만들어 교체 (읽기 락 없음)
+ *
+ * ## 갱신
+ * - 유효 기간 내 쿠폰으로 전체를 만들고, 갱신 주기마다 다시 생성
+ * - 첫 생성만 조회 스레드에서 기다리고, 주기 재생성은 백그라운드 스레드에서 하며 그동안 기존 스냅샷으로 조회
+ * - CouponDefinitionCache 무효화를 받으면 해당 쿠폰만 다시 읽어 다음 조회 때 반영
+ *
+ * 인덱스에 없는 쿠폰(유효 기간 밖이거나 아직 반영되지 않은 쿠폰)은 isIndexed()가 false이므로,
+ * 호출하는 쪽에서 걸러내지 말고 직접 판단해야 합니다.
+ *
+ * ## 설정
+ * - app.coupon.applicability-index.refresh-millis: 전체 재생성 주기 (기본값 60000)
+ */
+@Component
+public class CouponApplicabilityIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(CouponApplicabilityIndex.class);
+
+  private static final long[] EMPTY = new long[0];
+
+  private final CouponRepository couponRepository;
+  private final CouponDefinitionCache couponDefinitionCache;
+  private final long refreshMillis;
+
+  // 쿠폰 ID → 적용 상품 ID (정렬, 빈 배열이면 전체 상품). 스냅샷의 원본이며 refreshLock 안에서만 변경
+  private final Map<Long, long[]> sources = new HashMap<>();
+
+  // 무효화를 받았지만 아직 반영하지 않은 쿠폰 ID
+  private final Set<Long> dirtyCouponIds = ConcurrentHashMap.newKeySet();
+
+  private final ReentrantLock refreshLock = new ReentrantLock();
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+  private volatile Snapshot snapshot;
+  private volatile long builtAt;
+
+  public CouponApplicabilityIndex(
+      CouponRepository couponRepository,
+      CouponDefinitionCache couponDefinitionCache,
+      @Value("${app.coupon.applicability-index.refresh-millis:60000}") long refreshMillis) {
+    this.couponRepository = couponRepository;
+    this.couponDefinitionCache = couponDefinitionCache;
+    this.refreshMillis = refreshMillis;
+    couponDefinitionCache.addInvalidationListener(dirtyCouponIds::add);
+  }
+
+  /**
+   * 특정 상품에만 적용되도록 지정된 쿠폰 ID (전체 상품 쿠폰 제외)
+   *
+   * @param productId 상품 ID
+   * @return 쿠폰 ID (정렬)
+   */
+  public long[] findCouponIds(long productId) {
+    Snapshot current = current();
+    int ordinal = current.ordinalOf(productId);
+    if (ordinal < 0) {
+      return EMPTY;
+    }
+    return Arrays.copyOfRange(current.couponIds, current.offsets[ordinal], current.offsets[ordinal + 1]);
+  }
+
+  /**
+   * 장바구니 상품 중 하나라도 적용되는 쿠폰 ID (전체 상품 쿠폰 포함)
+   *
+   * @param productIds 장바구니 상품 ID
+   * @return 쿠폰 ID (정렬, 중복 없음)
+   */
+  public long[] findApplicableCouponIds(long[] productIds) {
+    Snapshot current = current();
+
+    int size = current.globalCouponIds.length;
+    int[] ordinals = new int[productIds.length];
+    for (int i = 0; i < productIds.length; i++) {
+      ordinals[i] = current.ordinalOf(productIds[i]);
+      if (ordinals[i] >= 0) {
+        size += current.offsets[ordinals[i] + 1] - current.offsets[ordinals[i]];
+      }
+    }
+
+    long[] merged = Arrays.copyOf(current.globalCouponIds, size);
+    int position = current.globalCouponIds.length;
+    for (int ordinal : ordinals) {
+      if (ordinal >= 0) {
+        int from = current.offsets[ordinal];
+        int length = current.offsets[ordinal + 1] - from;
+        System.arraycopy(current.couponIds, from, merged, position, length);
+        position += length;
+      }
+    }
+    return sortedUnique(merged);
+  }
+
+  /**
+   * 인덱스에 반영된 쿠폰인지 확인
+   *
+   * @param couponId 쿠폰 ID
+   */
+  public boolean isIndexed(long couponId) {
+    return Arrays.binarySearch(current().indexedCouponIds, couponId) >= 0;
+  }
+
+  /**
+   * 인덱스에 반영된 쿠폰 수
+   */
+  public int size() {
+    return current().indexedCouponIds.length;
+  }
+
+  /**
+   * 다음 조회 때 백그라운드에서 전체 재생성
+   */
+  public void refresh() {
+    builtAt = 0;
+  }
+
+  private Snapshot current() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      return buildFirst();
+    }
+    if (System.currentTimeMillis() - builtAt >= refreshMillis) {
+      scheduleRebuild();
+    }
+    if (dirtyCouponIds.isEmpty() || !refreshLock.tryLock()) {
+      return current; // 다른 스레드가 갱신 중이면 기존 스냅샷 사용
+    }
+    try {
+      applyDirty();
+    } catch (Exception e) {
+      log.warn("쿠폰 적용 인덱스 갱신 실패", e);
+    } finally {
+      refreshLock.unlock();
+    }
+    return snapshot;
+  }
+
+  private Snapshot buildFirst() {
+    refreshLock.lock();
+    try {
+      if (snapshot == null) {
+        rebuildAll();
+      }
+      return snapshot;
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * 전체 재생성을 백그라운드 스레드에서 실행 (이미 실행 중이면 무시)
+   */
+  private void scheduleRebuild() {
+    if (!rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      Thread.ofVirtual().name("coupon-applicability-index-rebuild").start(() -> {
+        refreshLock.lock();
+        try {
+          if (System.currentTimeMillis() - builtAt >= refreshMillis) {
+            rebuildAll();
+          }
+        } catch (Exception e) {
+          log.warn("쿠폰 적용 인덱스 갱신 실패", e);
+        } finally {
+          refreshLock.unlock();
+          rebuilding.set(false);
+        }
+      });
+    } catch (RuntimeException e) {
+      rebuilding.set(false);
+      throw e;
+    }
+  }
+
+  private void rebuildAll() {
+    long startedAt = System.currentTimeMillis();
+    dirtyCouponIds.clear();
+    List<Coupon> coupons = couponRepository.findValidCoupons(LocalDateTime.now());
+
+    sources.clear();
+    for (Coupon coupon : coupons) {
+      sources.put(coupon.getId(), applicableProductIds(coupon));
+    }
+    snapshot = Snapshot.build(sources);
+    builtAt = startedAt;
+  }
+
+  private void applyDirty() {
+    List<Long> couponIds = new ArrayList<>(dirtyCouponIds);
+    dirtyCouponIds.removeAll(couponIds);
+
+    Map<Long, Coupon> coupons = couponDefinitionCache.getAll(couponIds);
+    for (Long couponId : couponIds) {
+      Coupon coupon = coupons.get(couponId);
+      if (coupon != null && coupon.isWithinValidPeriod()) {
+        sources.put(couponId, applicableProductIds(coupon));
+      } else {
+        sources.remove(couponId);
+      }
+    }
+    snapshot = Snapshot.build(sources);
+  }
+
+  private static long[] applicableProductIds(Coupon coupon) {
+    List<Long> productIds = coupon.getDiscountPolicy().getApplicableProductIds();
+    if (productIds == null || productIds.isEmpty()) {
+      return EMPTY;
+    }
+    return sortedUnique(productIds.stream().mapToLong(Long::longValue).toArray());
+  }
+
+  private static long[] sortedUnique(long[] values) {
+    if (values.length < 2) {
+      return values;
+    }
+    Arrays.sort(values);
+    int size = 1;
+    for (int i = 1; i < values.length; i++) {
+      if (values[i] != values[size - 1]) {
+        values[size++] = values[i];
+      }
+    }
+    return size == values.length ? values : Arrays.copyOf(values, size);
+  }
+
+  /**
+   * 불변 인덱스 스냅샷
+   */
+  private static final class Snapshot {
+    private final long[] indexedCouponIds;
+    private final long[] globalCouponIds;
+    private final long[] tableKeys; // 상품 ID
+    private final int[] tableOrdinals; // 상품 순번 + 1 (0이면 빈 칸)
+    private final int mask;
+    private final int[] offsets; // 상품 순번별 couponIds 시작 위치 (길이 = 상품 수 + 1)
+    private final long[] couponIds;
+
+    private Snapshot(long[] indexedCouponIds, long[] globalCouponIds, long[] tableKeys, int[] tableOrdinals,
+        int[] offsets, long[] couponIds) {
+      this.indexedCouponIds = indexedCouponIds;
+      this.globalCouponIds = globalCouponIds;
+      this.tableKeys = tableKeys;
+      this.tableOrdinals = tableOrdinals;
+      this.mask = tableKeys.length - 1;
+      this.offsets = offsets;
+      this.couponIds = couponIds;
+    }
+
+    static Snapshot build(Map<Long, long[]> sources) {
+      long[] indexed = sources.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+
+      // 빌드는 갱신 때만 하므로 박싱 컬렉션으로 뒤집은 뒤 배열로 옮김
+      List<Long> global = new ArrayList<>();
+      TreeMap<Long, List<Long>> byProduct = new TreeMap<>();
+      for (long couponId : indexed) {
+        long[] productIds = sources.get(couponId);
+        if (productIds.length == 0) {
+          global.add(couponId);
+          continue;
+        }
+        for (long productId : productIds) {
+          byProduct.computeIfAbsent(productId, id -> new ArrayList<>()).add(couponId);
+        }
+      }
+
+      int capacity = Integer.highestOneBit(Math.max(2, byProduct.size() * 2 - 1)) << 1;
+      long[] tableKeys = new long[capacity];
+      int[] tableOrdinals = new int[capacity];
+      int[] offsets = new int[byProduct.size() + 1];
+      long[] couponIds = new long[byProduct.values().stream().mapToInt(List::size).sum()];
+
+      int ordinal = 0;
+      int position = 0;
+      for (Map.Entry<Long, List<Long>> entry : byProduct.entrySet()) {
+        int slot = hash(entry.getKey()) & (capacity - 1);
+        while (tableOrdinals[slot] != 0) {
+          slot = (slot + 1) & (capacity - 1);
+        }
+        tableKeys[slot] = entry.getKey();
+        tableOrdinals[slot] = ordinal + 1;
+
+        offsets[ordinal] = position;
+        for (Long couponId : entry.getValue()) {
+          couponIds[position++] = couponId; // 쿠폰 ID 오름차순으로 추가되므로 정렬 유지
+        }
+        ordinal++;
+      }
+      offsets[ordinal] = position;
+
+      return new Snapshot(indexed, global.stream().mapToLong(Long::longValue).toArray(),
+          tableKeys, tableOrdinals, offsets, couponIds);
+    }
+
+    int ordinalOf(long productId) {
+      int slot = hash(productId) & mask;
+      while (tableOrdinals[slot] != 0) {
+        if (tableKeys[slot] == productId) {
+          return tableOrdinals[slot] - 1;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    private static int hash(long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 수량이 소진된 쿠폰 캠페인 종료
+ *
+ * 발급 워커(CouponIssuanceScheduler)와 Stream 컨슈머(CouponIssueStreamConsumer)가 함께 사용합니다.
+ * CouponQueueService.closeCampaign으로 새 진입과 남은 대기자를 거절하고,
+ * 거절된 대기자에게는 CouponQueueBroadcaster로 SOLD_OUT 결과를 바로 전송합니다.
+ * 이 노드에서 이미 종료한 쿠폰은 Redis를 다시 확인하지 않고 건너뜁니다.
+ */
+@Component
+public class CouponCampaignCloser {
+
+  private static final Logger log = LoggerFactory.getLogger(CouponCampaignCloser.class);
+
+  private final CouponQueueService couponQueueService;
+  private final CouponQueueBroadcaster couponQueueBroadcaster;
+  private final Set<Long> closedCoupons = ConcurrentHashMap.newKeySet();
+
+  public CouponCampaignCloser(CouponQueueService couponQueueService, CouponQueueBroadcaster couponQueueBroadcaster) {
+    this.couponQueueService = couponQueueService;
+    this.couponQueueBroadcaster = couponQueueBroadcaster;
+  }
+
+  /**
+   * 수량이 소진되었으면 캠페인 종료
+   *
+   * @param coupon 쿠폰 정보
+   * @return 종료되었으면 true (이 노드에서 이전에 종료한 경우 포함, 수량이 남아 있으면 false)
+   */
+  public boolean closeIfSoldOut(Coupon coupon) {
+    Long couponId = coupon.getId();
+    if (closedCoupons.contains(couponId)) {
+      return true;
+    }
+    long rejected = couponQueueService.closeCampaign(couponId, coupon.getEndDate(),
+        userIds -> couponQueueBroadcaster.notifyRejected(couponId, userIds));
+    if (rejected < 0) {
+      return false;
+    }
+    closedCoupons.add(couponId);
+    log.info("쿠폰 캠페인 종료 - CouponId: {}, 거절한 대기자 수: {}", couponId, rejected);
+    return true;
+  }
+
+  /**
+   * 선점 뒤 발급에 실패했지만 캠페인이 이미 종료되어 대기열로 되돌리지 못한 사용자 거절
+   *
+   * @param couponId 쿠폰 ID
+   * @param userIds  되돌리지 못한 사용자 ID 목록
+   */
+  public void rejectClaimed(Long couponId, Collection<Long> userIds) {
+    log.warn("종료된 캠페인의 선점 사용자 거절 - CouponId: {}, 인원: {}", couponId, userIds.size());
+    couponQueueBroadcaster.notifyRejected(couponId, userIds);
+  }
+
+  /**
+   * 이 노드에서 이미 종료한 쿠폰인지 여부 (Redis 조회 없음)
+   *
+   * @param couponId 쿠폰 ID
+   * @return 종료했으면 true
+   */
+  public boolean isClosed(Long couponId) {
+    return closedCoupons.contains(couponId);
+  }
+}
@@ -0,0 +1,206 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * 쿠폰 정의 로컬 캐시 (Near Cache)
+ *
+ * 쿠폰 정의(할인 정책, 발급/사용 기간, 총 수량, 상태)는 캠페인이 시작되면 거의 바뀌지 않으므로
+ * 발급 요청, 주문 할인 계산, 쿠폰 검증마다 DB를 조회하지 않고 노드 메모리에서 꺼내 씁니다.
+ *
+ * 캐시된 Coupon의 발급 수량(issued_quantity)은 적재 시점의 값이므로 사용하지 않습니다.
+ * 남은 수량은 Redis 수량 키(CouponQueueService)에서, 최종 판단은 DB 조건부 UPDATE에서 합니다.
+ *
+ * ## 무효화
+ * - 쿠폰 정의를 변경한 쪽에서 invalidate()를 호출
+ * - `coupon:definition:version:{couponId}`를 INCR해 버전을 매기고 채널로 `{couponId}:{version}` 발행
+ * - 각 노드는 받은 버전보다 오래된 항목만 제거 (순서가 뒤바뀐 메시지가 새 항목을 지우지 않음)
+ * - DB 조회 도중 무효화가 도착하면 조회 결과를 캐시에 넣지 않음
+ * - 메시지를 놓친 노드를 위해 항목은 TTL이 지나면 다시 조회
+ * - 쿠폰 정의에서 파생된 구조(CouponApplicabilityIndex 등)는 addInvalidationListener로 함께 갱신
+ *
+ * ## 설정
+ * - app.coupon.definition-cache.ttl-millis: 항목 유지 시간 (기본값 60000)
+ */
+@Component
+public class CouponDefinitionCache {
+
+  private static final Logger log = LoggerFactory.getLogger(CouponDefinitionCache.class);
+
+  static final String INVALIDATION_CHANNEL = "coupon:definition:invalidate";
+  private static final String VERSION_KEY_PREFIX = "coupon:definition:version:";
+
+  private final CouponRepository couponRepository;
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final long ttlMillis;
+
+  private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+  // 쿠폰별로 이 노드가 받은 가장 최근 무효화 버전
+  private final Map<Long, Long> invalidatedVersions = new ConcurrentHashMap<>();
+
+  private final List<LongConsumer> invalidationListeners = new CopyOnWriteArrayList<>();
+
+  public CouponDefinitionCache(
+      CouponRepository couponRepository,
+      RedisTemplate<String, Object> redisTemplate,
+      RedisMessageListenerContainer listenerContainer,
+      @Value("${app.coupon.definition-cache.ttl-millis:60000}") long ttlMillis) {
+    this.couponRepository = couponRepository;
+    this.redisTemplate = redisTemplate;
+    this.ttlMillis = ttlMillis;
+    listenerContainer.addMessageListener(
+        (Message message, byte[] pattern) -> onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+        new ChannelTopic(INVALIDATION_CHANNEL));
+  }
+
+  /**
+   * 쿠폰 정의 조회
+   *
+   * @param couponId 쿠폰 ID
+   * @return 쿠폰 (존재하지 않으면 empty)
+   */
+  public Optional<Coupon> get(Long couponId) {
+    if (couponId == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(getAll(List.of(couponId)).get(couponId));
+  }
+
+  /**
+   * 쿠폰 정의 일괄 조회 (캐시에 없는 쿠폰만 IN 조회 1회)
+   *
+   * @param couponIds 쿠폰 ID 목록
+   * @return 쿠폰 ID → 쿠폰 (존재하지 않는 쿠폰은 제외)
+   */
+  public Map<Long, Coupon> getAll(Collection<Long> couponIds) {
+    long now = System.currentTimeMillis();
+    Map<Long, Coupon> coupons = new HashMap<>();
+    List<Long> missing = new ArrayList<>();
+
+    for (Long couponId : couponIds) {
+      Entry entry = entries.get(couponId);
+      if (entry != null && now - entry.loadedAt < ttlMillis) {
+        coupons.put(couponId, entry.coupon);
+      } else if (!missing.contains(couponId)) {
+        missing.add(couponId);
+      }
+    }
+    if (missing.isEmpty()) {
+      return coupons;
+    }
+
+    // 조회 전 버전을 기억해 두고, 조회 중 무효화가 오면 결과는 이번 요청에만 사용
+    Map<Long, Long> versionsBeforeLoad = new HashMap<>();
+    for (Long couponId : missing) {
+      versionsBeforeLoad.put(couponId, invalidatedVersions.getOrDefault(couponId, 0L));
+    }
+
+    for (Coupon coupon : couponRepository.findAllById(missing)) {
+      Long couponId = coupon.getId();
+      coupons.put(couponId, coupon);
+      long version = versionsBeforeLoad.getOrDefault(couponId, 0L);
+      entries.compute(couponId, (id, current) ->
+          invalidatedVersions.getOrDefault(id, 0L) == version ? new Entry(coupon, version, now) : current);
+    }
+    return coupons;
+  }
+
+  /**
+   * 쿠폰 정의 무효화 (모든 노드에 전파)
+   *
+   * @param couponId 쿠폰 ID
+   */
+  public void invalidate(Long couponId) {
+    Long version = redisTemplate.opsForValue().increment(VERSION_KEY_PREFIX + couponId);
+    String message = couponId + ":" + version;
+
+    // 자기 노드는 메시지 왕복을 기다리지 않고 바로 반영
+    onInvalidation(message);
+
+    byte[] channel = INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+    byte[] body = message.getBytes(StandardCharsets.UTF_8);
+    redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+  }
+
+  /**
+   * 무효화 리스너 등록 (무효화 메시지를 받을 때마다 쿠폰 ID로 호출)
+   *
+   * @param listener 쿠폰 ID를 받는 리스너
+   */
+  public void addInvalidationListener(LongConsumer listener) {
+    invalidationListeners.add(listener);
+  }
+
+  /**
+   * 캐시 적재 여부 (테스트용)
+   */
+  boolean isCached(Long couponId) {
+    return entries.containsKey(couponId);
+  }
+
+  private void onInvalidation(String message) {
+    int separator = message.indexOf(':');
+    if (separator < 0) {
+      log.warn("잘못된 쿠폰 정의 무효화 메시지 - {}", message);
+      return;
+    }
+
+    Long couponId;
+    long version;
+    try {
+      couponId = Long.valueOf(message.substring(0, separator));
+      version = Long.parseLong(message.substring(separator + 1));
+    } catch (NumberFormatException e) {
+      log.warn("잘못된 쿠폰 정의 무효화 메시지 - {}", message);
+      return;
+    }
+
+    invalidatedVersions.merge(couponId, version, Math::max);
+    entries.computeIfPresent(couponId, (id, entry) -> entry.version < version ? null : entry);
+
+    for (LongConsumer listener : invalidationListeners) {
+      try {
+        listener.accept(couponId);
+      } catch (Exception e) {
+        log.warn("쿠폰 정의 무효화 리스너 실패 - CouponId: {}", couponId, e);
+      }
+    }
+  }
+
+  /**
+   * 캐시 항목
+   */
+  private static class Entry {
+    private final Coupon coupon;
+    private final long version; // 적재 시점에 알고 있던 무효화 버전
+    private final long loadedAt;
+
+    Entry(Coupon coupon, long version, long loadedAt) {
+      this.coupon = coupon;
+      this.version = version;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.CouponIssuanceLag;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 쿠폰 발급 워커 지표
+ *
+ * 발급 워커가 배치마다 배치 크기, DB 처리 시간, 발급 수를 기록하고,
+ * 조회 시점의 대기열 깊이와 가장 오래된 요청의 대기 시간을 함께 계산해 쿠폰별 지연 현황을 제공합니다.
+ *
+ * ## Redis 자료구조 설계
+ * - 쿠폰별 워커 상태 Key: `coupon:issuance:stats:{couponId}` (Hash: batchSize, avgBatchMillis, issuedTotal, lastProcessedAt)
+ *   TTL은 쿠폰 종료일 + 1일
+ * - 목록 Key: `coupon:issuance:stats` (Set, 워커 상태가 있는 쿠폰 ID)
+ *
+ * 쿠폰마다 리스를 가진 노드가 배치를 처리하므로, 워커 상태를 노드 메모리가 아닌 Redis에 기록해
+ * 어느 노드에서 조회해도 모든 노드의 쿠폰이 같은 값으로 보입니다 (리스가 넘어가도 누적값 유지).
+ * 목록 조회 시 종료된 캠페인과 상태가 만료된 쿠폰은 목록에서 제거합니다.
+ */
+@Component
+public class CouponIssuanceMetrics {
+
+  // 배치 처리 시간 이동 평균 가중치 (최근 값 비중)
+  private static final double EWMA_ALPHA = 0.3;
+
+  private static final String STATS_KEY_PREFIX = "coupon:issuance:stats:";
+  private static final String INDEX_KEY = "coupon:issuance:stats";
+
+  /**
+   * 배치 처리 결과 기록 스크립트
+   *
+   * KEYS[1] = 쿠폰별 워커 상태, KEYS[2] = 목록
+   * ARGV[1] = 쿠폰 ID, ARGV[2] = 다음 배치 크기, ARGV[3] = 발급 수, ARGV[4] = DB 처리 시간(ms),
+   * ARGV[5] = 처리 시각(ms), ARGV[6] = TTL(초), ARGV[7] = 이동 평균 가중치
+   *
+   * 이전 평균을 읽어 이동 평균을 계산하고 누적 발급 수를 더하는 것까지 한 번에 처리합니다.
+   */
+  private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>("""
+      local elapsed = tonumber(ARGV[4])
+      local previous = tonumber(redis.call('HGET', KEYS[1], 'avgBatchMillis'))
+      local alpha = tonumber(ARGV[7])
+      local avg = previous and (alpha * elapsed + (1 - alpha) * previous) or elapsed
+      redis.call('HSET', KEYS[1], 'batchSize', ARGV[2], 'avgBatchMillis', tostring(avg), 'lastProcessedAt', ARGV[5])
+      redis.call('HINCRBY', KEYS[1], 'issuedTotal', ARGV[3])
+      redis.call('EXPIRE', KEYS[1], ARGV[6])
+      redis.call('SADD', KEYS[2], ARGV[1])
+      return 1
+      """, Long.class);
+
+  private static final List<String> STATS_FIELDS =
+      List.of("batchSize", "avgBatchMillis", "issuedTotal", "lastProcessedAt");
+
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final CouponQueueService couponQueueService;
+
+  public CouponIssuanceMetrics(RedisTemplate<String, Object> redisTemplate, CouponQueueService couponQueueService) {
+    this.redisTemplate = redisTemplate;
+    this.couponQueueService = couponQueueService;
+  }
+
+  /**
+   * 배치 처리 결과 기록
+   *
+   * @param coupon        쿠폰 정보
+   * @param nextBatchSize 다음 배치 크기
+   * @param issuedCount   이번 배치 발급 수
+   * @param elapsedNanos  이번 배치 DB 처리 시간
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void recordBatch(Coupon coupon, int nextBatchSize, int issuedCount, long elapsedNanos) {
+    redisTemplate.execute(RECORD_SCRIPT,
+        RedisSerializer.string(), (RedisSerializer) RedisSerializer.string(),
+        List.of(statsKey(coupon.getId()), INDEX_KEY),
+        String.valueOf(coupon.getId()),
+        String.valueOf(nextBatchSize),
+        String.valueOf(issuedCount),
+        String.valueOf(elapsedNanos / 1_000_000.0),
+        String.valueOf(System.currentTimeMillis()),
+        String.valueOf(CouponQueueService.calculateTtl(coupon.getEndDate()).getSeconds()),
+        String.valueOf(EWMA_ALPHA));
+  }
+
+  /**
+   * 워커가 처리 중인 모든 쿠폰의 지연 현황 (대기 시간이 긴 순, 모든 노드 합산)
+   *
+   * 종료된 캠페인과 워커 상태가 만료된 쿠폰은 목록에서 제거하고 제외합니다.
+   */
+  public List<CouponIssuanceLag> getLag() {
+    Set<String> couponIds = redisTemplate.execute((RedisCallback<Set<String>>) connection -> {
+      Set<byte[]> members = connection.setCommands().sMembers(bytes(INDEX_KEY));
+      Set<String> ids = new LinkedHashSet<>();
+      if (members != null) {
+        members.forEach(member -> ids.add(new String(member, StandardCharsets.UTF_8)));
+      }
+      return ids;
+    });
+
+    List<CouponIssuanceLag> lags = new ArrayList<>();
+    if (couponIds == null) {
+      return lags;
+    }
+    for (String id : couponIds) {
+      Long couponId = Long.valueOf(id);
+      List<String> stats = readStats(couponId);
+      if (stats == null || couponQueueService.isClosed(couponId)) {
+        redisTemplate.execute((RedisCallback<Long>) connection ->
+            connection.setCommands().sRem(bytes(INDEX_KEY), bytes(id)));
+        continue;
+      }
+      lags.add(toLag(couponId, stats));
+    }
+    lags.sort(Comparator.comparingLong(CouponIssuanceLag::getOldestWaitMillis).reversed());
+    return lags;
+  }
+
+  /**
+   * 쿠폰 지연 현황
+   *
+   * @param couponId 쿠폰 ID
+   * @return 지연 현황 (워커가 아직 처리하지 않았으면 대기열 정보만 포함)
+   */
+  public CouponIssuanceLag getLag(Long couponId) {
+    return toLag(couponId, readStats(couponId));
+  }
+
+  private CouponIssuanceLag toLag(Long couponId, List<String> stats) {
+    long queueDepth = couponQueueService.getQueueSize(couponId);
+    long oldestWaitMillis = couponQueueService.getOldestRequestedAt(couponId)
+        .map(requestedAt -> Math.max(0, System.currentTimeMillis() - requestedAt))
+        .orElse(0L);
+
+    if (stats == null) {
+      return new CouponIssuanceLag(couponId, queueDepth, oldestWaitMillis, 0, 0, 0, null);
+    }
+    double avgBatchMillis = Double.parseDouble(stats.get(1));
+    LocalDateTime lastProcessedAt = LocalDateTime.ofInstant(
+        Instant.ofEpochMilli(Long.parseLong(stats.get(3))), ZoneId.systemDefault());
+    return new CouponIssuanceLag(couponId, queueDepth, oldestWaitMillis, Integer.parseInt(stats.get(0)),
+        Math.round(avgBatchMillis * 100) / 100.0, Long.parseLong(stats.get(2)), lastProcessedAt);
+  }
+
+  /**
+   * 워커 상태 조회 (STATS_FIELDS 순서, 없으면 null)
+   */
+  private List<String> readStats(Long couponId) {
+    return redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+      byte[][] fields = STATS_FIELDS.stream().map(CouponIssuanceMetrics::bytes).toArray(byte[][]::new);
+      List<byte[]> values = connection.hashCommands().hMGet(bytes(statsKey(couponId)), fields);
+      if (values == null || values.stream().anyMatch(value -> value == null)) {
+        return null;
+      }
+      return values.stream().map(value -> new String(value, StandardCharsets.UTF_8)).toList();
+    });
+  }
+
+  private static String statsKey(Long couponId) {
+    return STATS_KEY_PREFIX + couponId;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
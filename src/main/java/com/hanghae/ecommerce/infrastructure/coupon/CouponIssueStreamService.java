@@ -0,0 +1,316 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 쿠폰 발급 요청 Stream 관리 서비스
+ *
+ * 대기열(ZSET)에 새로 들어온 요청은 쿠폰별 Stream에도 추가되고,
+ * 여러 노드가 하나의 컨슈머 그룹으로 나눠 읽어 발급합니다.
+ *
+ * ## Redis 자료구조 설계
+ * - Key: `coupon:stream:{couponId}`
+ * - Field: `userId`
+ * - 컨슈머 그룹: `coupon-issuers`
+ * - 백로그 표시 Key: `coupon:stream:{couponId}:backlog` (String, 수량이 없어 대기열에 남긴 사용자가 있음)
+ * - 수량 확보 기록 Key: `coupon:stream:{couponId}:reserved` (Hash, 레코드 ID → userId)
+ *
+ * ## 동작 방식
+ * 1. XREADGROUP으로 아직 어느 컨슈머에게도 전달되지 않은 요청을 읽음 (BLOCK으로 즉시 깨어남)
+ * 2. 발급 처리 후 XACK과 함께 XDEL로 Stream에서 지움 (처리한 요청이 쿠폰 TTL까지 쌓이지 않음)
+ * 3. 처리 중 종료된 컨슈머의 미확인 요청은 XAUTOCLAIM으로 다른 컨슈머가 가져감
+ *    (수량은 레코드별로 기록해 두므로 다시 처리해도 이전에 확보한 수량을 이어받고 새로 차감하지 않음)
+ * 4. 수량이 없어 발급하지 못한 요청도 확인하되 사용자는 대기열(ZSET)에 남기고 백로그로 표시하여,
+ *    수량이 돌아오면 Stream 순서가 아닌 대기열 순서대로 발급하게 함
+ */
+@Service
+public class CouponIssueStreamService {
+
+  public static final String GROUP = "coupon-issuers";
+
+  private static final String STREAM_KEY_PREFIX = "coupon:stream:";
+  private static final String BACKLOG_KEY_SUFFIX = ":backlog";
+  private static final String RESERVATION_KEY_SUFFIX = ":reserved";
+  private static final String USER_ID_FIELD = "userId";
+
+  /**
+   * 처리 완료 확인 및 삭제 스크립트
+   *
+   * KEYS[1] = Stream, KEYS[2] = 수량 확보 기록
+   * ARGV[1] = 그룹, ARGV[2..] = 레코드 ID 목록
+   * 반환값: 확인한 레코드 수
+   */
+  private static final RedisScript<Long> ACK_AND_DELETE_SCRIPT = new DefaultRedisScript<>("""
+      local ids = {}
+      for i = 2, #ARGV do
+        ids[#ids + 1] = ARGV[i]
+      end
+      local acked = redis.call('XACK', KEYS[1], ARGV[1], unpack(ids))
+      redis.call('XDEL', KEYS[1], unpack(ids))
+      redis.call('HDEL', KEYS[2], unpack(ids))
+      return acked
+      """, Long.class);
+
+  /**
+   * 미확인 요청 회수 스크립트
+   *
+   * KEYS[1] = Stream
+   * ARGV[1] = 그룹, ARGV[2] = 새 컨슈머, ARGV[3] = 최소 유휴 시간(ms), ARGV[4] = 최대 건수
+   * 반환값: [recordId, userId, recordId, userId, ...]
+   *
+   * XAUTOCLAIM 응답의 중첩 구조를 평탄화해 한 번에 돌려줍니다.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> AUTO_CLAIM_SCRIPT = new DefaultRedisScript<>("""
+      local reply = redis.call('XAUTOCLAIM', KEYS[1], ARGV[1], ARGV[2], ARGV[3], '0-0', 'COUNT', ARGV[4])
+      local claimed = {}
+      for _, entry in ipairs(reply[2]) do
+        local fields = entry[2]
+        for i = 1, #fields, 2 do
+          if fields[i] == 'userId' then
+            claimed[#claimed + 1] = entry[1]
+            claimed[#claimed + 1] = fields[i + 1]
+          end
+        end
+      end
+      return claimed
+      """, List.class);
+
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  // 컨슈머 그룹을 만든 Stream (키가 만료되면 다시 생성)
+  private final Set<Long> initializedGroups = ConcurrentHashMap.newKeySet();
+
+  public CouponIssueStreamService(RedisTemplate<String, Object> redisTemplate) {
+    this.redisTemplate = redisTemplate;
+  }
+
+  public static String streamKey(Long couponId) {
+    return STREAM_KEY_PREFIX + couponId;
+  }
+
+  /**
+   * 컨슈머 그룹 생성 (없을 때만)
+   *
+   * Stream이 없으면 함께 만들고(MKSTREAM) 처음부터 읽도록 하여,
+   * 그룹 생성 전에 들어온 요청도 누락되지 않게 합니다.
+   *
+   * @param couponId      쿠폰 ID
+   * @param couponEndDate 쿠폰 발급 종료일 (새로 만든 Stream의 TTL 계산용)
+   */
+  public void ensureGroup(Long couponId, LocalDateTime couponEndDate) {
+    if (couponId == null || initializedGroups.contains(couponId)) {
+      return;
+    }
+
+    String key = streamKey(couponId);
+    byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+    try {
+      redisTemplate.execute((RedisCallback<String>) connection ->
+          connection.streamCommands().xGroupCreate(rawKey, GROUP, ReadOffset.from("0-0"), true));
+      if (redisTemplate.getExpire(key) < 0) {
+        redisTemplate.expire(key, CouponQueueService.calculateTtl(couponEndDate));
+      }
+    } catch (DataAccessException e) {
+      if (!hasError(e, "BUSYGROUP")) {
+        throw e;
+      }
+    }
+    initializedGroups.add(couponId);
+  }
+
+  /**
+   * 여러 쿠폰의 Stream에서 새 요청 읽기 (XREADGROUP)
+   *
+   * @param consumerName 컨슈머 이름 (노드별로 고유)
+   * @param couponIds    읽을 쿠폰 ID 목록 (그룹이 생성되어 있어야 함)
+   * @param count        Stream별 최대 건수
+   * @param block        새 요청이 없을 때 대기할 최대 시간
+   * @return 쿠폰 ID → 요청 목록 (Stream 순서)
+   */
+  @SuppressWarnings("unchecked")
+  public Map<Long, List<IssueRequest>> read(String consumerName, Collection<Long> couponIds, int count,
+      Duration block) {
+    Map<Long, List<IssueRequest>> requests = new LinkedHashMap<>();
+    if (couponIds == null || couponIds.isEmpty()) {
+      return requests;
+    }
+
+    StreamOffset<String>[] offsets = couponIds.stream()
+        .map(couponId -> StreamOffset.create(streamKey(couponId), ReadOffset.lastConsumed()))
+        .toArray(StreamOffset[]::new);
+
+    Consumer consumer = Consumer.from(GROUP, consumerName);
+    StreamReadOptions options = StreamReadOptions.empty().count(count).block(block);
+    List<MapRecord<String, Object, Object>> records;
+    try {
+      records = redisTemplate.opsForStream().read(consumer, options, offsets);
+    } catch (DataAccessException e) {
+      if (!hasError(e, "NOGROUP")) {
+        throw e;
+      }
+      // Stream이 만료되거나 삭제되어 그룹이 사라진 경우 그룹을 다시 만들고 한 번 더 읽음
+      initializedGroups.removeAll(couponIds);
+      couponIds.forEach(couponId -> ensureGroup(couponId, null));
+      records = redisTemplate.opsForStream().read(consumer, options, offsets);
+    }
+
+    if (records == null) {
+      return requests;
+    }
+    for (MapRecord<String, Object, Object> record : records) {
+      Object userId = record.getValue().get(USER_ID_FIELD);
+      if (userId == null) {
+        continue;
+      }
+      Long couponId = Long.valueOf(record.getStream().substring(STREAM_KEY_PREFIX.length()));
+      requests.computeIfAbsent(couponId, key -> new ArrayList<>())
+          .add(new IssueRequest(record.getId().getValue(), Long.valueOf(userId.toString())));
+    }
+    return requests;
+  }
+
+  /**
+   * 다른 컨슈머가 읽고 오래 확인하지 않은 요청을 가져오기 (XAUTOCLAIM)
+   *
+   * @param couponId     쿠폰 ID
+   * @param consumerName 가져올 컨슈머 이름
+   * @param minIdle      이 시간 이상 확인되지 않은 요청만 대상
+   * @param count        최대 건수
+   * @return 가져온 요청 목록
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public List<IssueRequest> autoClaim(Long couponId, String consumerName, Duration minIdle, int count) {
+    List<Object> result = redisTemplate.execute(AUTO_CLAIM_SCRIPT,
+        RedisSerializer.string(), (RedisSerializer) RedisSerializer.string(),
+        List.of(streamKey(couponId)),
+        GROUP, consumerName, String.valueOf(minIdle.toMillis()), String.valueOf(count));
+
+    List<IssueRequest> requests = new ArrayList<>();
+    if (result == null) {
+      return requests;
+    }
+    RedisSerializer<?> valueSerializer = redisTemplate.getHashValueSerializer();
+    for (int i = 0; i + 1 < result.size(); i += 2) {
+      // userId 필드 값은 Stream 추가 시 값 직렬화기를 거친 형태
+      Object userId = valueSerializer.deserialize(String.valueOf(result.get(i + 1)).getBytes(StandardCharsets.UTF_8));
+      requests.add(new IssueRequest(String.valueOf(result.get(i)), Long.valueOf(String.valueOf(userId))));
+    }
+    return requests;
+  }
+
+  /**
+   * 처리 완료 확인 후 Stream과 수량 확보 기록에서 삭제 (XACK + XDEL + HDEL, 스크립트 1회)
+   *
+   * 확인한 요청은 다시 읽을 일이 없으므로 바로 지워 Stream 길이를 처리 중인 요청 수로 유지합니다.
+   *
+   * @param couponId  쿠폰 ID
+   * @param recordIds Stream 레코드 ID 목록
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void acknowledge(Long couponId, List<String> recordIds) {
+    if (couponId == null || recordIds == null || recordIds.isEmpty()) {
+      return;
+    }
+    List<String> args = new ArrayList<>(recordIds.size() + 1);
+    args.add(GROUP);
+    args.addAll(recordIds);
+    redisTemplate.execute(ACK_AND_DELETE_SCRIPT,
+        RedisSerializer.string(), (RedisSerializer) RedisSerializer.string(),
+        List.of(streamKey(couponId), reservationKey(couponId)), args.toArray());
+  }
+
+  /**
+   * 레코드별 수량 확보 기록 키 (CouponQueueService.reserveQuantity가 사용)
+   */
+  public static String reservationKey(Long couponId) {
+    return streamKey(couponId) + RESERVATION_KEY_SUFFIX;
+  }
+
+  /**
+   * 백로그 표시 (수량이 없어 발급하지 못한 사용자를 대기열에 남김)
+   *
+   * @param couponId      쿠폰 ID
+   * @param couponEndDate 쿠폰 발급 종료일 (TTL 계산용)
+   */
+  public void markBacklog(Long couponId, LocalDateTime couponEndDate) {
+    redisTemplate.opsForValue().set(backlogKey(couponId), "1", CouponQueueService.calculateTtl(couponEndDate));
+  }
+
+  public boolean hasBacklog(Long couponId) {
+    return Boolean.TRUE.equals(redisTemplate.hasKey(backlogKey(couponId)));
+  }
+
+  public void clearBacklog(Long couponId) {
+    redisTemplate.delete(backlogKey(couponId));
+  }
+
+  private static String backlogKey(Long couponId) {
+    return streamKey(couponId) + BACKLOG_KEY_SUFFIX;
+  }
+
+  /**
+   * 미확인 요청 수 (XPENDING 요약)
+   *
+   * @param couponId 쿠폰 ID
+   * @return 그룹 내 미확인 요청 수
+   */
+  public long getPendingCount(Long couponId) {
+    var pending = redisTemplate.opsForStream().pending(streamKey(couponId), GROUP);
+    return pending != null ? pending.getTotalPendingMessages() : 0;
+  }
+
+  private boolean hasError(DataAccessException e, String errorCode) {
+    Throwable cause = e;
+    while (cause != null) {
+      if (cause.getMessage() != null && cause.getMessage().contains(errorCode)) {
+        return true;
+      }
+      cause = cause.getCause();
+    }
+    return false;
+  }
+
+  /**
+   * Stream으로 전달된 발급 요청
+   */
+  public static class IssueRequest {
+    private final String recordId;
+    private final Long userId;
+
+    public IssueRequest(String recordId, Long userId) {
+      this.recordId = recordId;
+      this.userId = userId;
+    }
+
+    public String getRecordId() {
+      return recordId;
+    }
+
+    public Long getUserId() {
+      return userId;
+    }
+  }
+}
@@ -0,0 +1,301 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쿠폰 대기열 순위 방송기 (SSE)
+ *
+ * 대기 중인 사용자에게 현재 순위와 최종 발급 결과를 Server-Sent Events로 보냅니다.
+ * 사용자마다 순위를 폴링(ZRANK + HTTP 요청)하지 않고, 쿠폰별로 틱마다 헤드 오프셋을 한 번만 읽어
+ * 메모리에 있는 번호표로 모든 구독자의 순위를 계산합니다.
+ *
+ * ## 처리 방식
+ * 1. 구독 시 번호표(헤드 오프셋 + 순위)를 한 번 발급받고 SseEmitter를 반환 (비동기 서블릿, 요청 스레드 즉시 반환)
+ * 2. 틱마다 구독자가 있는 쿠폰별로 헤드 오프셋, 대기열 크기, 품절 여부를 조회 (쿠폰당 Redis 왕복 2~3회)
+ * 3. 순위가 바뀐 구독자에게만 position 이벤트 전송
+ * 4. 순위가 0 이하가 되면(대기열을 빠져나오면) 발급 여부를 확인해 result 이벤트를 보내고 연결 종료
+ *    - 아직 대기열에 남아 있으면 번호표만 다시 발급 (근사 순위 보정)
+ *    - 배치 처리 중이면 PROCESSING으로 다음 틱까지 대기
+ * 5. 전송은 가상 스레드에서 하므로 느린 클라이언트가 틱을 막지 않음
+ * 6. 캠페인이 종료되면 이 노드의 거절된 구독자에게 다음 틱을 기다리지 않고 SOLD_OUT 전송
+ *    (다른 노드의 구독자는 틱에서 품절을 확인해 전송)
+ *
+ * ## 이벤트
+ * - position: { couponId, status: WAITING | PROCESSING, position, queueSize }
+ * - result: { couponId, status: ISSUED | SOLD_OUT | NOT_QUEUED }
+ *
+ * ## 설정
+ * - app.coupon.queue-stream.tick-millis: 순위 갱신 주기 (기본값 1000)
+ * - app.coupon.queue-stream.timeout-millis: 연결 유지 시간 (기본값 600000)
+ */
+@Component
+public class CouponQueueBroadcaster {
+
+  private static final Logger log = LoggerFactory.getLogger(CouponQueueBroadcaster.class);
+
+  static final String POSITION_EVENT = "position";
+  static final String RESULT_EVENT = "result";
+
+  private final CouponQueueService couponQueueService;
+  private final long timeoutMillis;
+
+  // 쿠폰 ID → 구독자 목록
+  private final Map<Long, Queue<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+  private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofPlatform().name("coupon-queue-broadcaster").daemon().factory());
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+  public CouponQueueBroadcaster(
+      CouponQueueService couponQueueService,
+      @Value("${app.coupon.queue-stream.tick-millis:1000}") long tickMillis,
+      @Value("${app.coupon.queue-stream.timeout-millis:600000}") long timeoutMillis) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("순위 갱신 주기는 0보다 커야 합니다.");
+    }
+    this.couponQueueService = couponQueueService;
+    this.timeoutMillis = timeoutMillis;
+    ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * 대기열 순위 구독
+   *
+   * 대기열에 없으면 발급 여부를 result 이벤트로 보내고 바로 종료합니다.
+   *
+   * @param couponId 쿠폰 ID
+   * @param userId   사용자 ID
+   * @return SSE 연결
+   */
+  public SseEmitter subscribe(Long couponId, Long userId) {
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+    long ticket = couponQueueService.getQueueTicket(couponId, userId);
+    if (ticket < 0) {
+      String status = couponQueueService.isAlreadyIssued(couponId, userId) ? "ISSUED"
+          : couponQueueService.isSoldOut(couponId) ? "SOLD_OUT" : "NOT_QUEUED";
+      Subscriber subscriber = new Subscriber(userId, ticket, emitter);
+      subscriber.finish(QueueEvent.result(couponId, status));
+      return emitter;
+    }
+
+    Subscriber subscriber = new Subscriber(userId, ticket, emitter);
+    subscribers.compute(couponId, (id, group) -> {
+      Queue<Subscriber> target = group != null ? group : new ConcurrentLinkedQueue<>();
+      target.add(subscriber);
+      return target;
+    });
+    Runnable unsubscribe = () -> unsubscribe(couponId, subscriber);
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(e -> unsubscribe.run());
+
+    // 첫 순위는 다음 틱을 기다리지 않고 바로 전송
+    long position = ticket - couponQueueService.getQueueHeadOffset(couponId);
+    subscriber.lastPosition = position;
+    subscriber.send(QueueEvent.position(couponId, "WAITING", Math.max(position, 1),
+        couponQueueService.getQueueSize(couponId)));
+    return emitter;
+  }
+
+  /**
+   * 캠페인 종료로 거절된 대기자에게 SOLD_OUT 결과 전송
+   *
+   * @param couponId 쿠폰 ID
+   * @param userIds  거절된 사용자 ID 목록
+   */
+  public void notifyRejected(Long couponId, Collection<Long> userIds) {
+    Queue<Subscriber> group = subscribers.get(couponId);
+    if (group == null || userIds.isEmpty()) {
+      return;
+    }
+    Set<Long> rejected = new HashSet<>(userIds);
+    for (Subscriber subscriber : group) {
+      if (rejected.contains(subscriber.userId)) {
+        senders.execute(() -> {
+          subscriber.finish(QueueEvent.result(couponId, "SOLD_OUT"));
+          unsubscribe(couponId, subscriber);
+        });
+      }
+    }
+  }
+
+  /**
+   * 쿠폰별 구독자 수
+   */
+  public int getSubscriberCount(Long couponId) {
+    Queue<Subscriber> group = subscribers.get(couponId);
+    return group != null ? group.size() : 0;
+  }
+
+  /**
+   * 구독자가 있는 쿠폰마다 순위를 계산해 전송
+   */
+  void tick() {
+    for (Long couponId : subscribers.keySet()) {
+      try {
+        broadcast(couponId);
+      } catch (Exception e) {
+        log.warn("대기열 순위 방송 실패 - CouponId: {}", couponId, e);
+      }
+    }
+  }
+
+  private void broadcast(Long couponId) {
+    Queue<Subscriber> group = subscribers.computeIfPresent(couponId, (id, g) -> g.isEmpty() ? null : g);
+    if (group == null) {
+      return;
+    }
+
+    // 쿠폰당 1회 조회 후 메모리에서 팬아웃
+    long head = couponQueueService.getQueueHeadOffset(couponId);
+    long queueSize = couponQueueService.getQueueSize(couponId);
+    boolean soldOut = couponQueueService.isSoldOut(couponId);
+
+    for (Subscriber subscriber : group) {
+      if (subscriber.finished) {
+        unsubscribe(couponId, subscriber); // 전송 실패로 끊긴 연결
+        continue;
+      }
+      long position = subscriber.ticket - head;
+      if (position > 0 && !soldOut) {
+        if (position != subscriber.lastPosition) {
+          subscriber.lastPosition = position;
+          senders.execute(() -> subscriber.send(QueueEvent.position(couponId, "WAITING", position, queueSize)));
+        }
+        continue;
+      }
+      senders.execute(() -> resolve(couponId, subscriber, soldOut, queueSize));
+    }
+  }
+
+  /**
+   * 대기열을 빠져나온(또는 품절된) 구독자의 결과 확인
+   */
+  private void resolve(Long couponId, Subscriber subscriber, boolean soldOut, long queueSize) {
+    if (couponQueueService.isAlreadyIssued(couponId, subscriber.userId)) {
+      subscriber.finish(QueueEvent.result(couponId, "ISSUED"));
+      unsubscribe(couponId, subscriber);
+      return;
+    }
+    if (soldOut) {
+      subscriber.finish(QueueEvent.result(couponId, "SOLD_OUT"));
+      unsubscribe(couponId, subscriber);
+      return;
+    }
+
+    long ticket = couponQueueService.getQueueTicket(couponId, subscriber.userId);
+    if (ticket > 0) {
+      // 다른 위치에서 제거된 인원 때문에 순위가 앞당겨 계산된 경우 번호표 보정
+      subscriber.ticket = ticket;
+      return;
+    }
+    if (subscriber.lastPosition != 0) {
+      // 선점되어 배치 발급 중
+      subscriber.lastPosition = 0;
+      subscriber.send(QueueEvent.position(couponId, "PROCESSING", 0, queueSize));
+    }
+  }
+
+  private void unsubscribe(Long couponId, Subscriber subscriber) {
+    subscribers.computeIfPresent(couponId, (id, group) -> {
+      group.remove(subscriber);
+      return group.isEmpty() ? null : group;
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    ticker.shutdownNow();
+    senders.shutdown();
+    subscribers.values().forEach(group -> group.forEach(subscriber -> subscriber.emitter.complete()));
+    subscribers.clear();
+  }
+
+  /**
+   * 구독자 (번호표와 마지막으로 보낸 순위를 메모리에 보관)
+   */
+  private static class Subscriber {
+    private final Long userId;
+    private final SseEmitter emitter;
+    private volatile long ticket;
+    private volatile long lastPosition = Long.MIN_VALUE;
+    private volatile boolean finished;
+
+    Subscriber(Long userId, long ticket, SseEmitter emitter) {
+      this.userId = userId;
+      this.ticket = ticket;
+      this.emitter = emitter;
+    }
+
+    synchronized void send(QueueEvent event) {
+      if (finished) {
+        return;
+      }
+      try {
+        emitter.send(SseEmitter.event().name(POSITION_EVENT).data(event));
+      } catch (IOException | IllegalStateException e) {
+        finished = true;
+        emitter.completeWithError(e);
+      }
+    }
+
+    synchronized void finish(QueueEvent event) {
+      if (finished) {
+        return;
+      }
+      finished = true;
+      try {
+        emitter.send(SseEmitter.event().name(RESULT_EVENT).data(event));
+        emitter.complete();
+      } catch (IOException | IllegalStateException e) {
+        emitter.completeWithError(e);
+      }
+    }
+  }
+
+  /**
+   * 대기열 이벤트 본문
+   */
+  @Getter
+  public static class QueueEvent {
+    private final Long couponId;
+    private final String status;
+    private final Long position;
+    private final Long queueSize;
+
+    private QueueEvent(Long couponId, String status, Long position, Long queueSize) {
+      this.couponId = couponId;
+      this.status = status;
+      this.position = position;
+      this.queueSize = queueSize;
+    }
+
+    static QueueEvent position(Long couponId, String status, long position, long queueSize) {
+      return new QueueEvent(couponId, status, position, queueSize);
+    }
+
+    static QueueEvent result(Long couponId, String status) {
+      return new QueueEvent(couponId, status, null, null);
+    }
+  }
+}
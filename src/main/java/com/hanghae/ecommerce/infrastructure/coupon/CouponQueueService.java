@@ -1,13 +1,29 @@
 package com.hanghae.ecommerce.infrastructure.coupon;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * 쿠폰 발급 대기열 관리 서비스
@@ -26,29 +42,412 @@ import java.util.Set;
  * - Key: `coupon:issued:{couponId}`
  * - Member: userId (String)
  * - 용도: 중복 발급 방지, 발급 완료 사용자 추적
+ * - app.coupon.issued-store=bitmap이면 Set 대신 사용자 ID를 오프셋으로 하는 청크 비트맵 사용
+ *   (사용자당 1비트, {@link IssuedUserBitmap} 참고)
  * 
  * ### 3. String (남은 수량)
  * - Key: `coupon:quantity:{couponId}`
  * - Value: 남은 수량 (Integer)
  * - 용도: 실시간 수량 관리
  * 
+ * ### 4. Stream (발급 요청, 선택)
+ * - Key: `coupon:stream:{couponId}`
+ * - Field: userId
+ * - 용도: app.coupon.stream.enabled=true일 때 여러 노드가 컨슈머 그룹으로 발급 처리
+ * 
+ * ### 5. String (대기열 헤드 오프셋)
+ * - Key: `coupon:queue:{couponId}:head`
+ * - Value: 지금까지 대기열 앞에서 빠져나간 인원 수 (되돌린 인원은 차감)
+ * - 용도: 번호표(헤드 오프셋 + 순위)를 발급해 두면, 이후 순위는 헤드 오프셋 하나만 읽어 계산
+ * 
+ * ### 6. String (캠페인 종료 표시)
+ * - Key: `coupon:closed:{couponId}`
+ * - 용도: 수량이 소진된 캠페인의 새 진입을 진입 스크립트 안에서 거절 (TTL은 쿠폰 종료일 + 1일)
+ * 
+ * ## 캠페인 종료 ({@link #closeCampaign})
+ * 수량이 0이 된 뒤에도 대기열과 발급 완료 Set이 TTL(종료일 + 1일)까지 메모리를 차지하므로, 소진 즉시 정리합니다.
+ * 1. 수량이 0 이하인지 확인하고 종료 표시를 원자적으로 설정 (이후 진입은 -2로 거절)
+ * 2. 남은 대기자를 ZPOPMIN으로 나눠 꺼내 거절 알림으로 넘기고, 대기열과 헤드 오프셋 키 삭제
+ * 3. Set 저장소면 발급 완료 Set을 SSCAN으로 읽어 청크 비트맵으로 옮긴 뒤 삭제
+ *    (사용자당 수십 바이트 → 1비트, 종료된 캠페인의 발급 여부 조회는 비트맵에서 확인)
+ * 
+ * ## 샤딩 대기열 (app.coupon.queue.shards > 1)
+ * 샤드 수를 K로 설정하면 사용자 ID 해시로 K개의 하위 대기열에 나누어 담아, Sorted Set 하나의 크기를 1/K로 줄입니다
+ * (수백만 명 규모에서 키 하나의 ZADD/ZRANK 비용, DEL과 복제 시 큰 키 부담 감소).
+ * - Key: `coupon:queue:{couponId}:shard:{n}` (Sorted Set, score = 요청 시각), 헤드 오프셋은 `...:shard:{n}:head`
+ * - 선착순: 스크립트 한 번으로 샤드마다 앞에서 N명을 읽어 (요청 시각, 사용자 ID) 순으로 병합하고,
+ *   앞선 사용자부터 ZREM + 헤드 오프셋 증가 + 수량 DECRBY (샤드 사이의 순서는 요청 시각 기준 근사, 같은 샤드 안은 정확)
+ * - 순위: 다른 샤드에서 자기보다 먼저 요청한 인원(ZCOUNT) + 자기 샤드 순위, 진입 응답은 샤드 순위 x K로 추정
+ *   (순위 조회는 샤드 수만큼 명령을 보내므로 K를 필요 이상 늘리지 않음)
+ * - 대기열 크기, 헤드 오프셋, 가장 오래된 요청은 샤드 값을 합산(파이프라인 1회)
+ * - Redis는 명령을 한 스레드에서 처리하므로 단일 노드에서는 처리량이 늘지 않고, Redis Cluster 분산도 지원하지 않음
+ *   (진입/선점 스크립트가 샤드 대기열과 함께 발급 완료/종료 표시/Stream/수량 키를 쓰고, 이 키들에 공통 해시 태그가 없어
+ *   클러스터에서는 CROSSSLOT으로 실패함)
+ * 
  * ## 동작 방식
- * 1. 사용자가 쿠폰 발급 요청 → 대기열에 추가 (ZADD)
+ * 1. 사용자가 쿠폰 발급 요청 → Lua 스크립트로 발급 여부 확인 및 대기열 추가를 원자적으로 처리
  * 2. 즉시 응답 반환 (비동기 처리)
- * 3. 스케줄러가 주기적으로 대기열을 처리하여 실제 발급
+ * 3. 스케줄러가 주기적으로 대기열에서 배치를 선점(ZPOPMIN + DECRBY)하여 실제 발급
+ *
+ * 선점한 배치는 Redis 어디에도 남지 않으므로, 선점 후 DB 커밋 전에 프로세스가 죽으면
+ * 그 배치의 사용자(최대 배치 크기만큼)는 발급도 거절 알림도 받지 못하고 차감한 수량도 돌아오지 않습니다.
+ * 복구하려면 DB 발급 내역(user_coupons)과 대조해 수량 키를 다시 초기화해야 합니다.
  */
 @Service
 public class CouponQueueService {
 
   private final RedisTemplate<String, Object> redisTemplate;
 
+  // true이면 새로 대기열에 들어온 요청을 발급 요청 Stream에도 추가
+  private final boolean streamEnabled;
+
+  // true이면 발급 완료 사용자를 Set 대신 청크 비트맵에 기록
+  private final boolean bitmapIssuedStore;
+
+  // 대기열 샤드 수 (1이면 기존 단일 대기열)
+  private final int queueShards;
+
+  private final RedisScript<Long> enqueueScript;
+  @SuppressWarnings("rawtypes")
+  private final RedisScript<List> claimBatchScript;
+  @SuppressWarnings("rawtypes")
+  private final RedisScript<List> reserveScript;
+  @SuppressWarnings("rawtypes")
+  private final RedisScript<List> shardedClaimBatchScript;
+
+  // 쿠폰별 품절 여부 로컬 캐시 (SOLD_OUT_CACHE_MILLIS 동안 Redis 조회 없이 응답)
+  private final Map<Long, SoldOutFlag> soldOutFlags = new ConcurrentHashMap<>();
+
+  /**
+   * Set 저장소용 발급 여부 확인 함수 (비트맵 저장소는 {@link IssuedUserBitmap#LUA_IS_ISSUED})
+   *
+   * init_issued(first) = KEYS[first]를 발급 완료 Set으로 등록, is_issued(member) = 등록한 Set의 멤버 여부
+   */
+  private static final String LUA_IS_ISSUED_SET = """
+      local issued_key
+      local function init_issued(first)
+        issued_key = KEYS[first]
+      end
+      local function is_issued(member)
+        return redis.call('SISMEMBER', issued_key, member) == 1
+      end
+      """;
+
+  /**
+   * 대기열 진입 스크립트
+   *
+   * KEYS[1] = 대기열 Sorted Set, KEYS[2] = 캠페인 종료 표시, KEYS[3] = 발급 요청 Stream,
+   * KEYS[4] = 발급 완료 Set (비트맵 저장소면 사용자의 청크 키)
+   * ARGV[1] = userId, ARGV[2] = score(요청 시각 ms), ARGV[3] = 대기열 TTL(초), ARGV[4] = Stream 추가 여부(1/0)
+   * 반환값: 이미 발급됨 -1, 캠페인 종료 -2, 그 외 1부터 시작하는 순위
+   *
+   * 확인과 추가 사이에 다른 요청이 끼어들 수 없고, 요청당 Redis 왕복이 1회로 줄어듭니다.
+   * Stream 추가 여부가 1이면 새로 추가된 사용자만 Stream에도 XADD 합니다.
+   */
+  private static final String ENQUEUE_SCRIPT = """
+      init_issued(4)
+      if redis.call('EXISTS', KEYS[2]) == 1 then
+        return -2
+      end
+      if is_issued(ARGV[1]) then
+        return -1
+      end
+      local rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+      if rank then
+        return rank + 1
+      end
+      redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+      redis.call('EXPIRE', KEYS[1], ARGV[3])
+      if ARGV[4] == '1' then
+        redis.call('XADD', KEYS[3], '*', 'userId', ARGV[1])
+        redis.call('EXPIRE', KEYS[3], ARGV[3])
+      end
+      return redis.call('ZRANK', KEYS[1], ARGV[1]) + 1
+      """;
+
+  /**
+   * 발급 대상 배치 선점 스크립트
+   *
+   * KEYS[1] = 대기열 Sorted Set, KEYS[2] = 남은 수량, KEYS[3] = 대기열 헤드 오프셋,
+   * KEYS[4..] = 발급 완료 Set (비트맵 저장소면 만들어진 청크 키 전부)
+   * ARGV[1] = 최대 배치 크기
+   * 반환값: [userId, score, userId, score, ...] (선착순)
+   *
+   * 남은 수량만큼만 ZPOPMIN으로 꺼내고, 이미 발급된 사용자는 버린 뒤
+   * 실제 선점한 인원만큼 수량을 DECRBY 합니다. 꺼낸 인원은 모두 헤드 오프셋에 더합니다.
+   */
+  private static final String CLAIM_BATCH_SCRIPT = """
+      init_issued(4)
+      local remaining = tonumber(redis.call('GET', KEYS[2]))
+      if not remaining or remaining <= 0 then
+        return {}
+      end
+      local ttl = redis.call('TTL', KEYS[1])
+      local popped = redis.call('ZPOPMIN', KEYS[1], math.min(remaining, tonumber(ARGV[1])))
+      if #popped > 0 then
+        redis.call('INCRBY', KEYS[3], #popped / 2)
+        if ttl > 0 then
+          redis.call('EXPIRE', KEYS[3], ttl)
+        end
+      end
+      local claimed = {}
+      for i = 1, #popped, 2 do
+        if not is_issued(popped[i]) then
+          claimed[#claimed + 1] = popped[i]
+          claimed[#claimed + 1] = popped[i + 1]
+        end
+      end
+      if #claimed > 0 then
+        redis.call('DECRBY', KEYS[2], #claimed / 2)
+      end
+      return claimed
+      """;
+
+  /**
+   * 샤딩 대기열 배치 선점 스크립트
+   *
+   * KEYS[1] = 남은 수량, KEYS[2..K+1] = 샤드 대기열, KEYS[K+2..2K+1] = 샤드 헤드 오프셋,
+   * KEYS[2K+2..] = 발급 완료 Set (비트맵 저장소면 만들어진 청크 키 전부)
+   * ARGV[1] = 최대 배치 크기, ARGV[2] = 샤드 수 K
+   * 반환값: [userId, score, userId, score, ...] (선착순)
+   *
+   * 샤드마다 앞에서 min(남은 수량, 배치 크기)명을 읽어 (요청 시각, 사용자 ID) 순으로 병합하고,
+   * 선점한 사용자와 그 앞의 이미 발급된 사용자를 샤드별로 ZREM 한 뒤 선점 인원만큼 DECRBY 합니다.
+   * 읽어 온 만큼을 다 쓴 샤드에 뒤 사용자가 더 있을 수 있으면 병합 순서가 틀어지므로 거기서 멈춥니다.
+   */
+  private static final String SHARDED_CLAIM_BATCH_SCRIPT = """
+      local shards = tonumber(ARGV[2])
+      init_issued(2 * shards + 2)
+      local remaining = tonumber(redis.call('GET', KEYS[1]))
+      if not remaining or remaining <= 0 then
+        return {}
+      end
+      local limit = math.min(remaining, tonumber(ARGV[1]))
+      local heads, pos, removed = {}, {}, {}
+      for s = 1, shards do
+        heads[s] = redis.call('ZRANGE', KEYS[1 + s], 0, limit - 1, 'WITHSCORES')
+        pos[s] = 1
+        removed[s] = {}
+      end
+      local function user_id(member)
+        return tonumber((string.gsub(member, '"', '')))
+      end
+      local claimed = {}
+      local count = 0
+      while count < limit do
+        local best
+        for s = 1, shards do
+          local p = pos[s]
+          if p > #heads[s] then
+            if #heads[s] == 2 * limit then
+              best = nil
+              break
+            end
+          elseif not best then
+            best = s
+          else
+            local score, best_score = tonumber(heads[s][p + 1]), tonumber(heads[best][pos[best] + 1])
+            if score < best_score
+                or (score == best_score and user_id(heads[s][p]) < user_id(heads[best][pos[best]])) then
+              best = s
+            end
+          end
+        end
+        if not best then
+          break
+        end
+        local member, score = heads[best][pos[best]], heads[best][pos[best] + 1]
+        pos[best] = pos[best] + 2
+        removed[best][#removed[best] + 1] = member
+        if not is_issued(member) then
+          claimed[#claimed + 1] = member
+          claimed[#claimed + 1] = score
+          count = count + 1
+        end
+      end
+      for s = 1, shards do
+        if #removed[s] > 0 then
+          local ttl = redis.call('TTL', KEYS[1 + s])
+          redis.call('ZREM', KEYS[1 + s], unpack(removed[s]))
+          redis.call('INCRBY', KEYS[1 + shards + s], #removed[s])
+          if ttl > 0 then
+            redis.call('EXPIRE', KEYS[1 + shards + s], ttl)
+          end
+        end
+      end
+      if count > 0 then
+        redis.call('DECRBY', KEYS[1], count)
+      end
+      return claimed
+      """;
+
+  /**
+   * Stream 요청별 발급 수량 확보 스크립트 (Stream 소비자용)
+   *
+   * KEYS[1] = 남은 수량, KEYS[2] = 레코드별 수량 확보 기록 (Hash),
+   * KEYS[3..] = 발급 완료 Set (비트맵 저장소면 대상 사용자들의 청크 키)
+   * ARGV[1] = 기록 TTL(초), ARGV[2] = 새로 확보 허용 여부(1/0), ARGV[3..] = (레코드 ID, userId) 쌍 (요청 순서)
+   * 반환값: [이어받은 인원 r, 이어받은 userId x r, 새로 확보한 userId ...]
+   *
+   * 이미 확보 기록이 있는 레코드(처리 중 종료된 컨슈머의 요청을 회수한 경우)는 차감 없이 이어받고,
+   * 나머지는 이미 발급된 사용자를 건너뛰며 남은 수량 이내에서 앞선 요청부터 확보한 뒤 DECRBY 하고 기록합니다.
+   * 레코드 ID는 값 직렬화기가 붙인 따옴표를 떼어 Stream 확인 스크립트와 같은 필드로 기록합니다.
+   */
+  private static final String RESERVE_SCRIPT = """
+      init_issued(3)
+      local remaining = tonumber(redis.call('GET', KEYS[1])) or 0
+      local allow_new = ARGV[2] == '1'
+      local resumed, granted = {}, {}
+      for i = 3, #ARGV, 2 do
+        local record = string.gsub(ARGV[i], '"', '')
+        if redis.call('HEXISTS', KEYS[2], record) == 1 then
+          resumed[#resumed + 1] = ARGV[i + 1]
+        elseif allow_new and #granted < remaining and not is_issued(ARGV[i + 1]) then
+          redis.call('HSET', KEYS[2], record, ARGV[i + 1])
+          granted[#granted + 1] = ARGV[i + 1]
+        end
+      end
+      if #granted > 0 then
+        redis.call('DECRBY', KEYS[1], #granted)
+        redis.call('EXPIRE', KEYS[2], ARGV[1])
+      end
+      local result = {#resumed}
+      for i = 1, #resumed do
+        result[#result + 1] = resumed[i]
+      end
+      for i = 1, #granted do
+        result[#result + 1] = granted[i]
+      end
+      return result
+      """;
+
+  /**
+   * 선점 되돌리기 스크립트
+   *
+   * KEYS[1] = 남은 수량, KEYS[2] = 캠페인 종료 표시, KEYS[3..] = (대기열, 헤드 오프셋) 쌍
+   * ARGV = 대기열마다 [인원 수 n, score, userId, ... (n쌍)]
+   * 반환값: 되돌림 1, 캠페인 종료로 되돌리지 않음 0
+   *
+   * 마지막 배치가 대기열을 비워 키가 지워졌거나 캠페인 종료로 삭제된 뒤에도 TTL 없는 키를 만들지 않도록,
+   * 종료 표시를 확인하고 대기열과 헤드 오프셋에 수량 키의 TTL(캠페인 TTL)을 다시 설정합니다.
+   */
+  private static final RedisScript<Long> REQUEUE_SCRIPT = new DefaultRedisScript<>("""
+      if redis.call('EXISTS', KEYS[2]) == 1 then
+        return 0
+      end
+      local ttl = redis.call('TTL', KEYS[1])
+      local total = 0
+      local i = 1
+      for k = 3, #KEYS, 2 do
+        local n = tonumber(ARGV[i])
+        for j = 0, n - 1 do
+          redis.call('ZADD', KEYS[k], ARGV[i + 1 + 2 * j], ARGV[i + 2 + 2 * j])
+        end
+        i = i + 1 + 2 * n
+        redis.call('DECRBY', KEYS[k + 1], n)
+        if ttl > 0 then
+          redis.call('EXPIRE', KEYS[k], ttl)
+          redis.call('EXPIRE', KEYS[k + 1], ttl)
+        end
+        total = total + n
+      end
+      if ttl ~= -2 then
+        redis.call('INCRBY', KEYS[1], total)
+      end
+      return 1
+      """, Long.class);
+
+  /**
+   * 캠페인 종료 표시 스크립트
+   *
+   * KEYS[1] = 남은 수량, KEYS[2] = 캠페인 종료 표시
+   * ARGV[1] = 종료 표시 TTL(초)
+   * 반환값: 수량이 남아 있음(또는 초기화 전) -1, 새로 종료 1, 이미 종료됨 0
+   *
+   * 수량 확인과 표시 설정 사이에 수량이 복구되어도 종료되지 않도록 한 번에 처리합니다.
+   */
+  private static final RedisScript<Long> CLOSE_SCRIPT = new DefaultRedisScript<>("""
+      local remaining = tonumber(redis.call('GET', KEYS[1]))
+      if not remaining or remaining > 0 then
+        return -1
+      end
+      if redis.call('SET', KEYS[2], '1', 'NX', 'EX', ARGV[1]) then
+        return 1
+      end
+      return 0
+      """, Long.class);
+
+  /**
+   * 번호표 조회 스크립트
+   *
+   * KEYS[1] = 대기열 Sorted Set, KEYS[2] = 대기열 헤드 오프셋
+   * ARGV[1] = userId
+   * 반환값: 헤드 오프셋 + 순위(1부터), 대기열에 없으면 -1
+   *
+   * 순위와 헤드 오프셋을 한 번에 읽어 그 사이에 배치가 빠져나가도 번호표가 어긋나지 않습니다.
+   */
+  private static final RedisScript<Long> QUEUE_TICKET_SCRIPT = new DefaultRedisScript<>("""
+      local rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+      if not rank then
+        return -1
+      end
+      return (tonumber(redis.call('GET', KEYS[2])) or 0) + rank + 1
+      """, Long.class);
+
+  /**
+   * 키 메모리 사용량 합계 스크립트
+   *
+   * KEYS = 측정할 키 목록
+   * 반환값: MEMORY USAGE 합계 (없는 키는 0)
+   */
+  private static final RedisScript<Long> MEMORY_USAGE_SCRIPT = new DefaultRedisScript<>("""
+      local total = 0
+      for i = 1, #KEYS do
+        local usage = redis.call('MEMORY', 'USAGE', KEYS[i])
+        if usage then
+          total = total + usage
+        end
+      end
+      return total
+      """, Long.class);
+
+  // 품절 여부 로컬 캐시 유지 시간 (다른 노드의 수량 변화는 이 시간 안에 반영됨)
+  private static final long SOLD_OUT_CACHE_MILLIS = 1000;
+
   // Redis 키 패턴
   private static final String QUEUE_KEY_PREFIX = "coupon:queue:";
   private static final String ISSUED_KEY_PREFIX = "coupon:issued:";
   private static final String QUANTITY_KEY_PREFIX = "coupon:quantity:";
+  private static final String HEAD_KEY_SUFFIX = ":head";
+  private static final String SHARD_KEY_INFIX = ":shard:";
+  private static final String CLOSED_KEY_PREFIX = "coupon:closed:";
+
+  // 캠페인 종료 시 한 번에 꺼낼 대기자 수 / 비트맵으로 옮길 발급 완료 사용자 수
+  private static final int CLOSE_DRAIN_BATCH = 1000;
+  private static final int COMPACT_BATCH = 1000;
 
-  public CouponQueueService(RedisTemplate<String, Object> redisTemplate) {
+  public CouponQueueService(
+      RedisTemplate<String, Object> redisTemplate,
+      @Value("${app.coupon.stream.enabled:false}") boolean streamEnabled,
+      @Value("${app.coupon.issued-store:set}") String issuedStore,
+      @Value("${app.coupon.queue.shards:1}") int queueShards) {
+    if (queueShards < 1) {
+      throw new IllegalArgumentException("대기열 샤드 수는 1 이상이어야 합니다: " + queueShards);
+    }
     this.redisTemplate = redisTemplate;
+    this.streamEnabled = streamEnabled;
+    this.queueShards = queueShards;
+    if (!"set".equalsIgnoreCase(issuedStore) && !"bitmap".equalsIgnoreCase(issuedStore)) {
+      throw new IllegalArgumentException("지원하지 않는 발급 완료 저장소입니다: " + issuedStore);
+    }
+    this.bitmapIssuedStore = "bitmap".equalsIgnoreCase(issuedStore);
+
+    // 발급 여부 확인 함수만 저장소에 맞게 붙여 스크립트를 구성
+    String isIssued = bitmapIssuedStore ? IssuedUserBitmap.LUA_IS_ISSUED : LUA_IS_ISSUED_SET;
+    this.enqueueScript = new DefaultRedisScript<>(isIssued + ENQUEUE_SCRIPT, Long.class);
+    this.claimBatchScript = new DefaultRedisScript<>(isIssued + CLAIM_BATCH_SCRIPT, List.class);
+    this.reserveScript = new DefaultRedisScript<>(isIssued + RESERVE_SCRIPT, List.class);
+    this.shardedClaimBatchScript = new DefaultRedisScript<>(isIssued + SHARDED_CLAIM_BATCH_SCRIPT, List.class);
   }
 
   /**
@@ -57,43 +456,34 @@ public class CouponQueueService {
    * @param couponId      쿠폰 ID
    * @param userId        사용자 ID
    * @param couponEndDate 쿠폰 발급 종료일 (TTL 계산용, null이면 기본 7일)
-   * @return 대기열 순위 (1부터 시작, -1이면 이미 발급됨 또는 대기열에 이미 존재)
+   * @return 대기열 순위 (1부터 시작, 이미 대기열에 있으면 기존 순위, -1이면 이미 발급됨, -2이면 캠페인 종료,
+   *         샤딩 대기열이면 추정값)
    */
   public long enqueue(Long couponId, Long userId, LocalDateTime couponEndDate) {
     if (couponId == null || userId == null) {
       throw new IllegalArgumentException("쿠폰 ID와 사용자 ID는 null일 수 없습니다.");
     }
 
-    String queueKey = QUEUE_KEY_PREFIX + couponId;
-    String issuedKey = ISSUED_KEY_PREFIX + couponId;
+    String queueKey = queueKey(couponId, userId);
     String userIdStr = String.valueOf(userId);
 
-    ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
+    // 발급 여부 확인 → 기존 순위 조회 → 추가 → TTL → 순위 조회를 스크립트 한 번으로 처리
+    // (인자는 템플릿의 값 직렬화기를 거치므로 기존 ZSET/SET 멤버 표현과 동일하게 저장됨)
+    long timestamp = Instant.now().toEpochMilli();
+    long ttlSeconds = calculateTtl(couponEndDate).getSeconds();
+    String closedKey = CLOSED_KEY_PREFIX + couponId;
+    List<String> keys = new ArrayList<>(List.of(queueKey, closedKey, CouponIssueStreamService.streamKey(couponId)));
+    keys.addAll(issuedKeys(couponId, List.of(userId)));
+    Long rank = redisTemplate.execute(enqueueScript, keys, userIdStr, timestamp, ttlSeconds, streamEnabled ? 1 : 0);
 
-    // 1. 이미 발급된 사용자인지 확인
-    Boolean isIssued = redisTemplate.opsForSet().isMember(issuedKey, userIdStr);
-    if (Boolean.TRUE.equals(isIssued)) {
-      return -1; // 이미 발급됨
+    if (rank == null) {
+      return -1;
     }
-
-    // 2. 이미 대기열에 있는지 확인
-    Double existingScore = zSetOps.score(queueKey, userIdStr);
-    if (existingScore != null) {
-      // 이미 대기열에 있으면 기존 순위 반환
-      Long rank = zSetOps.rank(queueKey, userIdStr);
-      return rank != null ? rank + 1 : -1; // 0-based를 1-based로 변환
+    if (rank < 0) {
+      return rank;
     }
-
-    // 3. 대기열에 추가 (Score = 현재 시간 milliseconds)
-    long timestamp = Instant.now().toEpochMilli();
-    zSetOps.add(queueKey, userIdStr, timestamp);
-
-    // 4. TTL 설정 (쿠폰 종료일 + 여유 시간 1일)
-    setQueueTtl(couponId, couponEndDate);
-
-    // 5. 순위 조회
-    Long rank = zSetOps.rank(queueKey, userIdStr);
-    return rank != null ? rank + 1 : -1; // 0-based를 1-based로 변환
+    // 샤딩 대기열은 사용자가 샤드에 고르게 나뉜다고 보고 샤드 순위로 전체 순위를 추정
+    return isSharded() ? (rank - 1) * queueShards + 1 : rank;
   }
 
   /**
@@ -119,6 +509,12 @@ public class CouponQueueService {
       throw new IllegalArgumentException("쿠폰 ID는 null일 수 없고, limit은 1 이상이어야 합니다.");
     }
 
+    if (isSharded()) {
+      Set<Object> users = new LinkedHashSet<>();
+      peekMerged(couponId, limit).forEach(entry -> users.add(entry.member));
+      return users;
+    }
+
     String queueKey = QUEUE_KEY_PREFIX + couponId;
     ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
 
@@ -137,9 +533,10 @@ public class CouponQueueService {
       return;
     }
 
-    String queueKey = QUEUE_KEY_PREFIX + couponId;
+    String queueKey = queueKey(couponId, userId);
     String userIdStr = String.valueOf(userId);
-    redisTemplate.opsForZSet().remove(queueKey, userIdStr);
+    Long removed = redisTemplate.opsForZSet().remove(queueKey, userIdStr);
+    advanceHead(headKey(queueKey), removed);
   }
 
   /**
@@ -154,6 +551,11 @@ public class CouponQueueService {
       return;
     }
 
+    if (bitmapIssuedStore) {
+      markAsIssued(couponId, List.of(userId), couponEndDate);
+      return;
+    }
+
     String issuedKey = ISSUED_KEY_PREFIX + couponId;
     String userIdStr = String.valueOf(userId);
 
@@ -174,6 +576,238 @@ public class CouponQueueService {
     markAsIssued(couponId, userId, null);
   }
 
+  /**
+   * 발급 대상 배치 선점
+   *
+   * 대기열 앞에서부터 남은 수량 이내로 사용자를 꺼내고 그만큼 수량을 차감합니다.
+   * 선점된 사용자는 대기열에서 제거되므로, 발급에 실패하면 {@link #requeue}로 되돌려야 합니다.
+   * 되돌리기 전에 프로세스가 죽으면 배치가 유실됩니다 (클래스 설명 참고).
+   *
+   * @param couponId  쿠폰 ID
+   * @param batchSize 최대 배치 크기
+   * @return 사용자 ID → 대기열 score (선착순, 비어 있으면 수량 소진 또는 대기열 없음)
+   */
+  public Map<Long, Double> claimBatch(Long couponId, int batchSize) {
+    if (couponId == null || batchSize <= 0) {
+      throw new IllegalArgumentException("쿠폰 ID는 null일 수 없고, batchSize는 1 이상이어야 합니다.");
+    }
+    if (isSharded()) {
+      return claimShardedBatch(couponId, batchSize);
+    }
+
+    // 꺼낼 사용자를 미리 알 수 없으므로 비트맵 저장소는 만들어진 청크 키를 모두 넘김
+    // (조회 뒤 새로 만들어진 청크의 사용자는 미발급으로 선점되고, DB 중복 확인에서 걸러져 수량이 복구됨)
+    List<String> keys = new ArrayList<>(
+        List.of(QUEUE_KEY_PREFIX + couponId, QUANTITY_KEY_PREFIX + couponId, headKey(couponId)));
+    keys.addAll(bitmapIssuedStore ? getIssuedChunkKeys(couponId) : List.of(ISSUED_KEY_PREFIX + couponId));
+    return toClaimed(redisTemplate.execute(claimBatchScript, keys, batchSize));
+  }
+
+  /**
+   * 선점 스크립트 결과 [userId, score, ...]를 사용자 ID → score로 변환
+   */
+  private static Map<Long, Double> toClaimed(List<?> result) {
+    Map<Long, Double> claimed = new LinkedHashMap<>();
+    if (result == null) {
+      return claimed;
+    }
+    for (int i = 0; i + 1 < result.size(); i += 2) {
+      claimed.put(Long.valueOf(String.valueOf(result.get(i))), Double.valueOf(String.valueOf(result.get(i + 1))));
+    }
+    return claimed;
+  }
+
+  /**
+   * 선점한 사용자를 원래 순서(score)대로 대기열에 되돌리고 수량을 복구 (스크립트 1회)
+   *
+   * 그 사이 캠페인이 종료되었으면 대기열이 이미 정리되었으므로 되돌리지 않고 false를 반환합니다.
+   * 이때 호출한 쪽이 사용자에게 거절 결과를 알려야 합니다.
+   *
+   * @param couponId 쿠폰 ID
+   * @param claimed  {@link #claimBatch}가 반환한 사용자 ID → score
+   * @return 되돌렸으면 true, 캠페인 종료로 되돌리지 않았으면 false
+   */
+  public boolean requeue(Long couponId, Map<Long, Double> claimed) {
+    if (couponId == null || claimed == null || claimed.isEmpty()) {
+      return true;
+    }
+
+    Map<String, List<Object>> argsByQueue = new LinkedHashMap<>();
+    claimed.forEach((userId, score) -> {
+      List<Object> queueArgs = argsByQueue.computeIfAbsent(queueKey(couponId, userId), key -> new ArrayList<>());
+      queueArgs.add(score);
+      queueArgs.add(String.valueOf(userId));
+    });
+
+    List<String> keys = new ArrayList<>(List.of(QUANTITY_KEY_PREFIX + couponId, CLOSED_KEY_PREFIX + couponId));
+    List<Object> args = new ArrayList<>();
+    argsByQueue.forEach((queueKey, queueArgs) -> {
+      keys.add(queueKey);
+      keys.add(headKey(queueKey));
+      args.add(queueArgs.size() / 2);
+      args.addAll(queueArgs);
+    });
+
+    Long requeued = redisTemplate.execute(REQUEUE_SCRIPT, keys, args.toArray());
+    soldOutFlags.remove(couponId);
+    return requeued == null || requeued > 0;
+  }
+
+  /**
+   * 선점했지만 발급하지 않은 수량 복구
+   *
+   * @param couponId 쿠폰 ID
+   * @param count    복구할 수량
+   */
+  public void restoreQuantity(Long couponId, int count) {
+    if (couponId == null || count <= 0) {
+      return;
+    }
+    redisTemplate.opsForValue().increment(QUANTITY_KEY_PREFIX + couponId, count);
+    soldOutFlags.remove(couponId);
+  }
+
+  /**
+   * 수량 일괄 차감 스크립트
+   *
+   * KEYS[1] = 남은 수량
+   * ARGV[1] = 차감할 최대 수량
+   * 반환값: 실제 차감한 수량 (min(남은 수량, 요청 수량), 소진이면 0), -1 = 수량 키 없음 (대기열 발급이 시작되지 않음)
+   */
+  private static final RedisScript<Long> TAKE_QUANTITY_SCRIPT = new DefaultRedisScript<>("""
+      local remaining = tonumber(redis.call('GET', KEYS[1]))
+      if not remaining then
+        return -1
+      end
+      local taken = math.min(math.max(remaining, 0), tonumber(ARGV[1]))
+      if taken > 0 then
+        redis.call('DECRBY', KEYS[1], taken)
+      end
+      return taken
+      """, Long.class);
+
+  /**
+   * 대기열 밖에서 발급할 수량을 Redis 남은 수량에서 미리 차감
+   *
+   * 관리자 일괄 지급처럼 대기열을 거치지 않는 발급이 대기열 발급과 같은 수량을 나눠 쓰도록 합니다.
+   * 남은 수량이 요청보다 적으면 남은 만큼만 차감하므로, 호출하는 쪽은 차감한 수만큼만 발급해야 합니다.
+   * 수량 키가 없으면(대기열 발급 전) DB 조건부 UPDATE만으로 판단하면 되므로 차감하지 않습니다.
+   * 차감한 뒤 발급하지 못한 수량은 {@link #restoreQuantity}로 되돌려야 합니다.
+   *
+   * @param couponId 쿠폰 ID
+   * @param count    차감할 최대 수량
+   * @return 실제 차감한 수량 (0이면 소진), -1 = 수량 키 없음
+   */
+  public long tryTakeQuantity(Long couponId, int count) {
+    if (couponId == null || count <= 0) {
+      throw new IllegalArgumentException("쿠폰 ID는 null일 수 없고, 수량은 1 이상이어야 합니다.");
+    }
+    Long result = redisTemplate.execute(TAKE_QUANTITY_SCRIPT, List.of(QUANTITY_KEY_PREFIX + couponId), count);
+    return result != null ? result : -1;
+  }
+
+  /**
+   * Stream 요청별 발급 수량 확보
+   *
+   * Stream으로 전달된 요청처럼 대기열 순서와 별개로 발급 대상이 정해진 경우에 사용합니다.
+   * 확보한 수량은 레코드 ID별로 기록되어, 처리 중 종료된 컨슈머의 요청을 회수해 다시 호출하면
+   * 새로 차감하지 않고 이전에 확보한 수량을 이어받습니다. 기록은 Stream 확인(CouponIssueStreamService.acknowledge) 때 지워집니다.
+   * 확보한 사용자의 발급에 실패하면 {@link #restoreQuantity}로 수량을 되돌려야 합니다.
+   *
+   * @param couponId      쿠폰 ID
+   * @param requests      레코드 ID → 사용자 ID (요청 순서, 사용자 중복 없음)
+   * @param allowNew      false이면 이미 기록된 확보만 이어받고 새로 차감하지 않음
+   * @param couponEndDate 쿠폰 발급 종료일 (기록 TTL 계산용)
+   * @return 수량을 확보한 사용자 (이미 발급된 사용자와 수량 초과분 제외)
+   */
+  public Reservation reserveQuantity(Long couponId, Map<String, Long> requests, boolean allowNew,
+      LocalDateTime couponEndDate) {
+    if (couponId == null || requests == null || requests.isEmpty()) {
+      return new Reservation(List.of(), Set.of());
+    }
+
+    List<String> keys = new ArrayList<>(
+        List.of(QUANTITY_KEY_PREFIX + couponId, CouponIssueStreamService.reservationKey(couponId)));
+    keys.addAll(issuedKeys(couponId, requests.values()));
+    List<Object> args = new ArrayList<>(List.of(calculateTtl(couponEndDate).getSeconds(), allowNew ? 1 : 0));
+    requests.forEach((recordId, userId) -> {
+      args.add(recordId);
+      args.add(String.valueOf(userId));
+    });
+    List<?> result = redisTemplate.execute(reserveScript, keys, args.toArray());
+
+    if (result == null || result.isEmpty()) {
+      return new Reservation(List.of(), Set.of());
+    }
+    int resumedCount = Integer.parseInt(String.valueOf(result.get(0)));
+    List<Long> userIds = result.subList(1, result.size()).stream()
+        .map(userId -> Long.valueOf(String.valueOf(userId)))
+        .toList();
+    return new Reservation(userIds, new LinkedHashSet<>(userIds.subList(0, resumedCount)));
+  }
+
+  /**
+   * 여러 사용자를 발급 완료로 등록 (SADD + EXPIRE + ZREM 파이프라인)
+   *
+   * {@link #claimBatch}로 꺼낸 사용자는 이미 대기열에 없으므로 ZREM은 영향이 없고,
+   * Stream 소비자가 발급한 사용자는 여기서 대기열에서 제거됩니다.
+   * 비트맵 저장소에서는 SADD 대신 사용자별 SETBIT과 건드린 청크의 EXPIRE를 보냅니다.
+   *
+   * @param couponId      쿠폰 ID
+   * @param userIds       사용자 ID 목록
+   * @param couponEndDate 쿠폰 발급 종료일 (TTL 계산용)
+   */
+  public void markAsIssued(Long couponId, Collection<Long> userIds, LocalDateTime couponEndDate) {
+    if (couponId == null || userIds == null || userIds.isEmpty()) {
+      return;
+    }
+
+    String issuedKey = ISSUED_KEY_PREFIX + couponId;
+    Object[] members = userIds.stream().map(String::valueOf).toArray();
+    Map<String, List<Object>> membersByQueue = new LinkedHashMap<>();
+    for (Long userId : userIds) {
+      membersByQueue.computeIfAbsent(queueKey(couponId, userId), key -> new ArrayList<>()).add(String.valueOf(userId));
+    }
+    Duration ttl = calculateTtl(couponEndDate);
+
+    List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public Object execute(RedisOperations operations) {
+        if (bitmapIssuedStore) {
+          Set<Long> chunks = new LinkedHashSet<>();
+          for (Long userId : userIds) {
+            long chunk = IssuedUserBitmap.chunkIndex(userId);
+            operations.opsForValue().setBit(
+                IssuedUserBitmap.chunkKey(couponId, chunk), IssuedUserBitmap.offset(userId), true);
+            chunks.add(chunk);
+          }
+          String chunksKey = IssuedUserBitmap.chunksKey(couponId);
+          for (Long chunk : chunks) {
+            operations.expire(IssuedUserBitmap.chunkKey(couponId, chunk), ttl);
+          }
+          operations.opsForSet().add(chunksKey, chunks.toArray());
+          operations.expire(chunksKey, ttl);
+        } else {
+          operations.opsForSet().add(issuedKey, members);
+          operations.expire(issuedKey, ttl);
+        }
+        membersByQueue.forEach((queueKey, queueMembers) ->
+            operations.opsForZSet().remove(queueKey, queueMembers.toArray()));
+        return null;
+      }
+    });
+
+    // 마지막 결과들이 대기열(샤드)별로 ZREM으로 빠진 인원 수
+    int first = results.size() - membersByQueue.size();
+    int index = 0;
+    for (String queueKey : membersByQueue.keySet()) {
+      Object removed = first + index >= 0 ? results.get(first + index) : null;
+      advanceHead(headKey(queueKey), removed instanceof Number number ? number.longValue() : null);
+      index++;
+    }
+  }
+
   /**
    * 사용자가 이미 발급받았는지 확인
    * 
@@ -186,9 +820,42 @@ public class CouponQueueService {
       return false;
     }
 
+    if (bitmapIssuedStore) {
+      return Boolean.TRUE.equals(redisTemplate.opsForValue().getBit(
+          IssuedUserBitmap.chunkKey(couponId, IssuedUserBitmap.chunkIndex(userId)), IssuedUserBitmap.offset(userId)));
+    }
+
     String issuedKey = ISSUED_KEY_PREFIX + couponId;
     String userIdStr = String.valueOf(userId);
-    return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(issuedKey, userIdStr));
+    if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(issuedKey, userIdStr))) {
+      return true;
+    }
+    // 종료된 캠페인은 발급 완료 Set을 비트맵으로 옮겼으므로 비트맵에서 확인
+    return isClosed(couponId) && Boolean.TRUE.equals(redisTemplate.opsForValue().getBit(
+        IssuedUserBitmap.chunkKey(couponId, IssuedUserBitmap.chunkIndex(userId)), IssuedUserBitmap.offset(userId)));
+  }
+
+  /**
+   * 발급 완료 사용자 저장에 쓰인 Redis 메모리 (MEMORY USAGE 합계)
+   * 
+   * @param couponId 쿠폰 ID
+   * @return 바이트 수 (키가 없으면 0)
+   */
+  public long getIssuedMemoryUsage(Long couponId) {
+    if (couponId == null) {
+      return 0;
+    }
+
+    List<String> keys = new ArrayList<>();
+    if (bitmapIssuedStore) {
+      keys.add(IssuedUserBitmap.chunksKey(couponId));
+      keys.addAll(getIssuedChunkKeys(couponId));
+    } else {
+      keys.add(ISSUED_KEY_PREFIX + couponId);
+    }
+
+    Long total = redisTemplate.execute(MEMORY_USAGE_SCRIPT, keys);
+    return total != null ? total : 0;
   }
 
   /**
@@ -203,6 +870,10 @@ public class CouponQueueService {
       return -1;
     }
 
+    if (isSharded()) {
+      return getShardedQueueRank(couponId, userId);
+    }
+
     String queueKey = QUEUE_KEY_PREFIX + couponId;
     String userIdStr = String.valueOf(userId);
     ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
@@ -211,6 +882,70 @@ public class CouponQueueService {
     return rank != null ? rank + 1 : -1; // 0-based를 1-based로 변환
   }
 
+  /**
+   * 대기열 번호표 조회
+   *
+   * 번호표에서 {@link #getQueueHeadOffset}을 빼면 현재 순위가 됩니다.
+   * 앞이 아닌 위치에서 제거된 인원도 헤드 오프셋에 더해지므로 계산한 순위는 근사값입니다.
+   *
+   * @param couponId 쿠폰 ID
+   * @param userId   사용자 ID
+   * @return 번호표 (대기열에 없으면 -1)
+   */
+  public long getQueueTicket(Long couponId, Long userId) {
+    if (couponId == null || userId == null) {
+      return -1;
+    }
+    if (isSharded()) {
+      // 샤드에 걸친 값을 한 번에 읽을 수 없으므로 헤드 오프셋 합계와 순위를 따로 읽음 (근사)
+      long rank = getShardedQueueRank(couponId, userId);
+      return rank > 0 ? getQueueHeadOffset(couponId) + rank : -1;
+    }
+
+    Long ticket = redisTemplate.execute(QUEUE_TICKET_SCRIPT,
+        List.of(QUEUE_KEY_PREFIX + couponId, headKey(couponId)), String.valueOf(userId));
+    return ticket != null ? ticket : -1;
+  }
+
+  /**
+   * 대기열 헤드 오프셋 조회 (지금까지 대기열에서 빠져나간 인원 수)
+   *
+   * @param couponId 쿠폰 ID
+   * @return 헤드 오프셋 (없으면 0)
+   */
+  public long getQueueHeadOffset(Long couponId) {
+    if (couponId == null) {
+      return 0;
+    }
+
+    List<Object> values = redisTemplate.opsForValue().multiGet(
+        queueKeys(couponId).stream().map(CouponQueueService::headKey).toList());
+    long head = 0;
+    if (values != null) {
+      for (Object value : values) {
+        head += value != null ? Long.parseLong(value.toString()) : 0;
+      }
+    }
+    return head;
+  }
+
+  /**
+   * 대기열에서 가장 오래 기다린 요청의 요청 시각
+   * 
+   * @param couponId 쿠폰 ID
+   * @return 요청 시각 (epoch milliseconds, 대기열이 비어 있으면 empty)
+   */
+  public java.util.Optional<Long> getOldestRequestedAt(Long couponId) {
+    if (couponId == null) {
+      return java.util.Optional.empty();
+    }
+
+    List<QueueEntry> oldest = peekMerged(couponId, 1);
+    return oldest.isEmpty()
+        ? java.util.Optional.empty()
+        : java.util.Optional.of((long) oldest.get(0).score);
+  }
+
   /**
    * 대기열 크기 조회
    * 
@@ -222,6 +957,19 @@ public class CouponQueueService {
       return 0;
     }
 
+    if (isSharded()) {
+      List<String> queueKeys = queueKeys(couponId);
+      List<Object> sizes = redisTemplate.executePipelined(new SessionCallback<Object>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object execute(RedisOperations operations) {
+          queueKeys.forEach(queueKey -> operations.opsForZSet().zCard(queueKey));
+          return null;
+        }
+      });
+      return sizes.stream().mapToLong(size -> size instanceof Number number ? number.longValue() : 0).sum();
+    }
+
     String queueKey = QUEUE_KEY_PREFIX + couponId;
     Long size = redisTemplate.opsForZSet().zCard(queueKey);
     return size != null ? size : 0;
@@ -251,6 +999,7 @@ public class CouponQueueService {
     if (Boolean.TRUE.equals(setIfAbsent)) {
       // 초기화 성공 시에만 TTL 설정
       setQuantityTtl(couponId, couponEndDate);
+      soldOutFlags.remove(couponId);
       return true;
     }
 
@@ -269,6 +1018,29 @@ public class CouponQueueService {
     return initializeQuantity(couponId, totalQuantity, null);
   }
 
+  /**
+   * 남은 수량 조회, Redis에 없으면 DB 기준 남은 수량으로 초기화
+   * 
+   * 초기화는 SETNX로 하므로 다른 스레드가 먼저 초기화했다면 그 값을 사용합니다.
+   * 
+   * @param couponId         쿠폰 ID
+   * @param fallbackQuantity Redis에 수량이 없을 때 사용할 DB 기준 남은 수량
+   * @param couponEndDate    쿠폰 발급 종료일 (TTL 계산용)
+   * @return 남은 수량
+   */
+  public int getOrInitializeQuantity(Long couponId, int fallbackQuantity, LocalDateTime couponEndDate) {
+    java.util.Optional<Integer> remainingQuantityOpt = getRemainingQuantity(couponId);
+    if (remainingQuantityOpt.isPresent()) {
+      return remainingQuantityOpt.get();
+    }
+    if (fallbackQuantity <= 0) {
+      return 0;
+    }
+
+    initializeQuantity(couponId, fallbackQuantity, couponEndDate);
+    return getRemainingQuantity(couponId).orElse(0);
+  }
+
   /**
    * 남은 수량 조회
    * 
@@ -304,32 +1076,149 @@ public class CouponQueueService {
   }
 
   /**
-   * 수량 차감 (원자적 연산)
+   * 품절 여부 확인 (로컬 캐시)
+   * 
+   * 남은 수량 키가 0 이하이면 품절로 봅니다. 결과를 SOLD_OUT_CACHE_MILLIS 동안 노드 안에 캐시하므로
+   * 품절 이후 몰리는 요청은 Redis와 DB를 거치지 않고 거절할 수 있습니다.
+   * 수량 키가 아직 없으면(초기화 전) 품절이 아닙니다.
    * 
    * @param couponId 쿠폰 ID
-   * @return 차감 후 남은 수량 (차감 실패 시 -1)
+   * @return 품절 여부
    */
-  public int decrementQuantity(Long couponId) {
+  public boolean isSoldOut(Long couponId) {
     if (couponId == null) {
-      return -1;
+      return false;
     }
 
-    String quantityKey = QUANTITY_KEY_PREFIX + couponId;
-    Long remaining = redisTemplate.opsForValue().decrement(quantityKey);
+    long now = System.currentTimeMillis();
+    SoldOutFlag cached = soldOutFlags.get(couponId);
+    if (cached != null && now - cached.checkedAt < SOLD_OUT_CACHE_MILLIS) {
+      return cached.soldOut;
+    }
 
-    return remaining != null ? remaining.intValue() : -1;
+    boolean soldOut = getRemainingQuantity(couponId).map(remaining -> remaining <= 0).orElse(false);
+    soldOutFlags.put(couponId, new SoldOutFlag(soldOut, now));
+    return soldOut;
   }
 
   /**
-   * 대기열 TTL 설정
+   * 수량이 소진된 캠페인 종료
+   * 
+   * 종료 표시를 설정해 새 진입을 막고, 남은 대기자를 거절한 뒤 대기열 키를 지우고,
+   * Set 저장소면 발급 완료 Set을 비트맵으로 옮깁니다. 여러 번 호출해도 결과가 같습니다.
    * 
    * @param couponId      쿠폰 ID
-   * @param couponEndDate 쿠폰 종료일 (null이면 기본 7일)
+   * @param couponEndDate 쿠폰 발급 종료일 (종료 표시와 비트맵 TTL 계산용)
+   * @param onRejected    거절한 대기자 ID 목록을 받을 콜백 (CLOSE_DRAIN_BATCH명씩 호출)
+   * @return 거절한 대기자 수 (수량이 남아 있으면 -1)
    */
-  private void setQueueTtl(Long couponId, LocalDateTime couponEndDate) {
-    String queueKey = QUEUE_KEY_PREFIX + couponId;
+  public long closeCampaign(Long couponId, LocalDateTime couponEndDate, Consumer<List<Long>> onRejected) {
+    if (couponId == null) {
+      return -1;
+    }
+
     Duration ttl = calculateTtl(couponEndDate);
-    redisTemplate.expire(queueKey, ttl);
+    Long closed = redisTemplate.execute(CLOSE_SCRIPT,
+        List.of(QUANTITY_KEY_PREFIX + couponId, CLOSED_KEY_PREFIX + couponId), ttl.getSeconds());
+    if (closed == null || closed < 0) {
+      return -1;
+    }
+    soldOutFlags.put(couponId, new SoldOutFlag(true, System.currentTimeMillis()));
+
+    // 종료 표시 이후에는 진입이 없으므로 나눠 꺼내도 대기열이 다시 채워지지 않음
+    long rejected = 0;
+    for (String queueKey : queueKeys(couponId)) {
+      while (true) {
+        Set<ZSetOperations.TypedTuple<Object>> popped = redisTemplate.opsForZSet().popMin(queueKey, CLOSE_DRAIN_BATCH);
+        if (popped == null || popped.isEmpty()) {
+          break;
+        }
+        List<Long> userIds = popped.stream()
+            .map(tuple -> Long.valueOf(String.valueOf(tuple.getValue())))
+            .toList();
+        rejected += userIds.size();
+        onRejected.accept(userIds);
+      }
+      redisTemplate.delete(List.of(queueKey, headKey(queueKey)));
+    }
+    redisTemplate.delete(headKey(couponId));
+
+    if (!bitmapIssuedStore) {
+      compactIssuedSet(couponId, ttl);
+    }
+    return rejected;
+  }
+
+  /**
+   * 캠페인 종료 여부
+   * 
+   * @param couponId 쿠폰 ID
+   * @return 종료 표시가 있으면 true
+   */
+  public boolean isClosed(Long couponId) {
+    return couponId != null && Boolean.TRUE.equals(redisTemplate.hasKey(CLOSED_KEY_PREFIX + couponId));
+  }
+
+  /**
+   * 발급 완료 Set을 청크 비트맵으로 옮기고 Set 삭제
+   */
+  private void compactIssuedSet(Long couponId, Duration ttl) {
+    String issuedKey = ISSUED_KEY_PREFIX + couponId;
+    List<Long> batch = new ArrayList<>(COMPACT_BATCH);
+    try (Cursor<Object> cursor = redisTemplate.opsForSet().scan(issuedKey,
+        ScanOptions.scanOptions().count(COMPACT_BATCH).build())) {
+      while (cursor.hasNext()) {
+        batch.add(Long.valueOf(String.valueOf(cursor.next())));
+        if (batch.size() >= COMPACT_BATCH) {
+          writeIssuedBits(couponId, batch, ttl);
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      writeIssuedBits(couponId, batch, ttl);
+    }
+    redisTemplate.unlink(issuedKey);
+  }
+
+  private void writeIssuedBits(Long couponId, List<Long> userIds, Duration ttl) {
+    redisTemplate.executePipelined(new SessionCallback<Object>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public Object execute(RedisOperations operations) {
+        Set<Long> chunks = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+          long chunk = IssuedUserBitmap.chunkIndex(userId);
+          operations.opsForValue().setBit(
+              IssuedUserBitmap.chunkKey(couponId, chunk), IssuedUserBitmap.offset(userId), true);
+          chunks.add(chunk);
+        }
+        String chunksKey = IssuedUserBitmap.chunksKey(couponId);
+        for (Long chunk : chunks) {
+          operations.expire(IssuedUserBitmap.chunkKey(couponId, chunk), ttl);
+        }
+        operations.opsForSet().add(chunksKey, chunks.toArray());
+        operations.expire(chunksKey, ttl);
+        return null;
+      }
+    });
+  }
+
+  /**
+   * 수량 차감 (원자적 연산)
+   * 
+   * @param couponId 쿠폰 ID
+   * @return 차감 후 남은 수량 (차감 실패 시 -1)
+   */
+  public int decrementQuantity(Long couponId) {
+    if (couponId == null) {
+      return -1;
+    }
+
+    String quantityKey = QUANTITY_KEY_PREFIX + couponId;
+    Long remaining = redisTemplate.opsForValue().decrement(quantityKey);
+
+    return remaining != null ? remaining.intValue() : -1;
   }
 
   /**
@@ -341,6 +1230,162 @@ public class CouponQueueService {
     redisTemplate.expire(issuedKey, ttl);
   }
 
+  /**
+   * 스크립트에 넘길 발급 완료 키 (Set 키, 비트맵 저장소면 사용자들이 속한 청크 키)
+   */
+  private List<String> issuedKeys(Long couponId, Collection<Long> userIds) {
+    if (!bitmapIssuedStore) {
+      return List.of(ISSUED_KEY_PREFIX + couponId);
+    }
+    return userIds.stream()
+        .map(userId -> IssuedUserBitmap.chunkKey(couponId, IssuedUserBitmap.chunkIndex(userId)))
+        .distinct()
+        .toList();
+  }
+
+  private String headKey(Long couponId) {
+    return headKey(QUEUE_KEY_PREFIX + couponId);
+  }
+
+  private static String headKey(String queueKey) {
+    return queueKey + HEAD_KEY_SUFFIX;
+  }
+
+  private boolean isSharded() {
+    return queueShards > 1;
+  }
+
+  /**
+   * 사용자가 속한 대기열 키 (샤딩 대기열이면 사용자 ID 해시로 정한 샤드)
+   */
+  private String queueKey(Long couponId, Long userId) {
+    return isSharded() ? shardKey(couponId, shardOf(userId)) : QUEUE_KEY_PREFIX + couponId;
+  }
+
+  /**
+   * 쿠폰의 모든 대기열 키 (샤드 순서)
+   */
+  private List<String> queueKeys(Long couponId) {
+    if (!isSharded()) {
+      return List.of(QUEUE_KEY_PREFIX + couponId);
+    }
+    List<String> keys = new ArrayList<>(queueShards);
+    for (int shard = 0; shard < queueShards; shard++) {
+      keys.add(shardKey(couponId, shard));
+    }
+    return keys;
+  }
+
+  private static String shardKey(Long couponId, int shard) {
+    return QUEUE_KEY_PREFIX + couponId + SHARD_KEY_INFIX + shard;
+  }
+
+  int shardOf(Long userId) {
+    return Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), queueShards);
+  }
+
+  /**
+   * 대기열에서 직접 제거한 인원만큼 헤드 오프셋 증가
+   */
+  private void advanceHead(String headKey, Long removed) {
+    if (removed != null && removed > 0) {
+      redisTemplate.opsForValue().increment(headKey, removed);
+    }
+  }
+
+  /**
+   * 샤딩 대기열 배치 선점 (스크립트 1회)
+   *
+   * 병합 → 제거 → 수량 차감이 한 스크립트에서 끝나므로, 워커가 중간에 죽어도 수량이 새지 않고
+   * 동시에 선점하는 워커끼리 같은 사용자를 꺼내지 않습니다.
+   */
+  private Map<Long, Double> claimShardedBatch(Long couponId, int batchSize) {
+    List<String> queueKeys = queueKeys(couponId);
+    List<String> keys = new ArrayList<>(List.of(QUANTITY_KEY_PREFIX + couponId));
+    keys.addAll(queueKeys);
+    queueKeys.forEach(queueKey -> keys.add(headKey(queueKey)));
+    keys.addAll(bitmapIssuedStore ? getIssuedChunkKeys(couponId) : List.of(ISSUED_KEY_PREFIX + couponId));
+    return toClaimed(redisTemplate.execute(shardedClaimBatchScript, keys, batchSize, queueShards));
+  }
+
+  /**
+   * 샤딩 대기열 순위 (다른 샤드에서 먼저 요청한 인원 + 자기 샤드 순위)
+   */
+  private long getShardedQueueRank(Long couponId, Long userId) {
+    String ownQueueKey = queueKey(couponId, userId);
+    String userIdStr = String.valueOf(userId);
+    Double score = redisTemplate.opsForZSet().score(ownQueueKey, userIdStr);
+    if (score == null) {
+      return -1;
+    }
+
+    double before = Math.nextDown(score);
+    List<String> queueKeys = queueKeys(couponId);
+    List<Object> counts = redisTemplate.executePipelined(new SessionCallback<Object>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public Object execute(RedisOperations operations) {
+        for (String queueKey : queueKeys) {
+          if (queueKey.equals(ownQueueKey)) {
+            operations.opsForZSet().rank(queueKey, userIdStr);
+          } else {
+            operations.opsForZSet().count(queueKey, Double.NEGATIVE_INFINITY, before);
+          }
+        }
+        return null;
+      }
+    });
+
+    long rank = 1;
+    for (Object count : counts) {
+      rank += count instanceof Number number ? number.longValue() : 0;
+    }
+    return rank;
+  }
+
+  /**
+   * 모든 대기열(샤드)의 앞쪽 limit명을 (요청 시각, 사용자 ID) 순으로 병합
+   */
+  private List<QueueEntry> peekMerged(Long couponId, long limit) {
+    List<String> queueKeys = queueKeys(couponId);
+    List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public Object execute(RedisOperations operations) {
+        queueKeys.forEach(queueKey -> operations.opsForZSet().rangeWithScores(queueKey, 0, limit - 1));
+        return null;
+      }
+    });
+
+    List<QueueEntry> entries = new ArrayList<>();
+    for (Object result : results) {
+      if (!(result instanceof Collection<?> tuples)) {
+        continue;
+      }
+      for (Object tuple : tuples) {
+        if (tuple instanceof ZSetOperations.TypedTuple<?> typed && typed.getValue() != null
+            && typed.getScore() != null) {
+          entries.add(new QueueEntry(typed.getValue(), typed.getScore()));
+        }
+      }
+    }
+    entries.sort(Comparator.comparingDouble((QueueEntry entry) -> entry.score).thenComparing(entry -> entry.userId));
+    return entries.size() > limit ? new ArrayList<>(entries.subList(0, (int) limit)) : entries;
+  }
+
+  /**
+   * 만들어진 비트맵 청크 키 목록
+   */
+  private List<String> getIssuedChunkKeys(Long couponId) {
+    Set<Object> chunks = redisTemplate.opsForSet().members(IssuedUserBitmap.chunksKey(couponId));
+    if (chunks == null) {
+      return List.of();
+    }
+    return chunks.stream()
+        .map(chunk -> IssuedUserBitmap.chunkKey(couponId, Long.parseLong(String.valueOf(chunk))))
+        .toList();
+  }
+
   /**
    * 수량 키 TTL 설정
    */
@@ -357,7 +1402,7 @@ public class CouponQueueService {
    * @param couponEndDate 쿠폰 종료일 (null이면 기본 7일)
    * @return TTL Duration
    */
-  private Duration calculateTtl(LocalDateTime couponEndDate) {
+  static Duration calculateTtl(LocalDateTime couponEndDate) {
     if (couponEndDate != null) {
       LocalDateTime expireTime = couponEndDate.plusDays(1); // 쿠폰 종료일 + 1일 여유
       LocalDateTime now = LocalDateTime.now();
@@ -387,7 +1432,74 @@ public class CouponQueueService {
     String quantityKey = QUANTITY_KEY_PREFIX + couponId;
 
     redisTemplate.delete(queueKey);
+    redisTemplate.delete(headKey(couponId));
+    if (isSharded()) {
+      for (String shardQueueKey : queueKeys(couponId)) {
+        redisTemplate.delete(List.of(shardQueueKey, headKey(shardQueueKey)));
+      }
+    }
     redisTemplate.delete(issuedKey);
+    redisTemplate.delete(getIssuedChunkKeys(couponId));
+    redisTemplate.delete(IssuedUserBitmap.chunksKey(couponId));
     redisTemplate.delete(quantityKey);
+    redisTemplate.delete(CouponIssueStreamService.streamKey(couponId));
+    redisTemplate.delete(CouponIssueStreamService.reservationKey(couponId));
+    redisTemplate.delete(CLOSED_KEY_PREFIX + couponId);
+    soldOutFlags.remove(couponId);
+  }
+
+  /**
+   * 병합한 대기열 항목
+   */
+  private static class QueueEntry {
+    private final Object member;
+    private final Long userId;
+    private final double score;
+
+    QueueEntry(Object member, double score) {
+      this.member = member;
+      this.userId = Long.valueOf(String.valueOf(member));
+      this.score = score;
+    }
+  }
+
+  /**
+   * Stream 요청별 수량 확보 결과
+   */
+  public static class Reservation {
+    private final List<Long> userIds;
+    private final Set<Long> resumedUserIds;
+
+    public Reservation(List<Long> userIds, Set<Long> resumedUserIds) {
+      this.userIds = userIds;
+      this.resumedUserIds = resumedUserIds;
+    }
+
+    /**
+     * 수량을 확보한 사용자 전체 (이어받은 사용자 포함)
+     */
+    public List<Long> getUserIds() {
+      return userIds;
+    }
+
+    /**
+     * 이전 처리에서 확보한 수량을 이어받은 사용자
+     */
+    public Set<Long> getResumedUserIds() {
+      return resumedUserIds;
+    }
+  }
+
+  /**
+   * 품절 여부 캐시 항목
+   */
+  private static class SoldOutFlag {
+    private final boolean soldOut;
+    private final long checkedAt;
+
+    SoldOutFlag(boolean soldOut, long checkedAt) {
+      this.soldOut = soldOut;
+      this.checkedAt = checkedAt;
+    }
   }
 }
@@ -0,0 +1,138 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 쿠폰 발급 요청 유량 제한기
+ *
+ * 쿠폰별 토큰 버킷으로 발급 요청 유입량을 제한합니다.
+ * 노드마다 같은 비율의 로컬 버킷을 먼저 확인해, 한 노드에 몰린 초과 트래픽은 Redis 왕복 없이 거절합니다.
+ * 로컬 버킷을 통과한 요청만 모든 노드가 공유하는 Redis 버킷에서 토큰을 가져갑니다.
+ *
+ * ## Redis 자료구조 설계
+ * - Key: `coupon:ratelimit:{couponId}` (Hash)
+ * - Field: tokens (남은 토큰), ts (마지막 충전 시각 ms)
+ *
+ * ## 설정
+ * - app.coupon.rate-limit.enabled: 사용 여부 (기본값 false)
+ * - app.coupon.rate-limit.permits-per-second: 쿠폰별 초당 허용 요청 수 (기본값 1000)
+ * - app.coupon.rate-limit.burst: 버킷 최대 토큰 수 (기본값 2000)
+ */
+@Component
+public class CouponRequestRateLimiter {
+
+  private static final String KEY_PREFIX = "coupon:ratelimit:";
+
+  /**
+   * 토큰 버킷 스크립트
+   *
+   * KEYS[1] = 버킷 Hash
+   * ARGV[1] = 초당 충전 토큰 수, ARGV[2] = 최대 토큰 수
+   * 반환값: 허용 1, 거절 0
+   *
+   * 노드 간 시계 차이가 없도록 Redis 서버 시각(TIME)으로 충전량을 계산합니다.
+   */
+  private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+      local time = redis.call('TIME')
+      local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+      local rate = tonumber(ARGV[1])
+      local capacity = tonumber(ARGV[2])
+      local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+      local tokens = tonumber(bucket[1])
+      local ts = tonumber(bucket[2])
+      if not tokens or not ts then
+        tokens = capacity
+        ts = now
+      end
+      tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+      local allowed = 0
+      if tokens >= 1 then
+        tokens = tokens - 1
+        allowed = 1
+      end
+      redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', now)
+      redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)
+      return allowed
+      """, Long.class);
+
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final boolean enabled;
+  private final double permitsPerSecond;
+  private final int burst;
+
+  // 노드 내 쿠폰별 로컬 버킷 (Redis 확인 전 1차 거름망)
+  private final Map<Long, LocalBucket> localBuckets = new ConcurrentHashMap<>();
+
+  public CouponRequestRateLimiter(
+      RedisTemplate<String, Object> redisTemplate,
+      @Value("${app.coupon.rate-limit.enabled:false}") boolean enabled,
+      @Value("${app.coupon.rate-limit.permits-per-second:1000}") double permitsPerSecond,
+      @Value("${app.coupon.rate-limit.burst:2000}") int burst) {
+    if (enabled && (permitsPerSecond <= 0 || burst <= 0)) {
+      throw new IllegalArgumentException("초당 허용 요청 수와 버킷 크기는 0보다 커야 합니다.");
+    }
+    this.redisTemplate = redisTemplate;
+    this.enabled = enabled;
+    this.permitsPerSecond = permitsPerSecond;
+    this.burst = burst;
+  }
+
+  /**
+   * 발급 요청 허용 여부 확인 (허용하면 토큰 1개 차감)
+   *
+   * @param couponId 쿠폰 ID
+   * @return 허용 여부 (비활성화 상태면 항상 true)
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public boolean tryAcquire(Long couponId) {
+    if (!enabled || couponId == null) {
+      return true;
+    }
+
+    // 1. 로컬 버킷: 이 노드 혼자서도 전체 허용량을 넘는 요청은 Redis까지 가지 않음
+    LocalBucket localBucket = localBuckets.computeIfAbsent(couponId, id -> new LocalBucket(burst));
+    if (!localBucket.tryAcquire(permitsPerSecond, burst)) {
+      return false;
+    }
+
+    // 2. 공유 버킷
+    Long allowed = redisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+        RedisSerializer.string(), (RedisSerializer) RedisSerializer.string(),
+        List.of(KEY_PREFIX + couponId),
+        String.valueOf(permitsPerSecond), String.valueOf(burst));
+    return allowed != null && allowed == 1;
+  }
+
+  /**
+   * 노드 내 토큰 버킷
+   */
+  private static class LocalBucket {
+    private double tokens;
+    private long refilledAt;
+
+    LocalBucket(int capacity) {
+      this.tokens = capacity;
+      this.refilledAt = System.nanoTime();
+    }
+
+    synchronized boolean tryAcquire(double permitsPerSecond, int capacity) {
+      long now = System.nanoTime();
+      tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerSecond / 1_000_000_000.0);
+      refilledAt = now;
+      if (tokens < 1) {
+        return false;
+      }
+      tokens -= 1;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+/**
+ * 발급 완료 사용자 비트맵 키 구성
+ *
+ * 사용자 ID를 비트 위치로 사용해 발급 여부를 1비트로 기록합니다.
+ * 하나의 비트맵은 가장 큰 오프셋까지 메모리를 할당하므로, ID 공간을 CHUNK_BITS 단위 청크로 나눠
+ * 실제로 발급된 사용자가 있는 청크만 만들어지게 합니다 (ID가 크고 듬성듬성해도 낭비가 적음).
+ *
+ * ## Redis 자료구조 설계
+ * - 청크 Key: `coupon:issued:{couponId}:{userId / CHUNK_BITS}` (String 비트맵, 최대 8KB)
+ * - 오프셋: `userId % CHUNK_BITS`
+ * - 청크 목록 Key: `coupon:issued:{couponId}:chunks` (Set, 정리/메모리 측정용)
+ */
+final class IssuedUserBitmap {
+
+  // 청크 하나가 담는 사용자 수 (2^16 비트 = 8KB)
+  static final long CHUNK_BITS = 65_536;
+
+  private static final String KEY_PREFIX = "coupon:issued:";
+  private static final String CHUNKS_SUFFIX = "chunks";
+
+  /**
+   * Lua 스크립트용 발급 여부 확인 함수
+   *
+   * init_issued(first) = KEYS[first]부터 끝까지를 청크 키로 등록 (청크 번호는 키 끝에서 읽음)
+   * is_issued(member) = 값 직렬화기를 거친 userId (JSON 문자열이면 따옴표 포함)
+   *
+   * 스크립트가 건드리는 키는 모두 KEYS로 선언해야 하므로 청크 키를 스크립트 안에서 만들지 않습니다.
+   * 등록되지 않은 청크의 사용자는 발급되지 않은 것으로 봅니다 (청크가 없으면 그 구간에 발급된 사용자도 없음).
+   */
+  static final String LUA_IS_ISSUED = """
+      local issued_chunks = {}
+      local function init_issued(first)
+        for i = first, #KEYS do
+          local chunk = tonumber(string.match(KEYS[i], ':(%%d+)$'))
+          if chunk then
+            issued_chunks[chunk] = KEYS[i]
+          end
+        end
+      end
+      local function is_issued(member)
+        local id = tonumber((string.gsub(member, '"', '')))
+        if not id then
+          return false
+        end
+        local key = issued_chunks[math.floor(id / %d)]
+        if not key then
+          return false
+        end
+        return redis.call('GETBIT', key, id %% %d) == 1
+      end
+      """.formatted(CHUNK_BITS, CHUNK_BITS);
+
+  private IssuedUserBitmap() {
+  }
+
+  /**
+   * 청크 키 접두사 (`coupon:issued:{couponId}:`)
+   */
+  static String chunkKeyPrefix(Long couponId) {
+    return KEY_PREFIX + couponId + ":";
+  }
+
+  static long chunkIndex(Long userId) {
+    return userId / CHUNK_BITS;
+  }
+
+  static String chunkKey(Long couponId, long chunkIndex) {
+    return chunkKeyPrefix(couponId) + chunkIndex;
+  }
+
+  static long offset(Long userId) {
+    return userId % CHUNK_BITS;
+  }
+
+  static String chunksKey(Long couponId) {
+    return chunkKeyPrefix(couponId) + CHUNKS_SUFFIX;
+  }
+}
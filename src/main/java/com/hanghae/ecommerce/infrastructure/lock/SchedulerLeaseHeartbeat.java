@@ -0,0 +1,49 @@
+package com.hanghae.ecommerce.infrastructure.lock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스케줄러 리스 하트비트 전용 스레드
+ *
+ * 하트비트와 실행 중인 작업의 리스 연장을 @Scheduled 스레드와 분리된 스레드에서 실행합니다.
+ * 긴 배치(원장 검증, 잔액 스냅샷 등)가 @Scheduled 스레드를 붙잡고 있어도 하트비트가 끊기지 않아
+ * 살아 있는 노드가 죽은 노드로 간주되거나 실행 중인 작업의 리스가 만료되지 않습니다.
+ *
+ * ## 테스트 환경
+ * - 테스트 프로파일에서는 자동으로 비활성화됨 (테스트가 노드 목록을 직접 구성)
+ */
+@Component
+@Profile("!test")
+public class SchedulerLeaseHeartbeat {
+
+  private static final Logger log = LoggerFactory.getLogger(SchedulerLeaseHeartbeat.class);
+
+  private final SchedulerLeaseManager schedulerLeaseManager;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofPlatform().name("scheduler-lease-heartbeat").daemon().factory());
+
+  public SchedulerLeaseHeartbeat(SchedulerLeaseManager schedulerLeaseManager) {
+    this.schedulerLeaseManager = schedulerLeaseManager;
+  }
+
+  @PostConstruct
+  public void start() {
+    executor.scheduleWithFixedDelay(schedulerLeaseManager::heartbeat, 0,
+        schedulerLeaseManager.getHeartbeatIntervalMillis(), TimeUnit.MILLISECONDS);
+    log.info("스케줄러 하트비트 시작 - Node: {}", schedulerLeaseManager.getNodeId());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
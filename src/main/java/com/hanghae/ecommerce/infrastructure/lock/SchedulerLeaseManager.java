@@ -0,0 +1,355 @@
+package com.hanghae.ecommerce.infrastructure.lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스케줄러 작업 소유권(리스) 관리자
+ *
+ * 모든 노드가 같은 스케줄러를 실행하되, 작업(쿠폰 ID, 배치 이름 등)마다 한 노드만 처리하도록 나눕니다.
+ *
+ * ## 동작 방식
+ * 1. 전용 스레드(SchedulerLeaseHeartbeat)가 주기적으로 하트비트를 남기고 살아 있는 노드 목록을 갱신
+ *    (@Scheduled 스레드가 긴 작업에 묶여도 하트비트가 끊기지 않음)
+ * 2. 작업의 담당 노드는 살아 있는 노드 중 Rendezvous(HRW) 해시 점수가 가장 높은 노드
+ *    - 노드가 추가/제거되어도 그 노드 몫의 작업만 옮겨감
+ * 3. 담당 노드는 작업 리스를 획득/연장한 뒤 실행하고, 담당이 아니게 되면 리스를 반납
+ *    - 실행 중으로 표시한 작업({@link #markRunning})은 전용 스레드가 리스를 연장하고,
+ *      담당이 바뀌어도 실행이 끝날 때까지 반납을 미뤄 새 담당 노드와 겹치지 않음
+ *    - 연장에 실패해 리스를 잃으면 {@link #hasLost}로 알려 실행 중인 작업이 멈추게 함
+ * 4. 노드가 죽으면 하트비트가 끊겨 담당이 바뀌고, 남은 리스가 만료되는 즉시 새 담당 노드가 이어받음
+ *
+ * 담당 계산은 노드마다 잠깐 다를 수 있지만, 리스는 SET NX로 한 노드만 가지므로 같은 작업이 동시에 실행되지 않습니다.
+ *
+ * ## Redis 자료구조 설계
+ * - 노드 목록 Key: `scheduler:nodes` (Sorted Set, member = 노드 ID, score = 마지막 하트비트의 Redis 서버 시각 ms)
+ * - 리스 Key: `scheduler:lease:{작업 이름}` (String, value = 노드 ID, PX = 리스 유지 시간)
+ *
+ * ## 설정
+ * - app.scheduler.node-id: 노드 ID (기본값 임의 UUID)
+ * - app.scheduler.lease.ttl-millis: 리스 유지 시간 (기본값 30000, 작업 한 번의 실행 시간보다 길어야 함)
+ * - app.scheduler.lease.node-timeout-millis: 하트비트가 이 시간 이상 없으면 죽은 노드로 간주 (기본값 15000)
+ */
+@Component
+public class SchedulerLeaseManager {
+
+  private static final Logger log = LoggerFactory.getLogger(SchedulerLeaseManager.class);
+
+  private static final String NODES_KEY = "scheduler:nodes";
+  private static final String LEASE_KEY_PREFIX = "scheduler:lease:";
+
+  // 살아 있는 노드 목록을 다시 조회하는 최대 간격
+  private static final long MEMBERSHIP_REFRESH_MILLIS = 1_000;
+
+  /**
+   * 리스 획득/연장 스크립트
+   *
+   * KEYS[1] = 리스 키
+   * ARGV[1] = 노드 ID, ARGV[2] = 리스 유지 시간(ms)
+   * 반환값: 획득 또는 연장 1, 다른 노드가 보유 중 0
+   */
+  private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+      local owner = redis.call('GET', KEYS[1])
+      if not owner then
+        redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+        return 1
+      end
+      if owner == ARGV[1] then
+        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        return 1
+      end
+      return 0
+      """, Long.class);
+
+  /**
+   * 리스 반납 스크립트 (자기 리스일 때만 삭제)
+   */
+  private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+      if redis.call('GET', KEYS[1]) == ARGV[1] then
+        return redis.call('DEL', KEYS[1])
+      end
+      return 0
+      """, Long.class);
+
+  /**
+   * 리스 일괄 연장 스크립트
+   *
+   * KEYS = 리스 키 목록
+   * ARGV[1] = 노드 ID, ARGV[2] = 리스 유지 시간(ms)
+   * 반환값: 키마다 연장 1, 이 노드의 리스가 아님 0
+   */
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> RENEW_SCRIPT = new DefaultRedisScript<>("""
+      local renewed = {}
+      for i = 1, #KEYS do
+        if redis.call('GET', KEYS[i]) == ARGV[1] then
+          redis.call('PEXPIRE', KEYS[i], ARGV[2])
+          renewed[i] = 1
+        else
+          renewed[i] = 0
+        end
+      end
+      return renewed
+      """, List.class);
+
+  /**
+   * 하트비트 및 살아 있는 노드 조회 스크립트
+   *
+   * KEYS[1] = 노드 목록
+   * ARGV[1] = 노드 ID, ARGV[2] = 노드 만료 시간(ms)
+   * 반환값: 살아 있는 노드 ID 목록
+   *
+   * 노드 간 시계 차이로 살아 있는 노드가 만료되거나 죽은 노드가 남지 않도록 Redis 서버 시각(TIME)으로 기록합니다.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> HEARTBEAT_SCRIPT = new DefaultRedisScript<>("""
+      local time = redis.call('TIME')
+      local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+      redis.call('ZADD', KEYS[1], now, ARGV[1])
+      redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - tonumber(ARGV[2]))
+      redis.call('PEXPIRE', KEYS[1], tonumber(ARGV[2]) * 2)
+      return redis.call('ZRANGE', KEYS[1], 0, -1)
+      """, List.class);
+
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final String nodeId;
+  private final long leaseTtlMillis;
+  private final long nodeTimeoutMillis;
+  private final long membershipRefreshMillis;
+
+  // 이 노드가 보유 중인 리스 (담당 해제 시 반납용)
+  private final Set<String> ownedLeases = ConcurrentHashMap.newKeySet();
+
+  // 실행 중인 작업 (리스 연장 대상, 반납 보류) / 연장에 실패해 잃은 작업
+  private final Set<String> runningTasks = ConcurrentHashMap.newKeySet();
+  private final Set<String> lostTasks = ConcurrentHashMap.newKeySet();
+  private volatile long leasesRenewedAt = System.currentTimeMillis();
+
+  private volatile List<String> liveNodes = List.of();
+  private volatile long membershipRefreshedAt;
+
+  public SchedulerLeaseManager(
+      RedisTemplate<String, Object> redisTemplate,
+      @Value("${app.scheduler.node-id:}") String nodeId,
+      @Value("${app.scheduler.lease.ttl-millis:30000}") long leaseTtlMillis,
+      @Value("${app.scheduler.lease.node-timeout-millis:15000}") long nodeTimeoutMillis) {
+    if (leaseTtlMillis <= 0 || nodeTimeoutMillis <= 0) {
+      throw new IllegalArgumentException("리스 유지 시간과 노드 만료 시간은 0보다 커야 합니다.");
+    }
+    this.redisTemplate = redisTemplate;
+    this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    this.leaseTtlMillis = leaseTtlMillis;
+    this.nodeTimeoutMillis = nodeTimeoutMillis;
+    this.membershipRefreshMillis = Math.min(MEMBERSHIP_REFRESH_MILLIS, nodeTimeoutMillis / 2);
+  }
+
+  /**
+   * 작업을 이 노드가 실행해야 하는지 확인하고, 그렇다면 리스를 획득/연장
+   *
+   * 담당이 아닌 작업의 리스를 가지고 있으면 반납하여 새 담당 노드가 바로 이어받게 합니다
+   * (실행 중인 작업은 {@link #markFinished}까지 반납을 미룸).
+   * Redis 장애 시에는 중복 실행을 피하기 위해 false를 반환합니다.
+   *
+   * @param task 작업 이름 (예: coupon-issuance:1, popular-product:refresh)
+   * @return 이 노드가 실행할지 여부
+   */
+  public boolean tryAcquire(String task) {
+    try {
+      if (!nodeId.equals(ownerOf(task, refreshMembership()))) {
+        if (!runningTasks.contains(task)) {
+          release(task);
+        }
+        return false;
+      }
+      if (acquire(task)) {
+        ownedLeases.add(task);
+        lostTasks.remove(task);
+        return true;
+      }
+      ownedLeases.remove(task);
+      return false;
+    } catch (Exception e) {
+      log.warn("스케줄러 리스 확인 실패 - Task: {}", task, e);
+      return false;
+    }
+  }
+
+  /**
+   * 리스 반납 (이 노드가 보유한 경우에만)
+   *
+   * @param task 작업 이름
+   */
+  public void release(String task) {
+    if (ownedLeases.remove(task)) {
+      executeWithStringArgs(RELEASE_SCRIPT, List.of(LEASE_KEY_PREFIX + task), nodeId);
+    }
+  }
+
+  /**
+   * 작업 실행 시작 표시 (리스를 획득한 뒤 호출)
+   *
+   * 실행이 끝날 때까지 전용 스레드가 리스를 연장하고, 담당이 바뀌어도 리스를 반납하지 않습니다.
+   *
+   * @param task 작업 이름
+   */
+  public void markRunning(String task) {
+    lostTasks.remove(task);
+    runningTasks.add(task);
+  }
+
+  /**
+   * 작업 실행 종료 표시 (담당이 바뀌었으면 미뤘던 리스를 바로 반납)
+   *
+   * @param task 작업 이름
+   */
+  public void markFinished(String task) {
+    runningTasks.remove(task);
+    lostTasks.remove(task);
+    try {
+      if (!nodeId.equals(ownerOf(task, liveNodes))) {
+        release(task);
+      }
+    } catch (Exception e) {
+      log.warn("스케줄러 리스 반납 실패 - Task: {}", task, e);
+    }
+  }
+
+  /**
+   * 실행 중인 작업의 리스를 잃었는지 여부 (연장 실패 또는 다른 노드가 보유)
+   *
+   * @param task 작업 이름
+   * @return 잃었으면 true (실행 중인 작업은 더 진행하지 않아야 함)
+   */
+  public boolean hasLost(String task) {
+    return lostTasks.contains(task);
+  }
+
+  /**
+   * 하트비트 주기 (노드 목록 갱신 간격)
+   */
+  public long getHeartbeatIntervalMillis() {
+    return membershipRefreshMillis;
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  /**
+   * 살아 있는 노드 중 작업의 담당 노드 (Rendezvous 해시 점수 최대)
+   */
+  static String ownerOf(String task, List<String> nodes) {
+    String owner = null;
+    long bestScore = Long.MIN_VALUE;
+    for (String node : nodes) {
+      long score = mix(node.hashCode() * 31L + task.hashCode());
+      if (owner == null || score > bestScore || (score == bestScore && node.compareTo(owner) < 0)) {
+        owner = node;
+        bestScore = score;
+      }
+    }
+    return owner;
+  }
+
+  /**
+   * 하트비트 후 리스 유지 시간의 1/3마다 실행 중인 작업의 리스 연장 (SchedulerLeaseHeartbeat가 주기적으로 호출)
+   *
+   * Redis 장애로 리스 유지 시간 이상 연장하지 못했으면 실행 중인 작업의 리스를 모두 잃은 것으로 봅니다.
+   */
+  public void heartbeat() {
+    long now = System.currentTimeMillis();
+    try {
+      refreshMembership(true);
+      if (now - leasesRenewedAt >= leaseTtlMillis / 3) {
+        renewRunningLeases();
+        leasesRenewedAt = now;
+      }
+    } catch (Exception e) {
+      log.warn("스케줄러 하트비트 실패 - Node: {}", nodeId, e);
+      if (now - leasesRenewedAt >= leaseTtlMillis) {
+        lostTasks.addAll(runningTasks);
+      }
+    }
+  }
+
+  /**
+   * 실행 중인 작업의 리스를 한 번에 연장하고, 다른 노드가 가진 리스는 잃은 것으로 표시
+   */
+  private void renewRunningLeases() {
+    List<String> tasks = runningTasks.stream().filter(ownedLeases::contains).toList();
+    if (tasks.isEmpty()) {
+      return;
+    }
+    List<?> renewed = executeWithStringArgs(RENEW_SCRIPT,
+        tasks.stream().map(task -> LEASE_KEY_PREFIX + task).toList(), nodeId, String.valueOf(leaseTtlMillis));
+    for (int i = 0; i < tasks.size(); i++) {
+      Object result = renewed != null && i < renewed.size() ? renewed.get(i) : null;
+      if (!(result instanceof Number number) || number.longValue() != 1) {
+        ownedLeases.remove(tasks.get(i));
+        lostTasks.add(tasks.get(i));
+        log.warn("스케줄러 리스 연장 실패 - Task: {}", tasks.get(i));
+      }
+    }
+  }
+
+  /**
+   * 하트비트를 남기고 살아 있는 노드 목록 갱신 (최대 MEMBERSHIP_REFRESH_MILLIS 간격)
+   */
+  private List<String> refreshMembership() {
+    return refreshMembership(false);
+  }
+
+  private List<String> refreshMembership(boolean force) {
+    long now = System.currentTimeMillis();
+    if (!force && now - membershipRefreshedAt < membershipRefreshMillis && liveNodes.contains(nodeId)) {
+      return liveNodes;
+    }
+
+    List<?> nodes = executeWithStringArgs(HEARTBEAT_SCRIPT, List.of(NODES_KEY),
+        nodeId, String.valueOf(nodeTimeoutMillis));
+    List<String> refreshed = new ArrayList<>();
+    if (nodes != null) {
+      nodes.forEach(node -> refreshed.add(String.valueOf(node)));
+    }
+    if (!refreshed.contains(nodeId)) {
+      refreshed.add(nodeId);
+    }
+    liveNodes = List.copyOf(refreshed);
+    membershipRefreshedAt = now;
+    return liveNodes;
+  }
+
+  private boolean acquire(String task) {
+    Long acquired = executeWithStringArgs(ACQUIRE_SCRIPT, List.of(LEASE_KEY_PREFIX + task),
+        nodeId, String.valueOf(leaseTtlMillis));
+    return acquired != null && acquired == 1;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private <T> T executeWithStringArgs(RedisScript<T> script, List<String> keys, String... args) {
+    return redisTemplate.execute(script, RedisSerializer.string(), (RedisSerializer) RedisSerializer.string(),
+        keys, (Object[]) args);
+  }
+
+  /**
+   * 64비트 해시 섞기 (SplitMix64 마무리 단계)
+   */
+  private static long mix(long value) {
+    long z = value + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
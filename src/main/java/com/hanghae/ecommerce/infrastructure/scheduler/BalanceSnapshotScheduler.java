@@ -0,0 +1,65 @@
+package com.hanghae.ecommerce.infrastructure.scheduler;
+
+import com.hanghae.ecommerce.application.payment.BalanceSnapshotService;
+import com.hanghae.ecommerce.infrastructure.lock.SchedulerLeaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액 스냅샷 스케줄러
+ *
+ * 매일 새벽 사용자별 잔액 스냅샷을 생성하고, 보존 기간이 설정된 경우
+ * 스냅샷에 반영된 오래된 거래 이력을 압축합니다.
+ *
+ * ## 설정
+ * - app.scheduler.balance-snapshot.enabled: 스케줄러 활성화 여부
+ * - app.balance-snapshot.retention-days: 원본 거래 보존 기간 (0이면 압축하지 않음)
+ *
+ * ## 테스트 환경
+ * - 테스트 프로파일에서는 자동으로 비활성화됨
+ */
+@Component
+@EnableScheduling
+@Profile("!test")
+@ConditionalOnProperty(name = "app.scheduler.balance-snapshot.enabled", havingValue = "true", matchIfMissing = false)
+public class BalanceSnapshotScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotScheduler.class);
+
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final int retentionDays;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    public BalanceSnapshotScheduler(BalanceSnapshotService balanceSnapshotService,
+            SchedulerLeaseManager schedulerLeaseManager,
+            @Value("${app.balance-snapshot.retention-days:0}") int retentionDays) {
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.schedulerLeaseManager = schedulerLeaseManager;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * 스냅샷 생성 및 원장 압축 (매일 새벽 3시 실행)
+     */
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void snapshotAndCompact() {
+        if (!schedulerLeaseManager.tryAcquire("balance-snapshot")) {
+            return;
+        }
+        try {
+            balanceSnapshotService.createSnapshots();
+
+            if (retentionDays > 0) {
+                balanceSnapshotService.compactLedger(retentionDays);
+            }
+        } catch (Exception e) {
+            log.error("Error during balance snapshot batch", e);
+        }
+    }
+}
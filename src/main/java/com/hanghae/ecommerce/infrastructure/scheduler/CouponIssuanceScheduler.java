@@ -3,32 +3,68 @@ package com.hanghae.ecommerce.infrastructure.scheduler;
 import com.hanghae.ecommerce.application.coupon.CouponService;
 import com.hanghae.ecommerce.domain.coupon.Coupon;
 import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponCampaignCloser;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponIssuanceMetrics;
 import com.hanghae.ecommerce.infrastructure.coupon.CouponQueueService;
+import com.hanghae.ecommerce.infrastructure.lock.SchedulerLeaseManager;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 /**
  * 쿠폰 발급 스케줄러
- * 
+ *
  * Redis 대기열에 있는 사용자들을 주기적으로 처리하여 실제 쿠폰을 발급합니다.
- * 
+ *
  * ## 처리 방식
  * 1. 활성 쿠폰 목록 조회
- * 2. 각 쿠폰의 대기열에서 상위 N명 조회
- * 3. 남은 수량만큼 실제 발급 처리
- * 4. 발급 완료된 사용자는 발급 완료 Set에 추가
- * 
+ * 2. 쿠폰마다 가상 스레드 워커를 띄워 서로 독립적으로 처리 (한 쿠폰의 긴 대기열이 다른 쿠폰을 막지 않음)
+ * 3. Lua 스크립트로 대기열 상위 N명을 ZPOPMIN으로 선점하고 수량을 DECRBY (왕복 1회)
+ * 4. 선점한 배치를 한 트랜잭션에서 발급 (issued_quantity UPDATE 1회 + user_coupons 배치 INSERT)
+ * 5. 발급 완료 Set 갱신은 파이프라인으로 전송
+ * 6. 배치가 가득 찼으면 대기열이 빌 때까지 같은 실행 안에서 반복
+ *
+ * 발급에 실패하면 선점한 사용자를 원래 score로 대기열에 되돌리고 수량을 복구합니다.
+ *
+ * ## 캠페인 종료
+ * - 처리 후 Redis 수량이 0 이하이면 CouponCampaignCloser로 캠페인을 종료
+ *   (새 진입 거절, 남은 대기자 거절 및 대기열 삭제, 발급 완료 Set을 비트맵으로 압축, 거절된 대기자에게 SOLD_OUT 전송)
+ * - 쿠폰 리스를 가진 워커가 종료하므로 같은 쿠폰의 배치 발급과 겹치지 않음
+ *
+ * ## 다중 노드
+ * - 모든 노드에서 실행하되, 쿠폰마다 SchedulerLeaseManager의 리스(coupon-issuance:{쿠폰 ID})를 가진 노드만 처리
+ * - 쿠폰이 노드들에 고르게 나뉘고, 노드가 죽으면 리스 만료 후 다른 노드가 그 쿠폰을 이어받음
+ * - 워커가 실행 중인 동안 리스는 하트비트 스레드가 연장하고, 리스를 잃으면 다음 배치를 선점하지 않음
+ *
+ * ## 공정성
+ * - 동시에 DB를 쓰는 워커 수를 MAX_CONCURRENT_COUPONS로 제한 (공정 세마포어, 먼저 대기한 쿠폰이 먼저 진행)
+ * - 워커는 배치마다 허가를 반납하고 다시 얻으므로, 대기열이 긴 쿠폰이 허가를 독점하지 않음
+ * - 이전 실행의 워커가 아직 처리 중인 쿠폰은 다시 띄우지 않음
+ *
+ * ## 적응형 배치 크기
+ * - 쿠폰별로 INITIAL_BATCH_SIZE에서 시작
+ * - 배치 DB 처리 시간이 목표의 절반 미만이고 대기열이 배치보다 길면 두 배로 증가
+ * - 목표를 넘으면 절반으로 감소 (MIN_BATCH_SIZE ~ MAX_BATCH_SIZE)
+ * - 배치 크기와 처리 시간, 대기 지연은 CouponIssuanceMetrics로 노출
+ *
  * ## 스케줄 설정
  * - fixedDelay: 1초마다 실행 (대기열 처리)
- * - 초당 처리량: 배치 크기만큼 (기본 100명)
- * 
+ * - 실행당 쿠폰별 처리량: 최대 배치 크기 x MAX_BATCHES_PER_RUN 명
+ *
  * ## 테스트 환경
  * - 테스트 프로파일에서는 자동으로 비활성화됨
  */
@@ -42,26 +78,50 @@ public class CouponIssuanceScheduler {
   private final CouponQueueService couponQueueService;
   private final CouponRepository couponRepository;
   private final CouponService couponService;
-  private final RedisTemplate<String, Object> redisTemplate;
+  private final CouponIssuanceMetrics couponIssuanceMetrics;
+  private final SchedulerLeaseManager schedulerLeaseManager;
+  private final CouponCampaignCloser couponCampaignCloser;
 
-  // 배치 처리 크기 (한 번에 처리할 최대 인원)
-  private static final int BATCH_SIZE = 100;
+  private static final String LEASE_TASK_PREFIX = "coupon-issuance:";
+
+  // 배치 크기 범위 (한 번에 선점할 인원)
+  private static final int INITIAL_BATCH_SIZE = 100;
+  private static final int MIN_BATCH_SIZE = 50;
+  private static final int MAX_BATCH_SIZE = 1000;
+
+  // 배치 하나의 목표 DB 처리 시간 (커넥션 점유 시간 상한)
+  private static final long TARGET_BATCH_NANOS = 500_000_000L;
+
+  // 한 번의 실행에서 쿠폰별로 처리할 최대 배치 수
+  private static final int MAX_BATCHES_PER_RUN = 20;
+
+  // 동시에 DB 발급을 진행할 최대 쿠폰 수 (커넥션 풀 20개 중 일부만 사용)
+  private static final int MAX_CONCURRENT_COUPONS = 8;
+
+  private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+  private final Semaphore permits = new Semaphore(MAX_CONCURRENT_COUPONS, true);
+  private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+  private final Map<Long, Integer> batchSizes = new ConcurrentHashMap<>();
 
   public CouponIssuanceScheduler(
       CouponQueueService couponQueueService,
       CouponRepository couponRepository,
       CouponService couponService,
-      RedisTemplate<String, Object> redisTemplate) {
+      CouponIssuanceMetrics couponIssuanceMetrics,
+      SchedulerLeaseManager schedulerLeaseManager,
+      CouponCampaignCloser couponCampaignCloser) {
     this.couponQueueService = couponQueueService;
     this.couponRepository = couponRepository;
     this.couponService = couponService;
-    this.redisTemplate = redisTemplate;
+    this.couponIssuanceMetrics = couponIssuanceMetrics;
+    this.schedulerLeaseManager = schedulerLeaseManager;
+    this.couponCampaignCloser = couponCampaignCloser;
   }
 
   /**
    * 쿠폰 발급 대기열 처리
-   * 
-   * 1초마다 실행되어 대기열에 있는 사용자들을 처리합니다.
+   *
+   * 1초마다 실행되어 발급 가능한 쿠폰 중 이 노드가 리스를 가진 쿠폰마다 워커를 띄웁니다.
    */
   @Scheduled(fixedDelay = 1000) // 1초마다 실행
   public void processCouponQueue() {
@@ -71,7 +131,9 @@ public class CouponIssuanceScheduler {
       var issuableCoupons = couponRepository.findIssuableCouponsForScheduler(java.time.LocalDateTime.now());
 
       for (Coupon coupon : issuableCoupons) {
-        processCouponQueue(coupon);
+        if (schedulerLeaseManager.tryAcquire(LEASE_TASK_PREFIX + coupon.getId())) {
+          dispatch(coupon);
+        }
       }
     } catch (Exception e) {
       log.error("쿠폰 발급 대기열 처리 중 오류 발생", e);
@@ -79,123 +141,175 @@ public class CouponIssuanceScheduler {
   }
 
   /**
-   * 특정 쿠폰의 대기열 처리
-   * 
+   * 쿠폰 워커 실행
+   *
+   * 같은 쿠폰의 워커가 이미 실행 중이면 새로 띄우지 않습니다.
+   * 워커가 끝날 때까지 리스를 실행 중으로 표시해, 담당 노드가 바뀌어도 리스가 연장되고 반납이 미뤄집니다.
+   *
    * @param coupon 쿠폰 정보
+   * @return 이번 실행에서 발급한 수 (이미 실행 중이면 0)
    */
-  private void processCouponQueue(Coupon coupon) {
+  public CompletableFuture<Integer> dispatch(Coupon coupon) {
     Long couponId = coupon.getId();
-
+    if (!inFlight.add(couponId)) {
+      return CompletableFuture.completedFuture(0);
+    }
+    String task = LEASE_TASK_PREFIX + couponId;
+    schedulerLeaseManager.markRunning(task);
     try {
-      // 1. 남은 수량 확인
-      java.util.Optional<Integer> remainingQuantityOpt = couponQueueService.getRemainingQuantity(couponId);
-      int remainingQuantity;
-
-      // Redis에 수량이 없으면 DB에서 초기화
-      // SETNX를 사용하여 원자적으로 초기화하여 동시성 이슈 방지
-      if (remainingQuantityOpt.isEmpty()) {
-        int totalQuantity = coupon.getTotalQuantity().getValue();
-        int issuedQuantity = coupon.getIssuedQuantity().getValue();
-        remainingQuantity = totalQuantity - issuedQuantity;
-
-        if (remainingQuantity <= 0) {
-          return; // 이미 모두 발급됨
-        }
-
-        // SETNX를 사용하여 원자적으로 초기화 (이미 다른 스레드가 초기화했으면 false 반환)
-        boolean initialized = couponQueueService.initializeQuantity(couponId, remainingQuantity, coupon.getEndDate());
-        if (initialized) {
-          // 초기화 성공 시 남은 수량 재조회
-          remainingQuantityOpt = couponQueueService.getRemainingQuantity(couponId);
-          remainingQuantity = remainingQuantityOpt.orElse(0);
-        } else {
-          // 다른 스레드가 이미 초기화한 경우, 재조회하여 최신 값 사용
-          remainingQuantityOpt = couponQueueService.getRemainingQuantity(couponId);
-          remainingQuantity = remainingQuantityOpt.orElse(0);
+      return CompletableFuture.supplyAsync(() -> {
+        try {
+          return processCouponQueue(coupon);
+        } finally {
+          inFlight.remove(couponId);
+          schedulerLeaseManager.markFinished(task);
         }
-      } else {
-        remainingQuantity = remainingQuantityOpt.get();
-      }
-
-      if (remainingQuantity <= 0) {
-        return; // 발급 가능한 수량 없음
-      }
-
-      // 2. 대기열에서 처리할 사용자 수 결정 (남은 수량과 배치 크기 중 작은 값)
-      int processCount = Math.min(remainingQuantity, BATCH_SIZE);
+      }, workers);
+    } catch (RuntimeException e) {
+      inFlight.remove(couponId);
+      schedulerLeaseManager.markFinished(task);
+      throw e;
+    }
+  }
 
-      // 3. 대기열에서 상위 N명 조회
-      Set<Object> topUsers = couponQueueService.getTopUsers(couponId, processCount);
+  /**
+   * 특정 쿠폰의 대기열 처리
+   *
+   * @param coupon 쿠폰 정보
+   * @return 이번 실행에서 발급한 수
+   */
+  public int processCouponQueue(Coupon coupon) {
+    Long couponId = coupon.getId();
+    int issuedCount = 0;
 
-      if (topUsers == null || topUsers.isEmpty()) {
-        return; // 대기열이 비어있음
+    try {
+      // 1. Redis에 수량이 없으면 DB에서 초기화
+      if (!ensureQuantityInitialized(coupon)) {
+        closeIfSoldOut(coupon); // 이미 모두 발급됨
+        return 0;
       }
 
-      // 4. 각 사용자에 대해 발급 처리
-      int successCount = 0;
-      for (Object userIdObj : topUsers) {
-        if (successCount >= remainingQuantity) {
-          break; // 남은 수량 초과
+      // 2. 배치 단위로 선점 → 발급, 배치가 가득 차지 않으면 대기열이 빈 것으로 보고 종료
+      for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+        if (schedulerLeaseManager.hasLost(LEASE_TASK_PREFIX + couponId)) {
+          log.warn("쿠폰 리스를 잃어 발급 중단 - CouponId: {}", couponId);
+          break; // 리스가 만료되어 다른 노드가 이어받을 수 있음
         }
+        int batchSize = batchSizes.getOrDefault(couponId, INITIAL_BATCH_SIZE);
+        int claimedSize;
 
+        permits.acquire();
         try {
-          Long userId = Long.valueOf(userIdObj.toString());
-
-          // 이미 발급된 사용자는 건너뛰기
-          if (couponQueueService.isAlreadyIssued(couponId, userId)) {
-            couponQueueService.removeFromQueue(couponId, userId);
-            continue;
+          Map<Long, Double> claimed = couponQueueService.claimBatch(couponId, batchSize);
+          if (claimed.isEmpty()) {
+            break; // 수량 소진 또는 대기열이 비어있음
           }
+          claimedSize = claimed.size();
 
-          // 실제 쿠폰 발급 처리 (Redis 기반)
-          boolean issued = processCouponIssuance(couponId, userId);
+          long startedAt = System.nanoTime();
+          int issued = issueBatch(coupon, claimed);
+          long elapsed = System.nanoTime() - startedAt;
 
-          if (issued) {
-            successCount++;
-            couponQueueService.markAsIssued(couponId, userId, coupon.getEndDate());
-            log.debug("쿠폰 발급 완료 - CouponId: {}, UserId: {}", couponId, userId);
-          } else {
-            // 발급 실패 (수량 부족 등) - 대기열에서 제거하지 않음 (재시도 가능)
-            log.warn("쿠폰 발급 실패 - CouponId: {}, UserId: {}", couponId, userId);
-          }
-        } catch (Exception e) {
-          log.error("쿠폰 발급 처리 중 오류 - CouponId: {}, UserId: {}", couponId, userIdObj, e);
+          int nextBatchSize = adjustBatchSize(couponId, batchSize, elapsed);
+          couponIssuanceMetrics.recordBatch(coupon, nextBatchSize, issued, elapsed);
+          issuedCount += issued;
+        } finally {
+          permits.release();
+        }
+
+        if (claimedSize < batchSize) {
+          break;
         }
       }
 
-      if (successCount > 0) {
-        log.info("쿠폰 발급 배치 처리 완료 - CouponId: {}, 발급 수: {}", couponId, successCount);
+      if (issuedCount > 0) {
+        log.info("쿠폰 발급 배치 처리 완료 - CouponId: {}, 발급 수: {}", couponId, issuedCount);
       }
+
+      // 3. 이번 실행에서 수량이 소진되었으면 캠페인 종료
+      closeIfSoldOut(coupon);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     } catch (Exception e) {
       log.error("쿠폰 대기열 처리 중 오류 - CouponId: {}", couponId, e);
     }
+    return issuedCount;
   }
 
   /**
-   * 실제 쿠폰 발급 처리
-   * 
-   * @param couponId 쿠폰 ID
-   * @param userId   사용자 ID
-   * @return 발급 성공 여부
+   * 배치 DB 처리 시간과 남은 대기열 길이로 다음 배치 크기 결정
+   *
+   * @param couponId  쿠폰 ID
+   * @param batchSize 이번 배치 크기
+   * @param elapsed   이번 배치 DB 처리 시간 (ns)
+   * @return 다음 배치 크기
    */
-  private boolean processCouponIssuance(Long couponId, Long userId) {
-    try {
-      // 수량 차감 시도
-      int remaining = couponQueueService.decrementQuantity(couponId);
+  private int adjustBatchSize(Long couponId, int batchSize, long elapsed) {
+    int next = batchSize;
+    if (elapsed > TARGET_BATCH_NANOS) {
+      next = Math.max(MIN_BATCH_SIZE, batchSize / 2);
+    } else if (elapsed < TARGET_BATCH_NANOS / 2 && couponQueueService.getQueueSize(couponId) > batchSize) {
+      next = Math.min(MAX_BATCH_SIZE, batchSize * 2);
+    }
+    batchSizes.put(couponId, next);
+    return next;
+  }
 
-      if (remaining < 0) {
-        return false; // 수량 부족
-      }
+  /**
+   * 선점한 배치를 DB에 발급하고 발급 완료 Set을 갱신
+   *
+   * @param coupon  쿠폰 정보
+   * @param claimed 선점한 사용자 ID → 대기열 score
+   * @return 발급 수
+   */
+  private int issueBatch(Coupon coupon, Map<Long, Double> claimed) {
+    Long couponId = coupon.getId();
+    CouponService.BatchIssueResult result;
 
-      // 실제 DB에 쿠폰 발급 (Redis 기반 발급 서비스 사용)
-      couponService.issueCouponFromQueue(couponId, userId);
-      return true;
+    try {
+      result = couponService.issueCouponsFromQueue(couponId, new ArrayList<>(claimed.keySet()));
     } catch (Exception e) {
-      log.error("쿠폰 발급 처리 실패 - CouponId: {}, UserId: {}", couponId, userId, e);
-      // 실패 시 수량 복구
-      String quantityKey = "coupon:quantity:" + couponId;
-      redisTemplate.opsForValue().increment(quantityKey);
-      return false;
+      // 트랜잭션 전체가 롤백되었으므로 선점을 되돌려 다음 실행에서 재시도 (그 사이 종료되었으면 거절)
+      log.error("쿠폰 배치 발급 실패 - CouponId: {}, 배치 크기: {}", couponId, claimed.size(), e);
+      if (!couponQueueService.requeue(couponId, claimed)) {
+        couponCampaignCloser.rejectClaimed(couponId, claimed.keySet());
+      }
+      return 0;
     }
+
+    // 이미 DB에 발급되어 있던 사용자 몫의 수량은 반환하고, 발급 완료 Set에는 함께 등록
+    couponQueueService.restoreQuantity(couponId, result.getDuplicateUserIds().size());
+
+    List<Long> issuedUsers = new ArrayList<>(result.getIssuedUserIds());
+    issuedUsers.addAll(result.getDuplicateUserIds());
+    couponQueueService.markAsIssued(couponId, issuedUsers, coupon.getEndDate());
+
+    return result.getIssuedUserIds().size();
+  }
+
+  /**
+   * Redis 수량 키가 없으면 DB 발급 내역 기준 남은 수량으로 초기화
+   *
+   * @param coupon 쿠폰 정보
+   * @return 발급 가능한 수량이 남아 있는지 여부
+   */
+  private boolean ensureQuantityInitialized(Coupon coupon) {
+    return couponService.getOrInitializeQueueQuantity(coupon.getId(), coupon.getEndDate()) > 0;
+  }
+
+  /**
+   * 수량이 소진된 캠페인 종료 후 배치 크기 정리
+   *
+   * @param coupon 쿠폰 정보
+   */
+  private void closeIfSoldOut(Coupon coupon) {
+    if (couponCampaignCloser.closeIfSoldOut(coupon)) {
+      batchSizes.remove(coupon.getId());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    workers.shutdown();
   }
 }
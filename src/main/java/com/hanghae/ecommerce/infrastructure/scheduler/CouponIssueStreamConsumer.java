@@ -0,0 +1,386 @@
+package com.hanghae.ecommerce.infrastructure.scheduler;
+
+import com.hanghae.ecommerce.application.coupon.CouponService;
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponCampaignCloser;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponIssueStreamService;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponIssueStreamService.IssueRequest;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponQueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 쿠폰 발급 Stream 컨슈머
+ *
+ * 쿠폰별 발급 요청 Stream을 컨슈머 그룹으로 읽어 실제 쿠폰을 발급합니다.
+ * 같은 그룹의 컨슈머끼리 요청을 나눠 가지므로 여러 노드에서 동시에 실행해도 중복 처리되지 않습니다.
+ *
+ * ## 처리 방식
+ * 1. 가상 스레드 하나가 활성 쿠폰의 Stream 전체를 XREADGROUP BLOCK으로 대기 (요청이 들어오면 즉시 깨어남)
+ * 2. 읽은 요청의 수량을 Lua 스크립트로 확보한 뒤 배치 발급 (issued_quantity UPDATE 1회 + user_coupons 배치 INSERT)
+ * 3. 발급 완료 Set 갱신 후 XACK + XDEL (처리한 요청은 Stream에서 삭제)
+ *    확보한 수량은 레코드 ID별로 기록되어, 회수한 요청을 다시 처리해도 수량을 두 번 차감하지 않음
+ * 4. 수량이 없어 발급하지 못한 사용자는 대기열(ZSET)에 남기고 백로그로 표시
+ * 5. 백로그가 있으면 새로 읽은 요청 대신 대기열 앞에서부터 발급하여, 수량이 돌아와도 먼저 요청한 사용자가 먼저 발급받음
+ * 6. DB 발급이 실패하면 수량을 되돌리고 백로그로 표시하여, 같은 사용자를 대기열 순서대로 다시 발급
+ * 7. 10초마다 XAUTOCLAIM으로 30초 이상 확인되지 않은 요청(종료된 컨슈머 몫)을 가져와 처리하고 백로그 발급
+ *
+ * ## 캠페인 종료
+ * - 이 모드에서는 CouponIssuanceScheduler가 꺼져 있으므로, 처리 후 Redis 수량이 0 이하이면 컨슈머가 CouponCampaignCloser로 종료
+ * - 다른 컨슈머가 수량을 확보하고 아직 확인하지 않은 요청(XPENDING)이 있으면 종료를 미룸
+ *   (종료가 대기열을 비우면서 그 사용자에게 SOLD_OUT을 보내지 않도록), 회수 작업이 다시 확인
+ *
+ * ## 설정
+ * - app.coupon.stream.enabled=true: 요청 시 Stream 추가 + 이 컨슈머 실행
+ * - app.coupon.stream.consumer-name: 컨슈머 이름 (기본값: pid@hostname)
+ * - 같은 쿠폰을 CouponIssuanceScheduler와 함께 처리하지 않도록 app.scheduler.coupon-issuance.enabled는 끕니다.
+ *
+ * ## 테스트 환경
+ * - 테스트 프로파일에서는 자동으로 비활성화됨
+ */
+@Component
+@EnableScheduling
+@Profile("!test")
+@ConditionalOnProperty(name = "app.coupon.stream.enabled", havingValue = "true", matchIfMissing = false)
+public class CouponIssueStreamConsumer implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(CouponIssueStreamConsumer.class);
+
+  // Stream별 한 번에 읽을 최대 요청 수
+  private static final int BATCH_SIZE = 500;
+
+  // 새 요청이 없을 때 XREADGROUP 대기 시간
+  private static final Duration BLOCK_TIMEOUT = Duration.ofSeconds(2);
+
+  // 활성 쿠폰 목록 갱신 주기
+  private static final Duration COUPON_REFRESH_INTERVAL = Duration.ofSeconds(5);
+
+  // 이 시간 이상 확인되지 않은 요청은 처리 중이던 컨슈머가 종료된 것으로 간주
+  private static final Duration RECLAIM_MIN_IDLE = Duration.ofSeconds(30);
+
+  private final CouponQueueService couponQueueService;
+  private final CouponIssueStreamService couponIssueStreamService;
+  private final CouponRepository couponRepository;
+  private final CouponService couponService;
+  private final CouponCampaignCloser couponCampaignCloser;
+  private final String consumerName;
+
+  private volatile Map<Long, Coupon> activeCoupons = Map.of();
+  private volatile long activeCouponsLoadedAt;
+  private volatile boolean running;
+  private Thread worker;
+
+  public CouponIssueStreamConsumer(
+      CouponQueueService couponQueueService,
+      CouponIssueStreamService couponIssueStreamService,
+      CouponRepository couponRepository,
+      CouponService couponService,
+      CouponCampaignCloser couponCampaignCloser,
+      @Value("${app.coupon.stream.consumer-name:}") String consumerName) {
+    this.couponQueueService = couponQueueService;
+    this.couponIssueStreamService = couponIssueStreamService;
+    this.couponRepository = couponRepository;
+    this.couponService = couponService;
+    this.couponCampaignCloser = couponCampaignCloser;
+    this.consumerName = consumerName == null || consumerName.isBlank()
+        ? ManagementFactory.getRuntimeMXBean().getName()
+        : consumerName;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    worker = Thread.ofVirtual().name("coupon-stream-consumer").start(this::consumeLoop);
+    log.info("쿠폰 발급 Stream 컨슈머 시작 - Consumer: {}", consumerName);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (worker != null) {
+      worker.interrupt();
+      try {
+        worker.join(BLOCK_TIMEOUT.toMillis() * 2);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void consumeLoop() {
+    while (running) {
+      try {
+        if (refreshActiveCoupons().isEmpty()) {
+          Thread.sleep(BLOCK_TIMEOUT.toMillis());
+          continue;
+        }
+        pollOnce(BLOCK_TIMEOUT);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        if (!running) {
+          return;
+        }
+        log.error("쿠폰 발급 Stream 처리 중 오류 발생", e);
+        try {
+          Thread.sleep(1000); // 장애 시 재시도 간격
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * 새 요청을 한 번 읽어 발급
+   *
+   * @param block 새 요청이 없을 때 대기할 최대 시간
+   * @return 발급 수
+   */
+  public int pollOnce(Duration block) {
+    Map<Long, Coupon> coupons = refreshActiveCoupons();
+    if (coupons.isEmpty()) {
+      return 0;
+    }
+
+    Map<Long, List<IssueRequest>> requests =
+        couponIssueStreamService.read(consumerName, coupons.keySet(), BATCH_SIZE, block);
+
+    int issuedCount = 0;
+    for (Map.Entry<Long, List<IssueRequest>> entry : requests.entrySet()) {
+      Coupon coupon = coupons.get(entry.getKey());
+      if (coupon != null) {
+        issuedCount += process(coupon, entry.getValue());
+      }
+    }
+    return issuedCount;
+  }
+
+  /**
+   * 종료된 컨슈머가 남긴 미확인 요청 회수
+   *
+   * 10초마다 실행됩니다.
+   */
+  @Scheduled(fixedDelay = 10000)
+  public void reclaimPending() {
+    try {
+      reclaimPending(RECLAIM_MIN_IDLE);
+    } catch (Exception e) {
+      log.error("미확인 쿠폰 발급 요청 회수 중 오류 발생", e);
+    }
+  }
+
+  /**
+   * 지정한 시간 이상 확인되지 않은 요청을 가져와 발급하고, 새 요청이 없어도 백로그를 발급
+   *
+   * @param minIdle 최소 유휴 시간
+   * @return 발급 수
+   */
+  public int reclaimPending(Duration minIdle) {
+    int issuedCount = 0;
+    for (Coupon coupon : refreshActiveCoupons().values()) {
+      List<IssueRequest> requests =
+          couponIssueStreamService.autoClaim(coupon.getId(), consumerName, minIdle, BATCH_SIZE);
+      if (!requests.isEmpty()) {
+        log.info("미확인 쿠폰 발급 요청 회수 - CouponId: {}, 건수: {}", coupon.getId(), requests.size());
+        issuedCount += process(coupon, requests);
+      } else if (couponIssueStreamService.hasBacklog(coupon.getId())) {
+        issuedCount += drainBacklog(coupon);
+      }
+      closeIfSoldOut(coupon); // 처리 중인 요청이 있어 미뤘던 종료
+    }
+    return issuedCount;
+  }
+
+  /**
+   * 한 쿠폰의 요청 묶음 처리
+   *
+   * @param coupon   쿠폰 정보
+   * @param requests Stream 요청 목록
+   * @return 발급 수
+   */
+  private int process(Coupon coupon, List<IssueRequest> requests) {
+    Long couponId = coupon.getId();
+    List<String> recordIds = requests.stream().map(IssueRequest::getRecordId).toList();
+    Map<String, Long> userIdByRecord = new LinkedHashMap<>();
+    Set<Long> seenUsers = new HashSet<>();
+    for (IssueRequest request : requests) {
+      if (seenUsers.add(request.getUserId())) {
+        userIdByRecord.put(request.getRecordId(), request.getUserId());
+      }
+    }
+
+    // 1. Redis 수량이 없으면 DB 발급 내역 기준으로 초기화
+    couponService.getOrInitializeQueueQuantity(couponId, coupon.getEndDate());
+
+    // 2. 수량 확보 (이미 발급된 사용자와 수량 초과분 제외, 회수한 요청은 이전에 확보한 수량을 이어받음)
+    //    대기열에 먼저 요청한 미발급 사용자가 남아 있으면(백로그) 이 요청의 사용자도 그 뒤에 있으므로 새로 확보하지 않음
+    boolean backlog = couponIssueStreamService.hasBacklog(couponId);
+    CouponQueueService.Reservation reservation =
+        couponQueueService.reserveQuantity(couponId, userIdByRecord, !backlog, coupon.getEndDate());
+    List<Long> granted = reservation.getUserIds();
+    boolean exhausted = !backlog && granted.size() < userIdByRecord.size()
+        && couponQueueService.getRemainingQuantity(couponId).orElse(0) <= 0;
+
+    // 3. DB 발급
+    CouponService.BatchIssueResult result;
+    try {
+      result = couponService.issueCouponsFromQueue(couponId, granted);
+    } catch (Exception e) {
+      // 수량 확보는 대기열에서 제거하지 않으므로, 수량만 되돌리면 같은 사용자를 대기열 순서대로 다시 발급할 수 있음
+      // (이어받은 확보 중 이전 처리에서 이미 커밋된 것이 있으면 그만큼 더 되돌려지며, DB 중복 확인이 초과 발급을 막음)
+      log.error("쿠폰 Stream 배치 발급 실패 - CouponId: {}, 배치 크기: {}", couponId, granted.size(), e);
+      couponQueueService.restoreQuantity(couponId, granted.size());
+      couponIssueStreamService.markBacklog(couponId, coupon.getEndDate());
+      couponIssueStreamService.acknowledge(couponId, recordIds);
+      return 0;
+    }
+
+    // 4. 이미 DB에 발급되어 있던 사용자 몫의 수량 반환, 발급 완료 Set 갱신
+    //    (이어받은 사용자가 중복이면 이전 처리에서 커밋된 것이므로 그 수량은 이미 쓰임)
+    markIssued(coupon, result, reservation.getResumedUserIds());
+
+    // 5. 수량이 없어 발급하지 못한 사용자는 대기열에 남기고 백로그로 표시한 뒤 처리 완료 확인 (확보 기록도 삭제)
+    if (exhausted) {
+      couponIssueStreamService.markBacklog(couponId, coupon.getEndDate());
+    }
+    couponIssueStreamService.acknowledge(couponId, recordIds);
+
+    int issuedCount = result.getIssuedUserIds().size();
+    if (!result.getIssuedUserIds().isEmpty()) {
+      log.debug("쿠폰 Stream 발급 완료 - CouponId: {}, 발급 수: {}", couponId, issuedCount);
+    }
+
+    // 6. 백로그가 있거나 중복으로 돌려준 수량이 있으면 대기열에 남은 사용자에게 바로 발급
+    if (backlog || (exhausted && !result.getDuplicateUserIds().isEmpty())) {
+      issuedCount += drainBacklog(coupon);
+    }
+
+    // 7. 수량이 소진되었으면 캠페인 종료
+    closeIfSoldOut(coupon);
+    return issuedCount;
+  }
+
+  /**
+   * 수량이 소진되고 처리 중인 요청이 없으면 캠페인 종료
+   *
+   * 확인하지 않은 요청의 사용자는 수량을 확보했어도 대기열에 남아 있으므로, 그 사이에 종료하면 발급받을 사용자가 거절됩니다.
+   * 수량이 0 이하가 된 뒤에 읽은 요청은 수량을 확보하지 못하므로, 확인 대기 요청이 없으면 더 발급될 사용자가 없습니다.
+   *
+   * @param coupon 쿠폰 정보
+   */
+  private void closeIfSoldOut(Coupon coupon) {
+    Long couponId = coupon.getId();
+    if (couponCampaignCloser.isClosed(couponId)
+        || couponQueueService.getRemainingQuantity(couponId).orElse(1) > 0
+        || couponIssueStreamService.getPendingCount(couponId) > 0) {
+      return;
+    }
+    if (couponCampaignCloser.closeIfSoldOut(coupon)) {
+      couponIssueStreamService.clearBacklog(couponId);
+    }
+  }
+
+  /**
+   * 백로그 발급: 대기열 앞에서부터 남은 수량만큼 꺼내 발급
+   *
+   * 꺼내기는 원자적이라 여러 노드가 동시에 실행해도 같은 사용자를 두 번 꺼내지 않습니다.
+   * 대기열이 비면 백로그 표시를 지우고, DB 발급이 실패하면 꺼낸 사용자를 원래 순서로 되돌리고 다음 회차에 다시 시도합니다.
+   * 다른 컨슈머가 처리 중인 요청의 사용자를 함께 꺼낼 수 있지만, DB 중복 확인에서 걸러지고 수량이 복구됩니다.
+   *
+   * @param coupon 쿠폰 정보
+   * @return 발급 수
+   */
+  private int drainBacklog(Coupon coupon) {
+    Long couponId = coupon.getId();
+    int issuedCount = 0;
+    while (true) {
+      Map<Long, Double> claimed = couponQueueService.claimBatch(couponId, BATCH_SIZE);
+      if (claimed.isEmpty()) {
+        break; // 수량 소진 또는 대기열이 비어있음
+      }
+
+      CouponService.BatchIssueResult result;
+      try {
+        result = couponService.issueCouponsFromQueue(couponId, new ArrayList<>(claimed.keySet()));
+      } catch (Exception e) {
+        log.error("쿠폰 백로그 발급 실패 - CouponId: {}, 배치 크기: {}", couponId, claimed.size(), e);
+        if (!couponQueueService.requeue(couponId, claimed)) {
+          couponCampaignCloser.rejectClaimed(couponId, claimed.keySet());
+        }
+        return issuedCount;
+      }
+      markIssued(coupon, result, Set.of());
+      issuedCount += result.getIssuedUserIds().size();
+
+      if (claimed.size() < BATCH_SIZE) {
+        break;
+      }
+    }
+
+    if (couponQueueService.getQueueSize(couponId) == 0) {
+      couponIssueStreamService.clearBacklog(couponId);
+    }
+    if (issuedCount > 0) {
+      log.debug("쿠폰 백로그 발급 완료 - CouponId: {}, 발급 수: {}", couponId, issuedCount);
+    }
+    return issuedCount;
+  }
+
+  /**
+   * 중복 사용자 몫의 수량 반환 후 발급 완료 Set 갱신
+   *
+   * @param resumedUserIds 이전 처리의 확보를 이어받은 사용자 (중복이어도 수량을 반환하지 않음)
+   */
+  private void markIssued(Coupon coupon, CouponService.BatchIssueResult result, Set<Long> resumedUserIds) {
+    long refunds = result.getDuplicateUserIds().stream().filter(userId -> !resumedUserIds.contains(userId)).count();
+    couponQueueService.restoreQuantity(coupon.getId(), (int) refunds);
+    List<Long> issuedUsers = new ArrayList<>(result.getIssuedUserIds());
+    issuedUsers.addAll(result.getDuplicateUserIds());
+    couponQueueService.markAsIssued(coupon.getId(), issuedUsers, coupon.getEndDate());
+  }
+
+  /**
+   * 활성 쿠폰 목록을 주기적으로 갱신하고 각 Stream의 컨슈머 그룹을 준비
+   */
+  private Map<Long, Coupon> refreshActiveCoupons() {
+    long now = System.currentTimeMillis();
+    if (now - activeCouponsLoadedAt < COUPON_REFRESH_INTERVAL.toMillis()) {
+      return activeCoupons;
+    }
+
+    Map<Long, Coupon> coupons = new LinkedHashMap<>();
+    for (Coupon coupon : couponRepository.findIssuableCouponsForScheduler(LocalDateTime.now())) {
+      couponIssueStreamService.ensureGroup(coupon.getId(), coupon.getEndDate());
+      coupons.put(coupon.getId(), coupon);
+    }
+    activeCoupons = coupons;
+    activeCouponsLoadedAt = now;
+    return coupons;
+  }
+}
@@ -1,6 +1,7 @@
 package com.hanghae.ecommerce.infrastructure.scheduler;
 
 import com.hanghae.ecommerce.infrastructure.external.DataTransmissionService;
+import com.hanghae.ecommerce.infrastructure.lock.SchedulerLeaseManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -22,9 +23,12 @@ public class DataTransmissionScheduler {
     private static final Logger log = LoggerFactory.getLogger(DataTransmissionScheduler.class);
     
     private final DataTransmissionService dataTransmissionService;
+    private final SchedulerLeaseManager schedulerLeaseManager;
     
-    public DataTransmissionScheduler(DataTransmissionService dataTransmissionService) {
+    public DataTransmissionScheduler(DataTransmissionService dataTransmissionService,
+            SchedulerLeaseManager schedulerLeaseManager) {
         this.dataTransmissionService = dataTransmissionService;
+        this.schedulerLeaseManager = schedulerLeaseManager;
     }
     
     /**
@@ -32,6 +36,9 @@ public class DataTransmissionScheduler {
      */
     @Scheduled(fixedDelay = 300000) // 5분
     public void retryFailedTransmissions() {
+        if (!schedulerLeaseManager.tryAcquire("data-transmission-retry")) {
+            return;
+        }
         try {
             log.info("Starting retry for failed data transmissions");
             dataTransmissionService.retryPendingTransmissions();
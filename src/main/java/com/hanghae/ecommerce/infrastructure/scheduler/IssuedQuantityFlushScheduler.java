@@ -0,0 +1,65 @@
+package com.hanghae.ecommerce.infrastructure.scheduler;
+
+import com.hanghae.ecommerce.application.coupon.IssuedQuantityWriteBehindService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 쿠폰 발급 수량 반영 스케줄러
+ *
+ * 발급 수량 지연 반영(write-behind)을 켠 경우 쌓인 발급 수를 주기적으로 DB에 반영합니다.
+ * 발급 수는 노드 메모리에 쌓이므로 반영은 리스 없이 모든 노드에서 실행합니다.
+ * 비정상 종료 후 다시 뜬 노드가 직접 복구해야 하므로, 시작 시 정합성 복구도 노드마다 실행합니다 (건수로 덮어쓰므로 중복 실행해도 안전).
+ *
+ * ## 설정
+ * - app.coupon.issued-quantity.write-behind: 지연 반영 사용 여부
+ * - app.coupon.issued-quantity.flush-millis: 반영 주기 (기본값 1000)
+ *
+ * ## 테스트 환경
+ * - 테스트 프로파일에서는 자동으로 비활성화됨
+ */
+@Component
+@EnableScheduling
+@Profile("!test")
+@ConditionalOnProperty(name = "app.coupon.issued-quantity.write-behind", havingValue = "true", matchIfMissing = false)
+public class IssuedQuantityFlushScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(IssuedQuantityFlushScheduler.class);
+
+    private final IssuedQuantityWriteBehindService issuedQuantityWriteBehindService;
+
+    public IssuedQuantityFlushScheduler(IssuedQuantityWriteBehindService issuedQuantityWriteBehindService) {
+        this.issuedQuantityWriteBehindService = issuedQuantityWriteBehindService;
+    }
+
+    /**
+     * 시작 시 user_coupons 건수로 발급 수량 복구
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        try {
+            issuedQuantityWriteBehindService.reconcile();
+        } catch (Exception e) {
+            log.error("Error during issued quantity reconciliation", e);
+        }
+    }
+
+    /**
+     * 쌓인 발급 수 반영 (이전 실행 종료 후 반영 주기마다)
+     */
+    @Scheduled(fixedDelayString = "${app.coupon.issued-quantity.flush-millis:1000}")
+    public void flushIssuedQuantity() {
+        try {
+            issuedQuantityWriteBehindService.flush();
+        } catch (Exception e) {
+            log.error("Error during issued quantity flush", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.hanghae.ecommerce.infrastructure.scheduler;
+
+import com.hanghae.ecommerce.application.payment.LedgerVerificationService;
+import com.hanghae.ecommerce.infrastructure.lock.SchedulerLeaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액 원장 정합성 검증 스케줄러
+ *
+ * 매일 새벽 users.available_point 와 잔액 거래 원장을 비교하고 불일치를 로그로 남깁니다.
+ * 잔액 스냅샷 배치(새벽 3시) 이후에 실행되어 tail 스캔을 최소화합니다.
+ *
+ * ## 테스트 환경
+ * - 테스트 프로파일에서는 자동으로 비활성화됨
+ */
+@Component
+@EnableScheduling
+@Profile("!test")
+@ConditionalOnProperty(name = "app.scheduler.ledger-verification.enabled", havingValue = "true", matchIfMissing = false)
+public class LedgerVerificationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerVerificationScheduler.class);
+
+    private final LedgerVerificationService ledgerVerificationService;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    public LedgerVerificationScheduler(LedgerVerificationService ledgerVerificationService,
+            SchedulerLeaseManager schedulerLeaseManager) {
+        this.ledgerVerificationService = ledgerVerificationService;
+        this.schedulerLeaseManager = schedulerLeaseManager;
+    }
+
+    /**
+     * 원장 정합성 검증 (매일 새벽 4시 실행)
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void verifyLedger() {
+        if (!schedulerLeaseManager.tryAcquire("ledger-verification")) {
+            return;
+        }
+        try {
+            LedgerVerificationService.VerificationReport report = ledgerVerificationService.verifyAll();
+
+            if (!report.isConsistent()) {
+                log.warn("Ledger mismatches detected: count={}, samples={}",
+                        report.getMismatchCount(),
+                        report.getMismatches().subList(0, Math.min(10, report.getMismatches().size())));
+            }
+        } catch (Exception e) {
+            log.error("Error during ledger verification", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.hanghae.ecommerce.infrastructure.scheduler;
+
+import com.hanghae.ecommerce.application.payment.PaymentSagaService;
+import com.hanghae.ecommerce.infrastructure.lock.SchedulerLeaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 사가 복구 스케줄러
+ *
+ * 서버 장애 등으로 진행이 멈춘 결제 사가를 찾아 결제를 확정하거나 보상합니다.
+ *
+ * ## 테스트 환경
+ * - 테스트 프로파일에서는 자동으로 비활성화됨
+ */
+@Component
+@EnableScheduling
+@Profile("!test")
+@ConditionalOnProperty(name = "app.scheduler.payment-saga-recovery.enabled", havingValue = "true", matchIfMissing = false)
+public class PaymentSagaRecoveryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentSagaRecoveryScheduler.class);
+
+    /**
+     * 마지막 진행 이후 이 시간(초)이 지나면 멈춘 사가로 간주
+     */
+    private static final int STUCK_SECONDS = 60;
+
+    private final PaymentSagaService paymentSagaService;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    public PaymentSagaRecoveryScheduler(PaymentSagaService paymentSagaService,
+            SchedulerLeaseManager schedulerLeaseManager) {
+        this.paymentSagaService = paymentSagaService;
+        this.schedulerLeaseManager = schedulerLeaseManager;
+    }
+
+    /**
+     * 30초마다 멈춘 사가 복구
+     */
+    @Scheduled(fixedDelay = 30000)
+    public void recoverStuckSagas() {
+        if (!schedulerLeaseManager.tryAcquire("payment-saga-recovery")) {
+            return;
+        }
+        try {
+            int recovered = paymentSagaService.recoverStuckSagas(STUCK_SECONDS);
+            if (recovered > 0) {
+                log.info("Recovered {} stuck payment sagas", recovered);
+            }
+        } catch (Exception e) {
+            log.error("Error during payment saga recovery", e);
+        }
+    }
+}
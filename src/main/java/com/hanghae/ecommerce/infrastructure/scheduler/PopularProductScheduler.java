@@ -1,6 +1,7 @@
 package com.hanghae.ecommerce.infrastructure.scheduler;
 
 import com.hanghae.ecommerce.application.product.PopularProductService;
+import com.hanghae.ecommerce.infrastructure.lock.SchedulerLeaseManager;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -20,9 +21,12 @@ import org.springframework.stereotype.Component;
 public class PopularProductScheduler {
 
     private final PopularProductService popularProductService;
+    private final SchedulerLeaseManager schedulerLeaseManager;
 
-    public PopularProductScheduler(PopularProductService popularProductService) {
+    public PopularProductScheduler(PopularProductService popularProductService,
+            SchedulerLeaseManager schedulerLeaseManager) {
         this.popularProductService = popularProductService;
+        this.schedulerLeaseManager = schedulerLeaseManager;
     }
 
     /**
@@ -33,6 +37,9 @@ public class PopularProductScheduler {
      */
     @Scheduled(fixedRate = 300000) // 5분 = 300,000ms
     public void refreshPopularProductsCache() {
+        if (!schedulerLeaseManager.tryAcquire("popular-product-refresh")) {
+            return;
+        }
         try {
             popularProductService.refreshPopularProductsCache();
             System.out.println("인기 상품 캐시 갱신 완료: " + java.time.LocalDateTime.now());
@@ -50,6 +57,9 @@ public class PopularProductScheduler {
      */
     @Scheduled(cron = "0 0 2 * * ?") // 매일 새벽 2시
     public void cleanupOldData() {
+        if (!schedulerLeaseManager.tryAcquire("popular-product-cleanup")) {
+            return;
+        }
         try {
             popularProductService.cleanupOldData(30); // 30일 이상 된 데이터 삭제
             System.out.println("오래된 판매 데이터 정리 완료: " + java.time.LocalDateTime.now());
@@ -0,0 +1,56 @@
+package com.hanghae.ecommerce.infrastructure.scheduler;
+
+import com.hanghae.ecommerce.application.coupon.UserCouponExpiryService;
+import com.hanghae.ecommerce.infrastructure.lock.SchedulerLeaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자 쿠폰 만료 스케줄러
+ *
+ * 만료일이 지난 사용자 쿠폰을 주기적으로 EXPIRED로 전환합니다.
+ * 체크포인트 이후 만료분만 처리하므로 평소 실행은 인덱스 조회 몇 번으로 끝납니다.
+ *
+ * ## 설정
+ * - app.scheduler.user-coupon-expiry.enabled: 스케줄러 활성화 여부
+ *
+ * ## 테스트 환경
+ * - 테스트 프로파일에서는 자동으로 비활성화됨
+ */
+@Component
+@EnableScheduling
+@Profile("!test")
+@ConditionalOnProperty(name = "app.scheduler.user-coupon-expiry.enabled", havingValue = "true", matchIfMissing = false)
+public class UserCouponExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCouponExpiryScheduler.class);
+
+    private final UserCouponExpiryService userCouponExpiryService;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    public UserCouponExpiryScheduler(UserCouponExpiryService userCouponExpiryService,
+            SchedulerLeaseManager schedulerLeaseManager) {
+        this.userCouponExpiryService = userCouponExpiryService;
+        this.schedulerLeaseManager = schedulerLeaseManager;
+    }
+
+    /**
+     * 만료 쿠폰 정리 (이전 실행 종료 후 1분마다)
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void expireUserCoupons() {
+        if (!schedulerLeaseManager.tryAcquire("user-coupon-expiry")) {
+            return;
+        }
+        try {
+            userCouponExpiryService.sweep();
+        } catch (Exception e) {
+            log.error("Error during user coupon expiry sweep", e);
+        }
+    }
+}
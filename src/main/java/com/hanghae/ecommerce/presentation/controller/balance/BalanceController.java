@@ -3,6 +3,7 @@ package com.hanghae.ecommerce.presentation.controller.balance;
 import com.hanghae.ecommerce.application.user.UserService;
 import com.hanghae.ecommerce.common.ApiResponse;
 import com.hanghae.ecommerce.domain.payment.BalanceTransaction;
+import com.hanghae.ecommerce.domain.payment.BalanceTransactionCursor;
 import com.hanghae.ecommerce.domain.payment.TransactionType;
 import com.hanghae.ecommerce.domain.user.Point;
 import com.hanghae.ecommerce.domain.user.User;
@@ -79,43 +80,32 @@ public class BalanceController {
     }
 
     /**
-     * 잔액 사용 이력 조회
-     * GET /balance/history
+     * 잔액 사용 이력 조회 (커서 기반 페이징)
+     * GET /balance/history?cursor={nextCursor}&size=20&type=CHARGE
      */
     @GetMapping("/history")
     public ApiResponse<BalanceHistoryResponse> getBalanceHistory(
-            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer size,
             @RequestParam(required = false) String type) {
 
         // 기본값 설정
-        int pageNum = page != null ? page : 1;
         int pageSize = size != null ? size : 20;
+        TransactionType transactionType = type != null ? parseTransactionType(type) : null;
+        BalanceTransactionCursor pageCursor = cursor != null ? BalanceTransactionCursor.decode(cursor) : null;
 
-        List<BalanceTransaction> allTransactions = userService.getTransactionHistory(CURRENT_USER_ID);
+        // 타입 필터링과 페이징은 DB에서 처리 (페이지 크기만큼만 조회)
+        UserService.TransactionHistoryPage historyPage = userService.getTransactionHistoryPage(
+                CURRENT_USER_ID, transactionType, pageCursor, pageSize);
 
-        // 타입 필터링
-        if (type != null) {
-            TransactionType transactionType = parseTransactionType(type);
-            allTransactions = allTransactions.stream()
-                    .filter(transaction -> transaction.getTransactionType() == transactionType)
-                    .collect(Collectors.toList());
-        }
-
-        // 페이징 처리 (간단한 구현)
-        int totalItems = allTransactions.size();
-        int totalPages = (int) Math.ceil((double) totalItems / pageSize);
-        int startIndex = (pageNum - 1) * pageSize;
-        int endIndex = Math.min(startIndex + pageSize, totalItems);
-
-        List<BalanceTransaction> paginatedTransactions = allTransactions.subList(startIndex, endIndex);
-
-        List<BalanceHistoryResponse.TransactionResponse> transactions = paginatedTransactions.stream()
+        List<BalanceHistoryResponse.TransactionResponse> transactions = historyPage.getTransactions().stream()
                 .map(this::toTransactionResponse)
                 .collect(Collectors.toList());
 
-        BalanceHistoryResponse.Pagination pagination = new BalanceHistoryResponse.Pagination(pageNum, totalPages,
-                totalItems, pageSize);
+        BalanceHistoryResponse.CursorPagination pagination = new BalanceHistoryResponse.CursorPagination(
+                historyPage.hasNext() ? historyPage.getNextCursor().encode() : null,
+                historyPage.hasNext(),
+                pageSize);
 
         BalanceHistoryResponse response = new BalanceHistoryResponse(transactions, pagination);
         return ApiResponse.success(response);
@@ -131,12 +121,19 @@ public class BalanceController {
             amount = -amount; // 결제는 음수로 표시
         }
 
+        // 거래 전 잔액은 DB에 저장되지 않으므로 거래 후 잔액과 거래 금액으로 역산
+        int balanceAfter = transaction.getBalanceAfter().getValue();
+        int absoluteAmount = transaction.getAbsoluteAmount().getValue();
+        int balanceBefore = transaction.getBalanceBefore() != null
+                ? transaction.getBalanceBefore().getValue()
+                : transaction.isBalanceIncrease() ? balanceAfter - absoluteAmount : balanceAfter + absoluteAmount;
+
         return new BalanceHistoryResponse.TransactionResponse(
                 transaction.getId(),
                 transaction.getTransactionType().name(),
                 amount,
-                transaction.getBalanceBefore().getValue(),
-                transaction.getBalanceAfter().getValue(),
+                balanceBefore,
+                balanceAfter,
                 transaction.getDescription(),
                 transaction.getOrderId(),
                 transaction.getCreatedAt());
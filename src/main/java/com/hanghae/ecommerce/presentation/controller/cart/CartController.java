@@ -3,6 +3,7 @@ package com.hanghae.ecommerce.presentation.controller.cart;
 import com.hanghae.ecommerce.application.cart.CartService;
 import com.hanghae.ecommerce.application.cart.CartService.CartInfo;
 import com.hanghae.ecommerce.application.cart.CartService.CartItemInfo;
+import com.hanghae.ecommerce.application.coupon.BestCouponService;
 import com.hanghae.ecommerce.application.product.StockService;
 import com.hanghae.ecommerce.common.annotation.AuthenticatedUser;
 import com.hanghae.ecommerce.common.ApiResponse;
@@ -27,6 +28,7 @@ public class CartController {
 
     private final CartService cartService;
     private final StockService stockService;
+    private final BestCouponService bestCouponService;
 
     /**
      * 장바구니 조회
@@ -152,6 +154,17 @@ public class CartController {
         }
     }
 
+    /**
+     * 선택한 장바구니 아이템에 할인이 가장 큰 쿠폰 추천
+     * GET /carts/best-coupon?cartItemIds=1,2
+     */
+    @GetMapping("/best-coupon")
+    public ApiResponse<BestCouponResponse> getBestCoupon(
+            @AuthenticatedUser Long userId,
+            @RequestParam List<Long> cartItemIds) {
+        return ApiResponse.success(new BestCouponResponse(bestCouponService.findBestCoupon(userId, cartItemIds)));
+    }
+
     /**
      * CartItemInfo를 CartResponse.CartItemResponse로 변환
      */
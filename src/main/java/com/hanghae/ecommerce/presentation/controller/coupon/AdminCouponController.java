@@ -0,0 +1,93 @@
+package com.hanghae.ecommerce.presentation.controller.coupon;
+
+import com.hanghae.ecommerce.application.coupon.CouponBulkGrantService;
+import com.hanghae.ecommerce.common.ApiResponse;
+import com.hanghae.ecommerce.domain.user.UserState;
+import com.hanghae.ecommerce.presentation.dto.CouponBulkGrantResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 쿠폰 관리자 API 컨트롤러
+ */
+@RestController
+@RequestMapping("/admin/coupons")
+@RequiredArgsConstructor
+public class AdminCouponController {
+
+    private final CouponBulkGrantService couponBulkGrantService;
+
+    /**
+     * 사용자 ID 목록으로 쿠폰 일괄 지급
+     * POST /admin/coupons/{couponId}/bulk-grants?jobId=
+     *
+     * 요청 본문은 사용자 ID 목록(줄바꿈이나 쉼표 구분)이며, 읽는 즉시 지급 작업을 시작하고 응답합니다.
+     * 중단된 작업은 같은 jobId로 같은 목록을 다시 보내면 이어서 처리합니다.
+     */
+    @PostMapping("/{couponId}/bulk-grants")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApiResponse<CouponBulkGrantResponse> grantToUsers(
+            @PathVariable Long couponId,
+            @RequestParam(required = false) String jobId,
+            InputStream userIds) throws IOException {
+        CouponBulkGrantService.BulkGrantProgress progress =
+                couponBulkGrantService.startWithUserIds(couponId, jobId, userIds);
+        return ApiResponse.success(new CouponBulkGrantResponse(progress), "쿠폰 일괄 지급을 시작했습니다");
+    }
+
+    /**
+     * 사용자 세그먼트로 쿠폰 일괄 지급
+     * POST /admin/coupons/{couponId}/bulk-grants/segment?userState=NORMAL&fromUserId=&toUserId=
+     */
+    @PostMapping("/{couponId}/bulk-grants/segment")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApiResponse<CouponBulkGrantResponse> grantToSegment(
+            @PathVariable Long couponId,
+            @RequestParam(defaultValue = "NORMAL") String userState,
+            @RequestParam(required = false) Long fromUserId,
+            @RequestParam(required = false) Long toUserId) {
+        CouponBulkGrantService.BulkGrantProgress progress = couponBulkGrantService.startWithSegment(
+                couponId, parseUserState(userState), fromUserId, toUserId);
+        return ApiResponse.success(new CouponBulkGrantResponse(progress), "쿠폰 일괄 지급을 시작했습니다");
+    }
+
+    /**
+     * 일괄 지급 진행 현황 조회
+     * GET /admin/coupons/bulk-grants/{jobId}
+     */
+    @GetMapping("/bulk-grants/{jobId}")
+    public ApiResponse<CouponBulkGrantResponse> getBulkGrant(@PathVariable String jobId) {
+        return ApiResponse.success(new CouponBulkGrantResponse(couponBulkGrantService.getProgress(jobId)));
+    }
+
+    /**
+     * 중단된 세그먼트 일괄 지급 재개
+     * POST /admin/coupons/bulk-grants/{jobId}/resume
+     */
+    @PostMapping("/bulk-grants/{jobId}/resume")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApiResponse<CouponBulkGrantResponse> resumeBulkGrant(@PathVariable String jobId) {
+        return ApiResponse.success(new CouponBulkGrantResponse(couponBulkGrantService.resume(jobId)));
+    }
+
+    /**
+     * 일괄 지급 취소 (처리 중인 청크까지 반영 후 멈춤)
+     * POST /admin/coupons/bulk-grants/{jobId}/cancel
+     */
+    @PostMapping("/bulk-grants/{jobId}/cancel")
+    public ApiResponse<CouponBulkGrantResponse> cancelBulkGrant(@PathVariable String jobId) {
+        return ApiResponse.success(new CouponBulkGrantResponse(couponBulkGrantService.cancel(jobId)));
+    }
+
+    private UserState parseUserState(String userState) {
+        try {
+            return UserState.valueOf(userState.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 사용자 상태입니다: " + userState);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.hanghae.ecommerce.presentation.controller.coupon;
 
 import com.hanghae.ecommerce.application.coupon.CouponService;
 import com.hanghae.ecommerce.common.ApiResponse;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponQueueBroadcaster;
+import com.hanghae.ecommerce.presentation.dto.CouponIssuanceLagResponse;
 import com.hanghae.ecommerce.presentation.dto.CouponUsageHistoryResponse;
 import com.hanghae.ecommerce.domain.coupon.UserCoupon;
 import com.hanghae.ecommerce.domain.coupon.UserCouponInfo;
@@ -12,7 +14,9 @@ import com.hanghae.ecommerce.presentation.dto.RequestCouponIssueResponse;
 import com.hanghae.ecommerce.presentation.exception.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,6 +30,7 @@ import java.util.stream.Collectors;
 public class CouponController {
 
     private final CouponService couponService;
+    private final CouponQueueBroadcaster couponQueueBroadcaster;
 
     // TODO: 현재는 임시로 userId를 1L로 고정. 실제로는 인증된 사용자 정보에서 가져와야 함
     private static final Long CURRENT_USER_ID = 1L;
@@ -159,6 +164,29 @@ public class CouponController {
         return ApiResponse.success(response);
     }
 
+    /**
+     * 대기열 순위 스트림 (SSE)
+     * GET /coupons/{couponId}/queue-stream
+     * 
+     * queue-rank를 반복 호출하지 않고, 연결 하나로 순위 변화(position)와 최종 발급 결과(result)를 받습니다.
+     */
+    @GetMapping(value = "/{couponId}/queue-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQueuePosition(@PathVariable Long couponId) {
+        return couponQueueBroadcaster.subscribe(couponId, CURRENT_USER_ID);
+    }
+
+    /**
+     * 쿠폰별 발급 지연 현황 조회
+     * GET /coupons/issuance-lag
+     */
+    @GetMapping("/issuance-lag")
+    public ApiResponse<List<CouponIssuanceLagResponse>> getIssuanceLag() {
+        List<CouponIssuanceLagResponse> response = couponService.getIssuanceLag().stream()
+                .map(CouponIssuanceLagResponse::new)
+                .collect(Collectors.toList());
+        return ApiResponse.success(response);
+    }
+
     /**
      * 쿠폰 사용 이력 조회
      * GET /coupons/usage-history
@@ -12,9 +12,9 @@ import java.util.List;
 @Getter
 public class BalanceHistoryResponse {
     private final List<TransactionResponse> transactions;
-    private final Pagination pagination;
+    private final CursorPagination pagination;
 
-    public BalanceHistoryResponse(List<TransactionResponse> transactions, Pagination pagination) {
+    public BalanceHistoryResponse(List<TransactionResponse> transactions, CursorPagination pagination) {
         this.transactions = transactions;
         this.pagination = pagination;
     }
@@ -46,17 +46,19 @@ public class BalanceHistoryResponse {
         }
     }
 
+    /**
+     * 커서 기반 페이징 정보
+     * nextCursor를 다음 요청의 cursor 파라미터로 전달하면 다음 페이지를 조회합니다.
+     */
     @Getter
-    public static class Pagination {
-        private final Integer currentPage;
-        private final Integer totalPages;
-        private final Integer totalItems;
+    public static class CursorPagination {
+        private final String nextCursor;
+        private final Boolean hasNext;
         private final Integer itemsPerPage;
 
-        public Pagination(Integer currentPage, Integer totalPages, Integer totalItems, Integer itemsPerPage) {
-            this.currentPage = currentPage;
-            this.totalPages = totalPages;
-            this.totalItems = totalItems;
+        public CursorPagination(String nextCursor, Boolean hasNext, Integer itemsPerPage) {
+            this.nextCursor = nextCursor;
+            this.hasNext = hasNext;
             this.itemsPerPage = itemsPerPage;
         }
     }
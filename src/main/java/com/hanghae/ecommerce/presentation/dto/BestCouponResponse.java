@@ -0,0 +1,28 @@
+package com.hanghae.ecommerce.presentation.dto;
+
+import com.hanghae.ecommerce.application.coupon.BestCouponService.BestCouponResult;
+import lombok.Getter;
+
+/**
+ * 장바구니 최적 쿠폰 추천 응답 DTO
+ */
+@Getter
+public class BestCouponResponse {
+    private final Long userCouponId; // 적용 가능한 쿠폰이 없으면 null
+    private final Long couponId;
+    private final String couponName;
+    private final long discountAmount;
+    private final long subtotalAmount;
+    private final long finalAmount;
+    private final int evaluatedCouponCount; // 평가한 사용 가능 쿠폰 수
+
+    public BestCouponResponse(BestCouponResult result) {
+        this.userCouponId = result.getUserCouponId();
+        this.couponId = result.getCouponId();
+        this.couponName = result.getCouponName();
+        this.discountAmount = result.getDiscountAmount();
+        this.subtotalAmount = result.getSubtotalAmount();
+        this.finalAmount = result.getFinalAmount();
+        this.evaluatedCouponCount = result.getEvaluatedCount();
+    }
+}
@@ -0,0 +1,40 @@
+package com.hanghae.ecommerce.presentation.dto;
+
+import com.hanghae.ecommerce.application.coupon.CouponBulkGrantService.BulkGrantProgress;
+import lombok.Getter;
+
+/**
+ * 쿠폰 일괄 지급 진행 현황 응답 DTO
+ */
+@Getter
+public class CouponBulkGrantResponse {
+    private final String jobId;
+    private final Long couponId;
+    private final String source; // USER_IDS, SEGMENT
+    private final String status; // RUNNING, COMPLETED, CANCELLED, FAILED
+    private final long checkpoint; // 처리를 마친 마지막 사용자 ID
+    private final long total;
+    private final long processed;
+    private final long inserted; // 새로 지급한 수
+    private final long skipped; // 이미 가진 사용자 수
+    private final double progressRatio;
+    private final double rowsPerSecond;
+    private final long elapsedMillis;
+    private final String error;
+
+    public CouponBulkGrantResponse(BulkGrantProgress progress) {
+        this.jobId = progress.getJobId();
+        this.couponId = progress.getCouponId();
+        this.source = progress.getSource();
+        this.status = progress.getStatus();
+        this.checkpoint = progress.getCheckpoint();
+        this.total = progress.getTotal();
+        this.processed = progress.getProcessed();
+        this.inserted = progress.getInserted();
+        this.skipped = progress.getSkipped();
+        this.progressRatio = progress.getProgressRatio();
+        this.rowsPerSecond = progress.getRowsPerSecond();
+        this.elapsedMillis = progress.getElapsedMillis();
+        this.error = progress.getError();
+    }
+}
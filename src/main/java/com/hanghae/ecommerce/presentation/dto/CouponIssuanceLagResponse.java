@@ -0,0 +1,30 @@
+package com.hanghae.ecommerce.presentation.dto;
+
+import com.hanghae.ecommerce.domain.coupon.CouponIssuanceLag;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 쿠폰별 발급 지연 현황 응답 DTO
+ */
+@Getter
+public class CouponIssuanceLagResponse {
+    private final Long couponId;
+    private final long queueDepth; // 대기열에 남은 요청 수
+    private final long oldestWaitMillis; // 가장 오래 기다린 요청의 대기 시간
+    private final int batchSize; // 워커의 다음 배치 크기
+    private final double avgBatchMillis; // 배치 발급 소요 시간 이동 평균
+    private final long issuedTotal; // 워커 기동 이후 발급 수
+    private final LocalDateTime lastProcessedAt;
+
+    public CouponIssuanceLagResponse(CouponIssuanceLag lag) {
+        this.couponId = lag.getCouponId();
+        this.queueDepth = lag.getQueueDepth();
+        this.oldestWaitMillis = lag.getOldestWaitMillis();
+        this.batchSize = lag.getBatchSize();
+        this.avgBatchMillis = lag.getAvgBatchMillis();
+        this.issuedTotal = lag.getIssuedTotal();
+        this.lastProcessedAt = lag.getLastProcessedAt();
+    }
+}
@@ -0,0 +1,11 @@
+package com.hanghae.ecommerce.presentation.exception;
+
+/**
+ * 쿠폰 발급 요청이 허용량을 넘었을 때 발생하는 예외
+ */
+public class CouponRequestRateLimitedException extends BusinessException {
+    
+    public CouponRequestRateLimitedException() {
+        super("COUPON_REQUEST_RATE_LIMITED", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요");
+    }
+}
@@ -113,6 +113,9 @@ public class GlobalExceptionHandler {
             case "COUPON_SOLD_OUT":
                 return HttpStatus.CONFLICT;
                 
+            case "COUPON_REQUEST_RATE_LIMITED":
+                return HttpStatus.TOO_MANY_REQUESTS;
+                
             default:
                 return HttpStatus.BAD_REQUEST;
         }
@@ -3,6 +3,9 @@ SET FOREIGN_KEY_CHECKS = 0;
 DROP TABLE IF EXISTS popular_products_cache;
 DROP TABLE IF EXISTS data_transmissions;
 DROP TABLE IF EXISTS stock_movements;
+DROP TABLE IF EXISTS payment_saga_steps;
+DROP TABLE IF EXISTS payment_sagas;
+DROP TABLE IF EXISTS balance_snapshots;
 DROP TABLE IF EXISTS balance_transactions;
 DROP TABLE IF EXISTS payments;
 DROP TABLE IF EXISTS order_items;
@@ -10,6 +13,7 @@ DROP TABLE IF EXISTS orders;
 DROP TABLE IF EXISTS cart_items;
 DROP TABLE IF EXISTS carts;
 DROP TABLE IF EXISTS user_coupons;
+DROP TABLE IF EXISTS coupon_applicable_products;
 DROP TABLE IF EXISTS coupons;
 DROP TABLE IF EXISTS product_options;
 DROP TABLE IF EXISTS stocks;
@@ -89,6 +93,14 @@ CREATE TABLE IF NOT EXISTS coupons (
     INDEX idx_coupons_state (issued_quantity, total_quantity)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 쿠폰 적용 상품 테이블 (행이 없는 쿠폰은 전체 상품에 적용)
+CREATE TABLE IF NOT EXISTS coupon_applicable_products (
+    coupon_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    PRIMARY KEY (coupon_id, product_id),
+    INDEX idx_coupon_applicable_products_product (product_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- 사용자 쿠폰 테이블
 CREATE TABLE IF NOT EXISTS user_coupons (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -102,7 +114,8 @@ CREATE TABLE IF NOT EXISTS user_coupons (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     UNIQUE KEY uk_user_coupon (user_id, coupon_id),
     INDEX idx_user_coupons_user_state (user_id, state),
-    INDEX idx_user_coupons_expires_at (expires_at)
+    INDEX idx_user_coupons_expires_at (expires_at),
+    INDEX idx_user_coupons_coupon_created (coupon_id, created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- 장바구니 테이블
@@ -192,6 +205,39 @@ CREATE TABLE IF NOT EXISTS payments (
     INDEX idx_payments_state (state)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 결제 사가 테이블 (단계별 짧은 트랜잭션으로 결제를 처리하고 실패 시 보상)
+-- active_order_id는 진행 중이거나 완료된 사가에만 값이 있어 주문당 하나의 결제만 허용하고,
+-- 보상이 끝난 사가는 NULL로 비워 같은 주문의 재결제를 허용합니다.
+CREATE TABLE IF NOT EXISTS payment_sagas (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    active_order_id BIGINT NULL,
+    user_id BIGINT NOT NULL,
+    user_coupon_id BIGINT,
+    amount DECIMAL(15,2) NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    current_step VARCHAR(30),
+    owner_token VARCHAR(36) NOT NULL,
+    failure_reason VARCHAR(500),
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+    UNIQUE KEY uk_payment_sagas_active_order (active_order_id),
+    INDEX idx_payment_sagas_order_id (order_id),
+    INDEX idx_payment_sagas_status_updated (status, updated_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 결제 사가 단계 로그 테이블
+CREATE TABLE IF NOT EXISTS payment_saga_steps (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    saga_id BIGINT NOT NULL,
+    step VARCHAR(30) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    UNIQUE KEY uk_payment_saga_steps_saga_step (saga_id, step)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- 잔액 거래 테이블
 CREATE TABLE IF NOT EXISTS balance_transactions (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -204,11 +250,30 @@ CREATE TABLE IF NOT EXISTS balance_transactions (
     reference_type VARCHAR(20),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    INDEX idx_balance_transactions_user_id (user_id),
+    INDEX idx_balance_transactions_user_id (user_id, id),
+    INDEX idx_balance_transactions_user_created (user_id, created_at, id),
+    INDEX idx_balance_transactions_user_type_created (user_id, type, created_at, id),
     INDEX idx_balance_transactions_created_at (created_at),
     INDEX idx_balance_transactions_reference (reference_id, reference_type)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 잔액 스냅샷 테이블 (사용자별 잔액 체크포인트)
+-- last_transaction_id 까지의 거래를 누적한 결과이며, 이후 거래(tail)만 더하면 현재 상태가 됩니다.
+CREATE TABLE IF NOT EXISTS balance_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    balance DECIMAL(15,2) NOT NULL,
+    total_charged BIGINT NOT NULL DEFAULT 0,
+    total_used BIGINT NOT NULL DEFAULT 0,
+    total_refunded BIGINT NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    last_transaction_id BIGINT NOT NULL,
+    snapshot_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_balance_snapshots_user_last_tx (user_id, last_transaction_id),
+    INDEX idx_balance_snapshots_last_tx (last_transaction_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- 재고 테이블 (재고 변경 이력 관리)
 CREATE TABLE IF NOT EXISTS stock_movements (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
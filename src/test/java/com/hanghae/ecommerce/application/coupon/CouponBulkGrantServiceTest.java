@@ -0,0 +1,243 @@
+package com.hanghae.ecommerce.application.coupon;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponDefinitionCache;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponQueueService;
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 관리자 쿠폰 일괄 지급 서비스 통합 테스트
+ */
+@DisplayName("관리자 쿠폰 일괄 지급 서비스 테스트")
+class CouponBulkGrantServiceTest extends BaseIntegrationTest {
+
+    private static final String JOB_ID = "bulk-grant-test";
+    private static final long BASE_USER_ID = 960_000;
+    private static final int USER_COUNT = 40;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponQueueService couponQueueService;
+
+    @Autowired
+    private CouponDefinitionCache couponDefinitionCache;
+
+    private CouponBulkGrantService bulkGrantService;
+    private Long couponId;
+
+    @BeforeEach
+    void setUp() {
+        // 청크 크기 4
+        bulkGrantService = new CouponBulkGrantService(jdbcTemplate, transactionManager, redisTemplate,
+                couponQueueService, couponDefinitionCache, 4, 0);
+        couponId = couponRepository.save(Coupon.create(
+                "일괄 지급 테스트 쿠폰",
+                DiscountPolicy.rate(10),
+                Quantity.of(100),
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(7))).getId();
+        couponQueueService.clearQueue(couponId);
+        jdbcTemplate.update("DELETE FROM users WHERE id > ? AND id <= ?", BASE_USER_ID, BASE_USER_ID + USER_COUNT);
+        for (long userId = BASE_USER_ID + 1; userId <= BASE_USER_ID + USER_COUNT; userId++) {
+            jdbcTemplate.update(
+                    "INSERT INTO users (id, email, name, available_point, state, type, created_at, updated_at) " +
+                            "VALUES (?, ?, '지급대상', 0, 'NORMAL', 'CUSTOMER', NOW(), NOW())",
+                    userId, "bulk-grant-" + userId + "@example.com");
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM user_coupons WHERE coupon_id = ?", couponId);
+        jdbcTemplate.update("DELETE FROM coupons WHERE id = ?", couponId);
+        jdbcTemplate.update("DELETE FROM users WHERE id > ? AND id <= ?", BASE_USER_ID, BASE_USER_ID + USER_COUNT);
+        couponQueueService.clearQueue(couponId);
+        redisTemplate.delete(CouponBulkGrantService.JOB_KEY_PREFIX + JOB_ID);
+        redisTemplate.delete(CouponBulkGrantService.JOB_KEY_PREFIX + JOB_ID + ":lease");
+    }
+
+    @Test
+    @DisplayName("사용자 ID 목록을 청크로 지급하고, 이미 가진 사용자는 건너뛰며 발급 수량은 지급한 수만큼 늘린다")
+    void grantsInChunks() throws Exception {
+        // given: 3번 사용자는 이미 쿠폰을 가짐, 10번은 중복 입력
+        jdbcTemplate.update(
+                "INSERT INTO user_coupons (user_id, coupon_id, state, issued_at, expires_at, created_at, updated_at) " +
+                        "VALUES (?, ?, 'AVAILABLE', NOW(), NOW() + INTERVAL 7 DAY, NOW(), NOW())",
+                BASE_USER_ID + 3, couponId);
+
+        // when
+        bulkGrantService.startWithUserIds(couponId, JOB_ID, userIds(10, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        CouponBulkGrantService.BulkGrantProgress progress = awaitFinished();
+
+        // then
+        assertThat(progress.getStatus()).isEqualTo(CouponBulkGrantService.STATUS_COMPLETED);
+        assertThat(progress.getTotal()).isEqualTo(10);
+        assertThat(progress.getProcessed()).isEqualTo(10);
+        assertThat(progress.getInserted()).isEqualTo(9);
+        assertThat(progress.getSkipped()).isEqualTo(1);
+        assertThat(progress.getChunks()).isEqualTo(3);
+        assertThat(progress.getCheckpoint()).isEqualTo(BASE_USER_ID + 10);
+        assertThat(progress.getProgressRatio()).isEqualTo(1.0);
+        assertThat(countUserCoupons()).isEqualTo(10);
+        assertThat(issuedQuantity()).isEqualTo(9);
+        assertThat(couponQueueService.isAlreadyIssued(couponId, BASE_USER_ID + 7)).isTrue();
+    }
+
+    @Test
+    @DisplayName("users 테이블에 없는 사용자 ID는 수량을 쓰지 않고 건너뛴다")
+    void skipsUnknownUsers() throws Exception {
+        // given: 대기열 발급이 시작되어 Redis 남은 수량 10, 99번은 없는 사용자
+        couponQueueService.initializeQuantity(couponId, 10);
+
+        // when
+        bulkGrantService.startWithUserIds(couponId, JOB_ID, userIds(1, 2, 99, 3));
+        CouponBulkGrantService.BulkGrantProgress progress = awaitFinished();
+
+        // then
+        assertThat(progress.getStatus()).isEqualTo(CouponBulkGrantService.STATUS_COMPLETED);
+        assertThat(progress.getProcessed()).isEqualTo(4);
+        assertThat(progress.getInserted()).isEqualTo(3);
+        assertThat(progress.getSkipped()).isEqualTo(1);
+        assertThat(countUserCoupons()).isEqualTo(3);
+        assertThat(couponQueueService.getRemainingQuantity(couponId)).contains(7);
+        assertThat(couponQueueService.isAlreadyIssued(couponId, BASE_USER_ID + 99)).isFalse();
+    }
+
+    @Test
+    @DisplayName("대기열 발급 중이면 Redis 남은 수량을 나눠 쓰고, 청크보다 적게 남으면 남은 만큼 지급한 뒤 실패하며 같은 작업 ID로 이어서 처리한다")
+    void sharesQueueQuantityAndResumes() throws Exception {
+        // given: 대기열 발급이 시작되어 Redis 남은 수량 6
+        couponQueueService.initializeQuantity(couponId, 6);
+
+        // when
+        bulkGrantService.startWithUserIds(couponId, JOB_ID, userIds(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        CouponBulkGrantService.BulkGrantProgress failed = awaitFinished();
+
+        // then: 첫 청크(1~4)와 둘째 청크의 앞 2명(5, 6)만 지급
+        assertThat(failed.getStatus()).isEqualTo(CouponBulkGrantService.STATUS_FAILED);
+        assertThat(failed.getCheckpoint()).isEqualTo(BASE_USER_ID + 6);
+        assertThat(failed.getProcessed()).isEqualTo(6);
+        assertThat(failed.getInserted()).isEqualTo(6);
+        assertThat(issuedQuantity()).isEqualTo(6);
+        assertThat(couponQueueService.getRemainingQuantity(couponId)).contains(0);
+
+        // when: 수량을 늘린 뒤 같은 목록으로 재개
+        couponQueueService.restoreQuantity(couponId, 10);
+        bulkGrantService.startWithUserIds(couponId, JOB_ID, userIds(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        CouponBulkGrantService.BulkGrantProgress resumed = awaitFinished();
+
+        // then: 7번부터 이어서 지급
+        assertThat(resumed.getStatus()).isEqualTo(CouponBulkGrantService.STATUS_COMPLETED);
+        assertThat(resumed.getInserted()).isEqualTo(10);
+        assertThat(resumed.getSkipped()).isZero();
+        assertThat(countUserCoupons()).isEqualTo(10);
+        assertThat(couponQueueService.getRemainingQuantity(couponId)).contains(6);
+    }
+
+    @Test
+    @DisplayName("실행 중인 작업은 다른 노드에서 다시 시작할 수 없고, 다른 노드에서 취소해도 멈춘다")
+    void leaseAndCancelAcrossNodes() throws Exception {
+        // given: 청크마다 200ms 쉬는 노드 A에서 실행 중
+        CouponBulkGrantService nodeA = new CouponBulkGrantService(jdbcTemplate, transactionManager, redisTemplate,
+                couponQueueService, couponDefinitionCache, 4, 200);
+        long[] all = new long[USER_COUNT];
+        for (int i = 0; i < USER_COUNT; i++) {
+            all[i] = i + 1;
+        }
+        nodeA.startWithUserIds(couponId, JOB_ID, userIds(all));
+        Thread.sleep(300);
+
+        // when & then: 노드 B에서 같은 작업을 다시 시작하면 거절
+        assertThatThrownBy(() -> bulkGrantService.startWithUserIds(couponId, JOB_ID, userIds(all)))
+                .isInstanceOf(IllegalStateException.class);
+
+        // when: 노드 B에서 취소
+        bulkGrantService.cancel(JOB_ID);
+        CouponBulkGrantService.BulkGrantProgress cancelled = awaitFinished();
+
+        // then: 노드 A가 다음 청크 전에 멈추고, 리스를 반납해 재개 가능
+        assertThat(cancelled.getStatus()).isEqualTo(CouponBulkGrantService.STATUS_CANCELLED);
+        assertThat(cancelled.getProcessed()).isLessThan(USER_COUNT);
+        assertThat(redisTemplate.hasKey(CouponBulkGrantService.JOB_KEY_PREFIX + JOB_ID + ":lease")).isFalse();
+
+        bulkGrantService.startWithUserIds(couponId, JOB_ID, userIds(all));
+        assertThat(awaitFinished().getStatus()).isEqualTo(CouponBulkGrantService.STATUS_COMPLETED);
+        assertThat(countUserCoupons()).isEqualTo(USER_COUNT);
+        nodeA.shutdown();
+    }
+
+    @Test
+    @DisplayName("사용자 ID 스트림은 숫자가 아닌 문자를 구분자로 읽어 정렬하고 중복을 제거한다")
+    void readUserIds() throws Exception {
+        long[] userIds = CouponBulkGrantService.readUserIds(userIds("5\r\n3,3\n\n 9000000000\t1"));
+
+        assertThat(userIds).containsExactly(1L, 3L, 5L, 9_000_000_000L);
+    }
+
+    private CouponBulkGrantService.BulkGrantProgress awaitFinished() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            CouponBulkGrantService.BulkGrantProgress progress = bulkGrantService.getProgress(JOB_ID);
+            if (!progress.isRunning()) {
+                // 실행 스레드가 작업 등록을 해제할 때까지 잠시 대기
+                Thread.sleep(50);
+                return progress;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("일괄 지급 작업이 끝나지 않았습니다.");
+    }
+
+    private InputStream userIds(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * BASE_USER_ID 기준 상대 번호로 사용자 ID 스트림 생성 (줄바꿈 구분)
+     */
+    private InputStream userIds(long... offsets) {
+        StringBuilder body = new StringBuilder();
+        for (long offset : offsets) {
+            body.append(BASE_USER_ID + offset).append('\n');
+        }
+        return userIds(body.toString());
+    }
+
+    private int countUserCoupons() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_coupons WHERE coupon_id = ?", Integer.class,
+                couponId);
+    }
+
+    private int issuedQuantity() {
+        return jdbcTemplate.queryForObject("SELECT issued_quantity FROM coupons WHERE id = ?", Integer.class, couponId);
+    }
+}
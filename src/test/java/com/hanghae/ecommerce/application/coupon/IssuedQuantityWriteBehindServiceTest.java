@@ -0,0 +1,111 @@
+package com.hanghae.ecommerce.application.coupon;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿠폰 발급 수량 지연 반영 서비스 통합 테스트
+ */
+@DisplayName("쿠폰 발급 수량 지연 반영 서비스 테스트")
+class IssuedQuantityWriteBehindServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    private IssuedQuantityWriteBehindService writeBehindService;
+    private Long couponId;
+    private Long otherCouponId;
+
+    @BeforeEach
+    void setUp() {
+        writeBehindService = new IssuedQuantityWriteBehindService(jdbcTemplate, true, 1000);
+        couponId = saveCoupon(100);
+        otherCouponId = saveCoupon(5);
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM user_coupons WHERE coupon_id IN (?, ?)", couponId, otherCouponId);
+        jdbcTemplate.update("DELETE FROM coupons WHERE id IN (?, ?)", couponId, otherCouponId);
+    }
+
+    @Test
+    @DisplayName("쌓인 발급 수를 여러 쿠폰에 걸쳐 한 번에 반영하고 총 수량을 넘기지 않는다")
+    void flushesAccumulatedDeltas() {
+        // given
+        writeBehindService.record(couponId, 3);
+        writeBehindService.record(couponId, 4);
+        writeBehindService.record(otherCouponId, 9);
+        assertThat(writeBehindService.getPending(couponId)).isEqualTo(7);
+
+        // when
+        int flushed = writeBehindService.flush();
+
+        // then
+        assertThat(flushed).isEqualTo(2);
+        assertThat(issuedQuantity(couponId)).isEqualTo(7);
+        assertThat(issuedQuantity(otherCouponId)).isEqualTo(5);
+        assertThat(writeBehindService.getPending(couponId)).isZero();
+        assertThat(writeBehindService.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("반영하지 못하고 사라진 발급 수는 user_coupons 건수로 복구하고, 최근 발급이 있는 쿠폰은 미룬다")
+    void reconcilesFromUserCoupons() {
+        // given: 반영 전에 종료되어 발급 수량이 0으로 남은 두 쿠폰
+        LocalDateTime now = LocalDateTime.now();
+        for (long userId = 1; userId <= 4; userId++) {
+            insertUserCoupon(userId, couponId, now.minusMinutes(1));
+        }
+        insertUserCoupon(1L, otherCouponId, now);
+
+        // when
+        int reconciled = writeBehindService.reconcile(List.of(couponId, otherCouponId), now);
+
+        // then
+        assertThat(reconciled).isEqualTo(1);
+        assertThat(issuedQuantity(couponId)).isEqualTo(4);
+        assertThat(issuedQuantity(otherCouponId)).isZero();
+
+        // 발급이 멈춘 뒤에는 반영 주기에 맞춤
+        assertThat(writeBehindService.reconcile(List.of(otherCouponId), now.plusMinutes(1))).isEqualTo(1);
+        assertThat(issuedQuantity(otherCouponId)).isEqualTo(1);
+    }
+
+    private Long saveCoupon(int totalQuantity) {
+        return couponRepository.save(Coupon.create(
+                "지연 반영 테스트 쿠폰",
+                DiscountPolicy.rate(10),
+                Quantity.of(totalQuantity),
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(7))).getId();
+    }
+
+    private void insertUserCoupon(long userId, Long couponId, LocalDateTime createdAt) {
+        jdbcTemplate.update(
+                "INSERT INTO user_coupons (user_id, coupon_id, state, issued_at, expires_at, created_at, updated_at) " +
+                        "VALUES (?, ?, 'AVAILABLE', ?, ?, ?, ?)",
+                userId, couponId, createdAt, createdAt.plusDays(7), createdAt, createdAt);
+    }
+
+    private int issuedQuantity(Long couponId) {
+        return jdbcTemplate.queryForObject("SELECT issued_quantity FROM coupons WHERE id = ?", Integer.class, couponId);
+    }
+}
@@ -0,0 +1,105 @@
+package com.hanghae.ecommerce.application.coupon;
+
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 사용자 쿠폰 만료 처리 서비스 통합 테스트
+ */
+@DisplayName("사용자 쿠폰 만료 처리 서비스 테스트")
+class UserCouponExpiryServiceTest extends BaseIntegrationTest {
+
+    private static final Long COUPON_ID = 990_001L;
+
+    @Autowired
+    private UserCouponExpiryService userCouponExpiryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cleanup();
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM user_coupons WHERE coupon_id = ?", COUPON_ID);
+        redisTemplate.delete(UserCouponExpiryService.CHECKPOINT_KEY);
+    }
+
+    @Test
+    @DisplayName("만료일이 지난 AVAILABLE 쿠폰만 여러 구간과 배치에 걸쳐 EXPIRED로 전환한다")
+    void expiresOnlyAvailableCouponsPastExpiry() {
+        // given: 서로 다른 날에 만료된 쿠폰 5장, 만료됐지만 이미 사용한 쿠폰 1장, 아직 유효한 쿠폰 2장
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 5; i++) {
+            insertUserCoupon(i, "AVAILABLE", now.minusDays(i));
+        }
+        insertUserCoupon(6, "USED", now.minusDays(1));
+        insertUserCoupon(7, "AVAILABLE", now.plusDays(1));
+        insertUserCoupon(8, "AVAILABLE", now.plusDays(7));
+
+        // when
+        UserCouponExpiryService.SweepResult result = userCouponExpiryService.sweep(now, 2, Duration.ofDays(2), 0);
+
+        // then (다른 테스트가 남긴 만료 쿠폰이 함께 처리될 수 있으므로 전체 수는 하한만 확인)
+        assertThat(result.getExpiredCount()).isGreaterThanOrEqualTo(5);
+        assertThat(result.getRangeCount()).isGreaterThan(1);
+        assertThat(countByState("EXPIRED")).isEqualTo(5);
+        assertThat(countByState("USED")).isEqualTo(1);
+        assertThat(countByState("AVAILABLE")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("다음 실행은 체크포인트 이후 새로 만료된 쿠폰만 처리한다")
+    void resumesFromCheckpoint() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        insertUserCoupon(1, "AVAILABLE", now.minusDays(3));
+        insertUserCoupon(2, "AVAILABLE", now.plusHours(1));
+        userCouponExpiryService.sweep(now, 100, Duration.ofHours(1), 0);
+
+        // when: 2시간 뒤 다시 실행
+        UserCouponExpiryService.SweepResult second =
+                userCouponExpiryService.sweep(now.plusHours(2), 100, Duration.ofHours(1), 0);
+        UserCouponExpiryService.SweepResult third =
+                userCouponExpiryService.sweep(now.plusHours(2), 100, Duration.ofHours(1), 0);
+
+        // then
+        assertThat(second.getExpiredCount()).isEqualTo(1);
+        assertThat(second.getRangeCount()).isEqualTo(1);
+        assertThat(third.getExpiredCount()).isZero();
+        assertThat(third.getRangeCount()).isZero();
+        assertThat(countByState("EXPIRED")).isEqualTo(2);
+    }
+
+    private void insertUserCoupon(long userId, String state, LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+                "INSERT INTO user_coupons (user_id, coupon_id, state, issued_at, expires_at, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                userId, COUPON_ID, state, expiresAt.minusDays(7), expiresAt, expiresAt.minusDays(7),
+                expiresAt.minusDays(7));
+    }
+
+    private int countByState(String state) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_coupons WHERE coupon_id = ? AND state = ?",
+                Integer.class, COUPON_ID, state);
+        return count != null ? count : 0;
+    }
+}
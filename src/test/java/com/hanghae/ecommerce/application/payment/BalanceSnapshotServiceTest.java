@@ -0,0 +1,129 @@
+package com.hanghae.ecommerce.application.payment;
+
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 잔액 스냅샷 서비스 통합 테스트
+ */
+@DisplayName("잔액 스냅샷 서비스 테스트")
+class BalanceSnapshotServiceTest extends BaseIntegrationTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cleanup();
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.execute("DELETE FROM balance_snapshots");
+        jdbcTemplate.execute("DELETE FROM balance_transactions");
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후에는 tail만 읽어 전체 이력과 같은 요약을 계산한다")
+    void summaryFromSnapshotAndTail() {
+        // given: 10일 전 거래 3건 (충전 10000, 결제 3000, 환불 1000)
+        LocalDateTime old = LocalDateTime.now().minusDays(10);
+        insertTransaction("CHARGE", 10000, 10000, old);
+        insertTransaction("PAYMENT", 3000, 7000, old.plusMinutes(1));
+        insertTransaction("REFUND", 1000, 8000, old.plusMinutes(2));
+
+        // when: 스냅샷 생성 후 새 거래 1건 추가
+        BalanceSnapshotService.SnapshotResult result = balanceSnapshotService.createSnapshots();
+        insertTransaction("PAYMENT", 2000, 6000, LocalDateTime.now());
+
+        BalanceSnapshotService.LedgerSummary summary = balanceSnapshotService.getLedgerSummary(USER_ID);
+
+        // then
+        assertThat(result.getCreatedCount()).isEqualTo(1);
+        assertThat(summary.getTailCount()).isEqualTo(1);
+        assertThat(summary.getBalance()).isEqualTo(6000);
+        assertThat(summary.getTotalCharged()).isEqualTo(10000);
+        assertThat(summary.getTotalUsed()).isEqualTo(5000);
+        assertThat(summary.getTotalRefunded()).isEqualTo(1000);
+        assertThat(summary.getTransactionCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("다음 배치는 이전 스냅샷에 새 거래만 누적한다")
+    void incrementalSnapshot() {
+        // given
+        LocalDateTime old = LocalDateTime.now().minusDays(10);
+        insertTransaction("CHARGE", 5000, 5000, old);
+        balanceSnapshotService.createSnapshots();
+
+        insertTransaction("CHARGE", 3000, 8000, old.plusDays(1));
+
+        // when
+        BalanceSnapshotService.SnapshotResult second = balanceSnapshotService.createSnapshots();
+        BalanceSnapshotService.SnapshotResult third = balanceSnapshotService.createSnapshots();
+
+        // then
+        assertThat(second.getCreatedCount()).isEqualTo(1);
+        assertThat(third.getCreatedCount()).isZero();
+
+        Long snapshotCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM balance_snapshots WHERE user_id = ?", Long.class, USER_ID);
+        assertThat(snapshotCount).isEqualTo(2);
+
+        BalanceSnapshotService.LedgerSummary summary = balanceSnapshotService.getLedgerSummary(USER_ID);
+        assertThat(summary.getTailCount()).isZero();
+        assertThat(summary.getBalance()).isEqualTo(8000);
+        assertThat(summary.getTotalCharged()).isEqualTo(8000);
+    }
+
+    @Test
+    @DisplayName("원장 압축은 스냅샷에 반영된 오래된 거래만 삭제하고 요약은 유지된다")
+    void compactLedger() {
+        // given: 오래된 거래 2건은 스냅샷에 반영, 최근 거래 1건은 미반영
+        LocalDateTime old = LocalDateTime.now().minusDays(100);
+        insertTransaction("CHARGE", 10000, 10000, old);
+        insertTransaction("PAYMENT", 4000, 6000, old.plusMinutes(1));
+        balanceSnapshotService.createSnapshots();
+        insertTransaction("CHARGE", 1000, 7000, LocalDateTime.now());
+
+        // 스냅샷이 없는 다른 사용자의 오래된 거래
+        jdbcTemplate.update(
+                "INSERT INTO balance_transactions (user_id, type, amount, balance_after, created_at) VALUES (?, ?, ?, ?, ?)",
+                2L, "CHARGE", 500, 500, old);
+
+        // when
+        int deleted = balanceSnapshotService.compactLedger(30);
+
+        // then
+        assertThat(deleted).isEqualTo(2);
+
+        Long remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balance_transactions", Long.class);
+        assertThat(remaining).isEqualTo(2);
+
+        BalanceSnapshotService.LedgerSummary summary = balanceSnapshotService.getLedgerSummary(USER_ID);
+        assertThat(summary.getBalance()).isEqualTo(7000);
+        assertThat(summary.getTotalCharged()).isEqualTo(11000);
+        assertThat(summary.getTotalUsed()).isEqualTo(4000);
+        assertThat(summary.getTransactionCount()).isEqualTo(3);
+    }
+
+    private void insertTransaction(String type, int amount, int balanceAfter, LocalDateTime createdAt) {
+        jdbcTemplate.update(
+                "INSERT INTO balance_transactions (user_id, type, amount, balance_after, created_at) VALUES (?, ?, ?, ?, ?)",
+                USER_ID, type, amount, balanceAfter, createdAt);
+    }
+}
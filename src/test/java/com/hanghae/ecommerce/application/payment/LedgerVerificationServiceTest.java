@@ -0,0 +1,114 @@
+package com.hanghae.ecommerce.application.payment;
+
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 잔액 원장 정합성 검증 통합 테스트
+ *
+ * 다른 테스트 데이터와 겹치지 않도록 높은 사용자 ID 구간만 검증합니다.
+ */
+@DisplayName("잔액 원장 정합성 검증 테스트")
+class LedgerVerificationServiceTest extends BaseIntegrationTest {
+
+    private static final long BASE_USER_ID = 900_000L;
+    private static final int USER_COUNT = 25;
+
+    @Autowired
+    private LedgerVerificationService ledgerVerificationService;
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cleanup();
+
+        // 사용자마다 충전 10000, 결제 3000 -> 잔액 7000
+        LocalDateTime old = LocalDateTime.now().minusDays(1);
+        for (long userId = BASE_USER_ID; userId < BASE_USER_ID + USER_COUNT; userId++) {
+            jdbcTemplate.update(
+                    "INSERT INTO users (id, email, name, available_point, state, type, created_at, updated_at) " +
+                            "VALUES (?, ?, '검증유저', 7000, 'NORMAL', 'CUSTOMER', NOW(), NOW())",
+                    userId, "ledger-" + userId + "@example.com");
+            insertTransaction(userId, "CHARGE", 10000, 10000, old);
+            insertTransaction(userId, "PAYMENT", 3000, 7000, old.plusMinutes(1));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM balance_snapshots WHERE user_id >= ?", BASE_USER_ID);
+        jdbcTemplate.update("DELETE FROM balance_transactions WHERE user_id >= ?", BASE_USER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id >= ?", BASE_USER_ID);
+    }
+
+    @Test
+    @DisplayName("원장과 일치하면 불일치 없이 모든 범위를 스캔한다")
+    void consistentLedger() {
+        // when: 10명 단위 범위, 병렬도 3
+        LedgerVerificationService.VerificationReport report = verify();
+
+        // then
+        assertThat(report.getRangeCount()).isEqualTo(3);
+        assertThat(report.getScannedUsers()).isEqualTo(USER_COUNT);
+        assertThat(report.isConsistent()).isTrue();
+    }
+
+    @Test
+    @DisplayName("잔액이 원장과 다른 사용자를 보고한다")
+    void detectMismatch() {
+        // given: 원장 없이 잔액만 변경
+        long brokenUserId = BASE_USER_ID + 17;
+        jdbcTemplate.update("UPDATE users SET available_point = 9000 WHERE id = ?", brokenUserId);
+
+        // when
+        LedgerVerificationService.VerificationReport report = verify();
+
+        // then
+        assertThat(report.getMismatchCount()).isEqualTo(1);
+        LedgerVerificationService.Mismatch mismatch = report.getMismatches().get(0);
+        assertThat(mismatch.getUserId()).isEqualTo(brokenUserId);
+        assertThat(mismatch.getExpectedBalance()).isEqualTo(7000);
+        assertThat(mismatch.getDifference()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("스냅샷이 있으면 스냅샷 잔액과 이후 거래로 검증한다")
+    void verifyWithSnapshot() {
+        // given: 스냅샷 생성 후 한 사용자에게 새 충전 발생
+        balanceSnapshotService.createSnapshots();
+
+        long userId = BASE_USER_ID + 3;
+        insertTransaction(userId, "CHARGE", 500, 7500, LocalDateTime.now());
+        jdbcTemplate.update("UPDATE users SET available_point = 7500 WHERE id = ?", userId);
+
+        // when
+        LedgerVerificationService.VerificationReport report = verify();
+
+        // then
+        assertThat(report.isConsistent()).isTrue();
+    }
+
+    private LedgerVerificationService.VerificationReport verify() {
+        return ledgerVerificationService.verify(BASE_USER_ID, BASE_USER_ID + USER_COUNT - 1, 10, 3, 0);
+    }
+
+    private void insertTransaction(long userId, String type, int amount, int balanceAfter, LocalDateTime createdAt) {
+        jdbcTemplate.update(
+                "INSERT INTO balance_transactions (user_id, type, amount, balance_after, created_at) VALUES (?, ?, ?, ?, ?)",
+                userId, type, amount, balanceAfter, createdAt);
+    }
+}
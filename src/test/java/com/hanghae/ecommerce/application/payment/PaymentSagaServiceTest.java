@@ -0,0 +1,216 @@
+package com.hanghae.ecommerce.application.payment;
+
+import com.hanghae.ecommerce.application.cart.CartService;
+import com.hanghae.ecommerce.application.order.OrderService;
+import com.hanghae.ecommerce.concurrency.BaseConcurrencyTest;
+import com.hanghae.ecommerce.domain.payment.Payment;
+import com.hanghae.ecommerce.domain.payment.PaymentMethod;
+import com.hanghae.ecommerce.domain.payment.PaymentState;
+import com.hanghae.ecommerce.domain.product.Product;
+import com.hanghae.ecommerce.domain.user.User;
+import com.hanghae.ecommerce.presentation.exception.InsufficientStockException;
+import com.hanghae.ecommerce.presentation.exception.PaymentAlreadyCompletedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 사가 방식 결제 통합 테스트
+ */
+@DisplayName("결제 사가 테스트")
+class PaymentSagaServiceTest extends BaseConcurrencyTest {
+
+  @Autowired
+  private PaymentSagaService paymentSagaService;
+
+  @Autowired
+  private CartService cartService;
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void cleanup() {
+    jdbcTemplate.execute("DELETE FROM payment_saga_steps");
+    jdbcTemplate.execute("DELETE FROM payment_sagas");
+    jdbcTemplate.execute("DELETE FROM balance_transactions");
+    jdbcTemplate.execute("DELETE FROM payments");
+    jdbcTemplate.execute("DELETE FROM order_items");
+    jdbcTemplate.execute("DELETE FROM orders");
+    jdbcTemplate.execute("DELETE FROM cart_items");
+    jdbcTemplate.execute("DELETE FROM carts");
+    jdbcTemplate.execute("DELETE FROM stocks");
+    jdbcTemplate.execute("DELETE FROM products");
+    jdbcTemplate.execute("DELETE FROM users");
+  }
+
+  @Test
+  @DisplayName("모든 단계가 성공하면 결제가 완료되고 단계 로그가 남는다")
+  void executeSuccess() {
+    // given
+    User user = createUserInNewTransaction("saga-ok@example.com", "사가유저", 50000);
+    Product product = createProductInNewTransaction("사가상품", 10000, 5);
+    Long orderId = createOrder(user.getId(), product.getId(), 2);
+
+    // when
+    Payment payment = paymentSagaService.execute(user.getId(), orderId, PaymentMethod.POINT);
+
+    // then
+    assertThat(payment.getState()).isEqualTo(PaymentState.COMPLETED);
+    assertThat(availablePoint(user.getId())).isEqualTo(30000);
+    assertThat(availableStock(product.getId())).isEqualTo(3);
+    assertThat(orderState(orderId)).isEqualTo("COMPLETED");
+    assertThat(sagaStatus(orderId)).isEqualTo("COMPLETED");
+    assertThat(stepStatuses(orderId))
+        .containsEntry("DEBIT_BALANCE", "DONE")
+        .containsEntry("DEDUCT_STOCK", "DONE")
+        .containsEntry("COMPLETE_ORDER", "DONE");
+
+    // 같은 주문 재결제는 거부
+    assertThatThrownBy(() -> paymentSagaService.execute(user.getId(), orderId, PaymentMethod.POINT))
+        .isInstanceOf(PaymentAlreadyCompletedException.class);
+  }
+
+  @Test
+  @DisplayName("재고 차감 실패 시 차감된 잔액을 환불하고 사가를 보상 완료로 종료한다")
+  void compensateOnStockFailure() {
+    // given: 주문 생성 후 다른 경로로 재고 소진
+    User user = createUserInNewTransaction("saga-fail@example.com", "사가유저", 50000);
+    Product product = createProductInNewTransaction("사가상품", 10000, 5);
+    Long orderId = createOrder(user.getId(), product.getId(), 2);
+    jdbcTemplate.update("UPDATE stocks SET available_quantity = 1 WHERE product_id = ?", product.getId());
+
+    // when & then
+    assertThatThrownBy(() -> paymentSagaService.execute(user.getId(), orderId, PaymentMethod.POINT))
+        .isInstanceOf(InsufficientStockException.class);
+
+    assertThat(availablePoint(user.getId())).isEqualTo(50000);
+    assertThat(availableStock(product.getId())).isEqualTo(1);
+    assertThat(orderState(orderId)).isEqualTo("PENDING_PAYMENT");
+    assertThat(sagaStatus(orderId)).isEqualTo("COMPENSATED");
+    assertThat(stepStatuses(orderId)).containsEntry("DEBIT_BALANCE", "COMPENSATED");
+
+    List<String> ledgerTypes = jdbcTemplate.queryForList(
+        "SELECT type FROM balance_transactions WHERE user_id = ? ORDER BY id", String.class, user.getId());
+    assertThat(ledgerTypes).containsExactly("PAYMENT", "REFUND");
+
+    // 보상 후에는 같은 주문을 다시 결제할 수 있다
+    jdbcTemplate.update("UPDATE stocks SET available_quantity = 5 WHERE product_id = ?", product.getId());
+    Payment retried = paymentSagaService.execute(user.getId(), orderId, PaymentMethod.POINT);
+    assertThat(retried.getState()).isEqualTo(PaymentState.COMPLETED);
+    assertThat(availablePoint(user.getId())).isEqualTo(30000);
+  }
+
+  @Test
+  @DisplayName("잔액 차감 후 멈춘 사가는 복구 워커가 보상한다")
+  void recoverByCompensation() {
+    // given: 잔액 차감 단계까지만 완료된 채 멈춘 사가
+    User user = createUserInNewTransaction("saga-stuck@example.com", "사가유저", 50000);
+    Product product = createProductInNewTransaction("사가상품", 10000, 5);
+    Long orderId = createOrder(user.getId(), product.getId(), 1);
+
+    Long sagaId = insertStuckSaga(user.getId(), orderId, 10000);
+    jdbcTemplate.update("UPDATE users SET available_point = available_point - 10000 WHERE id = ?", user.getId());
+    insertDoneStep(sagaId, "DEBIT_BALANCE");
+
+    // when
+    int recovered = paymentSagaService.recoverStuckSagas(60);
+
+    // then
+    assertThat(recovered).isEqualTo(1);
+    assertThat(availablePoint(user.getId())).isEqualTo(50000);
+    assertThat(orderState(orderId)).isEqualTo("PENDING_PAYMENT");
+    assertThat(sagaStatus(orderId)).isEqualTo("COMPENSATED");
+  }
+
+  @Test
+  @DisplayName("확정 직전에 멈춘 사가는 복구 워커가 결제를 확정한다")
+  void recoverByRollForward() {
+    // given: 잔액/재고 단계가 모두 완료된 채 멈춘 사가
+    User user = createUserInNewTransaction("saga-forward@example.com", "사가유저", 50000);
+    Product product = createProductInNewTransaction("사가상품", 10000, 5);
+    Long orderId = createOrder(user.getId(), product.getId(), 1);
+
+    Long sagaId = insertStuckSaga(user.getId(), orderId, 10000);
+    jdbcTemplate.update("UPDATE users SET available_point = available_point - 10000 WHERE id = ?", user.getId());
+    insertDoneStep(sagaId, "DEBIT_BALANCE");
+    jdbcTemplate.update("UPDATE stocks SET available_quantity = available_quantity - 1 WHERE product_id = ?",
+        product.getId());
+    insertDoneStep(sagaId, "DEDUCT_STOCK");
+
+    // when
+    int recovered = paymentSagaService.recoverStuckSagas(60);
+
+    // then
+    assertThat(recovered).isEqualTo(1);
+    assertThat(orderState(orderId)).isEqualTo("COMPLETED");
+    assertThat(sagaStatus(orderId)).isEqualTo("COMPLETED");
+    assertThat(availablePoint(user.getId())).isEqualTo(40000);
+    Long payments = jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM payments WHERE order_id = ? AND state = 'COMPLETED'", Long.class, orderId);
+    assertThat(payments).isEqualTo(1);
+  }
+
+  private Long createOrder(Long userId, Long productId, int quantity) {
+    createCartInNewTransaction(userId);
+    Long cartItemId = cartService.addItemToCart(userId, productId, quantity).getCartItemId();
+    return orderService.createOrder(userId, List.of(cartItemId),
+        "사가", "010-0000-0000", "00000", "서울시", "사가동").getOrderId();
+  }
+
+  private Long insertStuckSaga(Long userId, Long orderId, int amount) {
+    jdbcTemplate.update(
+        "INSERT INTO payment_sagas (order_id, active_order_id, user_id, amount, payment_method, status, " +
+            "owner_token, updated_at) VALUES (?, ?, ?, ?, 'POINT', 'STARTED', 'crashed-node', " +
+            "NOW(6) - INTERVAL 10 MINUTE)",
+        orderId, orderId, userId, amount);
+    return jdbcTemplate.queryForObject(
+        "SELECT id FROM payment_sagas WHERE order_id = ?", Long.class, orderId);
+  }
+
+  private void insertDoneStep(Long sagaId, String step) {
+    jdbcTemplate.update(
+        "INSERT INTO payment_saga_steps (saga_id, step, status) VALUES (?, ?, 'DONE')", sagaId, step);
+  }
+
+  private int availablePoint(Long userId) {
+    return jdbcTemplate.queryForObject("SELECT available_point FROM users WHERE id = ?", Integer.class, userId);
+  }
+
+  private int availableStock(Long productId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT available_quantity FROM stocks WHERE product_id = ?", Integer.class, productId);
+  }
+
+  private String orderState(Long orderId) {
+    return jdbcTemplate.queryForObject("SELECT state FROM orders WHERE id = ?", String.class, orderId);
+  }
+
+  private String sagaStatus(Long orderId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT status FROM payment_sagas WHERE order_id = ? ORDER BY id DESC LIMIT 1", String.class, orderId);
+  }
+
+  private Map<String, String> stepStatuses(Long orderId) {
+    Map<String, String> statuses = new java.util.HashMap<>();
+    jdbcTemplate.query(
+        "SELECT st.step, st.status FROM payment_saga_steps st " +
+            "JOIN payment_sagas s ON s.id = st.saga_id WHERE s.order_id = ? ORDER BY st.id",
+        rs -> {
+          statuses.put(rs.getString("step"), rs.getString("status"));
+        },
+        orderId);
+    return statuses;
+  }
+}
@@ -1,7 +1,9 @@
 package com.hanghae.ecommerce.application.service;
 
 import com.hanghae.ecommerce.application.coupon.CouponService;
+import com.hanghae.ecommerce.application.coupon.IssuedQuantityWriteBehindService;
 import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.CouponState;
 import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
 import com.hanghae.ecommerce.domain.coupon.UserCouponInfo;
 import com.hanghae.ecommerce.domain.coupon.UserCoupon;
@@ -11,7 +13,10 @@ import com.hanghae.ecommerce.domain.coupon.repository.UserCouponRepository;
 import com.hanghae.ecommerce.domain.product.Quantity;
 import com.hanghae.ecommerce.domain.user.User;
 import com.hanghae.ecommerce.domain.user.repository.UserRepository;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponDefinitionCache;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponIssuanceMetrics;
 import com.hanghae.ecommerce.infrastructure.coupon.CouponQueueService;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponRequestRateLimiter;
 import com.hanghae.ecommerce.infrastructure.lock.LockManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +24,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
@@ -54,6 +61,21 @@ class CouponServiceTest {
     @Mock
     private CouponQueueService couponQueueService;
 
+    @Mock
+    private CouponIssuanceMetrics couponIssuanceMetrics;
+
+    @Mock
+    private CouponRequestRateLimiter couponRequestRateLimiter;
+
+    @Mock
+    private IssuedQuantityWriteBehindService issuedQuantityWriteBehind;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
     private CouponService couponService;
 
     private User testUser;
@@ -68,7 +90,12 @@ class CouponServiceTest {
                 userRepository,
                 lockManager,
                 transactionManager,
-                couponQueueService);
+                couponQueueService,
+                couponIssuanceMetrics,
+                couponRequestRateLimiter,
+                new CouponDefinitionCache(couponRepository, redisTemplate, listenerContainer, 60_000),
+                issuedQuantityWriteBehind,
+                "locked");
 
         testUser = User.create("test@example.com", "테스트", "010-1234-5678");
         testCoupon = Coupon.create(
@@ -195,6 +222,70 @@ class CouponServiceTest {
                 .hasMessageContaining("쿠폰이 모두 소진되었습니다");
     }
 
+    @Test
+    @DisplayName("발급 수량 지연 반영 중이면 DB 발급 수량 대신 Redis 남은 수량을 확보해 동기 발급하고 발급 수는 지연 반영으로 기록")
+    void issueCoupon_WriteBehind_UsesQueueQuantity() {
+        // given
+        Long userId = 1L;
+        Long couponId = 1L;
+
+        when(issuedQuantityWriteBehind.isEnabled()).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(couponRepository.findAllById(List.of(couponId))).thenReturn(List.of(restoreCoupon(couponId)));
+        when(couponQueueService.getRemainingQuantity(couponId)).thenReturn(Optional.of(5));
+        when(couponQueueService.tryTakeQuantity(couponId, 1)).thenReturn(1L);
+        when(userCouponRepository.save(any(UserCoupon.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        UserCoupon result = couponService.issueCoupon(couponId, userId);
+
+        // then: 뒤처진 issued_quantity로 판단하는 조건부 UPDATE는 하지 않음
+        assertThat(result.getCouponId()).isEqualTo(couponId);
+        verify(issuedQuantityWriteBehind).record(couponId, 1);
+        verify(couponQueueService).markAsIssued(eq(couponId), eq(userId), any());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("발급 수량 지연 반영 중 동기 발급이 중복이면 확보한 Redis 수량을 되돌림")
+    void issueCoupon_WriteBehind_DuplicateRestoresQuantity() {
+        // given
+        Long userId = 1L;
+        Long couponId = 1L;
+
+        when(issuedQuantityWriteBehind.isEnabled()).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(couponRepository.findAllById(List.of(couponId))).thenReturn(List.of(restoreCoupon(couponId)));
+        when(couponQueueService.getRemainingQuantity(couponId)).thenReturn(Optional.of(5));
+        when(couponQueueService.tryTakeQuantity(couponId, 1)).thenReturn(1L);
+        when(userCouponRepository.save(any(UserCoupon.class)))
+                .thenThrow(new org.springframework.dao.DataIntegrityViolationException("uk_user_coupon"));
+
+        // when & then
+        assertThatThrownBy(() -> couponService.issueCoupon(couponId, userId))
+                .isInstanceOf(com.hanghae.ecommerce.presentation.exception.CouponAlreadyIssuedException.class);
+        verify(couponQueueService).restoreQuantity(couponId, 1);
+        verify(issuedQuantityWriteBehind, never()).record(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Redis 남은 수량이 없으면 issued_quantity가 아닌 user_coupons 건수로 초기화")
+    void getOrInitializeQueueQuantity_CountsUserCoupons() {
+        // given
+        Long couponId = 1L;
+        LocalDateTime endDate = LocalDateTime.now().plusDays(7);
+        when(couponQueueService.getRemainingQuantity(couponId)).thenReturn(Optional.empty());
+        when(jdbcTemplate.queryForObject(contains("COUNT(*) FROM user_coupons"), eq(Integer.class), eq(couponId)))
+                .thenReturn(7);
+        when(couponQueueService.getOrInitializeQuantity(couponId, 7, endDate)).thenReturn(7);
+
+        // when
+        int remaining = couponService.getOrInitializeQueueQuantity(couponId, endDate);
+
+        // then
+        assertThat(remaining).isEqualTo(7);
+    }
+
     @Test
     @DisplayName("사용자 쿠폰 목록 조회")
     void getUserCoupons_Success() {
@@ -206,8 +297,7 @@ class CouponServiceTest {
 
         // Removed unnecessary userRepository stub
         when(userCouponRepository.findByUserId(userId)).thenReturn(userCoupons);
-        when(couponRepository.findById(1L)).thenReturn(Optional.of(testCoupon));
-        when(couponRepository.findById(2L)).thenReturn(Optional.of(testCoupon));
+        when(couponRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(restoreCoupon(1L), restoreCoupon(2L)));
 
         // when
         List<UserCouponInfo> result = couponService.getUserCoupons(userId);
@@ -215,6 +305,35 @@ class CouponServiceTest {
         // then
         assertThat(result).hasSize(2);
         assertThat(result).allMatch(info -> info.getUserCoupon().getUserId().equals(userId));
+        assertThat(result).extracting(UserCouponInfo::getCouponId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("사용자 쿠폰 목록 조회 - 쿠폰 정의는 한 번에 조회하고 이후에는 로컬 캐시 사용")
+    void getUserCoupons_LoadsCouponsInOneQuery() {
+        // given - 같은 쿠폰을 여러 장 보유
+        Long userId = 1L;
+        List<UserCoupon> userCoupons = List.of(
+                UserCoupon.issue(userId, 1L, LocalDateTime.now().plusDays(7)),
+                UserCoupon.issue(userId, 2L, LocalDateTime.now().plusDays(7)),
+                UserCoupon.issue(userId, 1L, LocalDateTime.now().plusDays(7)));
+        when(userCouponRepository.findByUserId(userId)).thenReturn(userCoupons);
+        when(couponRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(restoreCoupon(1L), restoreCoupon(2L)));
+
+        // when
+        couponService.getUserCoupons(userId);
+        List<UserCouponInfo> cached = couponService.getUserCoupons(userId);
+
+        // then
+        assertThat(cached).hasSize(3);
+        verify(couponRepository, times(1)).findAllById(any());
+        verify(couponRepository, never()).findById(any());
+    }
+
+    private Coupon restoreCoupon(Long id) {
+        return Coupon.restore(id, "테스트 쿠폰 " + id, CouponState.NORMAL, DiscountPolicy.rate(10),
+                Quantity.of(100), Quantity.of(0), LocalDateTime.now(), LocalDateTime.now().plusDays(7),
+                LocalDateTime.now(), LocalDateTime.now());
     }
 
     @Test
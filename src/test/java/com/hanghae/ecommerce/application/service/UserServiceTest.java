@@ -2,6 +2,7 @@ package com.hanghae.ecommerce.application.service;
 
 import com.hanghae.ecommerce.application.user.UserService;
 import com.hanghae.ecommerce.domain.payment.BalanceTransaction;
+import com.hanghae.ecommerce.domain.payment.BalanceTransactionCursor;
 import com.hanghae.ecommerce.domain.payment.TransactionType;
 import com.hanghae.ecommerce.domain.payment.repository.BalanceTransactionRepository;
 import com.hanghae.ecommerce.domain.user.Point;
@@ -15,7 +16,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -249,6 +253,64 @@ class UserServiceTest {
         assertThat(result.get(1).getType()).isEqualTo(TransactionType.PAYMENT);
     }
 
+    @Test
+    @DisplayName("거래 내역 페이지 조회 - 다음 페이지가 있으면 커서 반환")
+    void getTransactionHistoryPage_HasNext() {
+        // given
+        Long userId = 1L;
+        List<BalanceTransaction> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(BalanceTransaction.restore((long) (10 - i), userId, null, null, TransactionType.CHARGE,
+                    Point.of(1000), Point.of(0), Point.of(1000),
+                    "충전", LocalDateTime.of(2025, 1, 1, 0, 0).minusMinutes(i), LocalDateTime.now()));
+        }
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(balanceTransactionRepository.findLatestByUserId(eq(userId), any(Pageable.class)))
+                .thenReturn(rows);
+
+        // when - 페이지 크기 2 (size + 1 = 3건 조회)
+        UserService.TransactionHistoryPage page = userService.getTransactionHistoryPage(userId, null, null, 2);
+
+        // then
+        assertThat(page.getTransactions()).hasSize(2);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getNextCursor().getId()).isEqualTo(9L);
+        verify(balanceTransactionRepository).findLatestByUserId(userId, PageRequest.of(0, 3));
+        verify(balanceTransactionRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    @DisplayName("거래 내역 페이지 조회 - 커서와 유형 필터를 DB 쿼리로 전달")
+    void getTransactionHistoryPage_WithCursorAndType() {
+        // given
+        Long userId = 1L;
+        BalanceTransactionCursor cursor = BalanceTransactionCursor.of(LocalDateTime.of(2025, 1, 1, 0, 0), 5L);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(balanceTransactionRepository.findByUserIdAndTypeBeforeCursor(
+                eq(userId), eq(TransactionType.PAYMENT), eq(cursor.getCreatedAt()), eq(5L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // when
+        UserService.TransactionHistoryPage page = userService.getTransactionHistoryPage(
+                userId, TransactionType.PAYMENT, BalanceTransactionCursor.decode(cursor.encode()), 20);
+
+        // then
+        assertThat(page.getTransactions()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("거래 내역 페이지 조회 - 페이지 크기 상한 초과 실패")
+    void getTransactionHistoryPage_InvalidSize() {
+        // when & then
+        assertThatThrownBy(() -> userService.getTransactionHistoryPage(1L, null, null, 101))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("페이지 크기는");
+    }
+
     @Test
     @DisplayName("사용자 생성 성공")
     void createUser_Success() {
@@ -0,0 +1,167 @@
+package com.hanghae.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hanghae.ecommerce.domain.coupon.BestCouponSelector;
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.CouponState;
+import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
+import com.hanghae.ecommerce.domain.coupon.UserCoupon;
+import com.hanghae.ecommerce.domain.coupon.UserCouponInfo;
+import com.hanghae.ecommerce.domain.coupon.UserCouponState;
+import com.hanghae.ecommerce.domain.product.Money;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 최적 쿠폰 선택 벤치마크
+ *
+ * 쿠폰마다 DiscountPolicy.calculateDiscount를 호출해 비교하는 방식(Money 객체 생성)과
+ * BestCouponSelector의 원시 타입 평가를 보유 쿠폰 100/500/1000장에서 비교합니다.
+ * 선택기 생성(배열 펼치기) 비용과 선택 비용을 나누어 기록합니다.
+ *
+ * DB와 Redis를 쓰지 않는 순수 연산 벤치마크이며, 일반 테스트에서는 제외됩니다.
+ * ./gradlew benchmark --tests '*BestCouponSelectorBenchmark' -Pbenchmark.iterations=20000
+ */
+@Tag("benchmark")
+@DisplayName("최적 쿠폰 선택 벤치마크")
+class BestCouponSelectorBenchmark {
+
+  private static final String OUTPUT_DIR = System.getProperty("benchmark.output", "build/reports/benchmark");
+
+  private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5000);
+  private static final int WARMUP_ITERATIONS = Integer.getInteger("benchmark.warmup", 2000);
+  private static final int[] COUPON_COUNTS = { 100, 500, 1000 };
+  private static final int CART_LINES = 10;
+
+  private final LocalDateTime now = LocalDateTime.now();
+  private final Random random = new Random(42);
+
+  // JIT가 계산을 제거하지 않도록 결과를 누적
+  private long sink;
+
+  @Test
+  @DisplayName("보유 쿠폰 수별 최적 쿠폰 선택 지연 측정")
+  void benchmarkBestCouponSelection() throws Exception {
+    long[] productIds = new long[CART_LINES];
+    long[] lineAmounts = new long[CART_LINES];
+    for (int i = 0; i < CART_LINES; i++) {
+      productIds[i] = i + 1;
+      lineAmounts[i] = 1000L * (1 + random.nextInt(20));
+    }
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("iterations", ITERATIONS);
+    report.put("cartLines", CART_LINES);
+
+    for (int couponCount : COUPON_COUNTS) {
+      List<UserCouponInfo> userCoupons = seedUserCoupons(couponCount);
+
+      // 워밍업 - 결과에서 제외
+      measure(WARMUP_ITERATIONS, () -> sink += selectWithPolicy(userCoupons, lineAmounts));
+      measure(WARMUP_ITERATIONS, () -> sink += BestCouponSelector.of(userCoupons, now)
+          .select(productIds, lineAmounts).getDiscountAmount());
+
+      BestCouponSelector selector = BestCouponSelector.of(userCoupons, now);
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("policyLoop", measure(ITERATIONS, () -> sink += selectWithPolicy(userCoupons, lineAmounts)));
+      result.put("selectorBuildAndSelect", measure(ITERATIONS, () -> sink += BestCouponSelector.of(userCoupons, now)
+          .select(productIds, lineAmounts).getDiscountAmount()));
+      result.put("selectorSelectOnly", measure(ITERATIONS, () -> sink += selector
+          .select(productIds, lineAmounts).getDiscountAmount()));
+      report.put("coupons-" + couponCount, result);
+
+      // 두 방식의 선택 결과(할인 금액)가 같아야 함
+      assertThat(selector.select(productIds, lineAmounts).getDiscountAmount())
+          .isEqualTo(selectWithPolicy(userCoupons, lineAmounts));
+    }
+    report.put("sink", sink);
+
+    Path reportPath = writeReport(report);
+    System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    System.out.println("Benchmark report written to " + reportPath.toAbsolutePath());
+  }
+
+  /**
+   * 기존 방식: 쿠폰마다 Money로 합계를 만들고 DiscountPolicy.calculateDiscount 호출
+   */
+  private long selectWithPolicy(List<UserCouponInfo> userCoupons, long[] lineAmounts) {
+    Money subtotal = Money.zero();
+    for (long lineAmount : lineAmounts) {
+      subtotal = subtotal.add(Money.of((int) lineAmount));
+    }
+
+    long best = 0;
+    for (UserCouponInfo userCoupon : userCoupons) {
+      if (!userCoupon.canUse()) {
+        continue;
+      }
+      DiscountPolicy policy = userCoupon.getCoupon().getDiscountPolicy();
+      if (policy.hasMinOrderAmount() && !subtotal.isGreaterThanOrEqual(policy.getMinOrderAmount())) {
+        continue;
+      }
+      best = Math.max(best, policy.calculateDiscount(subtotal).getValue());
+    }
+    return best;
+  }
+
+  private Map<String, Object> measure(int iterations, Runnable task) {
+    LatencyRecorder recorder = new LatencyRecorder();
+    for (int i = 0; i < iterations; i++) {
+      long start = System.nanoTime();
+      task.run();
+      recorder.record(System.nanoTime() - start);
+    }
+    return recorder.summary();
+  }
+
+  /**
+   * 정률/정액, 최소 주문 금액이 섞인 사용자 쿠폰 생성
+   */
+  private List<UserCouponInfo> seedUserCoupons(int count) {
+    List<UserCouponInfo> userCoupons = new ArrayList<>(count);
+    for (int i = 1; i <= count; i++) {
+      DiscountPolicy.DiscountType type = random.nextBoolean()
+          ? DiscountPolicy.DiscountType.PERCENTAGE
+          : DiscountPolicy.DiscountType.AMOUNT;
+      Money value = type == DiscountPolicy.DiscountType.PERCENTAGE
+          ? Money.of(1 + random.nextInt(30))
+          : Money.of(1000 * (1 + random.nextInt(20)));
+      Money minOrder = random.nextInt(3) == 0 ? Money.of(10000 * (1 + random.nextInt(20))) : null;
+      DiscountPolicy policy = DiscountPolicy.of(type, value, minOrder, null, DiscountPolicy.CouponType.ORDER);
+
+      Coupon coupon = Coupon.restore((long) i, "쿠폰 " + i, CouponState.NORMAL, policy, Quantity.of(1000),
+          Quantity.of(1), now.minusDays(7), now.plusDays(30), now.minusDays(7), now.minusDays(7));
+      UserCoupon userCoupon = UserCoupon.restore((long) i, 1L, (long) i, UserCouponState.AVAILABLE,
+          now.minusDays(1), null, now.plusDays(1 + random.nextInt(30)), now.minusDays(1), now.minusDays(1));
+      userCoupons.add(new UserCouponInfo(userCoupon, coupon));
+    }
+    return userCoupons;
+  }
+
+  private Path writeReport(Map<String, Object> report) throws Exception {
+    Path dir = Path.of(OUTPUT_DIR);
+    Files.createDirectories(dir);
+    String fileName = "best-coupon-selector-"
+        + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json";
+    Path path = dir.resolve(fileName);
+    new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(path.toFile(), report);
+    return path;
+  }
+}
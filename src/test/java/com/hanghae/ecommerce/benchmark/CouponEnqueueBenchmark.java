@@ -0,0 +1,317 @@
+package com.hanghae.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import com.hanghae.ecommerce.infrastructure.coupon.CouponQueueService;
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.net.SocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 쿠폰 대기열 진입(enqueue) 벤치마크
+ *
+ * 기존 명령 단위 구현(SISMEMBER → ZSCORE → ZRANK → ZADD → EXPIRE → ZRANK)과
+ * Lua 스크립트 구현을 같은 조건에서 비교합니다.
+ * Lettuce가 실제로 전송한 명령 수를 세어 요청당 Redis 왕복 횟수를 구하고,
+ * POST /coupons/{couponId}/request 엔드포인트의 초당 처리량을 함께 기록합니다.
+ *
+ * 일반 테스트에서는 제외되며 다음과 같이 실행합니다.
+ * ./gradlew benchmark --tests '*CouponEnqueueBenchmark' -Pbenchmark.threads=100 -Pbenchmark.requests=200
+ */
+@Tag("benchmark")
+@DisplayName("쿠폰 대기열 진입 벤치마크")
+@Import(CouponEnqueueBenchmark.CommandCountingConfig.class)
+class CouponEnqueueBenchmark extends BaseIntegrationTest {
+
+  private static final MySQLContainer<?> MYSQL_CONTAINER;
+
+  static {
+    MYSQL_CONTAINER = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+        .withDatabaseName("ecommerce_benchmark")
+        .withUsername("benchmark")
+        .withPassword("benchmark");
+    MYSQL_CONTAINER.start();
+  }
+
+  private static final int THREADS = Integer.getInteger("benchmark.threads", 50);
+  private static final int REQUESTS = Integer.getInteger("benchmark.requests", 100);
+  private static final int SAMPLE_USERS = Integer.getInteger("benchmark.users", 1000);
+  private static final String OUTPUT_DIR = System.getProperty("benchmark.output", "build/reports/benchmark");
+
+  // 컨트롤러가 사용하는 고정 사용자 ID
+  private static final long ENDPOINT_USER_ID = 1L;
+
+  /**
+   * Lettuce가 전송을 완료한 명령 수 (Redisson 연결은 포함되지 않음)
+   */
+  private static final LongAdder REDIS_COMMANDS = new LongAdder();
+
+  @DynamicPropertySource
+  static void configureDatabase(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", MYSQL_CONTAINER::getJdbcUrl);
+    registry.add("spring.datasource.username", MYSQL_CONTAINER::getUsername);
+    registry.add("spring.datasource.password", MYSQL_CONTAINER::getPassword);
+    registry.add("spring.jpa.show-sql", () -> "false");
+    registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+    registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "WARN");
+    registry.add("logging.level.com.hanghae", () -> "WARN");
+  }
+
+  @SpyBean
+  private CouponQueueService couponQueueService;
+
+  @Autowired
+  private RedisTemplate<String, Object> redisTemplate;
+
+  @Autowired
+  private CouponRepository couponRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Test
+  @DisplayName("명령 단위 구현 대비 스크립트 구현의 왕복 횟수와 처리량 비교")
+  void benchmarkEnqueue() throws Exception {
+    // given
+    Coupon coupon = couponRepository.save(Coupon.create(
+        "대기열 벤치마크 쿠폰",
+        DiscountPolicy.rate(10),
+        Quantity.of(1_000_000),
+        LocalDateTime.now().minusDays(1),
+        LocalDateTime.now().plusDays(7)));
+    jdbcTemplate.update(
+        "INSERT IGNORE INTO users (id, email, name, available_point, state, type, created_at, updated_at) " +
+            "VALUES (?, 'coupon-bench@example.com', '벤치유저', 0, 'NORMAL', 'CUSTOMER', NOW(), NOW())",
+        ENDPOINT_USER_ID);
+
+    // when: 기존 구현
+    useLegacyEnqueue();
+    Map<String, Object> legacy = measure(coupon);
+
+    // when: 스크립트 구현
+    Mockito.reset(couponQueueService);
+    Map<String, Object> script = measure(coupon);
+
+    // then
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("benchmark", "coupon-enqueue");
+    report.put("timestamp", LocalDateTime.now().toString());
+    report.put("config", Map.of("threads", THREADS, "requestsPerThread", REQUESTS, "sampleUsers", SAMPLE_USERS));
+    report.put("legacy", legacy);
+    report.put("script", script);
+    Path reportPath = writeReport(report);
+    System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    System.out.println("Benchmark report written to " + reportPath.toAbsolutePath());
+
+    assertThat((double) script.get("enqueueRoundTripsNewUser")).isEqualTo(1.0);
+    assertThat((double) script.get("enqueueRoundTripsQueuedUser")).isEqualTo(1.0);
+    assertThat((double) legacy.get("enqueueRoundTripsNewUser")).isGreaterThan(1.0);
+  }
+
+  private Map<String, Object> measure(Coupon coupon) throws Exception {
+    Long couponId = coupon.getId();
+    couponQueueService.clearQueue(couponId);
+
+    // 스크립트 캐시(EVALSHA 실패 시 EVAL 재전송)와 커넥션 준비는 측정에서 제외
+    couponQueueService.enqueue(couponId, -1L, coupon.getEndDate());
+    couponQueueService.clearQueue(couponId);
+
+    // 1. 서비스 단위 왕복 횟수: 신규 진입 / 이미 대기 중인 사용자 재요청
+    double newUser = roundTripsPerCall(() -> {
+      for (long userId = 1; userId <= SAMPLE_USERS; userId++) {
+        couponQueueService.enqueue(couponId, 10_000 + userId, coupon.getEndDate());
+      }
+    });
+    double queuedUser = roundTripsPerCall(() -> {
+      for (long userId = 1; userId <= SAMPLE_USERS; userId++) {
+        couponQueueService.enqueue(couponId, 10_000 + userId, coupon.getEndDate());
+      }
+    });
+
+    // 2. 엔드포인트 처리량
+    couponQueueService.clearQueue(couponId);
+    LatencyRecorder latency = new LatencyRecorder();
+    LongAdder failures = new LongAdder();
+    runRequests(couponId, 1, null, null); // 워밍업
+    long commandsBefore = REDIS_COMMANDS.sum();
+    long startedAt = System.nanoTime();
+    runRequests(couponId, REQUESTS, latency, failures);
+    long elapsedNanos = System.nanoTime() - startedAt;
+    long commands = REDIS_COMMANDS.sum() - commandsBefore;
+
+    double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enqueueRoundTripsNewUser", newUser);
+    result.put("enqueueRoundTripsQueuedUser", queuedUser);
+    result.put("endpointRequests", latency.count());
+    result.put("endpointFailures", failures.sum());
+    result.put("endpointRoundTripsPerRequest", Math.round((double) commands / Math.max(1, latency.count()) * 100) / 100.0);
+    result.put("requestsPerSecond", Math.round(latency.count() / elapsedSeconds * 10) / 10.0);
+    result.put("latency", latency.summary());
+    return result;
+  }
+
+  private double roundTripsPerCall(Runnable calls) {
+    long before = REDIS_COMMANDS.sum();
+    calls.run();
+    return (double) (REDIS_COMMANDS.sum() - before) / SAMPLE_USERS;
+  }
+
+  private void runRequests(Long couponId, int requestsPerThread, LatencyRecorder latency, LongAdder failures)
+      throws InterruptedException {
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch doneLatch = new CountDownLatch(THREADS);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int worker = 0; worker < THREADS; worker++) {
+        executor.submit(() -> {
+          try {
+            startLatch.await();
+            for (int i = 0; i < requestsPerThread; i++) {
+              long start = System.nanoTime();
+              int status = mockMvc.perform(post("/coupons/{couponId}/request", couponId))
+                  .andReturn().getResponse().getStatus();
+              if (latency != null) {
+                if (status == 202) {
+                  latency.record(System.nanoTime() - start);
+                } else {
+                  failures.increment();
+                }
+              }
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } catch (Exception e) {
+            if (failures != null) {
+              failures.increment();
+            }
+          } finally {
+            doneLatch.countDown();
+          }
+        });
+      }
+
+      startLatch.countDown();
+      doneLatch.await(30, TimeUnit.MINUTES);
+    }
+  }
+
+  /**
+   * 스크립트 도입 이전의 명령 단위 enqueue로 대체 (비교 기준)
+   */
+  private void useLegacyEnqueue() {
+    doAnswer(invocation -> legacyEnqueue(
+        invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)))
+        .when(couponQueueService).enqueue(any(), any(), any());
+  }
+
+  private long legacyEnqueue(Long couponId, Long userId, LocalDateTime couponEndDate) {
+    String queueKey = "coupon:queue:" + couponId;
+    String issuedKey = "coupon:issued:" + couponId;
+    String userIdStr = String.valueOf(userId);
+    ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
+
+    if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(issuedKey, userIdStr))) {
+      return -1;
+    }
+    if (zSetOps.score(queueKey, userIdStr) != null) {
+      Long rank = zSetOps.rank(queueKey, userIdStr);
+      return rank != null ? rank + 1 : -1;
+    }
+    zSetOps.add(queueKey, userIdStr, Instant.now().toEpochMilli());
+    redisTemplate.expire(queueKey, couponEndDate != null
+        ? Duration.between(LocalDateTime.now(), couponEndDate.plusDays(1))
+        : Duration.ofDays(7));
+    Long rank = zSetOps.rank(queueKey, userIdStr);
+    return rank != null ? rank + 1 : -1;
+  }
+
+  private Path writeReport(Map<String, Object> report) throws Exception {
+    Path dir = Path.of(OUTPUT_DIR);
+    Files.createDirectories(dir);
+    String fileName = "coupon-enqueue-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+        + ".json";
+    Path path = dir.resolve(fileName);
+    objectMapper.copy()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(path.toFile(), report);
+    return path;
+  }
+
+  /**
+   * Lettuce 클라이언트에 명령 수를 세는 레코더를 등록합니다.
+   */
+  @TestConfiguration
+  static class CommandCountingConfig {
+
+    @Bean
+    ClientResourcesBuilderCustomizer commandCountingCustomizer() {
+      return builder -> builder.commandLatencyRecorder(new CommandCountingRecorder());
+    }
+  }
+
+  /**
+   * 응답이 완료된 명령마다 호출되므로 호출 횟수가 곧 왕복 횟수입니다.
+   */
+  static class CommandCountingRecorder implements CommandLatencyRecorder {
+
+    @Override
+    public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+        long firstResponseLatency, long completionLatency) {
+      REDIS_COMMANDS.increment();
+    }
+
+    @Override
+    public boolean isEnabled() {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.hanghae.ecommerce.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 벤치마크용 지연 시간 기록기
+ *
+ * 여러 스레드에서 나노초 단위 샘플을 기록하고, 종료 후 백분위 요약을 계산합니다.
+ */
+class LatencyRecorder {
+
+  private final ConcurrentLinkedQueue<Long> samples = new ConcurrentLinkedQueue<>();
+
+  void record(long nanos) {
+    samples.add(nanos);
+  }
+
+  void reset() {
+    samples.clear();
+  }
+
+  int count() {
+    return samples.size();
+  }
+
+  /**
+   * 밀리초 단위 요약 (count, mean, p50, p95, p99, max, total)
+   */
+  Map<String, Object> summary() {
+    long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+    Arrays.sort(sorted);
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("count", sorted.length);
+    if (sorted.length == 0) {
+      return summary;
+    }
+
+    long total = Arrays.stream(sorted).sum();
+    summary.put("meanMs", toMillis(total / sorted.length));
+    summary.put("p50Ms", toMillis(percentile(sorted, 50)));
+    summary.put("p95Ms", toMillis(percentile(sorted, 95)));
+    summary.put("p99Ms", toMillis(percentile(sorted, 99)));
+    summary.put("maxMs", toMillis(sorted[sorted.length - 1]));
+    summary.put("totalMs", toMillis(total));
+    return summary;
+  }
+
+  /**
+   * nearest-rank 방식 백분위
+   */
+  static long percentile(long[] sorted, double percentile) {
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+  }
+
+  private static double toMillis(long nanos) {
+    return Math.round(nanos / 1_000.0) / 1_000.0;
+  }
+}
@@ -0,0 +1,394 @@
+package com.hanghae.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hanghae.ecommerce.application.cart.CartService;
+import com.hanghae.ecommerce.application.order.OrderService;
+import com.hanghae.ecommerce.application.payment.PaymentService;
+import com.hanghae.ecommerce.domain.cart.Cart;
+import com.hanghae.ecommerce.domain.cart.repository.CartRepository;
+import com.hanghae.ecommerce.domain.payment.PaymentMethod;
+import com.hanghae.ecommerce.domain.product.Money;
+import com.hanghae.ecommerce.domain.product.Product;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import com.hanghae.ecommerce.domain.product.Stock;
+import com.hanghae.ecommerce.domain.product.repository.ProductRepository;
+import com.hanghae.ecommerce.domain.product.repository.StockRepository;
+import com.hanghae.ecommerce.domain.user.Point;
+import com.hanghae.ecommerce.domain.user.User;
+import com.hanghae.ecommerce.domain.user.repository.UserRepository;
+import com.hanghae.ecommerce.infrastructure.external.DataTransmissionService;
+import com.hanghae.ecommerce.infrastructure.lock.LockManager;
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 생성 → 결제 파이프라인 처리량 벤치마크
+ *
+ * MySQL/Redis를 Testcontainers로 띄우고 N명의 사용자와 상품을 적재한 뒤,
+ * M개의 가상 스레드에서 장바구니 담기 → 주문 생성 → 결제를 반복합니다.
+ * 처리량, 단계별 p50/p95/p99 지연 시간, 락 대기 시간, 오류 유형을 JSON으로 남겨
+ * 락/트랜잭션 변경 전후를 같은 조건에서 비교할 수 있도록 합니다.
+ *
+ * 일반 테스트에서는 제외되며 다음과 같이 실행합니다.
+ * ./gradlew benchmark -Pbenchmark.users=200 -Pbenchmark.threads=100 -Pbenchmark.iterations=20
+ */
+@Tag("benchmark")
+@DisplayName("결제 파이프라인 벤치마크")
+@Import(PaymentPipelineBenchmark.LockTimingConfig.class)
+class PaymentPipelineBenchmark extends BaseIntegrationTest {
+
+  private static final MySQLContainer<?> MYSQL_CONTAINER;
+
+  static {
+    MYSQL_CONTAINER = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+        .withDatabaseName("ecommerce_benchmark")
+        .withUsername("benchmark")
+        .withPassword("benchmark");
+    MYSQL_CONTAINER.start();
+  }
+
+  private static final int USERS = Integer.getInteger("benchmark.users", 100);
+  private static final int PRODUCTS = Integer.getInteger("benchmark.products", 20);
+  private static final int THREADS = Integer.getInteger("benchmark.threads", 50);
+  private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+  private static final int WARMUP_ITERATIONS = Integer.getInteger("benchmark.warmup", 2);
+  private static final String OUTPUT_DIR = System.getProperty("benchmark.output", "build/reports/benchmark");
+
+  private static final int PRODUCT_PRICE = 1000;
+
+  /**
+   * 락 키 접두사(payment, balance, stock 등)별 락 획득 대기 시간
+   */
+  private static final Map<String, LatencyRecorder> LOCK_WAITS = new ConcurrentHashMap<>();
+
+  @DynamicPropertySource
+  static void configureDatabase(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", MYSQL_CONTAINER::getJdbcUrl);
+    registry.add("spring.datasource.username", MYSQL_CONTAINER::getUsername);
+    registry.add("spring.datasource.password", MYSQL_CONTAINER::getPassword);
+    registry.add("spring.jpa.show-sql", () -> "false");
+    registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+    registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "WARN");
+    registry.add("logging.level.com.hanghae", () -> "WARN");
+  }
+
+  // 외부 데이터 플랫폼 호출이 측정값을 왜곡하지 않도록 대체
+  @MockBean
+  private DataTransmissionService dataTransmissionService;
+
+  @Autowired
+  private CartService cartService;
+
+  @Autowired
+  private OrderService orderService;
+
+  @Autowired
+  private PaymentService paymentService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private StockRepository stockRepository;
+
+  @Autowired
+  private CartRepository cartRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final LatencyRecorder endToEnd = new LatencyRecorder();
+  private final LatencyRecorder orderLatency = new LatencyRecorder();
+  private final LatencyRecorder paymentLatency = new LatencyRecorder();
+  private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+  @Test
+  @DisplayName("주문 생성 → 결제 처리량 측정")
+  void benchmarkOrderToPayment() throws Exception {
+    // given
+    List<Long> userIds = seedUsers();
+    List<Long> productIds = seedProducts();
+
+    // 워밍업 (커넥션 풀, JIT, Redisson 연결) - 결과에서 제외
+    runWorkers(userIds, productIds, WARMUP_ITERATIONS);
+    resetRecorders();
+
+    // when
+    long startedAt = System.nanoTime();
+    runWorkers(userIds, productIds, ITERATIONS);
+    long elapsedNanos = System.nanoTime() - startedAt;
+
+    // then
+    Map<String, Object> report = buildReport(elapsedNanos);
+    Path reportPath = writeReport(report);
+    System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    System.out.println("Benchmark report written to " + reportPath.toAbsolutePath());
+
+    assertThat(endToEnd.count()).isPositive();
+  }
+
+  private void runWorkers(List<Long> userIds, List<Long> productIds, int iterations) throws InterruptedException {
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch doneLatch = new CountDownLatch(THREADS);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int worker = 0; worker < THREADS; worker++) {
+        Long userId = userIds.get(worker % userIds.size());
+        executor.submit(() -> {
+          try {
+            startLatch.await();
+            for (int i = 0; i < iterations; i++) {
+              Long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+              runIteration(userId, productId);
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            doneLatch.countDown();
+          }
+        });
+      }
+
+      startLatch.countDown();
+      doneLatch.await(30, TimeUnit.MINUTES);
+    }
+  }
+
+  /**
+   * 장바구니 담기 → 주문 생성 → 결제 1회
+   */
+  private void runIteration(Long userId, Long productId) {
+    long start = System.nanoTime();
+    Long cartItemId = null;
+    try {
+      cartItemId = cartService.addItemToCart(userId, productId, 1).getCartItemId();
+
+      long orderStart = System.nanoTime();
+      Long orderId = orderService.createOrder(userId, List.of(cartItemId),
+          "벤치마크", "010-0000-0000", "00000", "서울시", "벤치마크동").getOrderId();
+      orderLatency.record(System.nanoTime() - orderStart);
+
+      long paymentStart = System.nanoTime();
+      paymentService.processPayment(userId, orderId, PaymentMethod.POINT, List.of());
+      paymentLatency.record(System.nanoTime() - paymentStart);
+
+      endToEnd.record(System.nanoTime() - start);
+    } catch (Exception e) {
+      errors.computeIfAbsent(e.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    } finally {
+      // 다음 반복에서 같은 상품이 장바구니 수량으로 합쳐지지 않도록 정리 (측정 제외)
+      if (cartItemId != null) {
+        try {
+          cartService.removeCartItem(userId, cartItemId);
+        } catch (Exception ignored) {
+          // 정리 실패는 측정과 무관
+        }
+      }
+    }
+  }
+
+  private List<Long> seedUsers() {
+    TransactionTemplate template = new TransactionTemplate(transactionManager);
+    return template.execute(status -> {
+      List<Long> ids = new ArrayList<>();
+      int balance = PRODUCT_PRICE * (ITERATIONS + WARMUP_ITERATIONS) * (THREADS / USERS + 1);
+      for (int i = 0; i < USERS; i++) {
+        User user = User.create("bench" + i + "_" + System.nanoTime() + "@test.com", "벤치유저" + i, "010-0000-0000");
+        user.chargePoint(Point.of(balance));
+        User saved = userRepository.save(user);
+        cartRepository.save(Cart.create(saved.getId()));
+        ids.add(saved.getId());
+      }
+      return ids;
+    });
+  }
+
+  private List<Long> seedProducts() {
+    TransactionTemplate template = new TransactionTemplate(transactionManager);
+    return template.execute(status -> {
+      List<Long> ids = new ArrayList<>();
+      for (int i = 0; i < PRODUCTS; i++) {
+        Product product = productRepository.save(
+            Product.create("벤치상품" + i, "벤치마크 상품", Money.of(PRODUCT_PRICE), Quantity.of(10)));
+        stockRepository.save(Stock.createForProduct(product.getId(), Quantity.of(1_000_000), null));
+        ids.add(product.getId());
+      }
+      return ids;
+    });
+  }
+
+  private void resetRecorders() {
+    endToEnd.reset();
+    orderLatency.reset();
+    paymentLatency.reset();
+    LOCK_WAITS.clear();
+    errors.clear();
+  }
+
+  private Map<String, Object> buildReport(long elapsedNanos) {
+    double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+    long failures = errors.values().stream().mapToLong(LongAdder::sum).sum();
+
+    Map<String, Object> config = new LinkedHashMap<>();
+    config.put("users", USERS);
+    config.put("products", PRODUCTS);
+    config.put("threads", THREADS);
+    config.put("iterationsPerThread", ITERATIONS);
+    config.put("warmupIterationsPerThread", WARMUP_ITERATIONS);
+
+    Map<String, Object> lockWaits = new TreeMap<>();
+    LOCK_WAITS.forEach((prefix, recorder) -> lockWaits.put(prefix, recorder.summary()));
+
+    Map<String, Long> errorBreakdown = new TreeMap<>();
+    errors.forEach((type, count) -> errorBreakdown.put(type, count.sum()));
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("benchmark", "payment-pipeline");
+    report.put("timestamp", LocalDateTime.now().toString());
+    report.put("config", config);
+    report.put("elapsedSeconds", Math.round(elapsedSeconds * 1000) / 1000.0);
+    report.put("successCount", endToEnd.count());
+    report.put("failureCount", failures);
+    report.put("throughputPerSecond", Math.round(endToEnd.count() / elapsedSeconds * 10) / 10.0);
+    report.put("endToEnd", endToEnd.summary());
+    report.put("createOrder", orderLatency.summary());
+    report.put("payment", paymentLatency.summary());
+    report.put("lockWait", lockWaits);
+    report.put("errors", errorBreakdown);
+    return report;
+  }
+
+  private Path writeReport(Map<String, Object> report) throws Exception {
+    Path dir = Path.of(OUTPUT_DIR);
+    Files.createDirectories(dir);
+    String fileName = "payment-pipeline-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+        + ".json";
+    Path path = dir.resolve(fileName);
+    objectMapper.copy()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(path.toFile(), report);
+    return path;
+  }
+
+  /**
+   * LockManager 빈을 락 대기 시간 측정용 데코레이터로 감쌉니다.
+   */
+  @TestConfiguration
+  static class LockTimingConfig {
+
+    @Bean
+    static BeanPostProcessor lockTimingPostProcessor() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          if (bean instanceof LockManager lockManager) {
+            return new TimedLockManager(lockManager);
+          }
+          return bean;
+        }
+      };
+    }
+  }
+
+  /**
+   * executeWithLock 호출부터 작업 시작까지를 락 대기 시간으로 기록하는 LockManager
+   */
+  static class TimedLockManager implements LockManager {
+
+    private final LockManager delegate;
+
+    TimedLockManager(LockManager delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean tryLock(String lockKey) throws InterruptedException {
+      return delegate.tryLock(lockKey);
+    }
+
+    @Override
+    public boolean tryLock(String lockKey, long timeout, TimeUnit timeUnit) throws InterruptedException {
+      return delegate.tryLock(lockKey, timeout, timeUnit);
+    }
+
+    @Override
+    public void unlock(String lockKey) {
+      delegate.unlock(lockKey);
+    }
+
+    @Override
+    public <T> T executeWithLock(String lockKey, LockTask<T> task) {
+      long requestedAt = System.nanoTime();
+      return delegate.executeWithLock(lockKey, timed(lockKey, requestedAt, task));
+    }
+
+    @Override
+    public <T> T executeWithLock(String lockKey, long timeout, TimeUnit timeUnit, LockTask<T> task) {
+      long requestedAt = System.nanoTime();
+      return delegate.executeWithLock(lockKey, timeout, timeUnit, timed(lockKey, requestedAt, task));
+    }
+
+    @Override
+    public int getActiveLockCount() {
+      return delegate.getActiveLockCount();
+    }
+
+    @Override
+    public void clearAllLocks() {
+      delegate.clearAllLocks();
+    }
+
+    private <T> LockTask<T> timed(String lockKey, long requestedAt, LockTask<T> task) {
+      return () -> {
+        LOCK_WAITS.computeIfAbsent(prefixOf(lockKey), key -> new LatencyRecorder())
+            .record(System.nanoTime() - requestedAt);
+        return task.execute();
+      };
+    }
+
+    private static String prefixOf(String lockKey) {
+      int separator = lockKey.indexOf(':');
+      return separator > 0 ? lockKey.substring(0, separator) : lockKey;
+    }
+  }
+}
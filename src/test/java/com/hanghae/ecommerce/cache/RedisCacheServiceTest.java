@@ -1,6 +1,7 @@
 package com.hanghae.ecommerce.cache;
 
 import com.hanghae.ecommerce.infrastructure.cache.RedisCacheService;
+import com.hanghae.ecommerce.infrastructure.lock.LockManager;
 import com.hanghae.ecommerce.support.BaseIntegrationTest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import java.io.Serializable;
 import java.time.Duration;
@@ -34,6 +36,12 @@ class RedisCacheServiceTest extends BaseIntegrationTest {
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private LockManager lockManager;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
     private static final String TEST_CACHE_PREFIX = "test-cache:";
 
     @BeforeEach
@@ -355,6 +363,156 @@ class RedisCacheServiceTest extends BaseIntegrationTest {
         System.out.printf("설정된 TTL: %d초%n", remainingTtl);
     }
 
+    @Test
+    @DisplayName("2단계 캐시 - 등록한 접두사만 L1에서 조회하고 단계별 적중 수를 기록")
+    void testLocalCacheHit() {
+        // given
+        RedisCacheService cache = localCacheService();
+        String localKey = TEST_CACHE_PREFIX + "local:hit";
+        String remoteKey = TEST_CACHE_PREFIX + "remote:hit";
+        cache.set(localKey, new TestCacheData("로컬", 1), Duration.ofMinutes(5));
+        cache.set(remoteKey, new TestCacheData("원격", 2), Duration.ofMinutes(5));
+
+        // when - 첫 조회는 L2, 이후는 L1
+        for (int i = 0; i < 3; i++) {
+            cache.get(localKey, TestCacheData.class);
+            cache.get(remoteKey, TestCacheData.class);
+        }
+
+        // then
+        RedisCacheService.CacheStats stats = cache.getStats();
+        assertThat(stats.getL1Hits()).isEqualTo(2);
+        assertThat(stats.getL1Misses()).isEqualTo(1);
+        assertThat(stats.getL2Hits()).isEqualTo(4); // L1 미스 1회 + L1을 쓰지 않는 키 3회
+        assertThat(stats.getL1HitRatio()).isCloseTo(2.0 / 3, org.assertj.core.data.Offset.offset(0.001));
+        assertThat(stats.getL1Size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("2단계 캐시 - 다른 노드에서 저장/삭제하면 이 노드의 L1도 무효화")
+    void testLocalCacheInvalidationAcrossNodes() throws InterruptedException {
+        // given - 두 노드가 같은 키를 L1에 적재
+        RedisCacheService nodeA = localCacheService();
+        RedisCacheService nodeB = localCacheService();
+        String key = TEST_CACHE_PREFIX + "local:shared";
+        nodeA.set(key, new TestCacheData("이전값", 1), Duration.ofMinutes(5));
+        assertThat(nodeA.get(key, TestCacheData.class).getValue()).isEqualTo(1);
+        assertThat(nodeB.get(key, TestCacheData.class).getValue()).isEqualTo(1);
+
+        // when - B에서 값 변경
+        nodeB.set(key, new TestCacheData("새값", 2), Duration.ofMinutes(5));
+
+        // then - A는 무효화 메시지를 받은 뒤 L2에서 새 값을 읽음
+        assertThat(nodeB.get(key, TestCacheData.class).getValue()).isEqualTo(2);
+        assertThat(awaitValue(nodeA, key, 2)).isTrue();
+
+        // 패턴 삭제도 전파
+        nodeB.deleteByPattern(TEST_CACHE_PREFIX + "local:*");
+        assertThat(awaitValue(nodeA, key, null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Stale-While-Revalidate - 소프트 만료 후 동시 요청은 이전 값을 받고 갱신은 한 번만 실행")
+    void testStaleWhileRevalidate() throws InterruptedException {
+        // given - 하드 TTL 10분, 소프트 TTL 60ms (조기 갱신 없음)
+        RedisCacheService cache = new RedisCacheService(redisTemplate, lockManager, redisMessageListenerContainer,
+                new String[0], 100, 60_000, 0.0001, 0.0);
+        String key = TEST_CACHE_PREFIX + "swr";
+        AtomicInteger loaderCallCount = new AtomicInteger(0);
+        java.util.function.Supplier<TestCacheData> loader = () -> {
+            int callNumber = loaderCallCount.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new TestCacheData("결과", callNumber);
+        };
+        assertThat(cache.getOrLoad(key, TestCacheData.class, Duration.ofMinutes(10), loader).getValue()).isEqualTo(1);
+        Thread.sleep(100);
+
+        // when - 소프트 만료 후 20개 요청이 동시에 조회
+        int concurrentRequests = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(concurrentRequests);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch endLatch = new CountDownLatch(concurrentRequests);
+        AtomicInteger staleCount = new AtomicInteger(0);
+        for (int i = 0; i < concurrentRequests; i++) {
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    if (cache.getOrLoad(key, TestCacheData.class, Duration.ofMinutes(10), loader).getValue() == 1) {
+                        staleCount.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    System.err.println("요청 실패: " + e.getMessage());
+                } finally {
+                    endLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        assertThat(endLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        // then - 모두 기다리지 않고 이전 값을 받고, 백그라운드 갱신 1회 후 새 값으로 교체
+        assertThat(staleCount.get()).isEqualTo(concurrentRequests);
+        assertThat(awaitValue(cache, key, 2)).isTrue();
+        assertThat(loaderCallCount.get()).isEqualTo(2);
+        assertThat(redisCacheService.getTtl(key)).isGreaterThan(500); // 하드 TTL 유지
+        cache.shutdown();
+    }
+
+    @Test
+    @DisplayName("XFetch - 계산 시간에 비해 만료가 가까우면 소프트 만료 전에도 조기 갱신")
+    void testProbabilisticEarlyRefresh() throws InterruptedException {
+        // given - 소프트 TTL 8분, 조기 갱신 강도를 크게 잡아 계산 시간(50ms) x beta가 남은 시간을 넘게 함
+        RedisCacheService eager = new RedisCacheService(redisTemplate, lockManager, redisMessageListenerContainer,
+                new String[0], 100, 60_000, 0.8, 1e9);
+        RedisCacheService calm = new RedisCacheService(redisTemplate, lockManager, redisMessageListenerContainer,
+                new String[0], 100, 60_000, 0.8, 0.0);
+        String key = TEST_CACHE_PREFIX + "xfetch";
+        AtomicInteger loaderCallCount = new AtomicInteger(0);
+        java.util.function.Supplier<TestCacheData> loader = () -> {
+            int callNumber = loaderCallCount.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new TestCacheData("결과", callNumber);
+        };
+        calm.getOrLoad(key, TestCacheData.class, Duration.ofMinutes(10), loader);
+
+        // when & then - 조기 갱신이 없으면 소프트 만료 전에는 로더를 부르지 않음
+        assertThat(calm.getOrLoad(key, TestCacheData.class, Duration.ofMinutes(10), loader).getValue()).isEqualTo(1);
+        Thread.sleep(200);
+        assertThat(loaderCallCount.get()).isEqualTo(1);
+
+        // 조기 갱신에 당첨되면 이전 값을 바로 반환하고 백그라운드에서 갱신
+        assertThat(eager.getOrLoad(key, TestCacheData.class, Duration.ofMinutes(10), loader).getValue()).isEqualTo(1);
+        assertThat(awaitValue(calm, key, 2)).isTrue();
+        eager.shutdown();
+        calm.shutdown();
+    }
+
+    private RedisCacheService localCacheService() {
+        return new RedisCacheService(redisTemplate, lockManager, redisMessageListenerContainer,
+                new String[] { TEST_CACHE_PREFIX + "local:" }, 100, 60_000, 0.8, 1.0);
+    }
+
+    private boolean awaitValue(RedisCacheService cache, String key, Integer expected) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            TestCacheData data = cache.get(key, TestCacheData.class);
+            Integer value = data != null ? data.getValue() : null;
+            if (java.util.Objects.equals(value, expected)) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
     /**
      * 테스트용 캐시 데이터 클래스
      */
@@ -4,6 +4,7 @@ import com.hanghae.ecommerce.application.coupon.CouponService;
 import com.hanghae.ecommerce.domain.coupon.Coupon;
 import com.hanghae.ecommerce.domain.coupon.UserCoupon;
 import com.hanghae.ecommerce.domain.user.User;
+import com.hanghae.ecommerce.presentation.exception.CouponAlreadyIssuedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -303,4 +304,108 @@ class CouponIssuanceConcurrencyTest extends BaseConcurrencyTest {
     List<UserCoupon> issuedCoupons = userCouponRepository.findByCouponId(tinyCoupon.getId());
     assertThat(issuedCoupons).hasSize(5);
   }
+
+  @Test
+  @DisplayName("락 없는 발급 - 동일 사용자 동시 요청 시 유니크 키로 1번만 성공하고 나머지는 중복 발급 예외")
+  @DirtiesContext
+  void testLocklessDuplicateIssuanceForSameUser() throws Exception {
+    // given
+    User user = testUsers.get(0);
+    int attemptCount = 10;
+
+    ExecutorService executor = Executors.newFixedThreadPool(10);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch doneLatch = new CountDownLatch(attemptCount);
+    AtomicInteger successCount = new AtomicInteger(0);
+    AtomicInteger duplicateCount = new AtomicInteger(0);
+
+    // when
+    for (int i = 0; i < attemptCount; i++) {
+      executor.submit(() -> {
+        try {
+          startLatch.await();
+          couponService.issueCouponWithoutLock(testCoupon.getId(), user.getId());
+          successCount.incrementAndGet();
+        } catch (CouponAlreadyIssuedException e) {
+          duplicateCount.incrementAndGet();
+        } catch (Exception e) {
+          // 그 외 실패는 아래 검증에서 드러남
+        } finally {
+          doneLatch.countDown();
+        }
+      });
+    }
+
+    startLatch.countDown();
+    doneLatch.await(10, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    // then: 1번만 성공하고, 실패한 요청의 수량 증가는 롤백됨
+    assertThat(successCount.get()).isEqualTo(1);
+    assertThat(duplicateCount.get()).isEqualTo(attemptCount - 1);
+    assertThat(userCouponRepository.findByUserIdAndCouponId(user.getId(), testCoupon.getId())).hasSize(1);
+    Coupon updatedCoupon = couponRepository.findById(testCoupon.getId()).orElseThrow();
+    assertThat(updatedCoupon.getIssuedQuantity().getValue()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("발급 방식 비교 - 분산 락 방식과 락 없는 방식의 처리 시간 (같은 부하, 같은 결과)")
+  @DirtiesContext
+  void benchmarkLockedVersusLockless() throws Exception {
+    // given: 같은 수량의 쿠폰 두 개에 같은 사용자 1000명이 요청
+    Coupon lockedCoupon = createCoupon("분산 락 방식 쿠폰", 200, 10);
+    Coupon locklessCoupon = createCoupon("락 없는 방식 쿠폰", 200, 10);
+
+    // when
+    long lockedNanos = runIssuance(testUsers, userId -> couponService.issueCouponWithLock(lockedCoupon.getId(), userId));
+    long locklessNanos = runIssuance(testUsers,
+        userId -> couponService.issueCouponWithoutLock(locklessCoupon.getId(), userId));
+
+    System.out.println("=== Locked vs Lockless (1000 requests, 200 coupons, 50 threads) ===");
+    System.out.printf("Locked:   %d ms (%.1f req/s)%n", lockedNanos / 1_000_000,
+        testUsers.size() / (lockedNanos / 1_000_000_000.0));
+    System.out.printf("Lockless: %d ms (%.1f req/s)%n", locklessNanos / 1_000_000,
+        testUsers.size() / (locklessNanos / 1_000_000_000.0));
+
+    // then: 두 방식 모두 정확히 200명에게 한 번씩 발급
+    for (Coupon coupon : List.of(lockedCoupon, locklessCoupon)) {
+      Coupon updatedCoupon = couponRepository.findById(coupon.getId()).orElseThrow();
+      assertThat(updatedCoupon.getIssuedQuantity().getValue()).isEqualTo(200);
+
+      List<UserCoupon> issuedCoupons = userCouponRepository.findByCouponId(coupon.getId());
+      assertThat(issuedCoupons).hasSize(200);
+      assertThat(issuedCoupons.stream().map(UserCoupon::getUserId).distinct().count()).isEqualTo(200);
+    }
+  }
+
+  /**
+   * 50개 스레드로 사용자별 발급을 동시에 실행하고 전체 소요 시간(ns)을 반환
+   */
+  private long runIssuance(List<User> users, java.util.function.LongConsumer issue) throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(50);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch doneLatch = new CountDownLatch(users.size());
+
+    for (User user : users) {
+      executor.submit(() -> {
+        try {
+          startLatch.await();
+          issue.accept(user.getId());
+        } catch (Exception e) {
+          // 소진 실패는 정상
+        } finally {
+          doneLatch.countDown();
+        }
+      });
+    }
+
+    long startedAt = System.nanoTime();
+    startLatch.countDown();
+    boolean completed = doneLatch.await(60, TimeUnit.SECONDS);
+    long elapsed = System.nanoTime() - startedAt;
+    executor.shutdown();
+
+    assertThat(completed).isTrue();
+    return elapsed;
+  }
 }
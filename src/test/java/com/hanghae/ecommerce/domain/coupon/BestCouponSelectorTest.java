@@ -0,0 +1,108 @@
+package com.hanghae.ecommerce.domain.coupon;
+
+import com.hanghae.ecommerce.domain.product.Money;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BestCouponSelectorTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    @DisplayName("정률과 정액 쿠폰 중 할인 금액이 가장 큰 쿠폰 선택")
+    void select_LargestDiscount() {
+        // given - 장바구니 50,000원
+        List<UserCouponInfo> userCoupons = List.of(
+                userCoupon(1L, 10L, DiscountPolicy.rate(10), now.plusDays(3)), // 5,000원
+                userCoupon(2L, 20L, DiscountPolicy.amount(Money.of(7000)), now.plusDays(3)), // 7,000원
+                userCoupon(3L, 30L, DiscountPolicy.rate(12), now.plusDays(3))); // 6,000원
+
+        // when
+        BestCouponSelector.Selection selection = BestCouponSelector.of(userCoupons, now)
+                .select(new long[] { 100L, 200L }, new long[] { 30000L, 20000L });
+
+        // then
+        assertThat(selection.getUserCouponId()).isEqualTo(2L);
+        assertThat(selection.getCouponId()).isEqualTo(20L);
+        assertThat(selection.getDiscountAmount()).isEqualTo(7000L);
+        assertThat(selection.getSubtotalAmount()).isEqualTo(50000L);
+        assertThat(selection.getEvaluatedCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("최소 주문 금액 미달 쿠폰과 적용 상품이 없는 쿠폰은 제외")
+    void select_RespectsMinOrderAndApplicableProducts() {
+        // given - 장바구니 20,000원 (상품 100: 15,000원, 상품 200: 5,000원)
+        DiscountPolicy minOrder = DiscountPolicy.of(DiscountPolicy.DiscountType.AMOUNT, Money.of(10000),
+                Money.of(30000), null, DiscountPolicy.CouponType.ORDER);
+        DiscountPolicy otherProduct = DiscountPolicy.of(DiscountPolicy.DiscountType.PERCENTAGE, Money.of(50),
+                null, List.of(999L), DiscountPolicy.CouponType.CART_ITEM);
+        DiscountPolicy product200 = DiscountPolicy.of(DiscountPolicy.DiscountType.PERCENTAGE, Money.of(50),
+                null, List.of(200L), DiscountPolicy.CouponType.CART_ITEM);
+        List<UserCouponInfo> userCoupons = List.of(
+                userCoupon(1L, 10L, minOrder, now.plusDays(3)),
+                userCoupon(2L, 20L, otherProduct, now.plusDays(3)),
+                userCoupon(3L, 30L, product200, now.plusDays(3)),
+                userCoupon(4L, 40L, DiscountPolicy.amount(Money.of(1000)), now.plusDays(3)));
+
+        // when
+        BestCouponSelector.Selection selection = BestCouponSelector.of(userCoupons, now)
+                .select(new long[] { 100L, 200L }, new long[] { 15000L, 5000L });
+
+        // then - 상품 200 라인의 50% (2,500원)
+        assertThat(selection.getUserCouponId()).isEqualTo(3L);
+        assertThat(selection.getDiscountAmount()).isEqualTo(2500L);
+    }
+
+    @Test
+    @DisplayName("할인 금액이 같으면 만료가 빠른 쿠폰 선택")
+    void select_TieBreaksByExpiry() {
+        // given
+        List<UserCouponInfo> userCoupons = List.of(
+                userCoupon(1L, 10L, DiscountPolicy.amount(Money.of(3000)), now.plusDays(5)),
+                userCoupon(2L, 10L, DiscountPolicy.amount(Money.of(3000)), now.plusDays(1)));
+
+        // when
+        BestCouponSelector.Selection selection = BestCouponSelector.of(userCoupons, now)
+                .select(new long[] { 100L }, new long[] { 10000L });
+
+        // then
+        assertThat(selection.getUserCouponId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("사용한 쿠폰만 있으면 추천하지 않음")
+    void select_NoUsableCoupon() {
+        // given
+        UserCoupon used = UserCoupon.restore(1L, 1L, 10L, UserCouponState.USED, now.minusDays(1), now,
+                now.plusDays(3), now.minusDays(1), now);
+        List<UserCouponInfo> userCoupons = List.of(new UserCouponInfo(used, coupon(10L, DiscountPolicy.rate(10))));
+
+        // when
+        BestCouponSelector.Selection selection = BestCouponSelector.of(userCoupons, now)
+                .select(new long[] { 100L }, new long[] { 10000L });
+
+        // then
+        assertThat(selection.hasCoupon()).isFalse();
+        assertThat(selection.getDiscountAmount()).isZero();
+        assertThat(selection.getEvaluatedCount()).isZero();
+    }
+
+    private UserCouponInfo userCoupon(Long userCouponId, Long couponId, DiscountPolicy policy,
+            LocalDateTime expiresAt) {
+        UserCoupon userCoupon = UserCoupon.restore(userCouponId, 1L, couponId, UserCouponState.AVAILABLE,
+                now.minusDays(1), null, expiresAt, now.minusDays(1), now.minusDays(1));
+        return new UserCouponInfo(userCoupon, coupon(couponId, policy));
+    }
+
+    private Coupon coupon(Long couponId, DiscountPolicy policy) {
+        return Coupon.restore(couponId, "쿠폰 " + couponId, CouponState.NORMAL, policy, Quantity.of(100),
+                Quantity.of(1), now.minusDays(7), now.plusDays(7), now.minusDays(7), now.minusDays(7));
+    }
+}
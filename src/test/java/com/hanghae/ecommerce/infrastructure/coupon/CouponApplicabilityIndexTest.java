@@ -0,0 +1,122 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.CouponState;
+import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import com.hanghae.ecommerce.domain.product.Money;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CouponApplicabilityIndexTest {
+
+  @Mock
+  private CouponRepository couponRepository;
+
+  @Mock
+  private CouponDefinitionCache couponDefinitionCache;
+
+  private final LocalDateTime now = LocalDateTime.now();
+  private CouponApplicabilityIndex index;
+  private LongConsumer invalidationListener;
+
+  @BeforeEach
+  void setUp() {
+    index = new CouponApplicabilityIndex(couponRepository, couponDefinitionCache, 60_000);
+
+    ArgumentCaptor<LongConsumer> listener = ArgumentCaptor.forClass(LongConsumer.class);
+    verify(couponDefinitionCache).addInvalidationListener(listener.capture());
+    invalidationListener = listener.getValue();
+  }
+
+  @Test
+  @DisplayName("상품별 쿠폰과 전체 상품 쿠폰을 장바구니 상품으로 조회")
+  void findApplicableCouponIds() {
+    // given
+    given(couponRepository.findValidCoupons(any())).willReturn(List.of(
+        coupon(1L, List.of(100L, 200L)),
+        coupon(2L, List.of(200L)),
+        coupon(3L, null), // 전체 상품
+        coupon(4L, List.of(300L))));
+
+    // when & then
+    assertThat(index.findCouponIds(200L)).containsExactly(1L, 2L);
+    assertThat(index.findCouponIds(999L)).isEmpty();
+    assertThat(index.findApplicableCouponIds(new long[] { 100L, 200L })).containsExactly(1L, 2L, 3L);
+    assertThat(index.findApplicableCouponIds(new long[] { 999L })).containsExactly(3L);
+    assertThat(index.isIndexed(4L)).isTrue();
+    assertThat(index.isIndexed(5L)).isFalse();
+    assertThat(index.size()).isEqualTo(4);
+    verify(couponRepository, times(1)).findValidCoupons(any());
+  }
+
+  @Test
+  @DisplayName("무효화된 쿠폰은 다음 조회 때 해당 쿠폰만 다시 읽어 반영")
+  void appliesInvalidatedCoupon() {
+    // given
+    given(couponRepository.findValidCoupons(any())).willReturn(List.of(
+        coupon(1L, List.of(100L)),
+        coupon(2L, List.of(200L))));
+    assertThat(index.findCouponIds(100L)).containsExactly(1L);
+
+    // when - 1번 쿠폰의 적용 상품 변경, 2번 쿠폰 삭제
+    given(couponDefinitionCache.getAll(anyCollection())).willReturn(Map.of(1L, coupon(1L, List.of(300L))));
+    invalidationListener.accept(1L);
+    invalidationListener.accept(2L);
+
+    // then
+    assertThat(index.findCouponIds(100L)).isEmpty();
+    assertThat(index.findCouponIds(300L)).containsExactly(1L);
+    assertThat(index.isIndexed(2L)).isFalse();
+    verify(couponRepository, times(1)).findValidCoupons(any());
+  }
+
+  @Test
+  @DisplayName("전체 재생성은 백그라운드에서 하고, 그동안 기존 스냅샷으로 조회")
+  void rebuildsInBackground() throws InterruptedException {
+    // given
+    given(couponRepository.findValidCoupons(any())).willReturn(
+        List.of(coupon(1L, List.of(100L))),
+        List.of(coupon(2L, List.of(100L))));
+    assertThat(index.findCouponIds(100L)).containsExactly(1L);
+
+    // when
+    index.refresh();
+
+    // then - 조회 스레드는 기다리지 않고 기존 스냅샷을 받고, 재생성이 끝나면 새 스냅샷으로 조회
+    assertThat(index.findCouponIds(100L)).containsExactly(1L);
+    long[] couponIds = index.findCouponIds(100L);
+    for (int i = 0; i < 100 && couponIds[0] != 2L; i++) {
+      Thread.sleep(10);
+      couponIds = index.findCouponIds(100L);
+    }
+    assertThat(couponIds).containsExactly(2L);
+    verify(couponRepository, times(2)).findValidCoupons(any());
+  }
+
+  private Coupon coupon(Long couponId, List<Long> applicableProductIds) {
+    DiscountPolicy policy = DiscountPolicy.of(DiscountPolicy.DiscountType.AMOUNT, Money.of(1000), null,
+        applicableProductIds, DiscountPolicy.CouponType.CART_ITEM);
+    return Coupon.restore(couponId, "쿠폰 " + couponId, CouponState.NORMAL, policy, Quantity.of(100),
+        Quantity.of(0), now.minusDays(1), now.plusDays(7), now.minusDays(1), now.minusDays(1));
+  }
+}
@@ -0,0 +1,108 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿠폰 정의 로컬 캐시 테스트
+ *
+ * 캐시를 직접 두 개 생성하여 서로 다른 노드를 흉내 냅니다.
+ */
+@DisplayName("CouponDefinitionCache 테스트")
+class CouponDefinitionCacheTest extends BaseIntegrationTest {
+
+  @Autowired
+  private CouponRepository couponRepository;
+
+  @Autowired
+  private RedisTemplate<String, Object> redisTemplate;
+
+  @Autowired
+  private RedisMessageListenerContainer listenerContainer;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Coupon coupon;
+  private CouponDefinitionCache nodeA;
+  private CouponDefinitionCache nodeB;
+
+  @BeforeEach
+  void setUp() {
+    coupon = couponRepository.save(Coupon.create(
+        "정의 캐시 테스트 쿠폰",
+        DiscountPolicy.rate(10),
+        Quantity.of(100),
+        LocalDateTime.now().minusDays(1),
+        LocalDateTime.now().plusDays(7)));
+    nodeA = new CouponDefinitionCache(couponRepository, redisTemplate, listenerContainer, 60_000);
+    nodeB = new CouponDefinitionCache(couponRepository, redisTemplate, listenerContainer, 60_000);
+  }
+
+  @Test
+  @DisplayName("한 노드에서 무효화하면 다른 노드의 캐시도 제거되고 다시 조회하면 변경된 정의를 얻는다")
+  void invalidationIsBroadcast() throws InterruptedException {
+    // given
+    Long couponId = coupon.getId();
+    nodeA.get(couponId);
+    nodeB.get(couponId);
+    jdbcTemplate.update("UPDATE coupons SET name = ? WHERE id = ?", "변경된 쿠폰", couponId);
+
+    // when
+    nodeA.invalidate(couponId);
+
+    // then
+    assertThat(nodeA.isCached(couponId)).isFalse();
+    assertThat(waitUntil(() -> !nodeB.isCached(couponId))).isTrue();
+    assertThat(nodeB.get(couponId)).get().extracting(Coupon::getName).isEqualTo("변경된 쿠폰");
+  }
+
+  @Test
+  @DisplayName("늦게 도착한 이전 버전의 무효화 메시지는 새로 적재한 항목을 지우지 않는다")
+  void staleInvalidationIsIgnored() throws InterruptedException {
+    // given - 무효화 메시지를 받아 제거된 뒤 다시 적재
+    Long couponId = coupon.getId();
+    nodeB.get(couponId);
+    nodeA.invalidate(couponId);
+    assertThat(waitUntil(() -> !nodeB.isCached(couponId))).isTrue();
+    nodeB.get(couponId);
+
+    // when - 이미 반영된 이전 버전 메시지가 다시 도착
+    long currentVersion = Long.parseLong(String.valueOf(
+        redisTemplate.opsForValue().get("coupon:definition:version:" + couponId)));
+    byte[] channel = CouponDefinitionCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+    byte[] body = (couponId + ":" + (currentVersion - 1)).getBytes(StandardCharsets.UTF_8);
+    redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+    Thread.sleep(300);
+
+    // then
+    assertThat(nodeB.isCached(couponId)).isTrue();
+  }
+
+  private boolean waitUntil(BooleanSupplier condition) throws InterruptedException {
+    for (int i = 0; i < 50; i++) {
+      if (condition.getAsBoolean()) {
+        return true;
+      }
+      Thread.sleep(50);
+    }
+    return condition.getAsBoolean();
+  }
+}
@@ -2,22 +2,28 @@ package com.hanghae.ecommerce.infrastructure.coupon;
 
 import com.hanghae.ecommerce.application.coupon.CouponService;
 import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.CouponIssuanceLag;
 import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
 import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
 import com.hanghae.ecommerce.domain.coupon.repository.UserCouponRepository;
 import com.hanghae.ecommerce.domain.product.Quantity;
 import com.hanghae.ecommerce.domain.user.User;
 import com.hanghae.ecommerce.domain.user.repository.UserRepository;
+import com.hanghae.ecommerce.infrastructure.lock.SchedulerLeaseManager;
+import com.hanghae.ecommerce.infrastructure.scheduler.CouponIssuanceScheduler;
+import com.hanghae.ecommerce.presentation.exception.CouponSoldOutException;
 import com.hanghae.ecommerce.support.BaseIntegrationTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -25,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * 쿠폰 발급 통합 테스트
@@ -49,6 +56,18 @@ class CouponIssuanceIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CouponIssuanceMetrics couponIssuanceMetrics;
+
+    @Autowired
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    @Autowired
+    private CouponCampaignCloser couponCampaignCloser;
+
     private Coupon testCoupon;
     private List<User> testUsers;
 
@@ -257,5 +276,162 @@ class CouponIssuanceIntegrationTest extends BaseIntegrationTest {
         int issuedCount = userCouponRepository.findByCouponId(couponId).size();
         assertThat(issuedCount).isEqualTo(totalCoupons);
     }
-}
 
+    @Test
+    @DisplayName("품절 후 요청 - 남은 수량이 0이면 사용자/쿠폰 조회 없이 바로 거절")
+    void testSoldOutFailsFast() {
+        // given - 수량이 모두 소진된 상태
+        Long couponId = testCoupon.getId();
+        couponQueueService.initializeQuantity(couponId, 1);
+        couponQueueService.decrementQuantity(couponId);
+
+        // when & then - 존재하지 않는 사용자여도 사용자 조회 전에 품절로 거절
+        assertThatThrownBy(() -> couponService.requestCouponIssue(couponId, Long.MAX_VALUE))
+                .isInstanceOf(CouponSoldOutException.class);
+        assertThat(couponQueueService.getQueueSize(couponId)).isZero();
+
+        // 수량이 복구되면 다시 요청 가능
+        couponQueueService.restoreQuantity(couponId, 1);
+        assertThat(couponService.requestCouponIssue(couponId, testUsers.get(0).getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("배치 발급 - 선착순 100명만 한 번에 발급하고 발급 수량을 함께 반영")
+    void testBatchIssuanceByScheduler() {
+        // given - 200명이 순서대로 요청
+        Long couponId = testCoupon.getId();
+        for (User user : testUsers) {
+            couponService.requestCouponIssue(couponId, user.getId());
+        }
+
+        List<Long> expectedUserIds = couponQueueService.getTopUsers(couponId, 100).stream()
+                .map(userId -> Long.valueOf(userId.toString()))
+                .sorted()
+                .toList();
+
+        // 테스트 프로파일에서는 빈이 등록되지 않으므로 직접 생성하여 실행
+        CouponIssuanceScheduler scheduler = new CouponIssuanceScheduler(
+                couponQueueService, couponRepository, couponService, couponIssuanceMetrics, schedulerLeaseManager,
+                couponCampaignCloser);
+
+        // when
+        int issued = scheduler.processCouponQueue(testCoupon);
+
+        // then - 앞선 100명만 발급
+        assertThat(issued).isEqualTo(100);
+        List<Long> issuedUserIds = userCouponRepository.findByCouponId(couponId).stream()
+                .map(userCoupon -> userCoupon.getUserId())
+                .sorted()
+                .toList();
+        assertThat(issuedUserIds).containsExactlyElementsOf(expectedUserIds);
+
+        Integer issuedQuantity = jdbcTemplate.queryForObject(
+                "SELECT issued_quantity FROM coupons WHERE id = ?", Integer.class, couponId);
+        assertThat(issuedQuantity).isEqualTo(100);
+        assertThat(couponQueueService.getRemainingQuantity(couponId)).contains(0);
+        assertThat(couponQueueService.isAlreadyIssued(couponId, expectedUserIds.get(0))).isTrue();
+        // 수량이 소진되어 캠페인 종료 - 나머지 대기자는 거절되고 새 요청도 품절
+        assertThat(couponQueueService.isClosed(couponId)).isTrue();
+        assertThat(couponQueueService.getQueueSize(couponId)).isZero();
+        assertThatThrownBy(() -> couponService.requestCouponIssue(couponId, testUsers.get(150).getId()))
+                .isInstanceOf(CouponSoldOutException.class);
+
+        // 수량이 없으면 다시 실행해도 발급되지 않음
+        assertThat(scheduler.processCouponQueue(testCoupon)).isZero();
+    }
+
+    @Test
+    @DisplayName("배치 발급 - 이미 발급받은 사용자는 건너뛰고 수량을 되돌린다")
+    void testBatchIssuanceSkipsAlreadyIssuedUsers() {
+        // given - 첫 번째 사용자는 이미 DB에 발급되어 있음 (Redis 발급 Set에는 없음)
+        Long couponId = testCoupon.getId();
+        Long alreadyIssuedUserId = testUsers.get(0).getId();
+        couponService.issueCouponFromQueue(couponId, alreadyIssuedUserId);
+        for (int i = 0; i < 10; i++) {
+            couponService.requestCouponIssue(couponId, testUsers.get(i).getId());
+        }
+        couponQueueService.initializeQuantity(couponId, 99);
+
+        // when
+        java.util.Map<Long, Double> claimed = couponQueueService.claimBatch(couponId, 500);
+        CouponService.BatchIssueResult result = couponService.issueCouponsFromQueue(
+                couponId, new ArrayList<>(claimed.keySet()));
+        couponQueueService.restoreQuantity(couponId, result.getDuplicateUserIds().size());
+
+        // then
+        assertThat(claimed).hasSize(10);
+        assertThat(result.getIssuedUserIds()).hasSize(9).doesNotContain(alreadyIssuedUserId);
+        assertThat(result.getDuplicateUserIds()).containsExactly(alreadyIssuedUserId);
+        assertThat(couponQueueService.getRemainingQuantity(couponId)).contains(90);
+        assertThat(userCouponRepository.findByCouponId(couponId)).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("배치 선점 취소 - 원래 순서대로 대기열에 복원하고 수량을 되돌린다")
+    void testRequeueRestoresOrderAndQuantity() {
+        // given
+        Long couponId = testCoupon.getId();
+        Long firstUserId = testUsers.get(0).getId();
+        for (int i = 0; i < 5; i++) {
+            couponQueueService.enqueue(couponId, testUsers.get(i).getId());
+        }
+        couponQueueService.initializeQuantity(couponId, 3);
+        long firstUserRank = couponQueueService.getQueueRank(couponId, firstUserId);
+        java.util.Map<Long, Double> claimed = couponQueueService.claimBatch(couponId, 500);
+        assertThat(claimed).hasSize(3);
+        assertThat(couponQueueService.getQueueSize(couponId)).isEqualTo(2);
+
+        // when
+        couponQueueService.requeue(couponId, claimed);
+
+        // then
+        assertThat(couponQueueService.getQueueSize(couponId)).isEqualTo(5);
+        assertThat(couponQueueService.getQueueRank(couponId, firstUserId)).isEqualTo(firstUserRank);
+        assertThat(couponQueueService.getRemainingQuantity(couponId)).contains(3);
+    }
+
+    @Test
+    @DisplayName("병렬 워커 - 쿠폰마다 독립적으로 발급하고 쿠폰별 지연 현황을 기록한다")
+    void testParallelWorkersPerCoupon() {
+        // given - 두 쿠폰에 같은 사용자들이 요청
+        Coupon otherCoupon = couponRepository.save(Coupon.create(
+                "병렬 발급 테스트 쿠폰",
+                DiscountPolicy.rate(5),
+                Quantity.of(150),
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(7)));
+        couponQueueService.clearQueue(otherCoupon.getId());
+        for (User user : testUsers) {
+            couponService.requestCouponIssue(testCoupon.getId(), user.getId());
+            couponService.requestCouponIssue(otherCoupon.getId(), user.getId());
+        }
+
+        CouponIssuanceScheduler scheduler = new CouponIssuanceScheduler(
+                couponQueueService, couponRepository, couponService, couponIssuanceMetrics, schedulerLeaseManager,
+                couponCampaignCloser);
+
+        // when - 같은 쿠폰을 두 번 띄워도 워커는 하나만 실행
+        CompletableFuture<Integer> first = scheduler.dispatch(testCoupon);
+        CompletableFuture<Integer> duplicate = scheduler.dispatch(testCoupon);
+        CompletableFuture<Integer> other = scheduler.dispatch(otherCoupon);
+        int issued = first.join() + duplicate.join();
+        int otherIssued = other.join();
+        scheduler.shutdown();
+
+        // then
+        assertThat(issued).isEqualTo(100);
+        assertThat(otherIssued).isEqualTo(150);
+        assertThat(userCouponRepository.findByCouponId(testCoupon.getId())).hasSize(100);
+        assertThat(userCouponRepository.findByCouponId(otherCoupon.getId())).hasSize(150);
+
+        CouponIssuanceLag lag = couponIssuanceMetrics.getLag(otherCoupon.getId());
+        assertThat(lag.getIssuedTotal()).isEqualTo(150);
+        assertThat(lag.getQueueDepth()).isZero(); // 수량 소진으로 남은 50명은 거절
+        assertThat(lag.getOldestWaitMillis()).isZero();
+        assertThat(lag.getBatchSize()).isBetween(50, 1000);
+        assertThat(lag.getLastProcessedAt()).isNotNull();
+        assertThat(couponService.getIssuanceLag())
+                .extracting(CouponIssuanceLag::getCouponId)
+                .doesNotContain(testCoupon.getId(), otherCoupon.getId()); // 종료된 캠페인은 목록에서 제외
+    }
+}
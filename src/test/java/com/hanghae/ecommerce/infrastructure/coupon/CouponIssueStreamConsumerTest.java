@@ -0,0 +1,207 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import com.hanghae.ecommerce.application.coupon.CouponService;
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
+import com.hanghae.ecommerce.domain.coupon.UserCoupon;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import com.hanghae.ecommerce.domain.coupon.repository.UserCouponRepository;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import com.hanghae.ecommerce.domain.user.User;
+import com.hanghae.ecommerce.domain.user.repository.UserRepository;
+import com.hanghae.ecommerce.infrastructure.scheduler.CouponIssueStreamConsumer;
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿠폰 발급 Stream 컨슈머 그룹 테스트
+ *
+ * 테스트 프로파일에서는 컨슈머 빈이 등록되지 않으므로 직접 생성하여 여러 노드를 흉내 냅니다.
+ */
+@DisplayName("쿠폰 발급 Stream 컨슈머 테스트")
+@TestPropertySource(properties = "app.coupon.stream.enabled=true")
+class CouponIssueStreamConsumerTest extends BaseIntegrationTest {
+
+  @Autowired
+  private CouponService couponService;
+
+  @Autowired
+  private CouponQueueService couponQueueService;
+
+  @Autowired
+  private CouponIssueStreamService couponIssueStreamService;
+
+  @Autowired
+  private CouponRepository couponRepository;
+
+  @Autowired
+  private UserCouponRepository userCouponRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private CouponCampaignCloser couponCampaignCloser;
+
+  @Autowired
+  private RedisTemplate<String, Object> redisTemplate;
+
+  private Coupon coupon;
+  private List<User> users;
+
+  @BeforeEach
+  void setUp() {
+    coupon = couponRepository.save(Coupon.create(
+        "Stream 테스트 쿠폰",
+        DiscountPolicy.rate(10),
+        Quantity.of(20),
+        LocalDateTime.now().minusDays(1),
+        LocalDateTime.now().plusDays(7)));
+    couponQueueService.clearQueue(coupon.getId());
+
+    users = new ArrayList<>();
+    long timestamp = System.currentTimeMillis();
+    for (int i = 0; i < 30; i++) {
+      users.add(userRepository.save(User.create(
+          "streamuser" + i + "_" + timestamp + "@test.com", "스트림유저" + i, "010-1234-0000")));
+    }
+  }
+
+  @Test
+  @DisplayName("여러 컨슈머가 요청을 나눠 처리해도 수량만큼만 한 번씩 발급된다")
+  void consumersShareRequests() {
+    // given
+    users.forEach(user -> couponService.requestCouponIssue(coupon.getId(), user.getId()));
+    CouponIssueStreamConsumer nodeA = newConsumer("node-a");
+    CouponIssueStreamConsumer nodeB = newConsumer("node-b");
+
+    // when - 두 노드가 번갈아 읽음
+    int issued = 0;
+    for (int round = 0; round < 5; round++) {
+      issued += nodeA.pollOnce(Duration.ofMillis(100));
+      issued += nodeB.pollOnce(Duration.ofMillis(100));
+    }
+
+    // then
+    assertThat(issued).isEqualTo(20);
+    assertThat(userCouponRepository.findByCouponId(coupon.getId())).hasSize(20);
+    assertThat(couponQueueService.getRemainingQuantity(coupon.getId())).contains(0);
+    assertThat(couponIssueStreamService.getPendingCount(coupon.getId())).isZero();
+    assertThat(couponQueueService.isClosed(coupon.getId())).isTrue(); // 수량이 소진되어 캠페인 종료
+    assertThat(couponQueueService.getQueueSize(coupon.getId())).isZero(); // 수량 밖의 요청은 거절
+    assertThat(redisTemplate.opsForStream().size(CouponIssueStreamService.streamKey(coupon.getId())))
+        .isZero(); // 확인한 요청은 Stream에서 삭제
+  }
+
+  @Test
+  @DisplayName("수량이 돌아오면 대기열에 남은 사용자에게 요청 순서대로 발급한다")
+  void restoredQuantityServesWaitingUsersInOrder() {
+    // given - 3번, 7번 사용자는 이미 DB에 발급되어 있지만 Redis에는 기록이 없음 (수량 20 - 2 = 18)
+    List<User> requesters = users.subList(0, 25);
+    LocalDateTime expiresAt = coupon.getEndDate();
+    userCouponRepository.save(UserCoupon.issue(requesters.get(3).getId(), coupon.getId(), expiresAt));
+    userCouponRepository.save(UserCoupon.issue(requesters.get(7).getId(), coupon.getId(), expiresAt));
+    requesters.forEach(user -> couponService.requestCouponIssue(coupon.getId(), user.getId()));
+    CouponIssueStreamConsumer node = newConsumer("node-a");
+
+    // when - 0~17번에 수량을 확보하고, 중복 2명 몫은 대기열 앞의 18, 19번에게 돌아감
+    int issued = node.pollOnce(Duration.ofMillis(100));
+
+    // then
+    assertThat(issued).isEqualTo(18);
+    assertThat(userCouponRepository.findByCouponId(coupon.getId())).hasSize(20);
+    assertThat(couponQueueService.isAlreadyIssued(coupon.getId(), requesters.get(18).getId())).isTrue();
+    assertThat(couponQueueService.isAlreadyIssued(coupon.getId(), requesters.get(19).getId())).isTrue();
+    assertThat(couponQueueService.isAlreadyIssued(coupon.getId(), requesters.get(20).getId())).isFalse();
+    assertThat(couponQueueService.getRemainingQuantity(coupon.getId())).contains(0);
+    assertThat(couponQueueService.isClosed(coupon.getId())).isTrue();
+  }
+
+  @Test
+  @DisplayName("다른 컨슈머가 처리 중인 요청이 있으면 수량이 소진되어도 캠페인을 종료하지 않는다")
+  void defersCloseWhileRequestsInFlight() {
+    // given - 수량은 모두 소진되었지만 종료된 노드가 읽은 요청이 아직 확인되지 않음
+    couponService.requestCouponIssue(coupon.getId(), users.get(0).getId());
+    couponIssueStreamService.ensureGroup(coupon.getId(), coupon.getEndDate());
+    couponIssueStreamService.read("crashed-node", List.of(coupon.getId()), 100, Duration.ofMillis(100));
+    couponQueueService.tryTakeQuantity(coupon.getId(), 20);
+    CouponIssueStreamConsumer node = newConsumer("node-b");
+
+    // when - 확인 대기 요청이 남아 있는 동안에는 종료하지 않고, 회수로 처리한 뒤 종료
+    node.reclaimPending(Duration.ofHours(1));
+    boolean closedWhilePending = couponQueueService.isClosed(coupon.getId());
+    node.reclaimPending(Duration.ZERO);
+
+    // then
+    assertThat(closedWhilePending).isFalse();
+    assertThat(couponIssueStreamService.getPendingCount(coupon.getId())).isZero();
+    assertThat(couponQueueService.isClosed(coupon.getId())).isTrue();
+  }
+
+  @Test
+  @DisplayName("처리 중 종료된 컨슈머의 미확인 요청은 다른 컨슈머가 회수해 발급한다")
+  void reclaimFromCrashedConsumer() {
+    // given - 종료된 노드가 요청을 읽기만 하고 확인하지 않음
+    List<User> requesters = users.subList(0, 5);
+    requesters.forEach(user -> couponService.requestCouponIssue(coupon.getId(), user.getId()));
+    couponIssueStreamService.ensureGroup(coupon.getId(), coupon.getEndDate());
+    Map<Long, List<CouponIssueStreamService.IssueRequest>> lost = couponIssueStreamService.read(
+        "crashed-node", List.of(coupon.getId()), 100, Duration.ofMillis(100));
+    assertThat(lost.get(coupon.getId())).hasSize(5);
+
+    CouponIssueStreamConsumer survivor = newConsumer("node-b");
+
+    // when - 새 요청은 없으므로 일반 읽기로는 가져올 수 없고, 회수로만 처리됨
+    int polled = survivor.pollOnce(Duration.ofMillis(100));
+    int reclaimed = survivor.reclaimPending(Duration.ZERO);
+
+    // then
+    assertThat(polled).isZero();
+    assertThat(reclaimed).isEqualTo(5);
+    assertThat(userCouponRepository.findByCouponId(coupon.getId())).hasSize(5);
+    assertThat(couponIssueStreamService.getPendingCount(coupon.getId())).isZero();
+    assertThat(couponQueueService.isAlreadyIssued(coupon.getId(), requesters.get(0).getId())).isTrue();
+  }
+
+  @Test
+  @DisplayName("수량을 확보한 뒤 종료된 컨슈머의 요청을 회수하면 수량을 다시 차감하지 않는다")
+  void reclaimResumesReservation() {
+    // given - 종료된 노드가 5명의 수량을 확보(20 → 15)한 뒤 DB 발급과 확인 전에 종료
+    List<User> requesters = users.subList(0, 5);
+    requesters.forEach(user -> couponService.requestCouponIssue(coupon.getId(), user.getId()));
+    couponIssueStreamService.ensureGroup(coupon.getId(), coupon.getEndDate());
+    Map<String, Long> lost = new LinkedHashMap<>();
+    couponIssueStreamService.read("crashed-node", List.of(coupon.getId()), 100, Duration.ofMillis(100))
+        .get(coupon.getId())
+        .forEach(request -> lost.put(request.getRecordId(), request.getUserId()));
+    couponQueueService.reserveQuantity(coupon.getId(), lost, true, coupon.getEndDate());
+    assertThat(couponQueueService.getRemainingQuantity(coupon.getId())).contains(15);
+
+    // when
+    int reclaimed = newConsumer("node-b").reclaimPending(Duration.ZERO);
+
+    // then - 이어받은 수량으로 발급되어 남은 수량은 그대로이고, 확보 기록은 확인과 함께 삭제됨
+    assertThat(reclaimed).isEqualTo(5);
+    assertThat(couponQueueService.getRemainingQuantity(coupon.getId())).contains(15);
+    assertThat(redisTemplate.hasKey(CouponIssueStreamService.reservationKey(coupon.getId()))).isFalse();
+  }
+
+  private CouponIssueStreamConsumer newConsumer(String name) {
+    return new CouponIssueStreamConsumer(
+        couponQueueService, couponIssueStreamService, couponRepository, couponService, couponCampaignCloser, name);
+  }
+}
@@ -0,0 +1,84 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿠폰 대기열 순위 방송기 테스트
+ *
+ * 틱을 직접 호출하기 위해 자동 틱 주기를 길게 잡아 직접 생성합니다.
+ */
+@DisplayName("CouponQueueBroadcaster 테스트")
+class CouponQueueBroadcasterTest extends BaseIntegrationTest {
+
+  @Autowired
+  private CouponQueueService couponQueueService;
+
+  private final Long couponId = 3L;
+  private CouponQueueBroadcaster broadcaster;
+
+  @BeforeEach
+  void setUp() {
+    couponQueueService.clearQueue(couponId);
+    broadcaster = new CouponQueueBroadcaster(couponQueueService, 3_600_000, 60_000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    broadcaster.shutdown();
+    couponQueueService.clearQueue(couponId);
+  }
+
+  @Test
+  @DisplayName("대기열에 없는 사용자는 구독하지 않고 바로 종료")
+  void notQueuedUserIsNotSubscribed() {
+    // when
+    broadcaster.subscribe(couponId, 999L);
+
+    // then
+    assertThat(broadcaster.getSubscriberCount(couponId)).isZero();
+  }
+
+  @Test
+  @DisplayName("발급되었거나 품절로 끝난 구독자는 틱에서 결과를 받고 정리된다")
+  void subscribersAreResolvedAfterIssuanceAndSoldOut() throws InterruptedException {
+    // given - 4명 대기, 수량 2, 모두 구독
+    List<Long> userIds = List.of(11L, 12L, 13L, 14L);
+    for (Long userId : userIds) {
+      couponQueueService.enqueue(couponId, userId);
+      Thread.sleep(2);
+    }
+    couponQueueService.initializeQuantity(couponId, 2);
+    userIds.forEach(userId -> broadcaster.subscribe(couponId, userId));
+    assertThat(broadcaster.getSubscriberCount(couponId)).isEqualTo(4);
+
+    // when - 앞의 2명 발급 후 품절
+    Map<Long, Double> claimed = couponQueueService.claimBatch(couponId, 10);
+    couponQueueService.markAsIssued(couponId, new ArrayList<>(claimed.keySet()), null);
+    broadcaster.tick();
+
+    // then
+    assertThat(claimed).containsOnlyKeys(11L, 12L);
+    assertThat(waitUntilEmpty()).isTrue();
+  }
+
+  private boolean waitUntilEmpty() throws InterruptedException {
+    for (int i = 0; i < 50; i++) {
+      if (broadcaster.getSubscriberCount(couponId) == 0) {
+        return true;
+      }
+      Thread.sleep(50);
+    }
+    return false;
+  }
+}
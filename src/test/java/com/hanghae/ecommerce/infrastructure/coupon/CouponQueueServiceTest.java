@@ -7,6 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -103,6 +107,23 @@ class CouponQueueServiceTest extends BaseIntegrationTest {
     assertThat(rank).isEqualTo(-1); // 이미 발급됨
   }
 
+  @Test
+  @DisplayName("대기열 진입 시 TTL이 함께 설정되고 기존 API로 조회된다")
+  void testEnqueueSetsTtl() {
+    // given
+    Long userId = 100L;
+    LocalDateTime couponEndDate = LocalDateTime.now().plusDays(2);
+
+    // when
+    couponQueueService.enqueue(testCouponId, userId, couponEndDate);
+
+    // then - 종료일 + 1일 이내의 TTL
+    Long ttl = redisTemplate.getExpire("coupon:queue:" + testCouponId, TimeUnit.SECONDS);
+    assertThat(ttl).isBetween(Duration.ofDays(3).minusMinutes(1).getSeconds(), Duration.ofDays(3).getSeconds());
+    assertThat(couponQueueService.getTopUsers(testCouponId, 1)).containsExactly(String.valueOf(userId));
+    assertThat(couponQueueService.getQueueRank(testCouponId, userId)).isEqualTo(1);
+  }
+
   @Test
   @DisplayName("상위 N명 조회")
   void testGetTopUsers() {
@@ -236,4 +257,183 @@ class CouponQueueServiceTest extends BaseIntegrationTest {
     assertThat(successCount.get()).isEqualTo(concurrentUsers);
     assertThat(couponQueueService.getQueueSize(testCouponId)).isEqualTo(concurrentUsers);
   }
+
+  @Test
+  @DisplayName("비트맵 발급 저장소 - 같은 API로 발급 여부를 기록하고 대기열 스크립트에 반영")
+  void testBitmapIssuedStore() {
+    // given - 청크가 서로 다른 사용자들 (ID가 큰 사용자 포함)
+    CouponQueueService bitmapQueueService = new CouponQueueService(redisTemplate, false, "bitmap", 1);
+    Long couponId = 2L;
+    bitmapQueueService.clearQueue(couponId);
+    List<Long> issuedUserIds = List.of(5L, 70_000L, 9_000_000_000L);
+
+    // when
+    bitmapQueueService.markAsIssued(couponId, issuedUserIds, LocalDateTime.now().plusDays(1));
+    bitmapQueueService.markAsIssued(couponId, 6L);
+
+    // then
+    assertThat(issuedUserIds).allMatch(userId -> bitmapQueueService.isAlreadyIssued(couponId, userId));
+    assertThat(bitmapQueueService.isAlreadyIssued(couponId, 6L)).isTrue();
+    assertThat(bitmapQueueService.isAlreadyIssued(couponId, 7L)).isFalse();
+    assertThat(bitmapQueueService.isAlreadyIssued(couponId, 9_000_000_001L)).isFalse();
+    assertThat(bitmapQueueService.enqueue(couponId, 70_000L)).isEqualTo(-1);
+    assertThat(bitmapQueueService.enqueue(couponId, 7L)).isEqualTo(1);
+
+    // 비트맵에 기록된 사용자는 선점에서도 제외
+    redisTemplate.opsForZSet().add("coupon:queue:" + couponId, "5", 0);
+    bitmapQueueService.initializeQuantity(couponId, 10);
+    assertThat(bitmapQueueService.claimBatch(couponId, 10)).containsOnlyKeys(7L);
+
+    bitmapQueueService.clearQueue(couponId);
+    assertThat(bitmapQueueService.isAlreadyIssued(couponId, 5L)).isFalse();
+    assertThat(bitmapQueueService.getIssuedMemoryUsage(couponId)).isZero();
+  }
+
+  @Test
+  @DisplayName("비트맵 발급 저장소 - 같은 사용자 수에서 Set보다 메모리를 적게 사용")
+  void testBitmapIssuedStoreMemory() {
+    // given - ID가 큰 사용자 10,000명
+    CouponQueueService bitmapQueueService = new CouponQueueService(redisTemplate, false, "bitmap", 1);
+    Long bitmapCouponId = 2L;
+    bitmapQueueService.clearQueue(bitmapCouponId);
+    List<Long> userIds = new ArrayList<>();
+    for (long userId = 5_000_000L; userId < 5_010_000L; userId++) {
+      userIds.add(userId);
+    }
+
+    // when
+    couponQueueService.markAsIssued(testCouponId, userIds, null);
+    bitmapQueueService.markAsIssued(bitmapCouponId, userIds, null);
+
+    // then
+    long setBytes = couponQueueService.getIssuedMemoryUsage(testCouponId);
+    long bitmapBytes = bitmapQueueService.getIssuedMemoryUsage(bitmapCouponId);
+    System.out.printf("발급 완료 10,000명 메모리 - Set: %d bytes, Bitmap: %d bytes%n", setBytes, bitmapBytes);
+
+    assertThat(bitmapBytes).isPositive();
+    assertThat(bitmapBytes * 10).isLessThan(setBytes);
+    assertThat(bitmapQueueService.isAlreadyIssued(bitmapCouponId, 5_009_999L)).isTrue();
+    assertThat(bitmapQueueService.isAlreadyIssued(bitmapCouponId, 5_010_000L)).isFalse();
+
+    bitmapQueueService.clearQueue(bitmapCouponId);
+  }
+
+  @Test
+  @DisplayName("번호표 - 헤드 오프셋을 빼면 배치 선점과 되돌리기 후에도 현재 순위와 같음")
+  void testQueueTicket() throws InterruptedException {
+    // given - 5명 대기, 수량 10
+    for (long userId = 1; userId <= 5; userId++) {
+      couponQueueService.enqueue(testCouponId, userId);
+      Thread.sleep(2);
+    }
+    couponQueueService.initializeQuantity(testCouponId, 10);
+    long ticket = couponQueueService.getQueueTicket(testCouponId, 5L);
+
+    // when - 2명 선점 후 1명 되돌림
+    var claimed = couponQueueService.claimBatch(testCouponId, 2);
+    long afterClaim = ticket - couponQueueService.getQueueHeadOffset(testCouponId);
+    couponQueueService.requeue(testCouponId, java.util.Map.of(1L, claimed.get(1L)));
+    long afterRequeue = ticket - couponQueueService.getQueueHeadOffset(testCouponId);
+
+    // then
+    assertThat(ticket).isEqualTo(5);
+    assertThat(afterClaim).isEqualTo(3).isEqualTo(couponQueueService.getQueueRank(testCouponId, 5L));
+    assertThat(afterRequeue).isEqualTo(4).isEqualTo(couponQueueService.getQueueRank(testCouponId, 5L));
+    assertThat(couponQueueService.getQueueTicket(testCouponId, 2L)).isEqualTo(-1);
+  }
+
+  @Test
+  @DisplayName("되돌리기 - 비워진 대기열은 캠페인 TTL로 다시 만들고, 종료된 캠페인에는 되돌리지 않음")
+  void testRequeueKeepsTtlAndSkipsClosedCampaign() {
+    // given - 1명 대기, 수량 1 (선점하면 대기열 키가 지워짐)
+    String queueKey = "coupon:queue:" + testCouponId;
+    couponQueueService.enqueue(testCouponId, 1L);
+    couponQueueService.initializeQuantity(testCouponId, 1);
+    var claimed = couponQueueService.claimBatch(testCouponId, 10);
+    assertThat(redisTemplate.hasKey(queueKey)).isFalse();
+
+    // when
+    boolean requeued = couponQueueService.requeue(testCouponId, claimed);
+
+    // then - 되돌린 대기열과 헤드 오프셋에 TTL이 있음
+    assertThat(requeued).isTrue();
+    assertThat(redisTemplate.getExpire(queueKey)).isPositive();
+    assertThat(redisTemplate.getExpire(queueKey + ":head")).isPositive();
+
+    // when - 다시 선점한 뒤 캠페인이 종료되면 되돌리지 않음
+    claimed = couponQueueService.claimBatch(testCouponId, 10);
+    assertThat(couponQueueService.closeCampaign(testCouponId, null, userIds -> {})).isZero();
+
+    // then
+    assertThat(couponQueueService.requeue(testCouponId, claimed)).isFalse();
+    assertThat(redisTemplate.hasKey(queueKey)).isFalse();
+    assertThat(couponQueueService.getRemainingQuantity(testCouponId)).contains(0);
+  }
+
+  @Test
+  @DisplayName("샤딩 대기열 - 샤드에 나뉘어도 요청 시각 순으로 선점하고 순위와 크기는 합산")
+  void testShardedQueue() throws InterruptedException {
+    // given - 4개 샤드에 20명 대기, 수량 8
+    CouponQueueService shardedQueueService = new CouponQueueService(redisTemplate, false, "set", 4);
+    Long couponId = 3L;
+    shardedQueueService.clearQueue(couponId);
+    for (long userId = 1; userId <= 20; userId++) {
+      shardedQueueService.enqueue(couponId, userId);
+      Thread.sleep(2);
+    }
+    shardedQueueService.initializeQuantity(couponId, 8);
+
+    // when
+    var first = shardedQueueService.claimBatch(couponId, 5);
+    long rankAfterFirst = shardedQueueService.getQueueRank(couponId, 10L);
+    var second = shardedQueueService.claimBatch(couponId, 5);
+
+    // then - 샤드와 관계없이 먼저 요청한 사용자부터, 남은 수량만큼만 선점
+    assertThat(first.keySet()).containsExactly(1L, 2L, 3L, 4L, 5L);
+    assertThat(rankAfterFirst).isEqualTo(5);
+    assertThat(second.keySet()).containsExactly(6L, 7L, 8L);
+    assertThat(shardedQueueService.getRemainingQuantity(couponId)).contains(0);
+    assertThat(shardedQueueService.getQueueSize(couponId)).isEqualTo(12);
+    assertThat(shardedQueueService.getQueueHeadOffset(couponId)).isEqualTo(8);
+    assertThat(shardedQueueService.getTopUsers(couponId, 2)).containsExactly("9", "10");
+    assertThat(shardedQueueService.getQueueTicket(couponId, 10L)
+        - shardedQueueService.getQueueHeadOffset(couponId)).isEqualTo(2);
+
+    shardedQueueService.clearQueue(couponId);
+  }
+
+  @Test
+  @DisplayName("캠페인 종료 - 수량 소진 후 남은 대기자를 거절하고 발급 완료 Set을 비트맵으로 압축")
+  void testCloseCampaign() {
+    // given - 5명 대기, 수량 2
+    for (long userId = 1; userId <= 5; userId++) {
+      couponQueueService.enqueue(testCouponId, userId);
+    }
+    couponQueueService.initializeQuantity(testCouponId, 2);
+
+    // 수량이 남아 있으면 종료하지 않음
+    assertThat(couponQueueService.closeCampaign(testCouponId, null, userIds -> {})).isEqualTo(-1);
+
+    var claimed = couponQueueService.claimBatch(testCouponId, 10);
+    couponQueueService.markAsIssued(testCouponId, claimed.keySet(), null);
+
+    // when
+    List<Long> rejected = new ArrayList<>();
+    long rejectedCount = couponQueueService.closeCampaign(testCouponId, null, rejected::addAll);
+
+    // then
+    assertThat(claimed.keySet()).containsExactly(1L, 2L);
+    assertThat(rejectedCount).isEqualTo(3);
+    assertThat(rejected).containsExactly(3L, 4L, 5L);
+    assertThat(couponQueueService.isClosed(testCouponId)).isTrue();
+    assertThat(redisTemplate.hasKey("coupon:queue:" + testCouponId)).isFalse();
+    assertThat(redisTemplate.hasKey("coupon:issued:" + testCouponId)).isFalse();
+    assertThat(couponQueueService.isAlreadyIssued(testCouponId, 1L)).isTrue();
+    assertThat(couponQueueService.isAlreadyIssued(testCouponId, 3L)).isFalse();
+
+    // 종료 후 진입은 거절되고, 다시 종료해도 결과가 같음
+    assertThat(couponQueueService.enqueue(testCouponId, 6L)).isEqualTo(-2);
+    assertThat(couponQueueService.getQueueSize(testCouponId)).isZero();
+    assertThat(couponQueueService.closeCampaign(testCouponId, null, userIds -> {})).isZero();
+  }
 }
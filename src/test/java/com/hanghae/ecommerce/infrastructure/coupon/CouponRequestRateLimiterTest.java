@@ -0,0 +1,78 @@
+package com.hanghae.ecommerce.infrastructure.coupon;
+
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿠폰 발급 요청 유량 제한기 테스트
+ *
+ * 기본 설정에서는 비활성화되어 있으므로 직접 생성하여 여러 노드를 흉내 냅니다.
+ */
+@DisplayName("CouponRequestRateLimiter 테스트")
+class CouponRequestRateLimiterTest extends BaseIntegrationTest {
+
+  @Autowired
+  private RedisTemplate<String, Object> redisTemplate;
+
+  private final Long couponId = 1L;
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate.delete("coupon:ratelimit:" + couponId);
+  }
+
+  @Test
+  @DisplayName("버킷 크기만큼 허용한 뒤 초과 요청은 거절")
+  void rejectsBeyondBurst() {
+    // given
+    CouponRequestRateLimiter limiter = new CouponRequestRateLimiter(redisTemplate, true, 1, 5);
+
+    // when
+    int allowed = 0;
+    for (int i = 0; i < 8; i++) {
+      if (limiter.tryAcquire(couponId)) {
+        allowed++;
+      }
+    }
+
+    // then
+    assertThat(allowed).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("여러 노드가 Redis 버킷을 공유하여 전체 허용량을 넘지 않음")
+  void sharesBucketAcrossNodes() {
+    // given
+    CouponRequestRateLimiter nodeA = new CouponRequestRateLimiter(redisTemplate, true, 1, 5);
+    CouponRequestRateLimiter nodeB = new CouponRequestRateLimiter(redisTemplate, true, 1, 5);
+
+    // when - 각 노드의 로컬 버킷은 통과하지만 공유 버킷에서 걸림
+    int allowed = 0;
+    for (int i = 0; i < 4; i++) {
+      allowed += nodeA.tryAcquire(couponId) ? 1 : 0;
+      allowed += nodeB.tryAcquire(couponId) ? 1 : 0;
+    }
+
+    // then
+    assertThat(allowed).isEqualTo(5);
+    assertThat(nodeA.tryAcquire(2L)).isTrue(); // 쿠폰별로 독립된 버킷
+    redisTemplate.delete("coupon:ratelimit:2");
+  }
+
+  @Test
+  @DisplayName("비활성화 상태에서는 항상 허용")
+  void disabledAlwaysAllows() {
+    CouponRequestRateLimiter limiter = new CouponRequestRateLimiter(redisTemplate, false, 1, 1);
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(limiter.tryAcquire(couponId)).isTrue();
+    }
+    assertThat(redisTemplate.hasKey("coupon:ratelimit:" + couponId)).isFalse();
+  }
+}
@@ -0,0 +1,147 @@
+package com.hanghae.ecommerce.infrastructure.lock;
+
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스케줄러 리스 관리자 테스트
+ *
+ * 노드 ID가 다른 관리자 두 개로 두 노드를 흉내 냅니다.
+ */
+@DisplayName("SchedulerLeaseManager 테스트")
+class SchedulerLeaseManagerTest extends BaseIntegrationTest {
+
+  @Autowired
+  private RedisTemplate<String, Object> redisTemplate;
+
+  private static final String WARM_UP_TASK = "lease-test:warm-up";
+
+  private final List<String> tasks = IntStream.rangeClosed(1, 20)
+      .mapToObj(i -> "lease-test:" + i)
+      .toList();
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate.delete("scheduler:nodes");
+    redisTemplate.delete("scheduler:lease:" + WARM_UP_TASK);
+    tasks.forEach(task -> redisTemplate.delete("scheduler:lease:" + task));
+  }
+
+  @Test
+  @DisplayName("작업마다 한 노드만 리스를 얻고, 작업이 두 노드에 나뉜다")
+  void tasksArePartitionedAcrossNodes() {
+    // given - 두 노드 모두 하트비트를 남긴 상태
+    SchedulerLeaseManager nodeA = new SchedulerLeaseManager(redisTemplate, "node-a", 30_000, 15_000);
+    SchedulerLeaseManager nodeB = new SchedulerLeaseManager(redisTemplate, "node-b", 30_000, 15_000);
+    nodeA.tryAcquire(WARM_UP_TASK);
+    nodeB.tryAcquire(WARM_UP_TASK);
+    nodeA = new SchedulerLeaseManager(redisTemplate, "node-a", 30_000, 15_000); // 노드 목록 캐시 초기화
+
+    // when
+    int ownedByA = 0;
+    int ownedByB = 0;
+    for (String task : tasks) {
+      boolean a = nodeA.tryAcquire(task);
+      boolean b = nodeB.tryAcquire(task);
+
+      // then - 동시에 두 노드가 가지는 작업은 없음
+      assertThat(a && b).isFalse();
+      ownedByA += a ? 1 : 0;
+      ownedByB += b ? 1 : 0;
+    }
+
+    assertThat(ownedByA + ownedByB).isEqualTo(tasks.size());
+    assertThat(ownedByA).isPositive();
+    assertThat(ownedByB).isPositive();
+  }
+
+  @Test
+  @DisplayName("노드가 멈추면 하트비트와 리스가 만료된 뒤 다른 노드가 작업을 이어받는다")
+  void leaseFailsOverAfterNodeStops() throws InterruptedException {
+    // given - node-b가 담당하는 작업을 node-b가 실행 중
+    SchedulerLeaseManager nodeA = new SchedulerLeaseManager(redisTemplate, "node-a", 300, 200);
+    SchedulerLeaseManager nodeB = new SchedulerLeaseManager(redisTemplate, "node-b", 300, 200);
+    String task = tasks.stream()
+        .filter(t -> "node-b".equals(SchedulerLeaseManager.ownerOf(t, List.of("node-a", "node-b"))))
+        .findFirst()
+        .orElseThrow();
+    nodeA.tryAcquire(task);
+    assertThat(nodeB.tryAcquire(task)).isTrue();
+    Thread.sleep(150);
+    assertThat(nodeA.tryAcquire(task)).isFalse();
+
+    // when - node-b가 더 이상 실행하지 않음
+    boolean takenOver = false;
+    for (int i = 0; i < 20 && !takenOver; i++) {
+      Thread.sleep(50);
+      takenOver = nodeA.tryAcquire(task);
+    }
+
+    // then
+    assertThat(takenOver).isTrue();
+    assertThat(nodeB.tryAcquire(task)).isFalse();
+  }
+
+  @Test
+  @DisplayName("담당이 바뀌어도 실행 중인 작업의 리스는 실행이 끝날 때까지 반납하지 않는다")
+  void runningTaskKeepsLeaseUntilFinished() {
+    // given - node-a 혼자일 때 node-b 담당 작업을 node-a가 실행 중
+    SchedulerLeaseManager nodeA = new SchedulerLeaseManager(redisTemplate, "node-a", 30_000, 15_000);
+    SchedulerLeaseManager nodeB = new SchedulerLeaseManager(redisTemplate, "node-b", 30_000, 15_000);
+    String task = tasks.stream()
+        .filter(t -> "node-b".equals(SchedulerLeaseManager.ownerOf(t, List.of("node-a", "node-b"))))
+        .findFirst()
+        .orElseThrow();
+    assertThat(nodeA.tryAcquire(task)).isTrue();
+    nodeA.markRunning(task);
+
+    // when - node-b가 합류해 담당이 바뀜
+    assertThat(nodeB.tryAcquire(task)).isFalse();
+    nodeA.heartbeat();
+
+    // then - 실행 중에는 node-a가 리스를 유지하고, 끝나면 바로 node-b가 이어받음
+    assertThat(nodeA.tryAcquire(task)).isFalse();
+    assertThat(nodeB.tryAcquire(task)).isFalse();
+    assertThat(nodeA.hasLost(task)).isFalse();
+
+    nodeA.markFinished(task);
+    assertThat(nodeB.tryAcquire(task)).isTrue();
+  }
+
+  @Test
+  @DisplayName("하트비트가 실행 중인 작업의 리스를 연장하고, 연장하지 못하면 잃은 것으로 알린다")
+  void heartbeatRenewsRunningLease() throws InterruptedException {
+    // given - node-a가 짧은 리스로 작업을 실행 중
+    SchedulerLeaseManager nodeA = new SchedulerLeaseManager(redisTemplate, "node-a", 300, 200);
+    String task = tasks.get(0);
+    assertThat(nodeA.tryAcquire(task)).isTrue();
+    nodeA.markRunning(task);
+
+    // when - tryAcquire 없이 하트비트만 이어짐
+    for (int i = 0; i < 6; i++) {
+      Thread.sleep(110);
+      nodeA.heartbeat();
+    }
+
+    // then - 리스 유지 시간이 지나도 리스가 남아 있음
+    assertThat(redisTemplate.hasKey("scheduler:lease:" + task)).isTrue();
+    assertThat(nodeA.hasLost(task)).isFalse();
+
+    // when - 리스가 사라짐 (Redis 장애 중 만료 등)
+    redisTemplate.delete("scheduler:lease:" + task);
+    Thread.sleep(110);
+    nodeA.heartbeat();
+
+    // then
+    assertThat(nodeA.hasLost(task)).isTrue();
+  }
+}
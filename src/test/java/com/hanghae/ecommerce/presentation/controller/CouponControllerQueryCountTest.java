@@ -0,0 +1,104 @@
+package com.hanghae.ecommerce.presentation.controller;
+
+import com.hanghae.ecommerce.domain.coupon.Coupon;
+import com.hanghae.ecommerce.domain.coupon.DiscountPolicy;
+import com.hanghae.ecommerce.domain.coupon.UserCoupon;
+import com.hanghae.ecommerce.domain.coupon.repository.CouponRepository;
+import com.hanghae.ecommerce.domain.coupon.repository.UserCouponRepository;
+import com.hanghae.ecommerce.domain.product.Quantity;
+import com.hanghae.ecommerce.support.BaseIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 쿠폰 조회 API 쿼리 수 테스트
+ *
+ * 보유 쿠폰 수와 관계없이 실행되는 SQL 수가 일정한지(N+1이 없는지) Hibernate 통계로 검증합니다.
+ */
+@DisplayName("쿠폰 조회 API 쿼리 수 테스트")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CouponControllerQueryCountTest extends BaseIntegrationTest {
+
+    // CouponController의 임시 사용자 ID
+    private static final Long CURRENT_USER_ID = 1L;
+    private static final int COUPON_COUNT = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private UserCouponRepository userCouponRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // 서로 다른 쿠폰 10장 보유
+        for (int i = 0; i < COUPON_COUNT; i++) {
+            Coupon coupon = couponRepository.save(Coupon.create(
+                    "쿼리 수 테스트 쿠폰 " + i,
+                    DiscountPolicy.rate(10),
+                    Quantity.of(100),
+                    LocalDateTime.now().minusDays(1),
+                    LocalDateTime.now().plusDays(7)));
+            userCouponRepository.save(UserCoupon.issue(CURRENT_USER_ID, coupon.getId(), LocalDateTime.now().plusDays(7)));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("보유 쿠폰 조회 - 사용자 쿠폰 1회 + 쿠폰 정의 최대 1회")
+    void getMyCouponsRunsConstantQueries() throws Exception {
+        // when
+        statistics.clear();
+        mockMvc.perform(get("/coupons/my")).andExpect(status().isOk());
+        long firstCall = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        mockMvc.perform(get("/coupons/my")).andExpect(status().isOk());
+        long secondCall = statistics.getPrepareStatementCount();
+
+        // then - 두 번째 호출은 쿠폰 정의를 로컬 캐시에서 가져옴
+        assertThat(firstCall).isLessThanOrEqualTo(2);
+        assertThat(secondCall).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("쿠폰 사용 이력 조회 - 사용 쿠폰 수와 관계없이 쿼리 수 일정")
+    void getUsageHistoryRunsConstantQueries() throws Exception {
+        // given - 보유 쿠폰을 모두 사용 처리
+        userCouponRepository.findByUserId(CURRENT_USER_ID).forEach(userCoupon -> {
+            if (userCoupon.canUse()) {
+                userCoupon.use();
+                userCouponRepository.save(userCoupon);
+            }
+        });
+
+        // when
+        statistics.clear();
+        mockMvc.perform(get("/coupons/usage-history")).andExpect(status().isOk());
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+}